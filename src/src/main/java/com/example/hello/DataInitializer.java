@@ -1,7 +1,6 @@
 package com.example.hello;
 
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.Random;
 
 import org.springframework.boot.CommandLineRunner;
@@ -326,24 +325,7 @@ public class DataInitializer implements CommandLineRunner {
 			}
 		}
 
-		// Backfill certificate entities from each application's certificates string without touching lazy collections
-		applicationRepository.findAll().forEach(app -> {
-			String raw = app.getCertificates();
-			if (raw == null || raw.trim().isEmpty()) return;
-			// if the app already has certificate entities, skip using repository existence check
-			if (certificateRepository.existsByApplication_Id(app.getId())) return;
-			Arrays.stream(raw.split("[;,]"))
-				.map(String::trim)
-				.filter(s -> !s.isEmpty())
-				.forEach(cn -> {
-					Certificate c = new Certificate();
-					c.setApplication(app);
-					c.setCn(cn);
-					c.setSerial("");
-					c.setExpirationDate(null);
-					certificateRepository.save(c);
-				});
-		});
+		// Certificate rows are derived from each application's certificates text by CertificateReconciler
 
 		// Seed Code Repositories if none exist
 		if (codeRepositoryRepository.count() == 0) {
@@ -0,0 +1,280 @@
+package com.example.hello.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.hello.service.ExportArtifactStore;
+import com.example.hello.service.ImportDataset;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control for {@code /api} requests, so imports and exports cannot starve ordinary reads
+ * and writes of threads and database connections.
+ * <p>
+ * Each request is put in a lane: {@code heavy} for the paths in {@code app.admission.heavy.paths}
+ * (imports, exports, downloads, ticket sync and archive passes) and {@code light} for everything
+ * else under {@code /api}. A conditional or Range GET of an export whose artifact is already on disk
+ * only revalidates or resumes a file, so it goes in the light lane too.
+ * <p>
+ * A lane runs at most {@code max-concurrent} requests at a time and starts them no faster than
+ * {@code rate-per-second} (a token bucket holding up to {@code burst} tokens; 0 disables it). A
+ * request that finds no slot or no token waits in a queue of at most {@code queue-size}, for up to
+ * {@code max-wait-ms} in total. One that finds the queue full, would not get its token within the
+ * wait limit, or runs out of time waiting for a slot gets {@code 429} with {@code Retry-After},
+ * before its body is read.
+ * <p>
+ * Metrics per lane: {@code app.admission.active} and {@code app.admission.queued} (gauges),
+ * {@code app.admission.wait} (time spent queued) and {@code app.admission.rejected} (tagged with
+ * the step that refused it).
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+	private final Lane heavy;
+	private final Lane light;
+	private final List<String> heavyPaths;
+	private final List<String> lightPaths;
+	private final boolean enabled;
+	private final ObjectProvider<ExportArtifactStore> artifactStore;
+
+	public AdmissionControlFilter(Environment environment, MeterRegistry meterRegistry,
+			ObjectProvider<ExportArtifactStore> artifactStore) {
+		this.artifactStore = artifactStore;
+		this.enabled = environment.getProperty("app.admission.enabled", Boolean.class, true);
+		this.heavyPaths = paths(environment, "app.admission.heavy.paths",
+			"/api/import/**,/api/*/import,/api/*/export,/api/export/*,/api/export/jobs/*/download,/api/findings/archive");
+		// job submission and status calls are cheap, though they share a prefix with the export downloads
+		this.lightPaths = paths(environment, "app.admission.light.paths", "/api/export/jobs,/api/export/jobs/*,/api/tickets/sync");
+		this.heavy = new Lane("heavy", environment, meterRegistry, 2, 8, 30000, 2, 4, 5);
+		this.light = new Lane("light", environment, meterRegistry, 100, 200, 2000, 0, 0, 1);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || !path(request).startsWith("/api/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Lane lane = laneFor(request);
+		Admission admission = lane.admit();
+		if (admission.refusedBy() != null) {
+			reject(response, lane, admission.refusedBy(), admission.retryAfterSeconds());
+			return;
+		}
+
+		AtomicBoolean released = new AtomicBoolean();
+		Runnable release = () -> {
+			if (released.compareAndSet(false, true)) lane.slots.release();
+		};
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (request.isAsyncStarted()) {
+				// streamed responses keep their slot until the async request completes
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						release.run();
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+						release.run();
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+						release.run();
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				release.run();
+			}
+		}
+	}
+
+	private Lane laneFor(HttpServletRequest request) {
+		String path = path(request);
+		for (String pattern : lightPaths) {
+			if (PATHS.match(pattern, path)) return light;
+		}
+		for (String pattern : heavyPaths) {
+			if (PATHS.match(pattern, path)) return servesReadyArtifact(request, path) ? light : heavy;
+		}
+		return light;
+	}
+
+	/**
+	 * True for a conditional or Range GET that is answered from a file already on disk: a finished
+	 * job's download (unfinished jobs answer 409 straight away), or an export whose artifact for the
+	 * current data exists. Such a request sends a 304 or a slice of the file and builds nothing.
+	 */
+	private boolean servesReadyArtifact(HttpServletRequest request, String path) {
+		if (!HttpMethod.GET.matches(request.getMethod())) return false;
+		if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.RANGE) == null) return false;
+		if (PATHS.match("/api/export/jobs/*/download", path)) return true;
+		if (!PATHS.match("/api/export/*", path)) return false;
+		ExportArtifactStore store = artifactStore.getIfAvailable();
+		if (store == null) return false;
+		try {
+			String format = request.getParameter("format");
+			return store.isReady(ImportDataset.forKey(path.substring("/api/export/".length())),
+				ExportArtifactStore.Format.forName(format != null ? format : "csv"));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	private static void reject(HttpServletResponse response, Lane lane, String reason, long retryAfterSeconds) throws IOException {
+		lane.rejected(reason).increment();
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(retryAfterSeconds, 1)));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.getWriter().write("{\"error\":\"overloaded\",\"message\":\"Too many " + lane.name
+			+ " requests (" + reason + "); retry later\"}");
+	}
+
+	private static String path(HttpServletRequest request) {
+		return request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	private static List<String> paths(Environment environment, String property, String defaults) {
+		return List.of(StringUtils.tokenizeToStringArray(environment.getProperty(property, defaults), ","));
+	}
+
+	/** Outcome of {@link Lane#admit}: {@code refusedBy} names the step that refused the request, or is null. */
+	private record Admission(String refusedBy, long retryAfterSeconds) {
+
+		static final Admission ADMITTED = new Admission(null, 0);
+	}
+
+	/** One class of requests: a token bucket and a bounded queue in front of a fixed number of slots. */
+	private static final class Lane {
+
+		final String name;
+		final Semaphore slots;
+		final int maxConcurrent;
+		final int queueSize;
+		final long maxWaitNanos;
+		final double ratePerNano;
+		final double burst;
+		final long retryAfterSeconds;
+		final AtomicInteger queued = new AtomicInteger();
+		final Timer waitTimer;
+		final MeterRegistry meterRegistry;
+
+		private double tokens;
+		private long refilledAt = System.nanoTime();
+
+		Lane(String name, Environment environment, MeterRegistry meterRegistry, int maxConcurrent, int queueSize, long maxWaitMs,
+				double ratePerSecond, int burst, long retryAfterSeconds) {
+			String prefix = "app.admission." + name + ".";
+			this.name = name;
+			this.maxConcurrent = Math.max(environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent), 1);
+			this.queueSize = Math.max(environment.getProperty(prefix + "queue-size", Integer.class, queueSize), 0);
+			this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(environment.getProperty(prefix + "max-wait-ms", Long.class, maxWaitMs));
+			double rate = environment.getProperty(prefix + "rate-per-second", Double.class, ratePerSecond);
+			this.ratePerNano = rate / TimeUnit.SECONDS.toNanos(1);
+			this.burst = Math.max(environment.getProperty(prefix + "burst", Integer.class, burst), 1);
+			this.retryAfterSeconds = environment.getProperty(prefix + "retry-after-seconds", Long.class, retryAfterSeconds);
+			this.slots = new Semaphore(this.maxConcurrent, true);
+			this.tokens = this.burst;
+			this.meterRegistry = meterRegistry;
+			this.waitTimer = Timer.builder("app.admission.wait").tag("lane", name)
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+			Gauge.builder("app.admission.active", this, l -> l.maxConcurrent - l.slots.availablePermits()).tag("lane", name)
+				.register(meterRegistry);
+			Gauge.builder("app.admission.queued", queued, AtomicInteger::get).tag("lane", name)
+				.register(meterRegistry);
+		}
+
+		/**
+		 * Reserves the next token and returns how many nanoseconds until it is due (0 when one is
+		 * available now). When that is longer than the lane lets a request wait, nothing is reserved
+		 * and the wait is returned negated.
+		 */
+		synchronized long reserveToken() {
+			if (ratePerNano <= 0) return 0;
+			long now = System.nanoTime();
+			tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+			refilledAt = now;
+			long wait = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / ratePerNano);
+			if (wait > maxWaitNanos) return -wait;
+			// the balance goes negative while requests wait for tokens that have not been minted yet
+			tokens -= 1;
+			return wait;
+		}
+
+		/** Gives back a reserved token when its request is refused for another reason. */
+		synchronized void returnToken() {
+			if (ratePerNano > 0) tokens = Math.min(burst, tokens + 1);
+		}
+
+		Admission admit() {
+			long started = System.nanoTime();
+			long tokenWait = reserveToken();
+			if (tokenWait < 0) {
+				return new Admission("rate", TimeUnit.NANOSECONDS.toSeconds(-tokenWait) + 1);
+			}
+			if (tokenWait == 0 && slots.tryAcquire()) {
+				waitTimer.record(0, TimeUnit.NANOSECONDS);
+				return Admission.ADMITTED;
+			}
+			if (queued.incrementAndGet() > queueSize) {
+				queued.decrementAndGet();
+				returnToken();
+				return new Admission("queue", retryAfterSeconds);
+			}
+			try {
+				if (tokenWait > 0) TimeUnit.NANOSECONDS.sleep(tokenWait);
+				long remaining = maxWaitNanos - (System.nanoTime() - started);
+				return slots.tryAcquire(Math.max(remaining, 0), TimeUnit.NANOSECONDS)
+					? Admission.ADMITTED : new Admission("timeout", retryAfterSeconds);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return new Admission("timeout", retryAfterSeconds);
+			} finally {
+				waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+				queued.decrementAndGet();
+			}
+		}
+
+		Counter rejected(String reason) {
+			return meterRegistry.counter("app.admission.rejected", "lane", name, "reason", reason);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.hello.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Serves any JSON endpoint as Smile ({@code Accept: application/x-jackson-smile}) or CBOR
+ * ({@code Accept: application/cbor}). Both mappers come from Boot's builder so they share the JSON
+ * mapper's modules and settings, including the Hibernate module that keeps lazy associations
+ * unloaded. Spring keeps these converters behind the JSON one, so clients that accept any type
+ * still get JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		SmileFactory factory = SmileFactory.builder()
+			// dashboard lists repeat the same APG, status and severity strings on every row
+			.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+			.build();
+		return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(factory).build());
+	}
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+	}
+}
@@ -0,0 +1,39 @@
+package com.example.hello.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.hello.service.FileIssueTrackerClient;
+import com.example.hello.service.HttpIssueTrackerClient;
+import com.example.hello.service.IssueTrackerClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Picks the {@link IssueTrackerClient} the ticket sync talks to: {@code app.tickets.sync.client=file}
+ * (the default) reads statuses from a local file, {@code http} calls a Jira-compatible REST API.
+ */
+@Configuration
+public class IssueTrackerConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "app.tickets.sync.client", havingValue = "file", matchIfMissing = true)
+	public IssueTrackerClient fileIssueTrackerClient(@Value("${app.tickets.sync.file:./data/issue-tracker.csv}") String file,
+			@Value("${app.tickets.sync.batch-size:100}") int batchSize) {
+		return new FileIssueTrackerClient(Path.of(file), batchSize);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.tickets.sync.client", havingValue = "http")
+	public IssueTrackerClient httpIssueTrackerClient(ObjectMapper objectMapper,
+			@Value("${app.tickets.sync.http.base-url}") String baseUrl,
+			@Value("${app.tickets.sync.http.token:}") String token,
+			@Value("${app.tickets.sync.http.timeout-ms:10000}") long timeoutMs,
+			@Value("${app.tickets.sync.batch-size:100}") int batchSize) {
+		return new HttpIssueTrackerClient(objectMapper, baseUrl, token, Duration.ofMillis(timeoutMs), batchSize);
+	}
+}
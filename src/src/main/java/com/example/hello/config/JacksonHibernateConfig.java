@@ -0,0 +1,25 @@
+package com.example.hello.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
+/**
+ * Keeps response serialization from lazy-loading associations. Each endpoint's repository finder
+ * fetches what it returns through an entity graph; anything left unloaded is written as its id
+ * (a lazy collection as null) instead of issuing one select per row while the view is open.
+ */
+@Configuration
+public class JacksonHibernateConfig {
+
+	@Bean
+	public Hibernate6Module hibernate6Module() {
+		Hibernate6Module module = new Hibernate6Module();
+		module.disable(Hibernate6Module.Feature.FORCE_LAZY_LOADING);
+		module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+		// @Transient marks computed getters such as slaStatus and applicationId, which the API still exposes
+		module.disable(Hibernate6Module.Feature.USE_TRANSIENT_ANNOTATION);
+		return module;
+	}
+}
@@ -0,0 +1,86 @@
+package com.example.hello.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routes read-only transactions to a replica when {@code app.datasource.replica.url} is set.
+ * Everything else, including writes and lazy loads outside a transaction, uses the primary.
+ * <p>
+ * Both pools are Hikari and bind their settings as Boot's own pool would: the primary from
+ * {@code spring.datasource.hikari.*}, the replica from {@code app.datasource.replica.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReadReplicaDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName("primary");
+		return primary;
+	}
+
+	@Bean
+	@ConfigurationProperties("app.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+		HikariDataSource replica = DataSourceBuilder.create()
+			.type(HikariDataSource.class)
+			.url(environment.getRequiredProperty("app.datasource.replica.url"))
+			.username(environment.getProperty("app.datasource.replica.username", properties.determineUsername()))
+			.password(environment.getProperty("app.datasource.replica.password", properties.determinePassword()))
+			.build();
+		replica.setPoolName("replica");
+		return replica;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica) {
+		// Hibernate only marks the JDBC connection read-only when it holds connections for the whole
+		// session, which is turned off below, so the pool is picked from the transaction's read-only
+		// flag instead. The proxy defers that choice to the first statement, after the transaction
+		// manager has published the flag; Hibernate takes its connection earlier, when it begins.
+		AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+			@Override
+			protected Object determineCurrentLookupKey() {
+				return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? "replica" : "primary";
+			}
+		};
+		routing.setTargetDataSources(Map.of("primary", primary, "replica", replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	/**
+	 * Open-in-view keeps one session per request; holding its connection across transactions would
+	 * pin a write that follows a read to the replica, so connections are released after each one.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+			PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+}
@@ -0,0 +1,103 @@
+package com.example.hello.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records latency for every request, and heap allocated by the request thread for a sample of
+ * requests, keyed by HTTP method and route pattern (e.g. {@code GET /api/findings/{id}}).
+ * <p>
+ * Latency goes into the {@value #LATENCY} timer, which publishes p50/p99/p999 from Micrometer's
+ * HdrHistogram-backed percentile histogram. Streamed responses (exports) are timed until the async
+ * request completes. Allocation is read from the per-thread counter of the HotSpot
+ * {@code ThreadMXBean} and covers the servlet thread only.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+	public static final String LATENCY = "app.request.latency";
+	public static final String ALLOCATED = "app.request.allocated";
+
+	private final MeterRegistry meterRegistry;
+	private final int allocationSampleRate;
+	private final com.sun.management.ThreadMXBean threads;
+
+	public RequestMetricsFilter(MeterRegistry meterRegistry, @Value("${app.perf.allocation-sample-rate:10}") int allocationSampleRate) {
+		this.meterRegistry = meterRegistry;
+		this.allocationSampleRate = Math.max(allocationSampleRate, 0);
+		this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		boolean sampled = threads != null && allocationSampleRate > 0
+				&& ThreadLocalRandom.current().nextInt(allocationSampleRate) == 0;
+		long allocatedBefore = sampled ? threads.getCurrentThreadAllocatedBytes() : 0;
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (sampled) {
+				DistributionSummary.builder(ALLOCATED)
+					.baseUnit("bytes")
+					.tags("method", request.getMethod(), "route", route(request))
+					.register(meterRegistry)
+					.record(threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+			}
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						recordLatency(request, start);
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				recordLatency(request, start);
+			}
+		}
+	}
+
+	private void recordLatency(HttpServletRequest request, long start) {
+		Timer.builder(LATENCY)
+			.tags("method", request.getMethod(), "route", route(request))
+			.publishPercentiles(0.5, 0.99, 0.999)
+			.register(meterRegistry)
+			.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	private static String route(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : "UNMATCHED";
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.hello.controllers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.example.hello.service.ExportJobService;
+import com.example.hello.service.FindingColumnStore;
+import com.example.hello.service.FindingQueryService;
+import com.example.hello.service.OrgRollupCache;
+import com.example.hello.service.Patches;
+import com.example.hello.service.UploadImportService;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+	/** A client edited a stale version of a record; it should reload and re-apply its change. */
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<Map<String, Object>> handleConflict(ObjectOptimisticLockingFailureException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "conflict");
+		body.put("message", "The record was modified concurrently; reload it and retry");
+		body.put("entity", e.getPersistentClassName());
+		body.put("id", e.getIdentifier());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+	}
+
+	/** A PATCH body named a field that cannot be patched, sent a value of the wrong type, or referenced a missing record. */
+	@ExceptionHandler(Patches.InvalidPatchException.class)
+	public ResponseEntity<Map<String, Object>> handleInvalidPatch(Patches.InvalidPatchException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "invalid_patch");
+		body.put("message", e.getMessage());
+		return ResponseEntity.badRequest().body(body);
+	}
+
+	@ExceptionHandler(Patches.NotFoundException.class)
+	public ResponseEntity<Map<String, Object>> handlePatchTargetNotFound(Patches.NotFoundException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "not_found");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+	}
+
+	/** The export queue is at capacity; the client should retry later rather than queue more work. */
+	@ExceptionHandler(ExportJobService.QueueFullException.class)
+	public ResponseEntity<Map<String, Object>> handleQueueFull(ExportJobService.QueueFullException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "queue_full");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").body(body);
+	}
+
+	/** An ad-hoc query was estimated to scan more rows than allowed; narrowing it will help, retrying will not. */
+	@ExceptionHandler(FindingQueryService.QueryTooExpensiveException.class)
+	public ResponseEntity<Map<String, Object>> handleTooExpensive(FindingQueryService.QueryTooExpensiveException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "query_too_expensive");
+		body.put("message", e.getMessage());
+		body.put("cost", e.getCost());
+		body.put("limit", e.getLimit());
+		return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+	}
+
+	/** Another request is importing the same file; retrying replays its outcome once it has finished. */
+	@ExceptionHandler(UploadImportService.ImportInProgressException.class)
+	public ResponseEntity<Map<String, Object>> handleImportInProgress(UploadImportService.ImportInProgressException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "import_in_progress");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "5").body(body);
+	}
+
+	/** The column store is still on its first load after startup. */
+	@ExceptionHandler(FindingColumnStore.NotReadyException.class)
+	public ResponseEntity<Map<String, Object>> handleColumnStoreNotReady(FindingColumnStore.NotReadyException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "not_ready");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(body);
+	}
+
+	/** The org rollup is still on its first load after startup. */
+	@ExceptionHandler(OrgRollupCache.NotReadyException.class)
+	public ResponseEntity<Map<String, Object>> handleRollupNotReady(OrgRollupCache.NotReadyException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "not_ready");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(body);
+	}
+
+	@ExceptionHandler(FindingQueryService.QueryBusyException.class)
+	public ResponseEntity<Map<String, Object>> handleQueryBusy(FindingQueryService.QueryBusyException e) {
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("error", "busy");
+		body.put("message", e.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+	}
+}
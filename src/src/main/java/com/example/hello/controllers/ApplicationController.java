@@ -1,20 +1,27 @@
 package com.example.hello.controllers;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hello.model.Application;
 import com.example.hello.model.Team;
 import com.example.hello.service.ApplicationService;
+import com.example.hello.service.Patches;
+import com.example.hello.service.ReferenceTables;
 import com.example.hello.service.TeamService;
 
 @RestController
@@ -35,6 +42,12 @@ public class ApplicationController {
 		return applicationService.getAll();
 	}
 
+	/** Same list with teams and product areas emitted once, see {@link ReferenceTables}. */
+	@GetMapping(params = "shape=normalized")
+	public Map<String, Object> listNormalized() {
+		return ReferenceTables.ofApplications(applicationService.getAll());
+	}
+
 	@GetMapping("/{id}")
 	public Application get(@PathVariable Long id) {
 		return applicationService.getById(id);
@@ -59,7 +72,9 @@ public class ApplicationController {
 
 	@PutMapping("/{id}")
 	public Application update(@PathVariable Long id, @RequestBody ApplicationRequest request) {
-		Application application = applicationService.getById(id);
+		// a detached copy: the stored application is only changed once its version has been checked
+		Application application = new Application();
+		application.setVersion(request.version);
 		application.setSealId(request.sealId);
 		application.setName(request.name);
 		application.setPlatform(request.platform);
@@ -69,13 +84,18 @@ public class ApplicationController {
 		if (request.teamId != null) {
 			Team team = teamService.findById(request.teamId).orElseThrow(() -> new IllegalArgumentException("Team not found with ID: " + request.teamId));
 			application.setTeam(team);
-		} else {
-			application.setTeam(null);
 		}
 		
 		return applicationService.update(id, application);
 	}
 
+	@PatchMapping("/{id}")
+	public ResponseEntity<Application> patch(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Application patched = applicationService.patch(id, Patches.withIfMatch(changes, ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(patched.getVersion())).body(patched);
+	}
+
 	public static class ApplicationRequest {
 		public String sealId;
 		public String name;
@@ -83,6 +103,8 @@ public class ApplicationController {
 		public String codeRepository;
 		public String certificates;
 		public Long teamId;
+		/** The version the client last read; a stale one is rejected with 409. Omitted, the write is unconditional. */
+		public Long version;
 	}
 
 	@DeleteMapping("/{id}")
@@ -0,0 +1,125 @@
+package com.example.hello.controllers;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import com.example.hello.service.ExportArtifactStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes an {@link ExportArtifactStore.Artifact} to the response. Conditional requests are answered
+ * from the ETag, a single byte range is honoured so interrupted downloads can resume, and the bytes
+ * are handed to Tomcat's sendfile when the connector supports it, or copied channel to channel
+ * otherwise, so the file never passes through a heap buffer.
+ */
+final class ArtifactResponses {
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private ArtifactResponses() {
+	}
+
+	/** True when the request's Accept-Encoding allows gzip. */
+	static boolean acceptsGzip(HttpServletRequest request) {
+		String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (header == null) return false;
+		for (String part : header.split(",")) {
+			String[] coding = part.trim().split(";");
+			if (!coding[0].trim().equalsIgnoreCase("gzip") && !coding[0].trim().equals("*")) continue;
+			if (coding.length > 1 && coding[1].trim().replace(" ", "").matches("q=0(\\.0*)?")) return false;
+			return true;
+		}
+		return false;
+	}
+
+	static void send(HttpServletRequest request, HttpServletResponse response, ExportArtifactStore.Artifact artifact,
+			String fileName) throws IOException {
+		long length = artifact.file().length();
+		response.setHeader(HttpHeaders.ETAG, artifact.etag());
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		if (artifact.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+			response.setStatus(HttpStatus.NOT_MODIFIED.value());
+			return;
+		}
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName);
+		response.setContentType(artifact.contentType());
+		if (artifact.contentEncoding() != null) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, artifact.contentEncoding());
+		}
+
+		long start = 0;
+		long end = length;
+		String range = request.getHeader(HttpHeaders.RANGE);
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		if (range != null && (ifRange == null || ifRange.equals(artifact.etag()))) {
+			long[] bounds = parseRange(range, length);
+			if (bounds == null) {
+				response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+				return;
+			}
+			if (bounds.length == 2) {
+				start = bounds[0];
+				end = bounds[1];
+				response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+			}
+		}
+		response.setContentLengthLong(end - start);
+		if ("HEAD".equals(request.getMethod())) return;
+
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, artifact.file().getCanonicalPath());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, end);
+			return;
+		}
+		try (FileChannel file = FileChannel.open(artifact.file().toPath(), StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			while (position < end) {
+				position += file.transferTo(position, end - position, out);
+			}
+		}
+	}
+
+	/**
+	 * Parses a {@code bytes=} header into {@code [start, endExclusive]}. Returns an empty array when
+	 * the header should be ignored (another unit, several ranges, malformed) and null when the single
+	 * range lies outside the file.
+	 */
+	private static long[] parseRange(String header, long length) {
+		if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return new long[0];
+		String spec = header.substring("bytes=".length()).trim();
+		int dash = spec.indexOf('-');
+		if (dash < 0) return new long[0];
+		try {
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			if (first.isEmpty()) {
+				if (last.isEmpty()) return new long[0];
+				long suffix = Long.parseLong(last);
+				if (suffix == 0 || length == 0) return null;
+				return new long[] { Math.max(0, length - suffix), length };
+			}
+			long start = Long.parseLong(first);
+			long end = last.isEmpty() ? length : Math.min(Long.parseLong(last) + 1, length);
+			if (start >= length || end <= start) return null;
+			return new long[] { start, end };
+		} catch (NumberFormatException e) {
+			return new long[0];
+		}
+	}
+}
@@ -1,19 +1,25 @@
 package com.example.hello.controllers;
 
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hello.model.Certificate;
 import com.example.hello.service.CertificateService;
+import com.example.hello.service.Patches;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:5173")
@@ -46,6 +52,13 @@ public class CertificateController {
 		return certificateService.update(id, certificate);
 	}
 
+	@PatchMapping("/{id}")
+	public ResponseEntity<Certificate> patch(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Certificate patched = certificateService.patch(id, Patches.withIfMatch(changes, ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(patched.getVersion())).body(patched);
+	}
+
 	@DeleteMapping("/{id}")
 	public void delete(@PathVariable Long id) {
 		certificateService.delete(id);
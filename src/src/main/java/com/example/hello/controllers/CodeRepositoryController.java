@@ -4,15 +4,17 @@ import com.example.hello.model.CodeRepository;
 import com.example.hello.model.Application;
 import com.example.hello.model.Team;
 import com.example.hello.service.CodeRepositoryService;
+import com.example.hello.service.ExportArtifactStore;
+import com.example.hello.service.ImportDataset;
 import com.example.hello.service.ApplicationService;
 import com.example.hello.service.TeamService;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import java.io.IOException;
 import java.util.List;
 
@@ -24,13 +26,16 @@ public class CodeRepositoryController {
     private final CodeRepositoryService codeRepositoryService;
     private final ApplicationService applicationService;
     private final TeamService teamService;
+    private final ExportArtifactStore exportArtifactStore;
 
     public CodeRepositoryController(CodeRepositoryService codeRepositoryService,
                                   ApplicationService applicationService,
-                                  TeamService teamService) {
+                                  TeamService teamService,
+                                  ExportArtifactStore exportArtifactStore) {
         this.codeRepositoryService = codeRepositoryService;
         this.applicationService = applicationService;
         this.teamService = teamService;
+        this.exportArtifactStore = exportArtifactStore;
     }
 
     @GetMapping
@@ -93,15 +98,10 @@ public class CodeRepositoryController {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<ByteArrayResource> exportToExcel() throws IOException {
-        byte[] data = codeRepositoryService.exportToExcel();
-        ByteArrayResource resource = new ByteArrayResource(data);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=code-repositories.xlsx")
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .contentLength(data.length)
-                .body(resource);
+    public void exportToExcel(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ArtifactResponses.send(request, response,
+                exportArtifactStore.get(ImportDataset.CODE_REPOSITORIES, ExportArtifactStore.Format.XLSX, false),
+                "code-repositories.xlsx");
     }
 
     @PostMapping("/import")
@@ -0,0 +1,27 @@
+package com.example.hello.controllers;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.service.PerformanceSnapshotService;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+	private final PerformanceSnapshotService performanceSnapshotService;
+
+	public DiagnosticsController(PerformanceSnapshotService performanceSnapshotService) {
+		this.performanceSnapshotService = performanceSnapshotService;
+	}
+
+	@GetMapping("/perf")
+	public Map<String, Object> perf() {
+		return performanceSnapshotService.snapshot();
+	}
+}
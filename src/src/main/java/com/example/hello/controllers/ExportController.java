@@ -0,0 +1,145 @@
+package com.example.hello.controllers;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.service.ExportArtifactStore;
+import com.example.hello.service.ExportJobService;
+import com.example.hello.service.ExportJobService.ExportJob;
+import com.example.hello.service.ImportDataset;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/export")
+public class ExportController {
+
+	private final ExportArtifactStore exportArtifactStore;
+	private final ExportJobService exportJobService;
+
+	public ExportController(ExportArtifactStore exportArtifactStore, ExportJobService exportJobService) {
+		this.exportArtifactStore = exportArtifactStore;
+		this.exportJobService = exportJobService;
+	}
+
+	/**
+	 * Serves a dataset as CSV (default) or XLSX from the artifact generated for its current data;
+	 * CSV goes out gzip-encoded to clients that accept it.
+	 */
+	@GetMapping("/{dataset}")
+	public void export(@PathVariable String dataset, @RequestParam(defaultValue = "csv") String format,
+			HttpServletRequest request, HttpServletResponse response) throws IOException {
+		ImportDataset source;
+		ExportArtifactStore.Format artifactFormat;
+		try {
+			source = ImportDataset.forKey(dataset);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		try {
+			artifactFormat = ExportArtifactStore.Format.forName(format);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpStatus.BAD_REQUEST.value());
+			return;
+		}
+		ExportArtifactStore.Artifact artifact = exportArtifactStore.get(source, artifactFormat, ArtifactResponses.acceptsGzip(request));
+		ArtifactResponses.send(request, response, artifact, artifact.fileName());
+	}
+
+	/** Queues an export in the background; poll the returned job and download it once it is done. */
+	@PostMapping("/jobs")
+	public ResponseEntity<Map<String, Object>> submitJob(@RequestParam String dataset,
+			@RequestParam(defaultValue = "csv") String format, @RequestParam(required = false) String priority) {
+		ImportDataset source;
+		try {
+			source = ImportDataset.forKey(dataset);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.notFound().build();
+		}
+		ExportJob job;
+		try {
+			job = exportJobService.submit(source, ExportArtifactStore.Format.forName(format), ExportJobService.Priority.forName(priority));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.accepted().header(HttpHeaders.LOCATION, "/api/export/jobs/" + job.getId()).body(jobRow(job));
+	}
+
+	@GetMapping("/jobs")
+	public List<Map<String, Object>> listJobs() {
+		return exportJobService.list().stream().map(ExportController::jobRow).toList();
+	}
+
+	@GetMapping("/jobs/{id}")
+	public ResponseEntity<Map<String, Object>> getJob(@PathVariable String id) {
+		try {
+			return ResponseEntity.ok(jobRow(exportJobService.get(id)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	@DeleteMapping("/jobs/{id}")
+	public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable String id) {
+		try {
+			if (!exportJobService.cancel(id)) return ResponseEntity.status(HttpStatus.CONFLICT).body(jobRow(exportJobService.get(id)));
+			return ResponseEntity.ok(jobRow(exportJobService.get(id)));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.notFound().build();
+		}
+	}
+
+	/** The finished job's file; supports Range and If-Range, so an interrupted download can resume. */
+	@GetMapping("/jobs/{id}/download")
+	public void downloadJob(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		ExportJob job;
+		try {
+			job = exportJobService.get(id);
+		} catch (IllegalArgumentException e) {
+			response.sendError(HttpStatus.NOT_FOUND.value());
+			return;
+		}
+		if (job.getStatus() != ExportJobService.Status.DONE) {
+			response.sendError(HttpStatus.CONFLICT.value(), "Export job is " + job.getStatus());
+			return;
+		}
+		ExportArtifactStore.Artifact artifact = job.getArtifact();
+		if (ArtifactResponses.acceptsGzip(request)) artifact = exportArtifactStore.gzipped(artifact);
+		ArtifactResponses.send(request, response, artifact, artifact.fileName());
+	}
+
+	private static Map<String, Object> jobRow(ExportJob job) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", job.getId());
+		row.put("dataset", job.getDataset().key());
+		row.put("format", job.getFormat().extension());
+		row.put("priority", job.getPriority());
+		row.put("status", job.getStatus());
+		row.put("submittedAt", job.getSubmittedAt());
+		row.put("startedAt", job.getStartedAt());
+		row.put("finishedAt", job.getFinishedAt());
+		row.put("error", job.getError());
+		if (job.getArtifact() != null) {
+			row.put("size", job.getArtifact().file().length());
+			row.put("downloadUrl", "/api/export/jobs/" + job.getId() + "/download");
+		}
+		return row;
+	}
+}
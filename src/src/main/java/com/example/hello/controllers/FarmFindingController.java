@@ -1,28 +1,24 @@
 package com.example.hello.controllers;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.time.LocalDate;
-import java.util.LinkedHashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -30,7 +26,18 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.example.hello.model.FarmFinding;
 import com.example.hello.model.ResolverTicket;
+import com.example.hello.service.ExportArtifactStore;
 import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.FindingArchiveService;
+import com.example.hello.service.FindingQueryService;
+import com.example.hello.service.FindingQueryService.Facet;
+import com.example.hello.service.ImportDataset;
+import com.example.hello.service.ImportResult;
+import com.example.hello.service.Patches;
+import com.example.hello.service.UploadImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:5173")
@@ -38,14 +45,52 @@ import com.example.hello.service.FarmFindingService;
 public class FarmFindingController {
 
 	private final FarmFindingService service;
-
-	public FarmFindingController(FarmFindingService service) {
+	private final UploadImportService uploadImportService;
+	private final ExportArtifactStore exportArtifactStore;
+	private final FindingQueryService findingQueryService;
+	private final FindingArchiveService findingArchiveService;
+
+	public FarmFindingController(FarmFindingService service, UploadImportService uploadImportService,
+			ExportArtifactStore exportArtifactStore, FindingQueryService findingQueryService,
+			FindingArchiveService findingArchiveService) {
 		this.service = service;
+		this.uploadImportService = uploadImportService;
+		this.exportArtifactStore = exportArtifactStore;
+		this.findingQueryService = findingQueryService;
+		this.findingArchiveService = findingArchiveService;
 	}
 
+	/**
+	 * All findings with their tickets, or with {@code resolved} set, only the resolved or unresolved
+	 * ones, filtered on the stored ticket rollup and returned without tickets. With
+	 * {@code includeArchived}, archived findings (all resolved) follow the live ones. This listing and
+	 * {@code /archived} are the only reads that see the archive.
+	 */
 	@GetMapping
-	public List<FarmFinding> listFindings() {
-		return service.getAllFindings();
+	public List<?> listFindings(@RequestParam(required = false) Boolean resolved,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		List<?> live = resolved != null ? service.getFindings(resolved) : service.getAllFindings();
+		if (!includeArchived || Boolean.FALSE.equals(resolved)) return live;
+		List<Object> all = new ArrayList<>(live);
+		all.addAll(findingArchiveService.getArchivedFindings(resolved == null));
+		return all;
+	}
+
+	/** One page of archived findings with their tickets, in id order; pass {@code nextAfter} as {@code after}. */
+	@GetMapping("/archived")
+	public ResponseEntity<Map<String, Object>> listArchivedFindings(@RequestParam(required = false) Long after,
+			@RequestParam(defaultValue = "50") int size) {
+		try {
+			return ResponseEntity.ok(findingArchiveService.page(after, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/** Runs an archive pass now, whether or not the scheduled one is enabled. */
+	@PostMapping("/archive")
+	public FindingArchiveService.ArchiveResult archiveFindings() {
+		return findingArchiveService.archive();
 	}
 
 	@GetMapping("/summary/apg")
@@ -53,6 +98,43 @@ public class FarmFindingController {
 		return service.countFindingsByApg();
 	}
 
+	/**
+	 * One page of findings matching the filters plus counts for the requested facets. Repeated or
+	 * comma-separated values of one filter match any of them; different filters must all match.
+	 */
+	@GetMapping("/query")
+	public ResponseEntity<Map<String, Object>> queryFindings(
+			@RequestParam(required = false) List<String> apg,
+			@RequestParam(required = false) List<String> severity,
+			@RequestParam(required = false) List<String> criticality,
+			@RequestParam(required = false) List<String> ticketStatus,
+			@RequestParam(required = false) List<String> targetMonth,
+			@RequestParam(required = false) List<String> sealId,
+			@RequestParam(required = false) List<String> facet,
+			@RequestParam(required = false) Long after,
+			@RequestParam(defaultValue = "50") int size) {
+		try {
+			Map<Facet, Set<String>> values = new EnumMap<>(Facet.class);
+			putValues(values, Facet.APG, apg);
+			putValues(values, Facet.SEVERITY, severity);
+			putValues(values, Facet.CRITICALITY, criticality);
+			putValues(values, Facet.TICKET_STATUS, ticketStatus);
+			putValues(values, Facet.TARGET_MONTH, targetMonth);
+			List<Facet> facets = new ArrayList<>();
+			if (facet != null) {
+				for (String key : new LinkedHashSet<>(facet)) facets.add(Facet.forKey(key));
+			}
+			Set<String> sealIds = sealId != null ? new LinkedHashSet<>(sealId) : Set.of();
+			return ResponseEntity.ok(findingQueryService.query(new FindingQueryService.Criteria(values, sealIds), facets, after, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	private static void putValues(Map<Facet, Set<String>> values, Facet facet, List<String> requested) {
+		if (requested != null && !requested.isEmpty()) values.put(facet, new LinkedHashSet<>(requested));
+	}
+
 	@PostMapping
 	public FarmFinding createFinding(@RequestBody FarmFinding finding) {
 		return service.createFinding(finding);
@@ -63,6 +145,13 @@ public class FarmFindingController {
 		return service.updateFinding(id, finding);
 	}
 
+	@PatchMapping("/{id}")
+	public ResponseEntity<FarmFinding> patchFinding(@PathVariable Long id, @RequestBody Map<String, Object> changes,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		FarmFinding patched = service.patchFinding(id, Patches.withIfMatch(changes, ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(patched.getVersion())).body(patched);
+	}
+
 	@DeleteMapping("/{id}")
 	public void deleteFinding(@PathVariable Long id) {
 		service.deleteFinding(id);
@@ -83,102 +172,29 @@ public class FarmFindingController {
 		return service.updateTicket(findingId, ticketId, ticket);
 	}
 
+	@PatchMapping("/{findingId}/tickets/{ticketId}")
+	public ResponseEntity<ResolverTicket> patchTicket(@PathVariable Long findingId, @PathVariable Long ticketId,
+			@RequestBody Map<String, Object> changes, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		ResolverTicket patched = service.patchTicket(findingId, ticketId, Patches.withIfMatch(changes, ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(patched.getVersion())).body(patched);
+	}
+
 	@DeleteMapping("/{findingId}/tickets/{ticketId}")
 	public void deleteTicket(@PathVariable Long findingId, @PathVariable Long ticketId) {
 		service.deleteTicket(findingId, ticketId);
 	}
 
 	@GetMapping("/export")
-	public ResponseEntity<byte[]> exportFindingsExcel() throws Exception {
-		List<FarmFinding> findings = service.getAllFindings();
-		try (Workbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-			Sheet sheet = wb.createSheet("Findings");
-			int r = 0;
-			String[] cols = new String[] { "id", "description", "applicationSealId", "severity", "criticality", "targetDate", "assignedApg", "createdDate" };
-			Row header = sheet.createRow(r++);
-			for (int i = 0; i < cols.length; i++) header.createCell(i).setCellValue(cols[i]);
-			for (FarmFinding f : findings) {
-				Row row = sheet.createRow(r++);
-				int c = 0;
-				row.createCell(c++).setCellValue(f.getId() != null ? f.getId() : 0);
-				row.createCell(c++).setCellValue(nz(f.getDescription()));
-				row.createCell(c++).setCellValue(nz(f.getApplicationSealId()));
-				row.createCell(c++).setCellValue(nz(f.getSeverity()));
-				row.createCell(c++).setCellValue(nz(f.getCriticality()));
-				row.createCell(c++).setCellValue(f.getTargetDate() != null ? f.getTargetDate().toString() : "");
-				row.createCell(c++).setCellValue(nz(f.getAssignedApg()));
-				row.createCell(c++).setCellValue(f.getCreatedDate() != null ? f.getCreatedDate().toString() : "");
-			}
-			for (int i = 0; i < cols.length; i++) sheet.autoSizeColumn(i);
-			wb.write(out);
-			return ResponseEntity.ok()
-				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=findings.xlsx")
-				.contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-				.body(out.toByteArray());
-		}
+	public void exportFindingsExcel(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		ArtifactResponses.send(request, response,
+			exportArtifactStore.get(ImportDataset.FINDINGS, ExportArtifactStore.Format.XLSX, false), "findings.xlsx");
 	}
 
 	@PostMapping("/import")
-	public Map<String, Object> importFindingsExcel(@RequestParam("file") MultipartFile file) throws Exception {
-		int created = 0, updated = 0, skipped = 0;
-		try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(file.getBytes()))) {
-			Sheet sheet = wb.getSheetAt(0);
-			boolean headerRow = true;
-			for (Row row : sheet) {
-				if (headerRow) { headerRow = false; continue; }
-				if (row == null) continue;
-				Long id = (long) getNumeric(row, 0);
-				String description = getString(row, 1);
-				String applicationSealId = getString(row, 2);
-				String severity = getString(row, 3);
-				String criticality = getString(row, 4);
-				String targetDateStr = getString(row, 5);
-				String assignedApg = getString(row, 6);
-				// createdDate is ignored on import (server sets on create)
-
-				FarmFinding finding = null;
-				if (id != null && id > 0) finding = service.getAllFindings().stream().filter(f -> f.getId().equals(id)).findFirst().orElse(null);
-				if (finding == null) { finding = new FarmFinding(); }
-
-				finding.setDescription(description);
-				finding.setApplicationSealId(applicationSealId);
-				finding.setSeverity(severity);
-				finding.setCriticality(criticality);
-				if (targetDateStr != null && !targetDateStr.isBlank()) finding.setTargetDate(LocalDate.parse(targetDateStr));
-				finding.setAssignedApg(assignedApg);
-
-				if (finding.getId() == null) { service.createFinding(finding); created++; } else { service.updateFinding(finding.getId(), finding); updated++; }
-			}
-		}
-		Map<String, Object> result = new LinkedHashMap<>();
-		result.put("created", created);
-		result.put("updated", updated);
-		result.put("skipped", skipped);
-		return result;
-	}
-
-	private static String nz(String s) { return s == null ? "" : s; }
-	private static String getString(Row row, int idx) {
-		Cell cell = row.getCell(idx);
-		if (cell == null) return null;
-		if (cell.getCellType() == CellType.STRING) {
-			String v = cell.getStringCellValue();
-			return (v != null && !v.isBlank()) ? v.trim() : null;
-		}
-		if (cell.getCellType() == CellType.NUMERIC) {
-			return String.valueOf((long) cell.getNumericCellValue());
-		}
-		return null;
-	}
-	private static double getNumeric(Row row, int idx) {
-		Cell cell = row.getCell(idx);
-		if (cell == null) return 0d;
-		if (cell.getCellType() == CellType.NUMERIC) return cell.getNumericCellValue();
-		if (cell.getCellType() == CellType.STRING) {
-			try { return Double.parseDouble(cell.getStringCellValue()); } catch (Exception ignored) { return 0d; }
-		}
-		return 0d;
+	public ImportResult importFindingsExcel(@RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "false") boolean force,
+			@RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+		return uploadImportService.importDataset(ImportDataset.FINDINGS, file, force, dryRun);
 	}
-}
-
 
+}
@@ -0,0 +1,83 @@
+package com.example.hello.controllers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.model.SlaBucket;
+import com.example.hello.service.FindingColumnStore;
+import com.example.hello.service.FindingColumnStore.Dimension;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/findings/analytics")
+@ConditionalOnProperty(name = "app.findings.column-store.enabled", havingValue = "true", matchIfMissing = true)
+public class FindingAnalyticsController {
+
+	private final FindingColumnStore columnStore;
+
+	public FindingAnalyticsController(FindingColumnStore columnStore) {
+		this.columnStore = columnStore;
+	}
+
+	/**
+	 * Finding counts from the in-memory column store. Repeated or comma-separated values of one filter
+	 * match any of them; different filters must all match.
+	 */
+	@GetMapping
+	public ResponseEntity<Map<String, Object>> query(
+			@RequestParam(required = false) List<String> groupBy,
+			@RequestParam(required = false) List<String> apg,
+			@RequestParam(required = false) List<String> severity,
+			@RequestParam(required = false) List<String> criticality,
+			@RequestParam(required = false) List<String> sealId,
+			@RequestParam(required = false) List<String> sla,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate targetTo) {
+		long started = System.nanoTime();
+		FindingColumnStore.Result result;
+		try {
+			Map<Dimension, Set<String>> values = new EnumMap<>(Dimension.class);
+			putValues(values, Dimension.APG, apg);
+			putValues(values, Dimension.SEVERITY, severity);
+			putValues(values, Dimension.CRITICALITY, criticality);
+			putValues(values, Dimension.SEAL_ID, sealId);
+			Set<SlaBucket> buckets = EnumSet.noneOf(SlaBucket.class);
+			if (sla != null) {
+				for (String bucket : sla) buckets.add(SlaBucket.valueOf(bucket.trim().toUpperCase(Locale.ROOT)));
+			}
+			List<Dimension> dimensions = new ArrayList<>();
+			if (groupBy != null) {
+				for (String key : groupBy) dimensions.add(Dimension.forKey(key));
+			}
+			result = columnStore.query(new FindingColumnStore.Filter(values, buckets, targetFrom, targetTo), dimensions);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("total", result.total());
+		response.put("groups", result.groups());
+		response.put("tookMicros", (System.nanoTime() - started) / 1000);
+		return ResponseEntity.ok(response);
+	}
+
+	private static void putValues(Map<Dimension, Set<String>> values, Dimension dimension, List<String> requested) {
+		if (requested != null && !requested.isEmpty()) values.put(dimension, new LinkedHashSet<>(requested));
+	}
+}
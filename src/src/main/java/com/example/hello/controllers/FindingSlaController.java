@@ -0,0 +1,50 @@
+package com.example.hello.controllers;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.model.SlaBucket;
+import com.example.hello.service.FindingSlaService;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/findings/sla")
+public class FindingSlaController {
+
+	private final FindingSlaService slaService;
+
+	public FindingSlaController(FindingSlaService slaService) {
+		this.slaService = slaService;
+	}
+
+	@GetMapping("/heatmap")
+	public Map<String, Map<SlaBucket, Long>> heatmap() {
+		return slaService.heatmap();
+	}
+
+	@GetMapping("/trend")
+	public Map<LocalDate, Map<SlaBucket, Long>> trend(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String apg,
+			@RequestParam(required = false) String severity) {
+		LocalDate end = to != null ? to : LocalDate.now();
+		LocalDate start = from != null ? from : end.minusMonths(6);
+		return slaService.trend(start, end, apg, severity);
+	}
+
+	@PostMapping("/snapshot")
+	public Map<String, Object> snapshot() {
+		LocalDate today = LocalDate.now();
+		int rows = slaService.takeSnapshot(today);
+		return Map.of("snapshotDate", today, "rows", rows);
+	}
+}
@@ -20,8 +20,8 @@ public class HelloController {
 
 	@GetMapping("/hello")
 	public String hello() {
-		long count = hitCounterService.incrementAndGet();
-		return "Hello World (hits=" + count + ")";
+		long count = hitCounterService.incrementAndEstimate();
+		return "Hello World (about " + count + " hits)";
 	}
 
 	@GetMapping("/api/count")
@@ -0,0 +1,50 @@
+package com.example.hello.controllers;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.hello.service.ImportDataset;
+import com.example.hello.service.ImportResult;
+import com.example.hello.service.UploadImportService;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/import")
+public class ImportController {
+
+	private final UploadImportService uploadImportService;
+
+	public ImportController(UploadImportService uploadImportService) {
+		this.uploadImportService = uploadImportService;
+	}
+
+	@PostMapping("/workbook")
+	public Map<String, ImportResult> importWorkbook(@RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "false") boolean force,
+			@RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+		return uploadImportService.importWorkbook(file, force, dryRun);
+	}
+
+	/** Imports one dataset from a .csv file, or from the first sheet of an .xlsx file. */
+	@PostMapping("/{dataset}")
+	public ResponseEntity<ImportResult> importDataset(@PathVariable String dataset, @RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "false") boolean force,
+			@RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+		ImportDataset target;
+		try {
+			target = ImportDataset.forKey(dataset);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok(uploadImportService.importDataset(target, file, force, dryRun));
+	}
+}
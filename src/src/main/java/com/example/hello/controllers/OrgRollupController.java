@@ -0,0 +1,43 @@
+package com.example.hello.controllers;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hello.service.OrgRollupCache;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/org/rollup")
+@ConditionalOnProperty(name = "app.org.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class OrgRollupController {
+
+	private final OrgRollupCache rollupCache;
+
+	public OrgRollupController(OrgRollupCache rollupCache) {
+		this.rollupCache = rollupCache;
+	}
+
+	/**
+	 * Pre-aggregated counters for the whole org, or one product area, down to {@code depth}
+	 * ({@code area}, {@code team} or {@code application}).
+	 */
+	@GetMapping
+	public ResponseEntity<Map<String, Object>> rollup(@RequestParam(required = false) Long areaId,
+			@RequestParam(defaultValue = "team") String depth) {
+		OrgRollupCache.Depth level;
+		try {
+			level = OrgRollupCache.Depth.forKey(depth);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		Map<String, Object> snapshot = rollupCache.snapshot(areaId, level);
+		return snapshot != null ? ResponseEntity.ok(snapshot) : ResponseEntity.notFound().build();
+	}
+}
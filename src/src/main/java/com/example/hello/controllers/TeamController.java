@@ -4,8 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.hello.model.Team;
+import com.example.hello.service.TeamOverviewService;
 import com.example.hello.service.TeamService;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -15,6 +17,9 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
     
+    @Autowired
+    private TeamOverviewService teamOverviewService;
+    
     @GetMapping
     public List<Team> listAll() {
         return teamService.listAll();
@@ -32,6 +37,24 @@ public class TeamController {
             .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<Map<String, Object>> getOverview(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(teamOverviewService.overview(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/overview")
+    public ResponseEntity<List<Map<String, Object>>> getOverviews(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(teamOverviewService.overviews(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @PostMapping
     public Team create(@RequestBody Team team) {
         return teamService.create(team);
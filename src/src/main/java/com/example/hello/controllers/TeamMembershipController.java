@@ -4,8 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.hello.model.TeamMembership;
+import com.example.hello.service.ReferenceTables;
 import com.example.hello.service.TeamMembershipService;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/team-memberships")
@@ -20,11 +22,21 @@ public class TeamMembershipController {
         return teamMembershipService.listAll();
     }
     
+    @GetMapping(params = "shape=normalized")
+    public Map<String, Object> listAllNormalized() {
+        return ReferenceTables.ofMemberships(teamMembershipService.listAll());
+    }
+    
     @GetMapping("/team/{teamId}")
     public List<TeamMembership> listByTeam(@PathVariable Long teamId) {
         return teamMembershipService.listByTeam(teamId);
     }
     
+    @GetMapping(value = "/team/{teamId}", params = "shape=normalized")
+    public Map<String, Object> listByTeamNormalized(@PathVariable Long teamId) {
+        return ReferenceTables.ofMemberships(teamMembershipService.listByTeam(teamId));
+    }
+    
     @GetMapping("/person/{personId}")
     public List<TeamMembership> listByPerson(@PathVariable Long personId) {
         return teamMembershipService.listByPerson(personId);
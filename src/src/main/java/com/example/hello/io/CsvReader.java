@@ -0,0 +1,143 @@
+package com.example.hello.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader working directly on UTF-8 bytes.
+ * <p>
+ * Input is read in 64 KB blocks and scanned for the structural bytes ({@code , " \r \n}), which never
+ * occur inside a multi-byte UTF-8 sequence, so nothing is decoded until a field is complete. Unquoted
+ * fields that lie within one block are decoded straight from the block; only fields that span blocks
+ * or contain escaped quotes are copied. A leading byte-order mark is ignored, blank lines are skipped
+ * and empty fields are returned as {@code null}.
+ */
+public class CsvReader implements Closeable {
+
+	private static final int BLOCK_SIZE = 64 * 1024;
+	private static final byte[] QUOTE = { '"' };
+
+	private final InputStream in;
+	private final byte[] block = new byte[BLOCK_SIZE];
+	private int pos;
+	private int limit;
+	private boolean eof;
+
+	private byte[] field = new byte[256];
+	private int fieldLength;
+	private final List<String> row = new ArrayList<>();
+
+	public CsvReader(InputStream in) throws IOException {
+		this.in = in;
+		fill();
+		if (limit >= 3 && (block[0] & 0xFF) == 0xEF && (block[1] & 0xFF) == 0xBB && (block[2] & 0xFF) == 0xBF) {
+			pos = 3;
+		}
+	}
+
+	/** Next record, or {@code null} at end of input. */
+	public String[] next() throws IOException {
+		row.clear();
+		while (true) {
+			if (pos == limit && !fill()) {
+				return row.isEmpty() ? null : row.toArray(String[]::new);
+			}
+			byte b = block[pos];
+			if (b == '\r' || b == '\n') {
+				pos++;
+				if (b == '\r') skipIf((byte) '\n');
+				if (!row.isEmpty()) return row.toArray(String[]::new);
+				continue;
+			}
+			row.add(b == '"' ? readQuoted() : readUnquoted());
+			if (skipIf((byte) ',') && atEndOfRecord()) {
+				// a trailing separator means one more, empty, field
+				row.add(null);
+			}
+		}
+	}
+
+	private String readUnquoted() throws IOException {
+		fieldLength = 0;
+		int start = pos;
+		while (true) {
+			while (pos < limit && !isDelimiter(block[pos])) pos++;
+			if (pos < limit && fieldLength == 0) {
+				return decode(block, start, pos - start);
+			}
+			append(block, start, pos - start);
+			if (pos < limit || !fill()) {
+				return decode(field, 0, fieldLength);
+			}
+			start = pos;
+		}
+	}
+
+	private String readQuoted() throws IOException {
+		pos++; // opening quote
+		fieldLength = 0;
+		while (true) {
+			int start = pos;
+			while (pos < limit && block[pos] != '"') pos++;
+			append(block, start, pos - start);
+			if (pos == limit) {
+				if (!fill()) return decode(field, 0, fieldLength); // unterminated quote
+				continue;
+			}
+			pos++;
+			if (!skipIf((byte) '"')) break; // closing quote
+			append(QUOTE, 0, 1);
+		}
+		// tolerate stray bytes between the closing quote and the separator
+		while ((pos < limit || fill()) && !isDelimiter(block[pos])) {
+			append(block, pos++, 1);
+		}
+		return decode(field, 0, fieldLength);
+	}
+
+	private boolean atEndOfRecord() throws IOException {
+		return (pos == limit && !fill()) || block[pos] == '\r' || block[pos] == '\n';
+	}
+
+	private boolean skipIf(byte expected) throws IOException {
+		if ((pos == limit && !fill()) || block[pos] != expected) return false;
+		pos++;
+		return true;
+	}
+
+	private static boolean isDelimiter(byte b) {
+		return b == ',' || b == '\r' || b == '\n';
+	}
+
+	private void append(byte[] source, int offset, int length) {
+		if (length <= 0) return;
+		if (fieldLength + length > field.length) {
+			field = Arrays.copyOf(field, Math.max(field.length * 2, fieldLength + length));
+		}
+		System.arraycopy(source, offset, field, fieldLength, length);
+		fieldLength += length;
+	}
+
+	private static String decode(byte[] bytes, int offset, int length) {
+		return length == 0 ? null : new String(bytes, offset, length, StandardCharsets.UTF_8);
+	}
+
+	private boolean fill() throws IOException {
+		if (eof) return false;
+		int n = in.readNBytes(block, 0, BLOCK_SIZE);
+		pos = 0;
+		limit = n;
+		if (n == 0) eof = true;
+		return n > 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.hello.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 4180 CSV as UTF-8. Values are written with {@code toString()}; {@code null} becomes an
+ * empty field and fields containing separators, quotes or line breaks are quoted.
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+	private final Writer out;
+
+	public CsvWriter(OutputStream out) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+	}
+
+	public void writeRow(Object... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) out.write(',');
+			if (values[i] != null) writeField(values[i].toString());
+		}
+		out.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+		if (!quote) {
+			out.write(value);
+			return;
+		}
+		out.write('"');
+		out.write(value.replace("\"", "\"\""));
+		out.write('"');
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.hello.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through read-only memory-mapped windows, so the bytes come straight from the page
+ * cache instead of through an intermediate heap buffer. Files larger than one window are mapped
+ * piece by piece.
+ */
+public class MappedFileInputStream extends InputStream {
+
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+	private long windowStart;
+	private MappedByteBuffer window;
+
+	public MappedFileInputStream(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+	}
+
+	@Override
+	public int read() throws IOException {
+		return nextWindow() ? window.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) return 0;
+		if (!nextWindow()) return -1;
+		int n = Math.min(len, window.remaining());
+		window.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return window != null ? window.remaining() : 0;
+	}
+
+	private boolean nextWindow() throws IOException {
+		if (window != null && window.hasRemaining()) return true;
+		long next = window == null ? 0 : windowStart + window.capacity();
+		if (next >= size) return false;
+		windowStart = next;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(WINDOW_SIZE, size - next));
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
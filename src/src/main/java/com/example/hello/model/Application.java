@@ -3,26 +3,53 @@ package com.example.hello.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.example.hello.service.DataVersionListener;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "applications")
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = Application.DETAIL_GRAPH, attributeNodes = {
+	@NamedAttributeNode(value = "team", subgraph = "team"),
+	@NamedAttributeNode("productArea"),
+	@NamedAttributeNode("certificateEntities")
+}, subgraphs = @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("productArea")))
+@Table(name = "applications", indexes = {
+	@Index(name = "idx_applications_name", columnList = "name"),
+	@Index(name = "idx_applications_team", columnList = "team_id"),
+	@Index(name = "idx_applications_product_area", columnList = "product_area_id")
+})
 public class Application {
 
+	/** Everything the API serializes for an application: its team (with product area), product area and certificates. */
+	public static final String DETAIL_GRAPH = "Application.detail";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Version
+	@ColumnDefault("0")
+	private Long version;
+
 	/**
 	 * Unique application key used to link FARM findings (matches FarmFinding.applicationSealId)
 	 */
@@ -34,7 +61,7 @@ public class Application {
 
 	private String platform;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "team_id")
 	private Team team;
 
@@ -45,7 +72,7 @@ public class Application {
 	 */
 	private String certificates;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "product_area_id")
 	private ProductArea productArea;
 
@@ -60,6 +87,14 @@ public class Application {
 		return id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public String getSealId() {
 		return sealId;
 	}
@@ -4,19 +4,35 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@NamedEntityGraph(name = ApplicationTeam.DETAIL_GRAPH, attributeNodes = {
+    @NamedAttributeNode(value = "application", subgraph = "application"),
+    @NamedAttributeNode(value = "team", subgraph = "team")
+}, subgraphs = {
+    @NamedSubgraph(name = "application", attributeNodes = {
+        @NamedAttributeNode(value = "team", subgraph = "team"),
+        @NamedAttributeNode("productArea"),
+        @NamedAttributeNode("certificateEntities")
+    }),
+    @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("productArea"))
+})
 @Table(name = "application_team", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"application_id", "team_id", "relationship"})
+}, indexes = {
+    @Index(name = "idx_application_team_team", columnList = "team_id")
 })
 public class ApplicationTeam {
+    /** The link as the API serializes it: the application graph of {@link Application#DETAIL_GRAPH} plus the team. */
+    public static final String DETAIL_GRAPH = "ApplicationTeam.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "application_id", nullable = false)
     private Application application;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", nullable = false)
     private Team team;
 
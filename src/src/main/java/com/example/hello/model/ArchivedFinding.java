@@ -0,0 +1,158 @@
+package com.example.hello.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.Immutable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * A resolved {@link FarmFinding} moved out of the hot table by FindingArchiveService. It keeps the
+ * original id and is never changed once written; its tickets are {@link ArchivedTicket}s.
+ */
+@Entity
+@Immutable
+@NamedEntityGraph(name = ArchivedFinding.WITH_TICKETS_GRAPH, attributeNodes = @NamedAttributeNode("resolverTickets"))
+@Table(name = "archived_farm_finding", indexes = {
+	@Index(name = "idx_archived_farm_finding_seal_id", columnList = "application_seal_id")
+})
+public class ArchivedFinding {
+
+	public static final String WITH_TICKETS_GRAPH = "ArchivedFinding.withTickets";
+
+	@Id
+	private Long id;
+
+	private String description;
+
+	@Column(name = "application_seal_id")
+	private String applicationSealId;
+
+	private String severity;
+
+	private String criticality;
+
+	@Column(name = "target_date")
+	private LocalDate targetDate;
+
+	private LocalDateTime createdDate;
+
+	@Column(name = "updated_date")
+	private LocalDateTime updatedDate;
+
+	@Column(name = "assigned_apg")
+	private String assignedApg;
+
+	@Column(name = "done_ticket_count", nullable = false)
+	private int doneTicketCount;
+
+	@Column(name = "last_ticket_status_change")
+	private LocalDateTime lastTicketStatusChange;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+
+	// written through ArchivedTicket.findingId; this side only reads
+	@OneToMany
+	@JoinColumn(name = "finding_id", insertable = false, updatable = false)
+	@OrderBy("id")
+	private List<ArchivedTicket> resolverTickets = new ArrayList<>();
+
+	protected ArchivedFinding() {
+	}
+
+	public ArchivedFinding(FarmFinding finding, LocalDateTime archivedAt) {
+		this.id = finding.getId();
+		this.description = finding.getDescription();
+		this.applicationSealId = finding.getApplicationSealId();
+		this.severity = finding.getSeverity();
+		this.criticality = finding.getCriticality();
+		this.targetDate = finding.getTargetDate();
+		this.createdDate = finding.getCreatedDate();
+		this.updatedDate = finding.getUpdatedDate();
+		this.assignedApg = finding.getAssignedApg();
+		this.doneTicketCount = finding.getDoneTicketCount();
+		this.lastTicketStatusChange = finding.getLastTicketStatusChange();
+		this.archivedAt = archivedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getApplicationSealId() {
+		return applicationSealId;
+	}
+
+	public String getSeverity() {
+		return severity;
+	}
+
+	public String getCriticality() {
+		return criticality;
+	}
+
+	public LocalDate getTargetDate() {
+		return targetDate;
+	}
+
+	public LocalDateTime getCreatedDate() {
+		return createdDate;
+	}
+
+	public LocalDateTime getUpdatedDate() {
+		return updatedDate;
+	}
+
+	public String getAssignedApg() {
+		return assignedApg;
+	}
+
+	public int getDoneTicketCount() {
+		return doneTicketCount;
+	}
+
+	public LocalDateTime getLastTicketStatusChange() {
+		return lastTicketStatusChange;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	/** Only resolved findings are archived. */
+	@Transient
+	@JsonProperty("resolved")
+	public boolean isResolved() {
+		return true;
+	}
+
+	@Transient
+	@JsonProperty("archived")
+	public boolean isArchived() {
+		return true;
+	}
+
+	public List<ArchivedTicket> getResolverTickets() {
+		return resolverTickets;
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.hello.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/** A {@link ResolverTicket} archived together with its finding; see {@link ArchivedFinding}. */
+@Entity
+@Immutable
+@Table(name = "archived_resolver_ticket", indexes = {
+	@Index(name = "idx_archived_resolver_ticket_finding", columnList = "finding_id")
+})
+public class ArchivedTicket {
+
+	@Id
+	private Long id;
+
+	@Column(name = "finding_id", nullable = false)
+	private Long findingId;
+
+	private String jiraKey;
+
+	private String jiraUrl;
+
+	private String apg;
+
+	private String status;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+
+	protected ArchivedTicket() {
+	}
+
+	public ArchivedTicket(ResolverTicket ticket, Long findingId, LocalDateTime archivedAt) {
+		this.id = ticket.getId();
+		this.findingId = findingId;
+		this.jiraKey = ticket.getJiraKey();
+		this.jiraUrl = ticket.getJiraUrl();
+		this.apg = ticket.getApg();
+		this.status = ticket.getStatus();
+		this.archivedAt = archivedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getFindingId() {
+		return findingId;
+	}
+
+	public String getJiraKey() {
+		return jiraKey;
+	}
+
+	public String getJiraUrl() {
+		return jiraUrl;
+	}
+
+	public String getApg() {
+		return apg;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+}
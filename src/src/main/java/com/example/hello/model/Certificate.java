@@ -2,23 +2,45 @@ package com.example.hello.model;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.example.hello.service.DataVersionListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = Certificate.WITH_APPLICATION_GRAPH, attributeNodes = @NamedAttributeNode("application"))
+@Table(indexes = @Index(name = "idx_certificate_application", columnList = "application_id"))
 public class Certificate {
 
+	/** Certificate exports report the owning application's seal id. */
+	public static final String WITH_APPLICATION_GRAPH = "Certificate.withApplication";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Version
+	@ColumnDefault("0")
+	private Long version;
+
 	/** Common Name (CN) */
 	private String cn;
 
@@ -26,7 +48,16 @@ public class Certificate {
 
 	private LocalDate expirationDate;
 
-	@ManyToOne
+	/**
+	 * Set on rows {@code CertificateReconciler} created from the application's certificates text.
+	 * Only those are removed again when their CN leaves the text; rows entered by hand or imported stay.
+	 */
+	@Column(name = "from_text", nullable = false)
+	@ColumnDefault("false")
+	@JsonIgnore
+	private boolean fromText;
+
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonBackReference
 	private Application application;
 
@@ -41,6 +72,14 @@ public class Certificate {
 		return id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public String getCn() {
 		return cn;
 	}
@@ -65,6 +104,14 @@ public class Certificate {
 		this.expirationDate = expirationDate;
 	}
 
+	public boolean isFromText() {
+		return fromText;
+	}
+
+	public void setFromText(boolean fromText) {
+		this.fromText = fromText;
+	}
+
 	public Application getApplication() {
 		return application;
 	}
@@ -1,11 +1,30 @@
 package com.example.hello.model;
 
+import com.example.hello.service.DataVersionListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "code_repository")
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = CodeRepository.DETAIL_GRAPH, attributeNodes = {
+    @NamedAttributeNode(value = "application", subgraph = "application"),
+    @NamedAttributeNode(value = "team", subgraph = "team")
+}, subgraphs = {
+    @NamedSubgraph(name = "application", attributeNodes = {
+        @NamedAttributeNode(value = "team", subgraph = "team"),
+        @NamedAttributeNode("productArea"),
+        @NamedAttributeNode("certificateEntities")
+    }),
+    @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("productArea"))
+})
+@Table(name = "code_repository", indexes = {
+    @Index(name = "idx_code_repository_application", columnList = "application_id"),
+    @Index(name = "idx_code_repository_team", columnList = "team_id")
+})
 public class CodeRepository {
+    /** A repository as the API serializes it: the application graph of {@link Application#DETAIL_GRAPH} plus the team. */
+    public static final String DETAIL_GRAPH = "CodeRepository.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -16,11 +35,11 @@ public class CodeRepository {
     @Column(name = "project_id", nullable = false, unique = true)
     private String projectId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "application_id")
     private Application application;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
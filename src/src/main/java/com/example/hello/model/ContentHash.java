@@ -0,0 +1,31 @@
+package com.example.hello.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 over an ordered list of field values, used to tell whether an imported row would change
+ * a stored entity. Values are written with {@code toString()}, separated by a control character, and
+ * {@code null} is distinguished from the empty string.
+ */
+public final class ContentHash {
+
+	private ContentHash() {
+	}
+
+	public static String of(Object... values) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		for (Object value : values) {
+			digest.update(value == null ? new byte[] { 0 } : value.toString().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0x1F);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+}
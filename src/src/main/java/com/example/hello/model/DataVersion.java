@@ -0,0 +1,40 @@
+package com.example.hello.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Change counter for one entity type, bumped after every committed transaction that wrote rows of
+ * that type. Anything derived from a table (cached exports) compares these counters to decide
+ * whether it is still current, on every node.
+ */
+@Entity
+@Table(name = "data_version")
+public class DataVersion {
+
+	/** Entity name, e.g. {@code FarmFinding}. */
+	@Id
+	@Column(name = "name", length = 100)
+	private String name;
+
+	@Column(name = "version", nullable = false)
+	private long version;
+
+	public DataVersion() {
+	}
+
+	public DataVersion(String name, long version) {
+		this.name = name;
+		this.version = version;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+}
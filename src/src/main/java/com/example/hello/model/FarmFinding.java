@@ -5,43 +5,112 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.example.hello.service.DataVersionListener;
+import com.example.hello.service.FindingColumnListener;
+import com.example.hello.service.FindingSlaListener;
+import com.example.hello.service.OrgRollupListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 @Entity
+@EntityListeners({ DataVersionListener.class, FindingColumnListener.class, OrgRollupListener.class, FindingSlaListener.class })
+@NamedEntityGraph(name = FarmFinding.WITH_TICKETS_GRAPH, attributeNodes = @NamedAttributeNode("resolverTickets"))
+@Table(indexes = {
+	@Index(name = "idx_farm_finding_seal_id", columnList = "application_seal_id"),
+	@Index(name = "idx_farm_finding_apg", columnList = "assigned_apg"),
+	@Index(name = "idx_farm_finding_sla", columnList = "assigned_apg, severity, target_date"),
+	@Index(name = "idx_farm_finding_updated", columnList = "updated_date"),
+	@Index(name = "idx_farm_finding_ticket_rollup", columnList = "open_ticket_count, in_progress_ticket_count, done_ticket_count")
+})
 public class FarmFinding {
 
+	/** Finding listings serialize each finding's resolver tickets inline. */
+	public static final String WITH_TICKETS_GRAPH = "FarmFinding.withTickets";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Version
+	@ColumnDefault("0")
+	private Long version;
+
 	private String description;
 
+	@Column(name = "application_seal_id")
 	private String applicationSealId;
 
 	private String severity;
 
 	private String criticality;
 
+	@Column(name = "target_date")
 	private LocalDate targetDate;
 
 	/** Timestamp when the finding was first saved. */
 	private LocalDateTime createdDate;
 
+	/** Timestamp of the last change, used by incremental jobs to find modified rows. */
+	@Column(name = "updated_date")
+	private LocalDateTime updatedDate;
+
 	// Single owning APG for the finding (for charting and assignment)
+	@Column(name = "assigned_apg")
 	private String assignedApg;
 
+	/** {@link #computeContentHash()} as of the last write; imports compare against it to skip unchanged rows. */
+	@JsonIgnore
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
+	/*
+	 * Ticket counts per TicketStatusCategory, kept in step with resolver_ticket by TicketRollupService
+	 * in the transaction that changes the tickets, so listings can tell resolved findings apart without a join.
+	 */
+	@ColumnDefault("0")
+	@Column(name = "open_ticket_count", nullable = false)
+	private int openTicketCount;
+
+	@ColumnDefault("0")
+	@Column(name = "in_progress_ticket_count", nullable = false)
+	private int inProgressTicketCount;
+
+	@ColumnDefault("0")
+	@Column(name = "done_ticket_count", nullable = false)
+	private int doneTicketCount;
+
+	@Column(name = "last_ticket_status_change")
+	private LocalDateTime lastTicketStatusChange;
+
 	@OneToMany(mappedBy = "finding", cascade = CascadeType.ALL, orphanRemoval = true)
 	@JsonManagedReference
 	private List<ResolverTicket> resolverTickets = new ArrayList<>();
 
+	/** SLA aggregate key as last read or written, so a change knows which count to move the finding from. */
+	@Transient
+	@JsonIgnore
+	private FindingSlaAggregate.Key storedSlaKey;
+
 	public FarmFinding() {
 	}
 
@@ -49,6 +118,14 @@ public class FarmFinding {
 		return id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public String getDescription() {
 		return description;
 	}
@@ -97,14 +174,76 @@ public class FarmFinding {
 		this.createdDate = createdDate;
 	}
 
+	public LocalDateTime getUpdatedDate() {
+		return updatedDate;
+	}
+
+	public void setUpdatedDate(LocalDateTime updatedDate) {
+		this.updatedDate = updatedDate;
+	}
+
+	/** SLA bucket of the target date as of today. */
+	@Transient
+	@JsonProperty("slaStatus")
+	public SlaBucket getSlaStatus() {
+		return SlaBucket.of(targetDate, LocalDate.now());
+	}
+
 	public String getAssignedApg() {
 		return assignedApg;
 	}
 
+	public String getContentHash() {
+		return contentHash;
+	}
+
+	/** Hash of the fields a findings import can set. */
+	public String computeContentHash() {
+		return ContentHash.of(description, applicationSealId, severity, criticality, targetDate, assignedApg);
+	}
+
+	public void refreshContentHash() {
+		this.contentHash = computeContentHash();
+	}
+
 	public void setAssignedApg(String assignedApg) {
 		this.assignedApg = assignedApg;
 	}
 
+	public int getOpenTicketCount() {
+		return openTicketCount;
+	}
+
+	public int getInProgressTicketCount() {
+		return inProgressTicketCount;
+	}
+
+	public int getDoneTicketCount() {
+		return doneTicketCount;
+	}
+
+	/** When a ticket of this finding was last added, removed or moved to another status. */
+	public LocalDateTime getLastTicketStatusChange() {
+		return lastTicketStatusChange;
+	}
+
+	/** Resolved once it has tickets and all of them are done; a finding without tickets is still open. */
+	@Transient
+	@JsonProperty("resolved")
+	public boolean isResolved() {
+		return doneTicketCount > 0 && openTicketCount == 0 && inProgressTicketCount == 0;
+	}
+
+	public void setTicketRollup(int openTicketCount, int inProgressTicketCount, int doneTicketCount) {
+		this.openTicketCount = openTicketCount;
+		this.inProgressTicketCount = inProgressTicketCount;
+		this.doneTicketCount = doneTicketCount;
+	}
+
+	public void setLastTicketStatusChange(LocalDateTime lastTicketStatusChange) {
+		this.lastTicketStatusChange = lastTicketStatusChange;
+	}
+
 	public List<ResolverTicket> getResolverTickets() {
 		return resolverTickets;
 	}
@@ -113,6 +252,14 @@ public class FarmFinding {
 		this.resolverTickets = resolverTickets;
 	}
 
+	public FindingSlaAggregate.Key getStoredSlaKey() {
+		return storedSlaKey;
+	}
+
+	public void setStoredSlaKey(FindingSlaAggregate.Key storedSlaKey) {
+		this.storedSlaKey = storedSlaKey;
+	}
+
 	public void addResolverTicket(ResolverTicket ticket) {
 		ticket.setFinding(this);
 		this.resolverTickets.add(ticket);
@@ -128,6 +275,14 @@ public class FarmFinding {
 		if (this.createdDate == null) {
 			this.createdDate = LocalDateTime.now();
 		}
+		this.updatedDate = LocalDateTime.now();
+		refreshContentHash();
+	}
+
+	@PreUpdate
+	void onUpdate() {
+		this.updatedDate = LocalDateTime.now();
+		refreshContentHash();
 	}
 }
 
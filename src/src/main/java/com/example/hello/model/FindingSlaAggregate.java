@@ -0,0 +1,78 @@
+package com.example.hello.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Live finding count per APG, severity and target date, kept current from finding writes so the
+ * daily SLA snapshot never aggregates the findings table. Buckets move with the snapshot day, so
+ * the target date is kept to the day. Missing values are stored as {@code ''} and
+ * {@link #NO_TARGET_DATE}, which keeps the unique key free of nulls.
+ */
+@Entity
+@Table(name = "finding_sla_aggregate", uniqueConstraints = {
+	@UniqueConstraint(columnNames = { "apg", "severity", "target_date" })
+})
+public class FindingSlaAggregate {
+
+	/** Stands for "no target date". */
+	public static final LocalDate NO_TARGET_DATE = LocalDate.of(9999, 12, 31);
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "apg", nullable = false, length = 100)
+	private String apg;
+
+	@Column(name = "severity", nullable = false, length = 50)
+	private String severity;
+
+	@Column(name = "target_date", nullable = false)
+	private LocalDate targetDate;
+
+	@Column(name = "finding_count", nullable = false)
+	private long findingCount;
+
+	public FindingSlaAggregate() {
+	}
+
+	public FindingSlaAggregate(Key key, long findingCount) {
+		this.apg = key.apg();
+		this.severity = key.severity();
+		this.targetDate = key.targetDate();
+		this.findingCount = findingCount;
+	}
+
+	public Key getKey() {
+		return new Key(apg, severity, targetDate);
+	}
+
+	public long getFindingCount() {
+		return findingCount;
+	}
+
+	/** A finding's (APG, severity, target date) in stored form. */
+	public record Key(String apg, String severity, LocalDate targetDate) {
+
+		public static Key of(String apg, String severity, LocalDate targetDate) {
+			return new Key(apg != null ? apg : "", severity != null ? severity : "",
+				targetDate != null ? targetDate : NO_TARGET_DATE);
+		}
+
+		public static Key of(FarmFinding finding) {
+			return of(finding.getAssignedApg(), finding.getSeverity(), finding.getTargetDate());
+		}
+
+		public SlaBucket bucket(LocalDate asOf) {
+			return SlaBucket.of(NO_TARGET_DATE.equals(targetDate) ? null : targetDate, asOf);
+		}
+	}
+}
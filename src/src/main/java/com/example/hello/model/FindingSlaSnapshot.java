@@ -0,0 +1,78 @@
+package com.example.hello.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Daily count of findings per APG, severity and SLA bucket. Trend queries read only this table.
+ */
+@Entity
+@Table(name = "finding_sla_snapshot", uniqueConstraints = {
+	@UniqueConstraint(columnNames = { "snapshot_date", "apg", "severity", "bucket" })
+})
+public class FindingSlaSnapshot {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "snapshot_date", nullable = false)
+	private LocalDate snapshotDate;
+
+	@Column(name = "apg", length = 100)
+	private String apg;
+
+	@Column(name = "severity", length = 50)
+	private String severity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "bucket", nullable = false, length = 20)
+	private SlaBucket bucket;
+
+	@Column(name = "finding_count", nullable = false)
+	private long findingCount;
+
+	public FindingSlaSnapshot() {
+	}
+
+	public FindingSlaSnapshot(LocalDate snapshotDate, String apg, String severity, SlaBucket bucket, long findingCount) {
+		this.snapshotDate = snapshotDate;
+		this.apg = apg;
+		this.severity = severity;
+		this.bucket = bucket;
+		this.findingCount = findingCount;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public LocalDate getSnapshotDate() {
+		return snapshotDate;
+	}
+
+	public String getApg() {
+		return apg;
+	}
+
+	public String getSeverity() {
+		return severity;
+	}
+
+	public SlaBucket getBucket() {
+		return bucket;
+	}
+
+	public long getFindingCount() {
+		return findingCount;
+	}
+}
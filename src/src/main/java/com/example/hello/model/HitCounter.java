@@ -1,23 +1,36 @@
 package com.example.hello.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One grow-only counter per application node; the hit count is the sum over all rows. Each node
+ * only ever writes its own row, so concurrent nodes never contend. The single row written before
+ * counters were per node has no node id and is still included in the sum.
+ */
 @Entity
+@Table(name = "hit_counter", uniqueConstraints = @UniqueConstraint(name = "uk_hit_counter_node", columnNames = "node_id"))
 public class HitCounter {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Column(name = "node_id", length = 100)
+	private String nodeId;
+
 	private Long count;
 
 	public HitCounter() {
 	}
 
-	public HitCounter(Long count) {
+	public HitCounter(String nodeId, Long count) {
+		this.nodeId = nodeId;
 		this.count = count;
 	}
 
@@ -25,6 +38,10 @@ public class HitCounter {
 		return id;
 	}
 
+	public String getNodeId() {
+		return nodeId;
+	}
+
 	public Long getCount() {
 		return count;
 	}
@@ -33,5 +50,3 @@ public class HitCounter {
 		this.count = count;
 	}
 }
-
-
@@ -0,0 +1,163 @@
+package com.example.hello.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Outcome of importing one dataset from an uploaded file, keyed by the file's SHA-256. Uploading the
+ * same file to the same endpoint again returns these counts instead of re-running the import.
+ * <p>
+ * Each import first inserts a {@link #claim} row for its checksum and scope, which the unique key
+ * lets only one upload hold; it stays incomplete while the import runs and is completed together
+ * with the per-dataset rows.
+ */
+@Entity
+@Table(name = "import_receipt", uniqueConstraints = {
+	@UniqueConstraint(columnNames = { "checksum", "scope", "dataset" })
+})
+public class ImportReceipt {
+
+	/** {@code dataset} of the row that claims a checksum and scope; results use real dataset keys. */
+	public static final String CLAIM_DATASET = "*";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "checksum", nullable = false, length = 64)
+	private String checksum;
+
+	/** Endpoint family the file was uploaded to: a dataset key, or {@code workbook}. */
+	@Column(name = "scope", nullable = false, length = 40)
+	private String scope;
+
+	@Column(name = "dataset", nullable = false, length = 40)
+	private String dataset;
+
+	@Column(name = "file_name")
+	private String fileName;
+
+	@Column(name = "size_bytes", nullable = false)
+	private long sizeBytes;
+
+	@Column(name = "created_count", nullable = false)
+	private int createdCount;
+
+	@Column(name = "updated_count", nullable = false)
+	private int updatedCount;
+
+	@Column(name = "unchanged_count", nullable = false)
+	@ColumnDefault("0")
+	private int unchangedCount;
+
+	@Column(name = "skipped_count", nullable = false)
+	private int skippedCount;
+
+	@Column(name = "imported_at", nullable = false)
+	private LocalDateTime importedAt;
+
+	/** False only on a claim whose import is still running. */
+	@Column(name = "completed", nullable = false)
+	@ColumnDefault("true")
+	private boolean completed = true;
+
+	public ImportReceipt() {
+	}
+
+	public ImportReceipt(String checksum, String scope, String dataset, String fileName, long sizeBytes) {
+		this.checksum = checksum;
+		this.scope = scope;
+		this.dataset = dataset;
+		this.fileName = fileName;
+		this.sizeBytes = sizeBytes;
+		this.importedAt = LocalDateTime.now();
+	}
+
+	/** An incomplete claim on a file's checksum for one scope, taken before its import starts. */
+	public static ImportReceipt claim(String checksum, String scope, String fileName, long sizeBytes) {
+		ImportReceipt claim = new ImportReceipt(checksum, scope, CLAIM_DATASET, fileName, sizeBytes);
+		claim.completed = false;
+		return claim;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getChecksum() {
+		return checksum;
+	}
+
+	public String getScope() {
+		return scope;
+	}
+
+	public String getDataset() {
+		return dataset;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	public int getCreatedCount() {
+		return createdCount;
+	}
+
+	public void setCreatedCount(int createdCount) {
+		this.createdCount = createdCount;
+	}
+
+	public int getUpdatedCount() {
+		return updatedCount;
+	}
+
+	public void setUpdatedCount(int updatedCount) {
+		this.updatedCount = updatedCount;
+	}
+
+	public int getUnchangedCount() {
+		return unchangedCount;
+	}
+
+	public void setUnchangedCount(int unchangedCount) {
+		this.unchangedCount = unchangedCount;
+	}
+
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	public void setSkippedCount(int skippedCount) {
+		this.skippedCount = skippedCount;
+	}
+
+	public LocalDateTime getImportedAt() {
+		return importedAt;
+	}
+
+	public boolean isClaim() {
+		return CLAIM_DATASET.equals(dataset);
+	}
+
+	public boolean isCompleted() {
+		return completed;
+	}
+
+	public void complete() {
+		this.completed = true;
+	}
+}
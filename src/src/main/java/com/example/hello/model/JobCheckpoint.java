@@ -0,0 +1,54 @@
+package com.example.hello.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Progress marker for a background job, so it can resume where it stopped after a restart.
+ */
+@Entity
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+	@Id
+	@Column(name = "name", length = 100)
+	private String name;
+
+	/** Job-specific position, e.g. the last processed id or row count. */
+	@Column(name = "last_position")
+	private Long lastPosition;
+
+	@Column(name = "last_run_at")
+	private LocalDateTime lastRunAt;
+
+	public JobCheckpoint() {
+	}
+
+	public JobCheckpoint(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Long getLastPosition() {
+		return lastPosition;
+	}
+
+	public void setLastPosition(Long lastPosition) {
+		this.lastPosition = lastPosition;
+	}
+
+	public LocalDateTime getLastRunAt() {
+		return lastRunAt;
+	}
+
+	public void setLastRunAt(LocalDateTime lastRunAt) {
+		this.lastRunAt = lastRunAt;
+	}
+}
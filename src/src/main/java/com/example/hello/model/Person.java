@@ -1,9 +1,11 @@
 package com.example.hello.model;
 
+import com.example.hello.service.DataVersionListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
 @Table(name = "person")
 public class Person {
     @Id
@@ -1,20 +1,47 @@
 package com.example.hello.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.example.hello.service.DataVersionListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = ResolverTicket.WITH_FINDING_GRAPH, attributeNodes = @NamedAttributeNode("finding"))
+@Table(indexes = {
+	@Index(name = "idx_resolver_ticket_finding", columnList = "finding_id"),
+	@Index(name = "idx_resolver_ticket_status", columnList = "status, finding_id")
+})
 public class ResolverTicket {
 
+	/** Ticket listings and exports report the finding's application seal id alongside each ticket. */
+	public static final String WITH_FINDING_GRAPH = "ResolverTicket.withFinding";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
+	@Version
+	@ColumnDefault("0")
+	private Long version;
+
 	private String jiraKey;
 
 	private String jiraUrl;
@@ -23,10 +50,15 @@ public class ResolverTicket {
 
 	private String status; // Jira status (e.g., To Do, In Progress, Done)
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JsonBackReference
 	private FarmFinding finding;
 
+	/** {@link #computeContentHash()} as of the last write; imports compare against it to skip unchanged rows. */
+	@JsonIgnore
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
 	public ResolverTicket() {
 	}
 
@@ -34,6 +66,14 @@ public class ResolverTicket {
 		return id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public String getJiraKey() {
 		return jiraKey;
 	}
@@ -73,6 +113,19 @@ public class ResolverTicket {
 	public void setFinding(FarmFinding finding) {
 		this.finding = finding;
 	}
-}
 
+	public String getContentHash() {
+		return contentHash;
+	}
 
+	/** Hash of the fields a tickets import can set, including the owning finding. */
+	public String computeContentHash() {
+		return ContentHash.of(finding != null ? finding.getId() : null, jiraKey, jiraUrl, apg, status);
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void refreshContentHash() {
+		this.contentHash = computeContentHash();
+	}
+}
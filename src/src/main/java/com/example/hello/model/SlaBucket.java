@@ -0,0 +1,41 @@
+package com.example.hello.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Due windows used by the findings dashboard, derived from a finding's target date.
+ */
+public enum SlaBucket {
+
+	OVERDUE,
+	DUE_30,
+	DUE_60,
+	DUE_90,
+	LATER,
+	NO_TARGET;
+
+	public static SlaBucket of(LocalDate targetDate, LocalDate asOf) {
+		if (targetDate == null) {
+			return NO_TARGET;
+		}
+		return ofDaysLeft(ChronoUnit.DAYS.between(asOf, targetDate));
+	}
+
+	/** The bucket for a finding due in {@code days} days (negative when already past its target date). */
+	public static SlaBucket ofDaysLeft(long days) {
+		if (days < 0) {
+			return OVERDUE;
+		}
+		if (days <= 30) {
+			return DUE_30;
+		}
+		if (days <= 60) {
+			return DUE_60;
+		}
+		if (days <= 90) {
+			return DUE_90;
+		}
+		return LATER;
+	}
+}
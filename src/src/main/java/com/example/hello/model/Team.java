@@ -1,11 +1,20 @@
 package com.example.hello.model;
 
+import com.example.hello.service.DataVersionListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "team")
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = Team.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("productArea"))
+@Table(name = "team", indexes = {
+    @Index(name = "idx_team_product_area", columnList = "product_area_id"),
+    @Index(name = "idx_team_name", columnList = "name")
+})
 public class Team {
+    /** A team as the API serializes it, with its product area. */
+    public static final String DETAIL_GRAPH = "Team.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -16,7 +25,8 @@ public class Team {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @ManyToOne
+    // not optional, so finders through it join inner and can start from the product area
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "product_area_id", nullable = false)
     private ProductArea productArea;
 
@@ -1,26 +1,40 @@
 package com.example.hello.model;
 
+import com.example.hello.service.DataVersionListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(DataVersionListener.class)
+@NamedEntityGraph(name = TeamMembership.DETAIL_GRAPH, attributeNodes = {
+    @NamedAttributeNode(value = "team", subgraph = "team"),
+    @NamedAttributeNode("person"),
+    @NamedAttributeNode("role")
+}, subgraphs = @NamedSubgraph(name = "team", attributeNodes = @NamedAttributeNode("productArea")))
 @Table(name = "team_membership", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"team_id", "person_id", "role_id"})
+}, indexes = {
+    @Index(name = "idx_team_membership_team_role", columnList = "team_id, role_id"),
+    @Index(name = "idx_team_membership_person", columnList = "person_id"),
+    @Index(name = "idx_team_membership_role", columnList = "role_id")
 })
 public class TeamMembership {
+    /** A membership as the API serializes it: team (with product area), person and role. */
+    public static final String DETAIL_GRAPH = "TeamMembership.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", nullable = false)
     private Team team;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id", nullable = false)
     private Person person;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
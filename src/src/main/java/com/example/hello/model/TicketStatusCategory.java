@@ -0,0 +1,32 @@
+package com.example.hello.model;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * How a free-text Jira status counts toward a finding's ticket rollup. Statuses are compared
+ * case-insensitively; anything not recognised as in progress or done (including no status) is open.
+ */
+public enum TicketStatusCategory {
+
+	OPEN,
+	IN_PROGRESS,
+	DONE;
+
+	public static final Set<String> DONE_STATUSES = Set.of("done", "closed", "resolved");
+	public static final Set<String> IN_PROGRESS_STATUSES = Set.of("in progress", "in-progress", "in review", "in testing");
+
+	public static TicketStatusCategory of(String status) {
+		if (status == null) {
+			return OPEN;
+		}
+		String normalized = status.trim().toLowerCase(Locale.ROOT);
+		if (DONE_STATUSES.contains(normalized)) {
+			return DONE;
+		}
+		if (IN_PROGRESS_STATUSES.contains(normalized)) {
+			return IN_PROGRESS;
+		}
+		return OPEN;
+	}
+}
@@ -1,18 +1,47 @@
 package com.example.hello.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.hello.model.Application;
 
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
+	@Override
+	@EntityGraph(Application.DETAIL_GRAPH)
+	List<Application> findAll();
+
+	/** One application with everything the API serializes; {@link #findById} stays a plain lookup for internal use. */
+	@EntityGraph(Application.DETAIL_GRAPH)
+	Optional<Application> findDetailById(Long id);
+
+	@EntityGraph(Application.DETAIL_GRAPH)
 	Optional<Application> findBySealId(String sealId);
 
 	boolean existsBySealId(String sealId);
 	
 	Optional<Application> findByName(String name);
+
+	List<Application> findByNameIn(Collection<String> names);
+
+	List<Application> findBySealIdIn(Collection<String> sealIds);
+
+	List<Application> findByTeam_IdIn(Collection<Long> teamIds);
+
+	List<Application> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	@Query("select coalesce(max(a.id), 0) from Application a")
+	long maxId();
+
+	/** id, seal id, name, team id and product area id of every application, for the org rollup. */
+	@Query("select a.id, a.sealId, a.name, a.team.id, a.productArea.id from Application a order by a.name")
+	List<Object[]> findRollupRows();
 }
 
 
@@ -1,10 +1,26 @@
 package com.example.hello.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.example.hello.model.ApplicationTeam;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ApplicationTeamRepository extends JpaRepository<ApplicationTeam, Long> {
+    @Override
+    @EntityGraph(ApplicationTeam.DETAIL_GRAPH)
+    List<ApplicationTeam> findAll();
+
+    @EntityGraph(ApplicationTeam.DETAIL_GRAPH)
+    Optional<ApplicationTeam> findDetailById(Long id);
+
+    @EntityGraph(ApplicationTeam.DETAIL_GRAPH)
     List<ApplicationTeam> findByApplication_Id(Long applicationId);
+
+    @EntityGraph(ApplicationTeam.DETAIL_GRAPH)
     List<ApplicationTeam> findByTeam_Id(Long teamId);
+
+    @EntityGraph(attributePaths = "application")
+    List<ApplicationTeam> findByTeam_IdIn(Collection<Long> teamIds);
 }
@@ -0,0 +1,28 @@
+package com.example.hello.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.ArchivedFinding;
+
+public interface ArchivedFindingRepository extends JpaRepository<ArchivedFinding, Long> {
+
+	@Override
+	@EntityGraph(ArchivedFinding.WITH_TICKETS_GRAPH)
+	List<ArchivedFinding> findAll();
+
+	/** Archived findings without their ticket collections. */
+	@Query("select a from ArchivedFinding a order by a.id")
+	List<ArchivedFinding> findAllWithoutTickets();
+
+	@Query("select a.id from ArchivedFinding a where a.id > :after order by a.id")
+	List<Long> findIdsAfter(Long after, Limit limit);
+
+	@EntityGraph(ArchivedFinding.WITH_TICKETS_GRAPH)
+	List<ArchivedFinding> findByIdInOrderByIdAsc(Collection<Long> ids);
+}
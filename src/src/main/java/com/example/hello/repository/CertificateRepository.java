@@ -1,8 +1,13 @@
 package com.example.hello.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.hello.model.Certificate;
 
@@ -10,7 +15,15 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>
 
     List<Certificate> findByApplication_Id(Long applicationId);
 
+    List<Certificate> findByApplication_IdIn(Collection<Long> applicationIds);
+
     boolean existsByApplication_Id(Long applicationId);
-}
 
+    @EntityGraph(Certificate.WITH_APPLICATION_GRAPH)
+    List<Certificate> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
+    /** Application id, certificate count and how many of them expire on or before {@code cutoff}. */
+    @Query("select c.application.id, count(c), sum(case when c.expirationDate <= :cutoff then 1 else 0 end)"
+        + " from Certificate c where c.application is not null group by c.application.id")
+    List<Object[]> countByApplicationExpiringBy(LocalDate cutoff);
+}
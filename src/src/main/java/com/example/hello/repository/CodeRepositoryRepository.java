@@ -1,18 +1,50 @@
 package com.example.hello.repository;
 
 import com.example.hello.model.CodeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CodeRepositoryRepository extends JpaRepository<CodeRepository, Long> {
+    @Override
+    @EntityGraph(CodeRepository.DETAIL_GRAPH)
+    List<CodeRepository> findAll();
+
+    @EntityGraph(CodeRepository.DETAIL_GRAPH)
+    Optional<CodeRepository> findDetailById(Long id);
+
     Optional<CodeRepository> findByRepositoryUrl(String repositoryUrl);
     Optional<CodeRepository> findByProjectId(String projectId);
+
+    @EntityGraph(CodeRepository.DETAIL_GRAPH)
     List<CodeRepository> findByApplication_Id(Long applicationId);
+
+    @EntityGraph(CodeRepository.DETAIL_GRAPH)
     List<CodeRepository> findByTeam_Id(Long teamId);
+
     boolean existsByRepositoryUrl(String repositoryUrl);
     boolean existsByProjectId(String projectId);
+    List<CodeRepository> findByTeam_IdIn(Collection<Long> teamIds);
+    List<CodeRepository> findByApplication_IdIn(Collection<Long> applicationIds);
+
+    // exports only read the owner names; fetching the application's certificates here would defeat the row limit
+    @EntityGraph(attributePaths = { "application", "team" })
+    List<CodeRepository> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select c.repositoryUrl from CodeRepository c where c.repositoryUrl in :repositoryUrls")
+    List<String> findRepositoryUrlsIn(Collection<String> repositoryUrls);
+
+    @Query("select c.projectId from CodeRepository c where c.projectId in :projectIds")
+    List<String> findProjectIdsIn(Collection<String> projectIds);
+
+    /** Application id, team id and repository count per owner pair (either id may be null). */
+    @Query("select c.application.id, c.team.id, count(c) from CodeRepository c group by c.application.id, c.team.id")
+    List<Object[]> countByApplicationAndTeam();
 }
@@ -0,0 +1,17 @@
+package com.example.hello.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.DataVersion;
+
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+
+	@Modifying
+	@Query("update DataVersion d set d.version = d.version + 1 where d.name = :name")
+	int bump(String name);
+
+	@Query("select d.version from DataVersion d where d.name = :name")
+	long findVersion(String name);
+}
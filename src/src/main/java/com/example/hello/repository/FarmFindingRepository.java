@@ -1,16 +1,73 @@
 package com.example.hello.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import com.example.hello.model.FarmFinding;
 
+import jakarta.persistence.LockModeType;
+
 public interface FarmFindingRepository extends JpaRepository<FarmFinding, Long> {
 
+	@Override
+	@EntityGraph(FarmFinding.WITH_TICKETS_GRAPH)
+	List<FarmFinding> findAll();
+
+	/** One finding with its tickets, as PUT and PATCH return it; {@link #findById} does not fetch them. */
+	@EntityGraph(FarmFinding.WITH_TICKETS_GRAPH)
+	Optional<FarmFinding> findWithTicketsById(Long id);
+
 	@Query("select f.assignedApg as apg, count(f) as total from FarmFinding f where f.assignedApg is not null group by f.assignedApg")
 	List<Object[]> countByAssignedApg();
-}
 
+	@Query("select f.assignedApg, f.severity, f.targetDate, count(f) from FarmFinding f group by f.assignedApg, f.severity, f.targetDate")
+	List<Object[]> countByApgSeverityAndTargetDate();
+
+	List<FarmFinding> findByApplicationSealIdIn(Collection<String> applicationSealIds);
+
+	/** Unresolved findings per application seal id, read from the ticket rollup columns (see {@link FarmFinding#isResolved()}). */
+	@Query("select f.applicationSealId, count(f) from FarmFinding f where f.applicationSealId in :sealIds"
+		+ " and (f.openTicketCount > 0 or f.inProgressTicketCount > 0 or f.doneTicketCount = 0)"
+		+ " group by f.applicationSealId")
+	List<Object[]> countUnresolvedByApplicationSealIdIn(Collection<String> sealIds);
+
+	/** Findings whose tickets are all done, without their ticket collections. */
+	@Query("select f from FarmFinding f where f.openTicketCount = 0 and f.inProgressTicketCount = 0 and f.doneTicketCount > 0 order by f.id")
+	List<FarmFinding> findResolved();
 
+	/** Findings with no tickets or at least one ticket not done, without their ticket collections. */
+	@Query("select f from FarmFinding f where f.openTicketCount > 0 or f.inProgressTicketCount > 0 or f.doneTicketCount = 0 order by f.id")
+	List<FarmFinding> findUnresolved();
+
+	List<FarmFinding> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	/** id, APG, severity, criticality, seal id and target date, in id order, without loading entities. */
+	@Query("select f.id, f.assignedApg, f.severity, f.criticality, f.applicationSealId, f.targetDate from FarmFinding f"
+		+ " where f.id > :after order by f.id")
+	List<Object[]> findDimensionsAfter(Long after, Limit limit);
+
+	@Query("select coalesce(max(f.id), 0) from FarmFinding f")
+	long maxId();
+
+	/** id, seal id and severity of findings with an id in {@code (after, upTo]}, in id order. */
+	@Query("select f.id, f.applicationSealId, f.severity from FarmFinding f where f.id > :after and f.id <= :upTo order by f.id")
+	List<Object[]> findSealAndSeverityBetween(Long after, Long upTo, Limit limit);
+
+	/** Ids of resolved findings last written before {@code cutoff}, in id order: candidates for the archive. */
+	@Query("select f.id from FarmFinding f where f.id > :after and f.updatedDate < :cutoff"
+		+ " and f.openTicketCount = 0 and f.inProgressTicketCount = 0 and f.doneTicketCount > 0 order by f.id")
+	List<Long> findArchivableIdsAfter(Long after, LocalDateTime cutoff, Limit limit);
+
+	/** Locks the findings until the transaction ends, without their ticket collections. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select f from FarmFinding f where f.id in :ids order by f.id")
+	List<FarmFinding> findAllForUpdate(Collection<Long> ids);
+}
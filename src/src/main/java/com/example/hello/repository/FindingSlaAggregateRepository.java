@@ -0,0 +1,24 @@
+package com.example.hello.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.FindingSlaAggregate;
+
+public interface FindingSlaAggregateRepository extends JpaRepository<FindingSlaAggregate, Long> {
+
+	@Modifying
+	@Query("update FindingSlaAggregate a set a.findingCount = a.findingCount + :delta "
+		+ "where a.apg = :apg and a.severity = :severity and a.targetDate = :targetDate")
+	int addCount(String apg, String severity, LocalDate targetDate, long delta);
+
+	@Query("select coalesce(sum(a.findingCount), 0) from FindingSlaAggregate a")
+	long totalCount();
+
+	@Modifying
+	@Query("delete from FindingSlaAggregate a where a.findingCount = 0")
+	int deleteEmpty();
+}
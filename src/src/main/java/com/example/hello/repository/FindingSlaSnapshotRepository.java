@@ -0,0 +1,16 @@
+package com.example.hello.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.FindingSlaSnapshot;
+
+public interface FindingSlaSnapshotRepository extends JpaRepository<FindingSlaSnapshot, Long> {
+
+	@Modifying
+	@Query("delete from FindingSlaSnapshot s where s.snapshotDate = :snapshotDate")
+	int deleteBySnapshotDate(LocalDate snapshotDate);
+}
@@ -1,10 +1,17 @@
 package com.example.hello.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.hello.model.HitCounter;
 
 public interface HitCounterRepository extends JpaRepository<HitCounter, Long> {
-}
 
+	@Modifying
+	@Query("update HitCounter h set h.count = h.count + :delta where h.nodeId = :nodeId")
+	int addToNode(String nodeId, long delta);
 
+	@Query("select coalesce(sum(h.count), 0) from HitCounter h")
+	long total();
+}
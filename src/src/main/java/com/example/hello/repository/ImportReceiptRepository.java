@@ -0,0 +1,19 @@
+package com.example.hello.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.ImportReceipt;
+
+public interface ImportReceiptRepository extends JpaRepository<ImportReceipt, Long> {
+
+	List<ImportReceipt> findByChecksumAndScope(String checksum, String scope);
+
+	/** Drops a claim whose import failed or was abandoned; a completed claim is left alone. */
+	@Modifying
+	@Query("delete from ImportReceipt r where r.id = :id and r.completed = false")
+	int deleteIncompleteClaim(Long id);
+}
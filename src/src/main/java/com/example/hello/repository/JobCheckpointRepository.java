@@ -0,0 +1,19 @@
+package com.example.hello.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.hello.model.JobCheckpoint;
+
+import jakarta.persistence.LockModeType;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+	/** Locks the checkpoint row until the transaction ends, so only one node advances a job at a time. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select c from JobCheckpoint c where c.name = :name")
+	Optional<JobCheckpoint> findForUpdate(String name);
+}
@@ -1,9 +1,14 @@
 package com.example.hello.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.example.hello.model.Person;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonRepository extends JpaRepository<Person, Long> {
     Optional<Person> findBySid(String sid);
+    List<Person> findBySidIn(Collection<String> sids);
+    List<Person> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
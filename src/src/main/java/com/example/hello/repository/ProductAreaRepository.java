@@ -1,9 +1,15 @@
 package com.example.hello.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.example.hello.model.ProductArea;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductAreaRepository extends JpaRepository<ProductArea, Long> {
     Optional<ProductArea> findByName(String name);
+
+    /** id, name and APG of every product area, for the org rollup. */
+    @Query("select a.id, a.name, a.apg from ProductArea a order by a.name")
+    List<Object[]> findRollupRows();
 }
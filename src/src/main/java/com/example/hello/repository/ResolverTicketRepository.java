@@ -1,14 +1,48 @@
 package com.example.hello.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.example.hello.model.ResolverTicket;
 
 public interface ResolverTicketRepository extends JpaRepository<ResolverTicket, Long> {
 
+	@Override
+	@EntityGraph(ResolverTicket.WITH_FINDING_GRAPH)
+	List<ResolverTicket> findAll();
+
 	List<ResolverTicket> findByFindingId(Long findingId);
-}
 
+	@EntityGraph(ResolverTicket.WITH_FINDING_GRAPH)
+	List<ResolverTicket> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	/** Finding id, status and ticket count for every status the findings' tickets are in. */
+	@Query("select t.finding.id, t.status, count(t) from ResolverTicket t where t.finding.id in :findingIds group by t.finding.id, t.status")
+	List<Object[]> countByFindingIdInGroupByStatus(Collection<Long> findingIds);
+
+	/** id, Jira key, status and finding id of tickets that have a Jira key, in id order, without loading entities. */
+	@Query("select t.id, t.jiraKey, t.status, t.finding.id from ResolverTicket t where t.id > :after and t.jiraKey is not null order by t.id")
+	List<Object[]> findSyncRowsAfter(Long after, Limit limit);
 
+	/**
+	 * Bulk status change that bypasses entity listeners; callers report it to DataVersionService.
+	 * The content hash is cleared rather than recomputed, and imports hash such rows on the fly.
+	 */
+	@Modifying
+	@Query("update ResolverTicket t set t.status = :status, t.version = t.version + 1, t.contentHash = null"
+		+ " where t.id in :ids and (t.status is null or t.status <> :status)")
+	int updateStatus(Collection<Long> ids, String status);
+
+	List<ResolverTicket> findByFindingIdIn(Collection<Long> findingIds);
+
+	/** Bulk delete that bypasses entity listeners; callers report it to DataVersionService. */
+	@Modifying
+	@Query("delete from ResolverTicket t where t.finding.id in :findingIds")
+	int deleteByFindingIds(Collection<Long> findingIds);
+}
@@ -1,11 +1,35 @@
 package com.example.hello.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.example.hello.model.TeamMembership;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TeamMembershipRepository extends JpaRepository<TeamMembership, Long> {
+    @Override
+    @EntityGraph(TeamMembership.DETAIL_GRAPH)
+    List<TeamMembership> findAll();
+
+    @EntityGraph(TeamMembership.DETAIL_GRAPH)
+    Optional<TeamMembership> findDetailById(Long id);
+
+    @EntityGraph(TeamMembership.DETAIL_GRAPH)
     List<TeamMembership> findByTeam_Id(Long teamId);
+
+    @EntityGraph(TeamMembership.DETAIL_GRAPH)
     List<TeamMembership> findByPerson_Id(Long personId);
+
+    @EntityGraph(TeamMembership.DETAIL_GRAPH)
     List<TeamMembership> findByTeam_IdAndRole_Id(Long teamId, Long roleId);
+
+    @EntityGraph(attributePaths = { "person", "role" })
+    List<TeamMembership> findByTeam_IdIn(Collection<Long> teamIds);
+
+    /** Team id and person id of every membership that has not ended before {@code today}. */
+    @Query("select m.team.id, m.person.id from TeamMembership m where m.endDate is null or m.endDate >= :today")
+    List<Object[]> findActiveTeamAndPersonIds(LocalDate today);
 }
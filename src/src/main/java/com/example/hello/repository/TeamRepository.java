@@ -1,12 +1,32 @@
 package com.example.hello.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.example.hello.model.Team;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    @Override
+    @EntityGraph(Team.DETAIL_GRAPH)
+    List<Team> findAll();
+
+    @EntityGraph(Team.DETAIL_GRAPH)
+    Optional<Team> findDetailById(Long id);
+
+    @EntityGraph(Team.DETAIL_GRAPH)
     List<Team> findByProductArea_Id(Long productAreaId);
+
     List<Team> findByProductArea_Name(String productAreaName);
     Optional<Team> findByName(String name);
+    List<Team> findByNameIn(Collection<String> names);
+
+    @EntityGraph(Team.DETAIL_GRAPH)
+    List<Team> findByIdIn(Collection<Long> ids);
+
+    /** id, name and product area id of every team, for the org rollup. */
+    @Query("select t.id, t.name, t.productArea.id from Team t order by t.name")
+    List<Object[]> findRollupRows();
 }
@@ -1,6 +1,8 @@
 package com.example.hello.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +15,8 @@ import com.example.hello.repository.TeamRepository;
 @Service
 public class ApplicationService {
 
+	private static final Set<String> PATCH_FIELDS = Set.of("sealId", "name", "platform", "codeRepository", "certificates", "teamId");
+
 	private final ApplicationRepository applicationRepository;
 	private final TeamRepository teamRepository;
 
@@ -21,14 +25,17 @@ public class ApplicationService {
 		this.teamRepository = teamRepository;
 	}
 
+	@Transactional(readOnly = true)
 	public List<Application> getAll() {
 		return applicationRepository.findAll();
 	}
 
+	@Transactional(readOnly = true)
 	public Application getById(Long id) {
-		return applicationRepository.findById(id).orElseThrow();
+		return applicationRepository.findDetailById(id).orElseThrow();
 	}
 
+	@Transactional(readOnly = true)
 	public Application getBySealId(String sealId) {
 		return applicationRepository.findBySealId(sealId).orElseThrow();
 	}
@@ -41,6 +48,7 @@ public class ApplicationService {
 	@Transactional
 	public Application update(Long id, Application updated) {
 		Application existing = getById(id);
+		Patches.checkVersion(updated.getVersion(), existing.getVersion(), Application.class, id);
 		existing.setSealId(updated.getSealId());
 		existing.setName(updated.getName());
 		existing.setPlatform(updated.getPlatform());
@@ -50,6 +58,25 @@ public class ApplicationService {
 		return applicationRepository.save(existing);
 	}
 
+	@Transactional
+	public Application patch(Long id, Map<String, Object> changes) {
+		Patches.requireKnownFields(changes, PATCH_FIELDS);
+		Application existing = applicationRepository.findDetailById(id).orElseThrow(() -> Patches.notFound(Application.class, id));
+		Patches.checkVersion(Patches.expectedVersion(changes), existing.getVersion(), Application.class, id);
+		if (changes.containsKey("sealId")) existing.setSealId(Patches.asString(changes, "sealId"));
+		if (changes.containsKey("name")) existing.setName(Patches.asString(changes, "name"));
+		if (changes.containsKey("platform")) existing.setPlatform(Patches.asString(changes, "platform"));
+		if (changes.containsKey("codeRepository")) existing.setCodeRepository(Patches.asString(changes, "codeRepository"));
+		if (changes.containsKey("certificates")) existing.setCertificates(Patches.asString(changes, "certificates"));
+		if (changes.containsKey("teamId")) {
+			Long teamId = Patches.asLong(changes, "teamId");
+			Team team = teamId == null ? null : teamRepository.findDetailById(teamId)
+				.orElseThrow(() -> new Patches.InvalidPatchException("Team not found with ID: " + teamId));
+			existing.setTeam(team);
+		}
+		return applicationRepository.save(existing);
+	}
+
 	@Transactional
 	public void delete(Long id) {
 		applicationRepository.deleteById(id);
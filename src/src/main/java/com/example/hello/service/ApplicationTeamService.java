@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.ApplicationTeam;
 import com.example.hello.repository.ApplicationTeamRepository;
 import com.example.hello.repository.ApplicationRepository;
@@ -21,20 +22,24 @@ public class ApplicationTeamService {
     @Autowired
     private TeamRepository teamRepository;
     
+    @Transactional(readOnly = true)
     public List<ApplicationTeam> listAll() {
         return applicationTeamRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<ApplicationTeam> listByApplication(Long applicationId) {
         return applicationTeamRepository.findByApplication_Id(applicationId);
     }
     
+    @Transactional(readOnly = true)
     public List<ApplicationTeam> listByTeam(Long teamId) {
         return applicationTeamRepository.findByTeam_Id(teamId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<ApplicationTeam> findById(Long id) {
-        return applicationTeamRepository.findById(id);
+        return applicationTeamRepository.findDetailById(id);
     }
     
     public ApplicationTeam create(ApplicationTeam applicationTeam) {
@@ -42,13 +47,13 @@ public class ApplicationTeamService {
     }
     
     public ApplicationTeam update(Long id, ApplicationTeam applicationTeamDetails) {
-        return applicationTeamRepository.findById(id).map(applicationTeam -> {
+        return applicationTeamRepository.findDetailById(id).map(applicationTeam -> {
             if (applicationTeamDetails.getApplication() != null) {
-                applicationRepository.findById(applicationTeamDetails.getApplication().getId())
+                applicationRepository.findDetailById(applicationTeamDetails.getApplication().getId())
                     .ifPresent(applicationTeam::setApplication);
             }
             if (applicationTeamDetails.getTeam() != null) {
-                teamRepository.findById(applicationTeamDetails.getTeam().getId())
+                teamRepository.findDetailById(applicationTeamDetails.getTeam().getId())
                     .ifPresent(applicationTeam::setTeam);
             }
             applicationTeam.setRelationship(applicationTeamDetails.getRelationship());
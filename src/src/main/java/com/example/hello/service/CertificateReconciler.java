@@ -0,0 +1,263 @@
+package com.example.hello.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.JobCheckpoint;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.JobCheckpointRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Brings {@link Certificate} rows in line with each application's free-text {@code certificates}
+ * field. Applications are walked in id order, a chunk per transaction, and the last id of every
+ * committed chunk is stored in a {@link JobCheckpoint}, so memory stays bounded by the chunk size
+ * and a restart resumes mid-pass. The checkpoint row is locked while a chunk is applied, which keeps
+ * several nodes from reconciling the same applications at once.
+ * <p>
+ * Deletes are conservative: only rows this job created ({@link Certificate#isFromText()}) are ever
+ * removed, and only while they carry nothing the text could not recreate (no serial, no expiry
+ * date). Certificates entered through the API or an import are never touched. Applications with a
+ * blank text field are left alone, since an empty field more often means "never filled in" than
+ * "no certificates".
+ * <p>
+ * The first pass against a database runs as soon as the application is ready, so seeded or
+ * migrated applications have their rows before the first request; later passes are scheduled.
+ */
+@Service
+public class CertificateReconciler {
+
+	static final String JOB = "certificate-reconcile";
+
+	private static final Logger log = LoggerFactory.getLogger(CertificateReconciler.class);
+
+	private final ApplicationRepository applicationRepository;
+	private final CertificateRepository certificateRepository;
+	private final JobCheckpointRepository checkpointRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+
+	private final Counter applicationsScanned;
+	private final Counter certificatesInserted;
+	private final Counter certificatesDeleted;
+	private final Counter certificatesKept;
+	private final Timer chunkTimer;
+	private final AtomicLong position = new AtomicLong();
+	private final AtomicLong passEndId = new AtomicLong();
+	private volatile double applicationsPerSecond;
+
+	public CertificateReconciler(ApplicationRepository applicationRepository, CertificateRepository certificateRepository,
+			JobCheckpointRepository checkpointRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${app.certificates.reconcile.chunk-size:500}") int chunkSize) {
+		this.applicationRepository = applicationRepository;
+		this.certificateRepository = certificateRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = Math.max(chunkSize, 1);
+
+		this.applicationsScanned = meterRegistry.counter("app.certificates.reconcile.applications");
+		this.certificatesInserted = meterRegistry.counter("app.certificates.reconcile.changes", "action", "insert");
+		this.certificatesDeleted = meterRegistry.counter("app.certificates.reconcile.changes", "action", "delete");
+		// stale rows that still hold a serial or expiry date and were therefore not deleted
+		this.certificatesKept = meterRegistry.counter("app.certificates.reconcile.changes", "action", "keep");
+		this.chunkTimer = meterRegistry.timer("app.certificates.reconcile.chunk");
+		Gauge.builder("app.certificates.reconcile.position", position, AtomicLong::get)
+			.description("Last application id reconciled in the current pass")
+			.register(meterRegistry);
+		Gauge.builder("app.certificates.reconcile.progress", this, CertificateReconciler::progress)
+			.description("Fraction of the current pass completed")
+			.register(meterRegistry);
+		Gauge.builder("app.certificates.reconcile.rate", this, r -> r.applicationsPerSecond)
+			.description("Applications reconciled per second during the last chunk")
+			.baseUnit("applications/s")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void firstPass() {
+		boolean completedBefore = transactionTemplate.execute(status ->
+			checkpointRepository.findById(JOB).map(checkpoint -> checkpoint.getLastRunAt() != null).orElse(false));
+		if (completedBefore) return;
+		int scanned = reconcile();
+		log.info("First certificate reconciliation pass finished after {} applications", scanned);
+	}
+
+	@Scheduled(initialDelayString = "${app.certificates.reconcile.initial-delay-ms:10000}",
+			fixedDelayString = "${app.certificates.reconcile.interval-ms:300000}")
+	public void scheduledPass() {
+		int scanned = reconcile();
+		log.info("Certificate reconciliation pass finished after {} applications", scanned);
+	}
+
+	/**
+	 * Runs until the current pass completes, starting from the stored checkpoint. Returns the number
+	 * of applications this call scanned; a pass finished by another node also ends the call.
+	 */
+	public int reconcile() {
+		ensureCheckpoint();
+		PassMarker marker = transactionTemplate.execute(status -> PassMarker.of(checkpointRepository.findById(JOB).orElseThrow()));
+		passEndId.set(applicationRepository.maxId());
+		int scanned = 0;
+		while (true) {
+			long chunkStart = System.nanoTime();
+			PassMarker seen = marker;
+			ChunkResult result = transactionTemplate.execute(status -> reconcileChunk(seen));
+			long elapsed = System.nanoTime() - chunkStart;
+			// counted only once the chunk has committed
+			applicationsScanned.increment(result.scanned);
+			certificatesInserted.increment(result.inserted);
+			certificatesDeleted.increment(result.deleted);
+			certificatesKept.increment(result.kept);
+			position.set(result.position);
+			if (result.scanned > 0) {
+				chunkTimer.record(elapsed, TimeUnit.NANOSECONDS);
+				applicationsPerSecond = result.scanned * 1e9 / Math.max(elapsed, 1);
+			}
+			scanned += result.scanned;
+			if (result.passComplete) return scanned;
+			marker = new PassMarker(result.position, marker.completedAt());
+		}
+	}
+
+	private ChunkResult reconcileChunk(PassMarker seen) {
+		JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB).orElseThrow();
+		if (seen.finishedSince(checkpoint)) {
+			// another node completed the pass while we waited for the lock
+			return new ChunkResult(0, 0, 0, 0, 0L, true);
+		}
+		long after = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+		List<Application> applications = applicationRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(chunkSize));
+		int[] changes = apply(applications);
+
+		boolean passComplete = applications.size() < chunkSize;
+		long next = passComplete ? 0L : applications.get(applications.size() - 1).getId();
+		checkpoint.setLastPosition(next);
+		if (passComplete) checkpoint.setLastRunAt(LocalDateTime.now());
+		return new ChunkResult(applications.size(), changes[0], changes[1], changes[2], next, passComplete);
+	}
+
+	/** Returns the number of inserted, deleted and kept-despite-stale certificates. */
+	private int[] apply(List<Application> applications) {
+		Map<Long, Application> byId = new LinkedHashMap<>();
+		for (Application application : applications) {
+			if (application.getCertificates() != null && !application.getCertificates().isBlank()) {
+				byId.put(application.getId(), application);
+			}
+		}
+		if (byId.isEmpty()) return new int[3];
+
+		Map<Long, List<Certificate>> stored = new HashMap<>();
+		for (Certificate certificate : certificateRepository.findByApplication_IdIn(byId.keySet())) {
+			stored.computeIfAbsent(certificate.getApplicationId(), k -> new ArrayList<>()).add(certificate);
+		}
+
+		List<Certificate> inserts = new ArrayList<>();
+		List<Certificate> deletes = new ArrayList<>();
+		int kept = 0;
+		for (Application application : byId.values()) {
+			Set<String> wanted = parseCommonNames(application.getCertificates());
+			Set<String> present = new LinkedHashSet<>();
+			for (Certificate certificate : stored.getOrDefault(application.getId(), List.of())) {
+				if (wanted.contains(certificate.getCn())) {
+					present.add(certificate.getCn());
+				} else if (!certificate.isFromText()) {
+					// entered by hand or imported: not ours to remove
+				} else if (isBare(certificate)) {
+					deletes.add(certificate);
+				} else {
+					kept++;
+				}
+			}
+			for (String cn : wanted) {
+				if (present.contains(cn)) continue;
+				Certificate certificate = new Certificate();
+				certificate.setApplication(application);
+				certificate.setCn(cn);
+				certificate.setSerial("");
+				certificate.setFromText(true);
+				inserts.add(certificate);
+			}
+		}
+		certificateRepository.deleteAll(deletes);
+		certificateRepository.saveAll(inserts);
+		return new int[] { inserts.size(), deletes.size(), kept };
+	}
+
+	/** CNs listed in the free-text field, split on commas or semicolons, in order and without duplicates. */
+	static Set<String> parseCommonNames(String raw) {
+		Set<String> names = new LinkedHashSet<>();
+		if (raw == null) return names;
+		for (String part : raw.split("[;,]")) {
+			String cn = part.trim();
+			if (!cn.isEmpty()) names.add(cn);
+		}
+		return names;
+	}
+
+	private static boolean isBare(Certificate certificate) {
+		return (certificate.getSerial() == null || certificate.getSerial().isBlank()) && certificate.getExpirationDate() == null;
+	}
+
+	private void ensureCheckpoint() {
+		if (checkpointRepository.existsById(JOB)) return;
+		try {
+			transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAndFlush(new JobCheckpoint(JOB)));
+		} catch (DataIntegrityViolationException e) {
+			// another node created it first
+		}
+	}
+
+	private double progress() {
+		long end = passEndId.get();
+		return end == 0 ? 0 : Math.min(1.0, (double) position.get() / end);
+	}
+
+	private record ChunkResult(int scanned, int inserted, int deleted, int kept, long position, boolean passComplete) {
+	}
+
+	/**
+	 * What this call last saw on the checkpoint: the position it continues from and the stamp of the
+	 * last completed pass. Positions only grow within a pass and go back to 0 when it completes, and
+	 * the stamp is rewritten on completion, so either moving means another node finished the pass.
+	 * The stamp is only compared for equality, never against this node's clock.
+	 */
+	private record PassMarker(long position, LocalDateTime completedAt) {
+
+		static PassMarker of(JobCheckpoint checkpoint) {
+			return new PassMarker(checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L, checkpoint.getLastRunAt());
+		}
+
+		boolean finishedSince(JobCheckpoint checkpoint) {
+			long current = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+			return current < position || !Objects.equals(checkpoint.getLastRunAt(), completedAt);
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package com.example.hello.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +16,8 @@ import com.example.hello.repository.CertificateRepository;
 @Transactional
 public class CertificateService {
 
+    private static final Set<String> PATCH_FIELDS = Set.of("cn", "serial", "expirationDate", "applicationId");
+
     private final CertificateRepository certificateRepository;
     private final ApplicationRepository applicationRepository;
 
@@ -42,6 +46,7 @@ public class CertificateService {
     public Certificate update(Long id, Certificate updated) {
         Certificate existing = certificateRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Certificate not found: " + id));
+        Patches.checkVersion(updated.getVersion(), existing.getVersion(), Certificate.class, id);
         existing.setCn(updated.getCn());
         existing.setSerial(updated.getSerial());
         existing.setExpirationDate(updated.getExpirationDate());
@@ -54,6 +59,26 @@ public class CertificateService {
         return certificateRepository.save(existing);
     }
 
+    public Certificate patch(Long id, Map<String, Object> changes) {
+        Patches.requireKnownFields(changes, PATCH_FIELDS);
+        Certificate existing = certificateRepository.findById(id)
+            .orElseThrow(() -> Patches.notFound(Certificate.class, id));
+        Patches.checkVersion(Patches.expectedVersion(changes), existing.getVersion(), Certificate.class, id);
+        if (changes.containsKey("cn")) existing.setCn(Patches.asString(changes, "cn"));
+        if (changes.containsKey("serial")) existing.setSerial(Patches.asString(changes, "serial"));
+        if (changes.containsKey("expirationDate")) existing.setExpirationDate(Patches.asLocalDate(changes, "expirationDate"));
+        if (changes.containsKey("applicationId")) {
+            Long applicationId = Patches.asLong(changes, "applicationId");
+            if (applicationId == null) {
+                throw new Patches.InvalidPatchException("applicationId cannot be cleared; move the certificate to another application");
+            }
+            Application application = applicationRepository.findById(applicationId)
+                .orElseThrow(() -> new Patches.InvalidPatchException("Application not found: " + applicationId));
+            existing.setApplication(application);
+        }
+        return certificateRepository.save(existing);
+    }
+
     public void delete(Long id) {
         certificateRepository.deleteById(id);
     }
@@ -0,0 +1,89 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.hello.io.CsvReader;
+
+/**
+ * Imports a CSV file with the same columns as the workbook sheet of its dataset. The first record is
+ * treated as the header row.
+ * <p>
+ * Rows are parsed in chunks of {@code app.import.csv-chunk-rows} while the import runs, and each
+ * chunk is written before the next is read, so a large feed is never held in memory as a whole.
+ */
+@Service
+public class CsvImportService {
+
+	private final DatasetImporter datasetImporter;
+	private final int chunkRows;
+
+	public CsvImportService(DatasetImporter datasetImporter, @Value("${app.import.csv-chunk-rows:5000}") int chunkRows) {
+		this.datasetImporter = datasetImporter;
+		this.chunkRows = Math.max(chunkRows, 1);
+	}
+
+	public ImportResult importCsv(ImportDataset dataset, InputStream in, boolean dryRun) throws IOException {
+		try (CsvReader csv = new CsvReader(in)) {
+			csv.next();
+			return datasetImporter.importChunks(dataset, new RowChunks(csv, dataset.columns(), chunkRows), dryRun);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/** Reads the next chunk only when the importer asks for it. */
+	private static class RowChunks implements Iterator<List<String[]>> {
+
+		private final CsvReader csv;
+		private final int columns;
+		private final int chunkRows;
+		private List<String[]> next;
+
+		RowChunks(CsvReader csv, int columns, int chunkRows) {
+			this.csv = csv;
+			this.columns = columns;
+			this.chunkRows = chunkRows;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null) next = read();
+			return !next.isEmpty();
+		}
+
+		@Override
+		public List<String[]> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			List<String[]> chunk = next;
+			next = null;
+			return chunk;
+		}
+
+		private List<String[]> read() {
+			List<String[]> rows = new ArrayList<>(chunkRows);
+			try {
+				String[] record;
+				while (rows.size() < chunkRows && (record = csv.next()) != null) {
+					String[] row = new String[columns];
+					for (int c = 0; c < row.length && c < record.length; c++) {
+						String value = record[c];
+						row[c] = value == null || value.isBlank() ? null : value.trim();
+					}
+					rows.add(row);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return rows;
+		}
+	}
+}
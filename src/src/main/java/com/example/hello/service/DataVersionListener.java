@@ -0,0 +1,31 @@
+package com.example.hello.service;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener that reports writes to {@link DataVersionService}. Hibernate obtains it from the
+ * Spring context while the entity manager factory is still being built, so the service, which
+ * needs a repository and therefore that factory, is looked up on first use.
+ */
+@Component
+public class DataVersionListener {
+
+	private final ObjectProvider<DataVersionService> dataVersionService;
+
+	public DataVersionListener(ObjectProvider<DataVersionService> dataVersionService) {
+		this.dataVersionService = dataVersionService;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void changed(Object entity) {
+		dataVersionService.getObject().changed(Hibernate.getClass(entity));
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.DataVersion;
+import com.example.hello.repository.DataVersionRepository;
+
+/**
+ * Tracks a change counter per entity type in {@code data_version}. Writes inside a transaction are
+ * collected and counted once, after the transaction commits, so a rolled-back write never
+ * invalidates anything. Bulk JPQL updates bypass entity listeners and must call {@link #changed}
+ * themselves.
+ * <p>
+ * The versions this node's own bumps produced are remembered (the last {@value #LOCAL_VERSIONS_KEPT}
+ * per type), so an in-memory replica can tell whether a version range holds any write made elsewhere.
+ */
+@Service
+public class DataVersionService {
+
+	static final int LOCAL_VERSIONS_KEPT = 4096;
+
+	private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+	private final DataVersionRepository dataVersionRepository;
+	private final TransactionTemplate newTransaction;
+	private final TransactionTemplate readOnlyTransaction;
+	private final Map<String, NavigableSet<Long>> localVersions = new ConcurrentHashMap<>();
+
+	public DataVersionService(DataVersionRepository dataVersionRepository, PlatformTransactionManager transactionManager) {
+		this.dataVersionRepository = dataVersionRepository;
+		// runs from afterCommit, where the finished transaction's resources are still bound
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	public void changed(Class<?> entityType) {
+		String name = entityType.getSimpleName();
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			bump(List.of(name));
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Set<String> names = new LinkedHashSet<>();
+			TransactionSynchronizationManager.bindResource(this, names);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					try {
+						bump(names);
+					} catch (RuntimeException e) {
+						// the caller's write has committed; a missed bump only leaves a cached export stale until the next write
+						log.warn("Could not bump data versions for {}", names, e);
+					}
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+				}
+			});
+			pending = names;
+		}
+		pending.add(name);
+	}
+
+	/** Current counters for the given entity types, in the given order; 0 for a type never written. */
+	public long[] current(Collection<Class<?>> entityTypes) {
+		List<String> names = new ArrayList<>();
+		for (Class<?> type : entityTypes) names.add(type.getSimpleName());
+		Map<String, Long> stored = new HashMap<>();
+		readOnlyTransaction.executeWithoutResult(status -> {
+			for (DataVersion version : dataVersionRepository.findAllById(names)) {
+				stored.put(version.getName(), version.getVersion());
+			}
+		});
+		long[] versions = new long[names.size()];
+		for (int i = 0; i < versions.length; i++) versions[i] = stored.getOrDefault(names.get(i), 0L);
+		return versions;
+	}
+
+	/**
+	 * Whether every version of {@code entityType} after {@code after} up to {@code upTo} came from a
+	 * bump on this node. False when any of them came from elsewhere, or is too old to tell.
+	 */
+	public boolean producedLocally(Class<?> entityType, long after, long upTo) {
+		if (upTo <= after) return upTo == after;
+		if (upTo - after > LOCAL_VERSIONS_KEPT) return false;
+		NavigableSet<Long> produced = localVersions.get(entityType.getSimpleName());
+		if (produced == null) return false;
+		for (long version = after + 1; version <= upTo; version++) {
+			if (!produced.contains(version)) return false;
+		}
+		return true;
+	}
+
+	/** The highest version of {@code entityType} this node's own bumps produced; 0 before the first one. */
+	public long lastLocal(Class<?> entityType) {
+		NavigableSet<Long> produced = localVersions.get(entityType.getSimpleName());
+		return produced == null || produced.isEmpty() ? 0 : produced.last();
+	}
+
+	private void bump(Collection<String> names) {
+		for (String name : names) {
+			long version;
+			try {
+				version = newTransaction.execute(status -> {
+					if (dataVersionRepository.bump(name) == 0) {
+						return dataVersionRepository.saveAndFlush(new DataVersion(name, 1)).getVersion();
+					}
+					// the row stays locked until commit, so this is the value our bump wrote
+					return dataVersionRepository.findVersion(name);
+				});
+			} catch (DataIntegrityViolationException e) {
+				// another node inserted the row first
+				version = newTransaction.execute(status -> {
+					dataVersionRepository.bump(name);
+					return dataVersionRepository.findVersion(name);
+				});
+			}
+			NavigableSet<Long> produced = localVersions.computeIfAbsent(name, k -> new ConcurrentSkipListSet<>());
+			produced.add(version);
+			while (produced.size() > LOCAL_VERSIONS_KEPT) produced.pollFirst();
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.io.CsvWriter;
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.Person;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.PersonRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes an {@link ImportDataset} as CSV or XLSX. Both formats use the same row mapping, which is the
+ * inverse of {@link DatasetImporter}, so an export can be re-imported unchanged.
+ * <p>
+ * Entities are read in id order, one page at a time, and the persistence context is cleared between
+ * pages, so memory use does not grow with the table size.
+ */
+@Service
+public class DatasetExporter {
+
+	private static final int PAGE_SIZE = 1000;
+
+	private final PersonRepository personRepository;
+	private final FarmFindingRepository farmFindingRepository;
+	private final ResolverTicketRepository resolverTicketRepository;
+	private final CertificateRepository certificateRepository;
+	private final CodeRepositoryRepository codeRepositoryRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public DatasetExporter(PersonRepository personRepository, FarmFindingRepository farmFindingRepository,
+			ResolverTicketRepository resolverTicketRepository, CertificateRepository certificateRepository,
+			CodeRepositoryRepository codeRepositoryRepository) {
+		this.personRepository = personRepository;
+		this.farmFindingRepository = farmFindingRepository;
+		this.resolverTicketRepository = resolverTicketRepository;
+		this.certificateRepository = certificateRepository;
+		this.codeRepositoryRepository = codeRepositoryRepository;
+	}
+
+	/** Receives one exported row at a time. */
+	@FunctionalInterface
+	public interface RowSink {
+		void accept(Object[] values) throws IOException;
+	}
+
+	@Transactional(readOnly = true)
+	public void writeCsv(ImportDataset dataset, OutputStream out) throws IOException {
+		CsvWriter csv = new CsvWriter(out);
+		csv.writeRow((Object[]) dataset.headers());
+		forEachRow(dataset, csv::writeRow);
+		csv.flush();
+	}
+
+	/**
+	 * Writes a single-sheet workbook. Rows are streamed through {@link SXSSFWorkbook}, which keeps only
+	 * a small window of rows in memory and spills the rest to a temporary file.
+	 */
+	@Transactional(readOnly = true)
+	public void writeWorkbook(ImportDataset dataset, OutputStream out) throws IOException {
+		try (SXSSFWorkbook workbook = new SXSSFWorkbook(200)) {
+			SXSSFSheet sheet = workbook.createSheet(dataset.sheetName());
+			sheet.trackAllColumnsForAutoSizing();
+			String[] headers = dataset.headers();
+			Row header = sheet.createRow(0);
+			for (int i = 0; i < headers.length; i++) header.createCell(i).setCellValue(headers[i]);
+			int[] next = { 1 };
+			forEachRow(dataset, values -> {
+				Row row = sheet.createRow(next[0]++);
+				for (int c = 0; c < values.length; c++) {
+					if (values[c] instanceof Number n) row.createCell(c).setCellValue(n.doubleValue());
+					else row.createCell(c).setCellValue(values[c] != null ? values[c].toString() : "");
+				}
+			});
+			for (int i = 0; i < headers.length; i++) sheet.autoSizeColumn(i);
+			workbook.write(out);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public void forEachRow(ImportDataset dataset, RowSink sink) throws IOException {
+		switch (dataset) {
+			case PEOPLE -> page(personRepository::findByIdGreaterThanOrderByIdAsc, Person::getId, sink,
+				p -> new Object[] { p.getSid(), p.getFirstName(), p.getLastName(), p.getEmail() });
+			case FINDINGS -> page(farmFindingRepository::findByIdGreaterThanOrderByIdAsc, FarmFinding::getId, sink,
+				f -> new Object[] { f.getId(), f.getDescription(), f.getApplicationSealId(), f.getSeverity(), f.getCriticality(),
+					f.getTargetDate(), f.getAssignedApg(), f.getCreatedDate() });
+			case TICKETS -> page(resolverTicketRepository::findByIdGreaterThanOrderByIdAsc, ResolverTicket::getId, sink, t -> {
+				FarmFinding finding = t.getFinding();
+				return new Object[] { t.getId(), finding != null ? finding.getId() : null, finding != null ? finding.getApplicationSealId() : null,
+					t.getJiraKey(), t.getJiraUrl(), t.getApg(), t.getStatus() };
+			});
+			case CERTIFICATES -> page(certificateRepository::findByIdGreaterThanOrderByIdAsc, Certificate::getId, sink, c -> {
+				Application application = c.getApplication();
+				return new Object[] { c.getId(), application != null ? application.getSealId() : null, c.getCn(), c.getSerial(),
+					c.getExpirationDate() };
+			});
+			case CODE_REPOSITORIES -> page(codeRepositoryRepository::findByIdGreaterThanOrderByIdAsc, CodeRepository::getId, sink,
+				r -> new Object[] { r.getRepositoryUrl(), r.getProjectId(), r.getApplication() != null ? r.getApplication().getName() : null,
+					r.getTeam() != null ? r.getTeam().getName() : null, r.getCreatedDate() });
+		}
+	}
+
+	private <T> void page(BiFunction<Long, Limit, List<T>> finder, Function<T, Long> idOf, RowSink sink,
+			Function<T, Object[]> mapper) throws IOException {
+		Long after = 0L;
+		while (true) {
+			List<T> page = finder.apply(after, Limit.of(PAGE_SIZE));
+			for (T entity : page) {
+				sink.accept(mapper.apply(entity));
+			}
+			if (page.size() < PAGE_SIZE) return;
+			after = idOf.apply(page.get(page.size() - 1));
+			entityManager.clear();
+		}
+	}
+}
@@ -0,0 +1,461 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.Person;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.model.Team;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.PersonRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+import com.example.hello.repository.TeamRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Persists already-parsed rows (one {@code String[]} per row, columns as in the exports) for each
+ * {@link ImportDataset}. Lookups are loaded up front with chunked IN queries instead of one query
+ * per row, and writes are flushed in batches.
+ * <p>
+ * Findings and tickets are compared by content hash before writing: a row whose hash equals the one
+ * stored on the entity is counted as unchanged and not written at all.
+ */
+@Service
+public class DatasetImporter {
+
+	private static final int BATCH_SIZE = 500;
+
+	/** Fields compared for dry-run diffs, in export column order. */
+	private static final Map<String, Function<FarmFinding, Object>> FINDING_FIELDS = new LinkedHashMap<>();
+	private static final Map<String, Function<ResolverTicket, Object>> TICKET_FIELDS = new LinkedHashMap<>();
+
+	static {
+		FINDING_FIELDS.put("description", FarmFinding::getDescription);
+		FINDING_FIELDS.put("applicationSealId", FarmFinding::getApplicationSealId);
+		FINDING_FIELDS.put("severity", FarmFinding::getSeverity);
+		FINDING_FIELDS.put("criticality", FarmFinding::getCriticality);
+		FINDING_FIELDS.put("targetDate", FarmFinding::getTargetDate);
+		FINDING_FIELDS.put("assignedApg", FarmFinding::getAssignedApg);
+
+		TICKET_FIELDS.put("findingId", t -> t.getFinding() != null ? t.getFinding().getId() : null);
+		TICKET_FIELDS.put("jiraKey", ResolverTicket::getJiraKey);
+		TICKET_FIELDS.put("jiraUrl", ResolverTicket::getJiraUrl);
+		TICKET_FIELDS.put("apg", ResolverTicket::getApg);
+		TICKET_FIELDS.put("status", ResolverTicket::getStatus);
+	}
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final ResolverTicketRepository resolverTicketRepository;
+	private final ApplicationRepository applicationRepository;
+	private final CertificateRepository certificateRepository;
+	private final CodeRepositoryRepository codeRepositoryRepository;
+	private final TeamRepository teamRepository;
+	private final PersonRepository personRepository;
+	private final TicketRollupService ticketRollupService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public DatasetImporter(FarmFindingRepository farmFindingRepository, ResolverTicketRepository resolverTicketRepository,
+			ApplicationRepository applicationRepository, CertificateRepository certificateRepository,
+			CodeRepositoryRepository codeRepositoryRepository, TeamRepository teamRepository, PersonRepository personRepository,
+			TicketRollupService ticketRollupService) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.resolverTicketRepository = resolverTicketRepository;
+		this.applicationRepository = applicationRepository;
+		this.certificateRepository = certificateRepository;
+		this.codeRepositoryRepository = codeRepositoryRepository;
+		this.teamRepository = teamRepository;
+		this.personRepository = personRepository;
+		this.ticketRollupService = ticketRollupService;
+	}
+
+	/**
+	 * Imports several datasets in one transaction, in dependency order. A dry run goes through the same
+	 * lookups and comparisons but writes nothing and rolls the transaction back.
+	 */
+	@Transactional
+	public Map<String, ImportResult> importAll(Map<ImportDataset, List<String[]>> rowsByDataset, boolean dryRun) {
+		Map<String, ImportResult> results = new LinkedHashMap<>();
+		for (ImportDataset dataset : ImportDataset.values()) {
+			List<String[]> rows = rowsByDataset.get(dataset);
+			if (rows != null) {
+				results.put(dataset.key(), importRows(dataset, rows, dryRun));
+			}
+		}
+		return results;
+	}
+
+	@Transactional
+	public ImportResult importRows(ImportDataset dataset, List<String[]> rows, boolean dryRun) {
+		if (dryRun) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+		}
+		ImportResult result = new ImportResult(dryRun);
+		importChunk(dataset, rows, result);
+		return result;
+	}
+
+	/**
+	 * Imports rows that are parsed while the import runs, one chunk at a time, in one transaction.
+	 * Lookups are made per chunk and the persistence context is flushed and cleared after each, so
+	 * memory is bounded by the chunk size rather than the file size.
+	 */
+	@Transactional
+	public ImportResult importChunks(ImportDataset dataset, Iterator<List<String[]>> chunks, boolean dryRun) {
+		if (dryRun) {
+			TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+		}
+		ImportResult result = new ImportResult(dryRun);
+		while (chunks.hasNext()) {
+			importChunk(dataset, chunks.next(), result);
+			flushAndClear();
+		}
+		return result;
+	}
+
+	private void importChunk(ImportDataset dataset, List<String[]> rows, ImportResult result) {
+		switch (dataset) {
+			case PEOPLE -> importPeople(rows, result);
+			case FINDINGS -> importFindings(rows, result);
+			case TICKETS -> importTickets(rows, result);
+			case CERTIFICATES -> importCertificates(rows, result);
+			case CODE_REPOSITORIES -> importCodeRepositories(rows, result);
+		}
+	}
+
+	// Columns: id, description, applicationSealId, severity, criticality, targetDate, assignedApg, createdDate (ignored)
+	private void importFindings(List<String[]> rows, ImportResult result) {
+		Map<Long, FarmFinding> existing = loadByKey(ids(rows, 0), farmFindingRepository::findAllById, FarmFinding::getId);
+		List<FarmFinding> batch = new ArrayList<>();
+		for (String[] row : rows) {
+			LocalDate targetDate;
+			try {
+				targetDate = parseDate(row[5]);
+			} catch (DateTimeParseException e) {
+				result.recordSkipped();
+				continue;
+			}
+			Long id = parseId(row[0]);
+			FarmFinding finding = id != null ? existing.get(id) : null;
+
+			FarmFinding candidate = new FarmFinding();
+			candidate.setDescription(row[1]);
+			candidate.setApplicationSealId(row[2]);
+			candidate.setSeverity(row[3]);
+			candidate.setCriticality(row[4]);
+			// a blank target date keeps the stored one
+			candidate.setTargetDate(targetDate != null || finding == null ? targetDate : finding.getTargetDate());
+			candidate.setAssignedApg(row[6]);
+
+			if (finding == null) {
+				result.recordCreated();
+				if (!result.isDryRun()) batch.add(candidate);
+			} else if (storedHash(finding.getContentHash(), finding::computeContentHash).equals(candidate.computeContentHash())) {
+				result.recordUnchanged();
+			} else {
+				result.recordUpdated();
+				if (result.isDryRun()) {
+					result.recordDiff(diff(finding.getId(), finding, candidate, FINDING_FIELDS));
+					continue;
+				}
+				finding.setDescription(candidate.getDescription());
+				finding.setApplicationSealId(candidate.getApplicationSealId());
+				finding.setSeverity(candidate.getSeverity());
+				finding.setCriticality(candidate.getCriticality());
+				finding.setTargetDate(candidate.getTargetDate());
+				finding.setAssignedApg(candidate.getAssignedApg());
+				finding.refreshContentHash();
+				batch.add(finding);
+			}
+			saveIfFull(batch, farmFindingRepository);
+		}
+		save(batch, farmFindingRepository);
+	}
+
+	// Columns: id, findingId, applicationSealId, jiraKey, jiraUrl, apg, status
+	private void importTickets(List<String[]> rows, ImportResult result) {
+		Map<Long, ResolverTicket> existing = loadByKey(ids(rows, 0), resolverTicketRepository::findAllById, ResolverTicket::getId);
+		Map<Long, FarmFinding> findings = loadByKey(ids(rows, 1), farmFindingRepository::findAllById, FarmFinding::getId);
+
+		// Rows without a resolvable finding id fall back to the first finding of their application.
+		Set<String> sealIds = new HashSet<>();
+		for (String[] row : rows) {
+			Long findingId = parseId(row[1]);
+			if ((findingId == null || !findings.containsKey(findingId)) && row[2] != null) sealIds.add(row[2]);
+		}
+		Map<String, FarmFinding> findingsBySealId = new HashMap<>();
+		for (FarmFinding f : InLists.loadAll(sealIds, farmFindingRepository::findByApplicationSealIdIn)) {
+			findingsBySealId.merge(f.getApplicationSealId(), f, (a, b) -> a.getId() <= b.getId() ? a : b);
+		}
+
+		List<ResolverTicket> batch = new ArrayList<>();
+		// findings whose ticket rollup needs recounting once the tickets are written
+		Map<Long, FarmFinding> touched = new HashMap<>();
+		Set<Long> statusChanged = new HashSet<>();
+		for (String[] row : rows) {
+			Long findingId = parseId(row[1]);
+			FarmFinding finding = findingId != null ? findings.get(findingId) : null;
+			if (finding == null && row[2] != null) finding = findingsBySealId.get(row[2]);
+			if (finding == null) {
+				result.recordSkipped();
+				continue;
+			}
+			Long id = parseId(row[0]);
+			ResolverTicket ticket = id != null ? existing.get(id) : null;
+
+			ResolverTicket candidate = new ResolverTicket();
+			candidate.setFinding(finding);
+			candidate.setJiraKey(row[3]);
+			candidate.setJiraUrl(row[4]);
+			candidate.setApg(row[5]);
+			candidate.setStatus(row[6]);
+
+			if (ticket == null) {
+				result.recordCreated();
+				if (result.isDryRun()) continue;
+				batch.add(candidate);
+				touched.put(finding.getId(), finding);
+				statusChanged.add(finding.getId());
+			} else if (storedHash(ticket.getContentHash(), ticket::computeContentHash).equals(candidate.computeContentHash())) {
+				result.recordUnchanged();
+			} else {
+				result.recordUpdated();
+				if (result.isDryRun()) {
+					result.recordDiff(diff(ticket.getId(), ticket, candidate, TICKET_FIELDS));
+					continue;
+				}
+				FarmFinding previous = ticket.getFinding();
+				if (previous != null && !previous.getId().equals(finding.getId())) {
+					touched.put(previous.getId(), previous);
+					statusChanged.add(previous.getId());
+					statusChanged.add(finding.getId());
+				}
+				if (!Objects.equals(ticket.getStatus(), candidate.getStatus())) statusChanged.add(finding.getId());
+				touched.put(finding.getId(), finding);
+				ticket.setFinding(finding);
+				ticket.setJiraKey(candidate.getJiraKey());
+				ticket.setJiraUrl(candidate.getJiraUrl());
+				ticket.setApg(candidate.getApg());
+				ticket.setStatus(candidate.getStatus());
+				ticket.refreshContentHash();
+				batch.add(ticket);
+			}
+			saveIfFull(batch, resolverTicketRepository);
+		}
+		save(batch, resolverTicketRepository);
+		ticketRollupService.refresh(touched.values(), statusChanged);
+	}
+
+	// Columns: id, applicationSealId, cn, serial, expirationDate
+	private void importCertificates(List<String[]> rows, ImportResult result) {
+		Map<Long, Certificate> existing = loadByKey(ids(rows, 0), certificateRepository::findAllById, Certificate::getId);
+		Map<String, Application> applications = loadByKey(values(rows, 1), applicationRepository::findBySealIdIn, Application::getSealId);
+		List<Certificate> batch = new ArrayList<>();
+		for (String[] row : rows) {
+			Long id = parseId(row[0]);
+			Certificate certificate = id != null ? existing.get(id) : null;
+			Application application = row[1] != null ? applications.get(row[1]) : null;
+			LocalDate expirationDate;
+			try {
+				expirationDate = parseDate(row[4]);
+			} catch (DateTimeParseException e) {
+				result.recordSkipped();
+				continue;
+			}
+			if (row[2] == null || (certificate == null && application == null)) {
+				result.recordSkipped();
+				continue;
+			}
+			boolean created = certificate == null;
+			if (created) result.recordCreated(); else result.recordUpdated();
+			if (result.isDryRun()) continue;
+			if (created) certificate = new Certificate();
+
+			if (application != null) certificate.setApplication(application);
+			certificate.setCn(row[2]);
+			certificate.setSerial(row[3]);
+			certificate.setExpirationDate(expirationDate);
+
+			batch.add(certificate);
+			saveIfFull(batch, certificateRepository);
+		}
+		save(batch, certificateRepository);
+	}
+
+	// Columns: sid, firstName, lastName, email
+	private void importPeople(List<String[]> rows, ImportResult result) {
+		Map<String, Person> bySid = loadByKey(values(rows, 0), personRepository::findBySidIn, Person::getSid);
+		List<Person> batch = new ArrayList<>();
+		for (String[] row : rows) {
+			if (row[0] == null || row[1] == null || row[2] == null) {
+				result.recordSkipped();
+				continue;
+			}
+			Person person = bySid.get(row[0]);
+			boolean created = person == null;
+			if (created) result.recordCreated(); else result.recordUpdated();
+			if (result.isDryRun()) {
+				if (created) bySid.put(row[0], new Person());
+				continue;
+			}
+			if (created) {
+				person = new Person();
+				person.setSid(row[0]);
+				bySid.put(row[0], person);
+			}
+			person.setFirstName(row[1]);
+			person.setLastName(row[2]);
+			person.setEmail(row[3]);
+
+			batch.add(person);
+			saveIfFull(batch, personRepository);
+		}
+		save(batch, personRepository);
+	}
+
+	// Columns: Repository URL, Project ID, Application Name, Assigned Team, Created Date (ignored)
+	private void importCodeRepositories(List<String[]> rows, ImportResult result) {
+		// keys taken by earlier rows of this file, so duplicates are skipped even before they are written
+		Set<String> seenUrls = new HashSet<>();
+		Set<String> seenProjectIds = new HashSet<>();
+		for (int from = 0; from < rows.size(); from += InLists.CHUNK_SIZE) {
+			List<String[]> chunk = rows.subList(from, Math.min(from + InLists.CHUNK_SIZE, rows.size()));
+			Set<String> knownUrls = new HashSet<>(codeRepositoryRepository.findRepositoryUrlsIn(values(chunk, 0)));
+			Set<String> knownProjectIds = new HashSet<>(codeRepositoryRepository.findProjectIdsIn(values(chunk, 1)));
+			Map<String, Application> applications = loadByKey(values(chunk, 2), applicationRepository::findByNameIn, Application::getName);
+			Map<String, Team> teams = loadByKey(values(chunk, 3), teamRepository::findByNameIn, Team::getName);
+			List<CodeRepository> batch = new ArrayList<>();
+			for (String[] row : chunk) {
+				String repositoryUrl = row[0];
+				String projectId = row[1];
+				// existing repositories (or duplicates earlier in the file) are skipped, not updated
+				if (repositoryUrl == null || projectId == null || knownUrls.contains(repositoryUrl) || knownProjectIds.contains(projectId)
+						|| seenUrls.contains(repositoryUrl) || seenProjectIds.contains(projectId)) {
+					result.recordSkipped();
+					continue;
+				}
+				seenUrls.add(repositoryUrl);
+				seenProjectIds.add(projectId);
+				result.recordCreated();
+				if (result.isDryRun()) continue;
+
+				CodeRepository codeRepository = new CodeRepository();
+				codeRepository.setRepositoryUrl(repositoryUrl);
+				codeRepository.setProjectId(projectId);
+				if (row[2] != null) codeRepository.setApplication(applications.get(row[2]));
+				if (row[3] != null) codeRepository.setTeam(teams.get(row[3]));
+				batch.add(codeRepository);
+				saveIfFull(batch, codeRepositoryRepository);
+			}
+			save(batch, codeRepositoryRepository);
+			// the written repositories and the chunk's applications and teams are not needed again
+			flushAndClear();
+		}
+	}
+
+	private void flushAndClear() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	/** The stored hash, or for rows written before hashes were kept, one computed from the entity. */
+	private static String storedHash(String stored, Supplier<String> compute) {
+		return stored != null ? stored : compute.get();
+	}
+
+	private static <T> RowDiff diff(Long id, T current, T candidate, Map<String, Function<T, Object>> fields) {
+		Map<String, Object> from = new LinkedHashMap<>();
+		Map<String, Object> to = new LinkedHashMap<>();
+		fields.forEach((name, getter) -> {
+			Object before = getter.apply(current);
+			Object after = getter.apply(candidate);
+			if (!Objects.equals(before, after)) {
+				from.put(name, before);
+				to.put(name, after);
+			}
+		});
+		return new RowDiff(id, from, to);
+	}
+
+	private static <T> void saveIfFull(List<T> batch, JpaRepository<T, ?> repository) {
+		if (batch.size() >= BATCH_SIZE) {
+			save(batch, repository);
+		}
+	}
+
+	private static <T> void save(List<T> batch, JpaRepository<T, ?> repository) {
+		if (batch.isEmpty()) return;
+		repository.saveAll(batch);
+		repository.flush();
+		batch.clear();
+	}
+
+	/** Loads entities for the given keys in IN-list chunks; the first entity per key wins. */
+	private static <K, T> Map<K, T> loadByKey(Collection<K> keys, Function<List<K>, List<T>> loader, Function<T, K> keyOf) {
+		Map<K, T> byKey = new HashMap<>();
+		for (T entity : InLists.loadAll(keys, loader)) {
+			byKey.putIfAbsent(keyOf.apply(entity), entity);
+		}
+		return byKey;
+	}
+
+	private static Set<Long> ids(List<String[]> rows, int column) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (String[] row : rows) {
+			Long id = parseId(row[column]);
+			if (id != null) ids.add(id);
+		}
+		return ids;
+	}
+
+	private static Set<String> values(List<String[]> rows, int column) {
+		Set<String> values = new LinkedHashSet<>();
+		for (String[] row : rows) {
+			if (row[column] != null) values.add(row[column]);
+		}
+		return values;
+	}
+
+	/** Positive numeric id, or null for blank, zero or unparseable cells. */
+	static Long parseId(String value) {
+		if (value == null) return null;
+		try {
+			long id = (long) Double.parseDouble(value);
+			return id > 0 ? id : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	static LocalDate parseDate(String value) {
+		return value == null || value.isBlank() ? null : LocalDate.parse(value);
+	}
+}
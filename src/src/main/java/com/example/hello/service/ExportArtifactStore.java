@@ -0,0 +1,215 @@
+package com.example.hello.service;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exports kept on disk and regenerated only when their data changes. An artifact's file name carries
+ * the {@link DataVersionService} counters of every entity type the export reads, so any committed
+ * write to those tables makes the next request build a new file; until then every download is served
+ * from the same file. CSV artifacts also get a gzip copy for clients that accept it; XLSX is already
+ * a zip archive.
+ * <p>
+ * Every {@link #get} refreshes the file's modification time, so {@link #evictUnusedSince} removes
+ * artifacts nobody has asked for within a TTL. Artifacts handed out by export jobs are {@link #pin pinned}
+ * until the job expires, which keeps a download resumable even after newer data produced a newer file.
+ */
+@Service
+public class ExportArtifactStore {
+
+	/** Superseded files are kept this long so downloads still reading them can finish. */
+	private static final long STALE_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	public enum Format {
+		CSV("csv", "text/csv;charset=UTF-8", true),
+		XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", false);
+
+		private final String extension;
+		private final String contentType;
+		private final boolean compressible;
+
+		Format(String extension, String contentType, boolean compressible) {
+			this.extension = extension;
+			this.contentType = contentType;
+			this.compressible = compressible;
+		}
+
+		public String extension() {
+			return extension;
+		}
+
+		public String contentType() {
+			return contentType;
+		}
+
+		public static Format forName(String name) {
+			for (Format format : values()) {
+				if (format.extension.equalsIgnoreCase(name)) return format;
+			}
+			throw new IllegalArgumentException("Unknown export format: " + name);
+		}
+	}
+
+	/**
+	 * A generated export. {@code contentEncoding} is {@code gzip} when {@code file} holds the
+	 * compressed copy, otherwise null; {@code etag} identifies this exact representation.
+	 */
+	public record Artifact(File file, String etag, String contentType, String fileName, String contentEncoding) {
+	}
+
+	private final DatasetExporter datasetExporter;
+	private final DataVersionService dataVersionService;
+	private final Path directory;
+	private final SingleFlight singleFlight;
+	/** Plain file name -> number of holders; a pinned file is neither evicted nor removed as stale. */
+	private final ConcurrentHashMap<String, Integer> pinned = new ConcurrentHashMap<>();
+
+	public ExportArtifactStore(DatasetExporter datasetExporter, DataVersionService dataVersionService, SingleFlight singleFlight,
+			@Value("${app.export.artifact-dir:${java.io.tmpdir}/hello-exports}") String directory) throws IOException {
+		this.datasetExporter = datasetExporter;
+		this.dataVersionService = dataVersionService;
+		this.singleFlight = singleFlight;
+		this.directory = Files.createDirectories(Path.of(directory));
+	}
+
+	/** The current artifact for a dataset and format, generating it first if its data changed. */
+	public Artifact get(ImportDataset dataset, Format format, boolean acceptGzip) throws IOException {
+		String fingerprint = fingerprint(dataset);
+		String baseName = dataset.key() + fingerprint + "." + format.extension;
+		Path plain = directory.resolve(baseName);
+		Path gzip = directory.resolve(baseName + ".gz");
+
+		if (!Files.exists(plain)) {
+			// concurrent requests for the same version wait for one build instead of each writing a file
+			try {
+				singleFlight.execute("export." + dataset.key() + "." + format.extension, baseName, Duration.ZERO, () -> {
+					try {
+						if (!Files.exists(plain)) {
+							generate(dataset, format, plain, format.compressible ? gzip : null);
+							removeStale(dataset, format, baseName);
+						}
+						return plain;
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+
+		Files.setLastModifiedTime(plain, FileTime.fromMillis(System.currentTimeMillis()));
+		String etag = "\"" + dataset.key() + fingerprint + "-" + format.extension + "\"";
+		Artifact artifact = new Artifact(plain.toFile(), etag, format.contentType, dataset.key() + "." + format.extension, null);
+		return acceptGzip ? gzipped(artifact) : artifact;
+	}
+
+	/** True when the artifact for the dataset's current data is already on disk, so {@link #get} would build nothing. */
+	public boolean isReady(ImportDataset dataset, Format format) {
+		return Files.exists(directory.resolve(dataset.key() + fingerprint(dataset) + "." + format.extension));
+	}
+
+	private String fingerprint(ImportDataset dataset) {
+		StringBuilder fingerprint = new StringBuilder();
+		for (long version : dataVersionService.current(dataset.sources())) {
+			fingerprint.append('-').append(version);
+		}
+		return fingerprint.toString();
+	}
+
+	/** The gzip copy of a plain artifact, or the artifact itself when it has none. */
+	public Artifact gzipped(Artifact artifact) {
+		File gzip = new File(artifact.file().getPath() + ".gz");
+		if (artifact.contentEncoding() != null || !gzip.isFile()) return artifact;
+		String etag = artifact.etag();
+		return new Artifact(gzip, etag.substring(0, etag.length() - 1) + "-gzip\"", artifact.contentType(), artifact.fileName(), "gzip");
+	}
+
+	/** Keeps an artifact (and its gzip copy) on disk until every pin has been released with {@link #unpin}. */
+	public void pin(Artifact artifact) {
+		pinned.merge(artifact.file().getName(), 1, Integer::sum);
+	}
+
+	public void unpin(Artifact artifact) {
+		pinned.computeIfPresent(artifact.file().getName(), (name, holders) -> holders > 1 ? holders - 1 : null);
+	}
+
+	/**
+	 * Deletes unpinned artifacts last requested before {@code cutoffMillis}, along with temporary
+	 * files left behind by a generation that never finished. Returns the number of files removed.
+	 */
+	public int evictUnusedSince(long cutoffMillis) {
+		int removed = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				Path plain = name.endsWith(".gz") ? file.resolveSibling(name.substring(0, name.length() - 3)) : file;
+				if (pinned.containsKey(plain.getFileName().toString())) continue;
+				// a gzip copy lives as long as the plain file it was made from
+				Path clock = Files.exists(plain) ? plain : file;
+				if (Files.getLastModifiedTime(clock).toMillis() < cutoffMillis && Files.deleteIfExists(file)) removed++;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return removed;
+	}
+
+	private void generate(ImportDataset dataset, Format format, Path target, Path gzipTarget) throws IOException {
+		Path temp = Files.createTempFile(directory, dataset.key(), ".tmp");
+		Path gzipTemp = gzipTarget != null ? Files.createTempFile(directory, dataset.key(), ".gz.tmp") : null;
+		try {
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+				if (format == Format.XLSX) datasetExporter.writeWorkbook(dataset, out);
+				else datasetExporter.writeCsv(dataset, out);
+			}
+			if (gzipTemp != null) {
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipTemp), 64 * 1024)) {
+					Files.copy(temp, out);
+				}
+				Files.move(gzipTemp, gzipTarget, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			// the plain file appears last: its presence means both representations are complete
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+			if (gzipTemp != null) Files.deleteIfExists(gzipTemp);
+		}
+	}
+
+	private void removeStale(ImportDataset dataset, Format format, String currentName) {
+		long cutoff = System.currentTimeMillis() - STALE_GRACE_MILLIS;
+		String extension = "." + format.extension;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, dataset.key() + "-*")) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				String base = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+				if (!base.endsWith(extension) || base.equals(currentName) || pinned.containsKey(base)) continue;
+				if (!isFingerprint(base.substring(dataset.key().length() + 1, base.length() - extension.length()))) continue;
+				if (Files.getLastModifiedTime(file).toMillis() < cutoff) Files.deleteIfExists(file);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** True for the {@code 12-3-7} part of a file name, so a dataset key never matches another's files. */
+	private static boolean isFingerprint(String part) {
+		return part.matches("[0-9]+(-[0-9]+)*");
+	}
+}
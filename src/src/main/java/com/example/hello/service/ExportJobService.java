@@ -0,0 +1,250 @@
+package com.example.hello.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs exports in the background so a request only enqueues work and polls for it. Jobs wait in a
+ * priority queue in front of a fixed pool of workers; the queue is bounded and a full queue rejects
+ * new jobs instead of piling them up. A job asking for an export that is already queued or running
+ * is answered with that job.
+ * <p>
+ * Results live in {@link ExportArtifactStore}. A finished job pins its artifact so the download stays
+ * byte-for-byte stable (and therefore resumable) until the job expires {@code ttl} after finishing;
+ * the sweep then drops the job and evicts artifacts nobody requested within the same TTL.
+ * Jobs are kept in memory and are not shared between nodes.
+ */
+@Service
+public class ExportJobService {
+
+	public enum Priority {
+		HIGH, NORMAL, LOW;
+
+		public static Priority forName(String name) {
+			if (name == null || name.isBlank()) return NORMAL;
+			try {
+				return valueOf(name.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown priority: " + name);
+			}
+		}
+	}
+
+	public enum Status {
+		QUEUED, RUNNING, DONE, FAILED, CANCELLED
+	}
+
+	/** Thrown when the queue already holds {@code app.export.jobs.queue-capacity} jobs. */
+	public static class QueueFullException extends RuntimeException {
+		public QueueFullException(int capacity) {
+			super("Export queue is full (" + capacity + " jobs waiting)");
+		}
+	}
+
+	public static final class ExportJob implements Runnable {
+
+		private final String id;
+		private final ImportDataset dataset;
+		private final ExportArtifactStore.Format format;
+		private final Priority priority;
+		private final long sequence;
+		private final LocalDateTime submittedAt = LocalDateTime.now();
+		private final ExportJobService owner;
+		private volatile Status status = Status.QUEUED;
+		private volatile LocalDateTime startedAt;
+		private volatile LocalDateTime finishedAt;
+		private volatile long finishedAtMillis;
+		private volatile String error;
+		private volatile ExportArtifactStore.Artifact artifact;
+
+		private ExportJob(ExportJobService owner, ImportDataset dataset, ExportArtifactStore.Format format, Priority priority, long sequence) {
+			this.id = UUID.randomUUID().toString();
+			this.owner = owner;
+			this.dataset = dataset;
+			this.format = format;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			owner.execute(this);
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public ImportDataset getDataset() {
+			return dataset;
+		}
+
+		public ExportArtifactStore.Format getFormat() {
+			return format;
+		}
+
+		public Priority getPriority() {
+			return priority;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public LocalDateTime getSubmittedAt() {
+			return submittedAt;
+		}
+
+		public LocalDateTime getStartedAt() {
+			return startedAt;
+		}
+
+		public LocalDateTime getFinishedAt() {
+			return finishedAt;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		/** The generated artifact once the job is {@link Status#DONE}, otherwise null. */
+		public ExportArtifactStore.Artifact getArtifact() {
+			return artifact;
+		}
+
+		private boolean isPending() {
+			return status == Status.QUEUED || status == Status.RUNNING;
+		}
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+	/** Highest priority first, then first come first served. */
+	private static final Comparator<Runnable> ORDER = Comparator
+		.comparing((Runnable r) -> ((ExportJob) r).priority)
+		.thenComparingLong(r -> ((ExportJob) r).sequence);
+
+	private final ExportArtifactStore exportArtifactStore;
+	private final ThreadPoolExecutor workers;
+	private final int queueCapacity;
+	private final long ttlMillis;
+	private final ConcurrentHashMap<String, ExportJob> jobs = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicInteger queued = new AtomicInteger();
+
+	public ExportJobService(ExportArtifactStore exportArtifactStore,
+			@Value("${app.export.jobs.workers:2}") int workers,
+			@Value("${app.export.jobs.queue-capacity:100}") int queueCapacity,
+			@Value("${app.export.jobs.ttl-ms:3600000}") long ttlMillis) {
+		this.exportArtifactStore = exportArtifactStore;
+		this.queueCapacity = Math.max(queueCapacity, 1);
+		this.ttlMillis = ttlMillis;
+		AtomicInteger threads = new AtomicInteger();
+		int size = Math.max(workers, 1);
+		this.workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+			new PriorityBlockingQueue<>(this.queueCapacity, ORDER), r -> {
+				Thread thread = new Thread(r, "export-worker-" + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+	}
+
+	@PreDestroy
+	void shutdown() {
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Queues an export, or returns the pending job for the same dataset and format if there is one.
+	 * Throws {@link QueueFullException} when the queue is at capacity.
+	 */
+	public synchronized ExportJob submit(ImportDataset dataset, ExportArtifactStore.Format format, Priority priority) {
+		for (ExportJob job : jobs.values()) {
+			if (job.isPending() && job.dataset == dataset && job.format == format) return job;
+		}
+		if (queued.get() >= queueCapacity) throw new QueueFullException(queueCapacity);
+		ExportJob job = new ExportJob(this, dataset, format, priority, sequence.incrementAndGet());
+		jobs.put(job.id, job);
+		queued.incrementAndGet();
+		workers.execute(job);
+		return job;
+	}
+
+	public ExportJob get(String id) {
+		ExportJob job = jobs.get(id);
+		if (job == null) throw new IllegalArgumentException("Export job not found: " + id);
+		return job;
+	}
+
+	/** Jobs known to this node, newest first. */
+	public List<ExportJob> list() {
+		List<ExportJob> list = new ArrayList<>(jobs.values());
+		list.sort(Comparator.comparingLong((ExportJob j) -> j.sequence).reversed());
+		return list;
+	}
+
+	/** Cancels a queued job; a running or finished job is left alone. Returns whether it was cancelled. */
+	public synchronized boolean cancel(String id) {
+		ExportJob job = get(id);
+		if (job.status != Status.QUEUED || !workers.remove(job)) return false;
+		queued.decrementAndGet();
+		finish(job, Status.CANCELLED);
+		return true;
+	}
+
+	private void execute(ExportJob job) {
+		synchronized (this) {
+			if (job.status != Status.QUEUED) return;
+			queued.decrementAndGet();
+			job.status = Status.RUNNING;
+			job.startedAt = LocalDateTime.now();
+		}
+		try {
+			ExportArtifactStore.Artifact artifact = exportArtifactStore.get(job.dataset, job.format, false);
+			exportArtifactStore.pin(artifact);
+			job.artifact = artifact;
+			finish(job, Status.DONE);
+		} catch (Exception e) {
+			log.warn("Export job {} ({} {}) failed", job.id, job.dataset.key(), job.format, e);
+			job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+			finish(job, Status.FAILED);
+		}
+	}
+
+	private void finish(ExportJob job, Status status) {
+		job.finishedAt = LocalDateTime.now();
+		job.finishedAtMillis = System.currentTimeMillis();
+		job.status = status;
+	}
+
+	/** Drops jobs that finished more than a TTL ago and evicts artifacts nobody requested within it. */
+	@Scheduled(fixedDelayString = "${app.export.jobs.sweep-interval-ms:60000}")
+	public void sweep() {
+		long cutoff = System.currentTimeMillis() - ttlMillis;
+		jobs.values().removeIf(job -> {
+			if (job.isPending() || job.finishedAtMillis >= cutoff) return false;
+			if (job.artifact != null) exportArtifactStore.unpin(job.artifact);
+			return true;
+		});
+		int evicted = exportArtifactStore.evictUnusedSince(cutoff);
+		if (evicted > 0) log.info("Evicted {} export artifact files unused for {} ms", evicted, ttlMillis);
+	}
+}
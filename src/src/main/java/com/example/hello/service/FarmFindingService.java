@@ -1,44 +1,97 @@
 package com.example.hello.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import com.example.hello.model.FarmFinding;
 import com.example.hello.model.ResolverTicket;
+import com.example.hello.model.SlaBucket;
 import com.example.hello.repository.FarmFindingRepository;
 import com.example.hello.repository.ResolverTicketRepository;
 
 @Service
 public class FarmFindingService {
 
+	private static final Set<String> FINDING_FIELDS = Set.of("description", "applicationSealId", "severity", "criticality", "targetDate", "assignedApg");
+	private static final Set<String> TICKET_FIELDS = Set.of("jiraKey", "jiraUrl", "apg", "status");
+	/** Ticket changes that are safe to re-apply on top of a concurrent edit. */
+	private static final Set<String> COMMUTATIVE_TICKET_FIELDS = Set.of("status");
+	private static final int MAX_PATCH_ATTEMPTS = 3;
+
 	private final FarmFindingRepository farmFindingRepository;
 	private final ResolverTicketRepository resolverTicketRepository;
-
-	public FarmFindingService(FarmFindingRepository farmFindingRepository, ResolverTicketRepository resolverTicketRepository) {
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectProvider<FindingColumnStore> columnStore;
+	private final TicketRollupService ticketRollupService;
+	private final SingleFlight singleFlight;
+	private final DataVersionService dataVersionService;
+	/** Coalesced reads open their own transaction, so callers waiting on them hold no connection. */
+	private final TransactionTemplate readOnlyTransaction;
+
+	public FarmFindingService(FarmFindingRepository farmFindingRepository, ResolverTicketRepository resolverTicketRepository,
+			TransactionTemplate transactionTemplate, ObjectProvider<FindingColumnStore> columnStore,
+			TicketRollupService ticketRollupService, SingleFlight singleFlight, DataVersionService dataVersionService) {
 		this.farmFindingRepository = farmFindingRepository;
 		this.resolverTicketRepository = resolverTicketRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.columnStore = columnStore;
+		this.ticketRollupService = ticketRollupService;
+		this.singleFlight = singleFlight;
+		this.dataVersionService = dataVersionService;
+		this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		this.readOnlyTransaction.setReadOnly(true);
 	}
 
-	public List<FarmFinding> getAllFindings() {
-		return farmFindingRepository.findAll();
+	/**
+	 * Every finding with its tickets; concurrent callers share one query and one (unmodifiable) list.
+	 * The flight is keyed by the last finding and ticket versions this node wrote, so a caller never
+	 * gets a list loaded before its own write committed; writes on other nodes show up once the TTL
+	 * has passed. The list holds copies, not entities, so it can be serialized on any thread after
+	 * the loading session has closed.
+	 */
+	public List<FindingView> getAllFindings() {
+		String versions = dataVersionService.lastLocal(FarmFinding.class) + ":" + dataVersionService.lastLocal(ResolverTicket.class);
+		return singleFlight.execute("findings.all", versions, () -> readOnlyTransaction.execute(status ->
+			farmFindingRepository.findAll().stream().map(FindingView::of).toList()));
 	}
 
+	/** Resolved or unresolved findings by their ticket rollup, without loading any tickets. */
+	@Transactional(readOnly = true)
+	public List<FarmFinding> getFindings(boolean resolved) {
+		return resolved ? farmFindingRepository.findResolved() : farmFindingRepository.findUnresolved();
+	}
+
+	@Transactional(readOnly = true)
 	public FarmFinding getFinding(Long id) {
 		return farmFindingRepository.findById(id).orElseThrow();
 	}
 
 	@Transactional
 	public FarmFinding createFinding(FarmFinding finding) {
-		return farmFindingRepository.save(finding);
+		FarmFinding saved = farmFindingRepository.save(finding);
+		if (!saved.getResolverTickets().isEmpty()) ticketRollupService.refresh(saved, true);
+		return saved;
 	}
 
 	@Transactional
 	public FarmFinding updateFinding(Long id, FarmFinding updated) {
-		FarmFinding existing = getFinding(id);
+		FarmFinding existing = farmFindingRepository.findWithTicketsById(id).orElseThrow();
+		Patches.checkVersion(updated.getVersion(), existing.getVersion(), FarmFinding.class, id);
 		existing.setDescription(updated.getDescription());
 		existing.setApplicationSealId(updated.getApplicationSealId());
 		existing.setSeverity(updated.getSeverity());
@@ -48,11 +101,26 @@ public class FarmFindingService {
 		return farmFindingRepository.save(existing);
 	}
 
+	@Transactional
+	public FarmFinding patchFinding(Long id, Map<String, Object> changes) {
+		Patches.requireKnownFields(changes, FINDING_FIELDS);
+		FarmFinding existing = farmFindingRepository.findWithTicketsById(id).orElseThrow(() -> Patches.notFound(FarmFinding.class, id));
+		Patches.checkVersion(Patches.expectedVersion(changes), existing.getVersion(), FarmFinding.class, id);
+		if (changes.containsKey("description")) existing.setDescription(Patches.asString(changes, "description"));
+		if (changes.containsKey("applicationSealId")) existing.setApplicationSealId(Patches.asString(changes, "applicationSealId"));
+		if (changes.containsKey("severity")) existing.setSeverity(Patches.asString(changes, "severity"));
+		if (changes.containsKey("criticality")) existing.setCriticality(Patches.asString(changes, "criticality"));
+		if (changes.containsKey("targetDate")) existing.setTargetDate(Patches.asLocalDate(changes, "targetDate"));
+		if (changes.containsKey("assignedApg")) existing.setAssignedApg(Patches.asString(changes, "assignedApg"));
+		return farmFindingRepository.save(existing);
+	}
+
 	@Transactional
 	public void deleteFinding(Long id) {
 		farmFindingRepository.deleteById(id);
 	}
 
+	@Transactional(readOnly = true)
 	public List<ResolverTicket> listTickets(Long findingId) {
 		return resolverTicketRepository.findByFindingId(findingId);
 	}
@@ -61,7 +129,9 @@ public class FarmFindingService {
 	public ResolverTicket addTicket(Long findingId, ResolverTicket ticket) {
 		FarmFinding finding = getFinding(findingId);
 		ticket.setFinding(finding);
-		return resolverTicketRepository.save(ticket);
+		ResolverTicket saved = resolverTicketRepository.save(ticket);
+		ticketRollupService.refresh(finding, true);
+		return saved;
 	}
 
 	@Transactional
@@ -70,11 +140,50 @@ public class FarmFindingService {
 		if (existing.getFinding() == null || !existing.getFinding().getId().equals(findingId)) {
 			throw new IllegalArgumentException("Ticket does not belong to the specified finding");
 		}
+		Patches.checkVersion(updated.getVersion(), existing.getVersion(), ResolverTicket.class, ticketId);
 		existing.setJiraKey(updated.getJiraKey());
 		existing.setJiraUrl(updated.getJiraUrl());
 		existing.setApg(updated.getApg());
+		boolean statusChanged = !Objects.equals(existing.getStatus(), updated.getStatus());
 		existing.setStatus(updated.getStatus());
-		return resolverTicketRepository.save(existing);
+		ResolverTicket saved = resolverTicketRepository.save(existing);
+		if (statusChanged) ticketRollupService.refresh(existing.getFinding(), true);
+		return saved;
+	}
+
+	/**
+	 * Applies only the given ticket fields. A status-only change without an expected version is
+	 * re-applied on a fresh copy when a concurrent edit wins the race, instead of failing.
+	 */
+	public ResolverTicket patchTicket(Long findingId, Long ticketId, Map<String, Object> changes) {
+		Patches.requireKnownFields(changes, TICKET_FIELDS);
+		boolean commutative = !changes.containsKey(Patches.VERSION) && COMMUTATIVE_TICKET_FIELDS.containsAll(changes.keySet());
+		int attempts = commutative ? MAX_PATCH_ATTEMPTS : 1;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return transactionTemplate.execute(status -> applyTicketPatch(findingId, ticketId, changes));
+			} catch (ObjectOptimisticLockingFailureException e) {
+				if (attempt >= attempts) throw e;
+			}
+		}
+	}
+
+	private ResolverTicket applyTicketPatch(Long findingId, Long ticketId, Map<String, Object> changes) {
+		ResolverTicket existing = resolverTicketRepository.findById(ticketId)
+			.filter(ticket -> ticket.getFinding() != null && ticket.getFinding().getId().equals(findingId))
+			.orElseThrow(() -> Patches.notFound(ResolverTicket.class, findingId + "/" + ticketId));
+		Patches.checkVersion(Patches.expectedVersion(changes), existing.getVersion(), ResolverTicket.class, ticketId);
+		if (changes.containsKey("jiraKey")) existing.setJiraKey(Patches.asString(changes, "jiraKey"));
+		if (changes.containsKey("jiraUrl")) existing.setJiraUrl(Patches.asString(changes, "jiraUrl"));
+		if (changes.containsKey("apg")) existing.setApg(Patches.asString(changes, "apg"));
+		boolean statusChanged = changes.containsKey("status") && !Objects.equals(existing.getStatus(), Patches.asString(changes, "status"));
+		if (statusChanged) existing.setStatus(Patches.asString(changes, "status"));
+		ResolverTicket saved = resolverTicketRepository.save(existing);
+		if (statusChanged) ticketRollupService.refresh(existing.getFinding(), true);
+		// flush inside the transaction so a version conflict, on the ticket or on the finding's
+		// rollup, surfaces here and can be retried
+		resolverTicketRepository.flush();
+		return saved;
 	}
 
 	@Transactional
@@ -83,17 +192,57 @@ public class FarmFindingService {
 		if (existing.getFinding() == null || !existing.getFinding().getId().equals(findingId)) {
 			throw new IllegalArgumentException("Ticket does not belong to the specified finding");
 		}
+		FarmFinding finding = existing.getFinding();
 		resolverTicketRepository.delete(existing);
+		ticketRollupService.refresh(finding, true);
 	}
 
+	/** Finding count per APG; concurrent callers share one computation. */
 	public Map<String, Long> countFindingsByApg() {
-		return farmFindingRepository.countByAssignedApg()
+		return singleFlight.execute("findings.summary.apg", () -> Collections.unmodifiableMap(computeCountsByApg()));
+	}
+
+	private Map<String, Long> computeCountsByApg() {
+		FindingColumnStore store = columnStore.getIfAvailable();
+		if (store != null && store.isReady()) {
+			Map<String, Long> counts = new LinkedHashMap<>();
+			for (Map<String, Object> group : store.query(FindingColumnStore.Filter.NONE, List.of(FindingColumnStore.Dimension.APG)).groups()) {
+				if (group.get("apg") != null) counts.put((String) group.get("apg"), (Long) group.get("count"));
+			}
+			return counts;
+		}
+		return readOnlyTransaction.execute(status -> farmFindingRepository.countByAssignedApg())
 			.stream()
 			.collect(Collectors.toMap(
 				row -> (String) row[0],
 				row -> (Long) row[1]
 			));
 	}
-}
 
+	/** A finding as listed, with the same JSON fields as {@link FarmFinding}. */
+	public record FindingView(Long id, Long version, String description, String applicationSealId, String severity,
+			String criticality, LocalDate targetDate, LocalDateTime createdDate, LocalDateTime updatedDate, String assignedApg,
+			int openTicketCount, int inProgressTicketCount, int doneTicketCount, LocalDateTime lastTicketStatusChange,
+			boolean resolved, List<TicketView> resolverTickets) {
+
+		static FindingView of(FarmFinding f) {
+			return new FindingView(f.getId(), f.getVersion(), f.getDescription(), f.getApplicationSealId(), f.getSeverity(),
+				f.getCriticality(), f.getTargetDate(), f.getCreatedDate(), f.getUpdatedDate(), f.getAssignedApg(),
+				f.getOpenTicketCount(), f.getInProgressTicketCount(), f.getDoneTicketCount(), f.getLastTicketStatusChange(),
+				f.isResolved(), f.getResolverTickets().stream().map(TicketView::of).toList());
+		}
 
+		/** SLA bucket of the target date as of today. */
+		@JsonProperty("slaStatus")
+		public SlaBucket slaStatus() {
+			return SlaBucket.of(targetDate, LocalDate.now());
+		}
+	}
+
+	public record TicketView(Long id, Long version, String jiraKey, String jiraUrl, String apg, String status) {
+
+		static TicketView of(ResolverTicket t) {
+			return new TicketView(t.getId(), t.getVersion(), t.getJiraKey(), t.getJiraUrl(), t.getApg(), t.getStatus());
+		}
+	}
+}
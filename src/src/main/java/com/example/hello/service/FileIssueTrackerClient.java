@@ -0,0 +1,81 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local stand-in for an issue tracker: statuses come from a text file with one {@code KEY,Status}
+ * line per issue ({@code #} starts a comment). The file is re-read whenever its modification time
+ * changes, so editing it simulates status changes in the tracker. A missing file knows no issues.
+ */
+public class FileIssueTrackerClient implements IssueTrackerClient {
+
+	private final Path file;
+	private final int maxBatchSize;
+
+	private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+	public FileIssueTrackerClient(Path file, int maxBatchSize) {
+		this.file = file;
+		this.maxBatchSize = Math.max(maxBatchSize, 1);
+	}
+
+	@Override
+	public int maxBatchSize() {
+		return maxBatchSize;
+	}
+
+	@Override
+	public Map<String, String> fetchStatuses(Collection<String> keys) {
+		Map<String, String> statuses = load();
+		Map<String, String> result = new LinkedHashMap<>();
+		for (String key : keys) {
+			String status = statuses.get(key);
+			if (status != null) result.put(key, status);
+		}
+		return result;
+	}
+
+	private Map<String, String> load() {
+		FileTime modified;
+		try {
+			modified = Files.getLastModifiedTime(file);
+		} catch (NoSuchFileException e) {
+			return Map.of();
+		} catch (IOException e) {
+			throw new IssueTrackerException("Cannot read " + file, true, null, e);
+		}
+		Snapshot current = snapshot;
+		if (modified.equals(current.modified)) return current.statuses;
+		synchronized (this) {
+			if (modified.equals(snapshot.modified)) return snapshot.statuses;
+			List<String> lines;
+			try {
+				lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new IssueTrackerException("Cannot read " + file, true, null, e);
+			}
+			Map<String, String> statuses = new HashMap<>();
+			for (String line : lines) {
+				String trimmed = line.trim();
+				int comma = trimmed.indexOf(',');
+				if (trimmed.isEmpty() || trimmed.startsWith("#") || comma <= 0) continue;
+				statuses.put(trimmed.substring(0, comma).trim(), trimmed.substring(comma + 1).trim());
+			}
+			snapshot = new Snapshot(modified, statuses);
+			return statuses;
+		}
+	}
+
+	private record Snapshot(FileTime modified, Map<String, String> statuses) {
+	}
+}
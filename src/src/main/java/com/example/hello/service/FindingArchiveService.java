@@ -0,0 +1,244 @@
+package com.example.hello.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.ArchivedFinding;
+import com.example.hello.model.ArchivedTicket;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.JobCheckpoint;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.ArchivedFindingRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.JobCheckpointRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Moves resolved findings that have not been written for {@code app.findings.archive.retention-days}
+ * into {@code archived_farm_finding}, with their tickets into {@code archived_resolver_ticket}, so
+ * listings, GROUP BYs, exports and the in-memory rollups only deal with live findings.
+ * <p>
+ * A pass walks the candidates in id order, {@code batch-size} findings per transaction. Each batch is
+ * claimed by advancing a {@link JobCheckpoint} under its row lock, so several nodes share a pass.
+ * The findings are then locked and checked again, so one whose ticket was reopened since the
+ * candidate query stays where it is. Rows are copied, then removed from the hot tables with bulk
+ * deletes. The deletes bypass entity listeners, so the batch reports them to
+ * {@link DataVersionService}, which makes cached exports stale, and hands the archived ids to the
+ * column store and the org rollup as removals. Those are applied on commit like any other local
+ * write, so the stores drop the rows instead of reloading every finding while a pass runs.
+ * <p>
+ * Archived rows are read-only and never move back. Only the findings listing (on request) and the
+ * archive page read them; every count, rollup, query and export covers live findings, so turning
+ * the scheduled pass on lowers the numbers those report. It is off unless
+ * {@code app.findings.archive.enabled} is set.
+ */
+@Service
+public class FindingArchiveService {
+
+	static final String JOB = "finding-archive";
+
+	private static final Logger log = LoggerFactory.getLogger(FindingArchiveService.class);
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final ResolverTicketRepository resolverTicketRepository;
+	private final ArchivedFindingRepository archivedFindingRepository;
+	private final JobCheckpointRepository checkpointRepository;
+	private final DataVersionService dataVersionService;
+	private final FindingSlaAggregateService slaAggregateService;
+	private final ObjectProvider<FindingColumnStore> columnStore;
+	private final ObjectProvider<OrgRollupCache> rollupCache;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final int retentionDays;
+	private final int batchSize;
+
+	private final Counter findingsArchived;
+	private final Counter ticketsArchived;
+	private final Timer batchTimer;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public FindingArchiveService(FarmFindingRepository farmFindingRepository, ResolverTicketRepository resolverTicketRepository,
+			ArchivedFindingRepository archivedFindingRepository, JobCheckpointRepository checkpointRepository,
+			DataVersionService dataVersionService, FindingSlaAggregateService slaAggregateService,
+			ObjectProvider<FindingColumnStore> columnStore,
+			ObjectProvider<OrgRollupCache> rollupCache, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${app.findings.archive.enabled:false}") boolean enabled,
+			@Value("${app.findings.archive.retention-days:365}") int retentionDays,
+			@Value("${app.findings.archive.batch-size:200}") int batchSize) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.resolverTicketRepository = resolverTicketRepository;
+		this.archivedFindingRepository = archivedFindingRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.dataVersionService = dataVersionService;
+		this.slaAggregateService = slaAggregateService;
+		this.columnStore = columnStore;
+		this.rollupCache = rollupCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.retentionDays = Math.max(retentionDays, 0);
+		this.batchSize = Math.max(batchSize, 1);
+
+		if (enabled) {
+			log.warn("Finding archive is enabled: findings archived after {} days no longer count in summaries, analytics,"
+				+ " queries, exports or the org rollup", this.retentionDays);
+		}
+
+		this.findingsArchived = meterRegistry.counter("app.findings.archive.findings");
+		this.ticketsArchived = meterRegistry.counter("app.findings.archive.tickets");
+		this.batchTimer = meterRegistry.timer("app.findings.archive.batch");
+	}
+
+	@Scheduled(initialDelayString = "${app.findings.archive.initial-delay-ms:60000}",
+			fixedDelayString = "${app.findings.archive.interval-ms:3600000}")
+	public void scheduledPass() {
+		if (!enabled) return;
+		ArchiveResult result = archive();
+		if (result.findings() > 0) {
+			log.info("Archived {} findings with {} tickets", result.findings(), result.tickets());
+		}
+	}
+
+	/** Runs one pass from the stored checkpoint to the end. Calls on one node run one at a time. */
+	public synchronized ArchiveResult archive() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+		ensureCheckpoint();
+		PassMarker marker = transactionTemplate.execute(status -> PassMarker.of(checkpointRepository.findById(JOB).orElseThrow()));
+		int findings = 0;
+		int tickets = 0;
+		while (true) {
+			long batchStart = System.nanoTime();
+			PassMarker seen = marker;
+			Batch batch = transactionTemplate.execute(status -> archiveBatch(seen, cutoff));
+			if (batch.findings() > 0) {
+				batchTimer.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+				findingsArchived.increment(batch.findings());
+				ticketsArchived.increment(batch.tickets());
+				findings += batch.findings();
+				tickets += batch.tickets();
+			}
+			if (batch.passComplete()) return new ArchiveResult(findings, tickets);
+			marker = new PassMarker(batch.position(), marker.completedAt());
+		}
+	}
+
+	private Batch archiveBatch(PassMarker seen, LocalDateTime cutoff) {
+		JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB).orElseThrow();
+		if (seen.finishedSince(checkpoint)) {
+			// another node claimed the last batch of this pass while we waited for the lock
+			return new Batch(0, 0, 0L, true);
+		}
+		long after = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+		List<Long> candidates = farmFindingRepository.findArchivableIdsAfter(after, cutoff, Limit.of(batchSize));
+		boolean passComplete = candidates.size() < batchSize;
+		long next = passComplete ? 0L : candidates.get(candidates.size() - 1);
+		checkpoint.setLastPosition(next);
+		if (passComplete) checkpoint.setLastRunAt(LocalDateTime.now());
+		if (candidates.isEmpty()) return new Batch(0, 0, next, passComplete);
+
+		// a ticket added or reopened after the candidate query has changed the rollup on the locked row
+		List<Long> ids = new ArrayList<>();
+		List<FarmFinding> archived = new ArrayList<>();
+		LocalDateTime archivedAt = LocalDateTime.now();
+		for (FarmFinding finding : farmFindingRepository.findAllForUpdate(candidates)) {
+			if (!finding.isResolved() || !finding.getUpdatedDate().isBefore(cutoff)) continue;
+			entityManager.persist(new ArchivedFinding(finding, archivedAt));
+			ids.add(finding.getId());
+			archived.add(finding);
+		}
+		if (ids.isEmpty()) return new Batch(0, 0, next, passComplete);
+
+		List<ResolverTicket> tickets = resolverTicketRepository.findByFindingIdIn(ids);
+		for (ResolverTicket ticket : tickets) {
+			entityManager.persist(new ArchivedTicket(ticket, ticket.getFinding().getId(), archivedAt));
+		}
+		entityManager.flush();
+		resolverTicketRepository.deleteByFindingIds(ids);
+		farmFindingRepository.deleteAllByIdInBatch(ids);
+		dataVersionService.changed(ResolverTicket.class);
+		dataVersionService.changed(FarmFinding.class);
+		slaAggregateService.removed(archived);
+		columnStore.ifAvailable(store -> store.removed(ids));
+		rollupCache.ifAvailable(cache -> cache.removed(ids));
+		return new Batch(ids.size(), tickets.size(), next, passComplete);
+	}
+
+	/** Every archived finding; with tickets unless {@code withTickets} is false. */
+	@Transactional(readOnly = true)
+	public List<ArchivedFinding> getArchivedFindings(boolean withTickets) {
+		return withTickets ? archivedFindingRepository.findAll() : archivedFindingRepository.findAllWithoutTickets();
+	}
+
+	/**
+	 * One page of archived findings with their tickets, in id order after {@code after}, plus
+	 * {@code nextAfter} for the next page (null on the last page).
+	 */
+	@Transactional(readOnly = true)
+	public Map<String, Object> page(Long after, int size) {
+		if (size < 1 || size > 500) throw new IllegalArgumentException("size must be between 1 and 500");
+		List<Long> ids = archivedFindingRepository.findIdsAfter(after != null ? after : 0L, Limit.of(size + 1));
+		boolean more = ids.size() > size;
+		if (more) ids = ids.subList(0, size);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("items", ids.isEmpty() ? List.of() : archivedFindingRepository.findByIdInOrderByIdAsc(ids));
+		result.put("nextAfter", more ? ids.get(ids.size() - 1) : null);
+		return result;
+	}
+
+	private void ensureCheckpoint() {
+		if (checkpointRepository.existsById(JOB)) return;
+		try {
+			transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAndFlush(new JobCheckpoint(JOB)));
+		} catch (DataIntegrityViolationException e) {
+			// another node created it first
+		}
+	}
+
+	/** Outcome of one {@link #archive()} call. */
+	public record ArchiveResult(int findings, int tickets) {
+	}
+
+	private record Batch(int findings, int tickets, long position, boolean passComplete) {
+	}
+
+	/**
+	 * The checkpoint position this call continues from and the stamp of the last completed pass. A
+	 * position that went back or a changed stamp means another node finished the pass; the stamp is
+	 * only compared for equality, never against this node's clock.
+	 */
+	private record PassMarker(long position, LocalDateTime completedAt) {
+
+		static PassMarker of(JobCheckpoint checkpoint) {
+			return new PassMarker(checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L, checkpoint.getLastRunAt());
+		}
+
+		boolean finishedSince(JobCheckpoint checkpoint) {
+			long current = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+			return current < position || !Objects.equals(checkpoint.getLastRunAt(), completedAt);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.hello.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.model.FarmFinding;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/** Entity listener that feeds {@link FarmFinding} writes to the {@link FindingColumnStore}, when it is enabled. */
+@Component
+public class FindingColumnListener {
+
+	private final ObjectProvider<FindingColumnStore> columnStore;
+
+	public FindingColumnListener(ObjectProvider<FindingColumnStore> columnStore) {
+		this.columnStore = columnStore;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void saved(FarmFinding finding) {
+		columnStore.ifAvailable(store -> store.changed(finding, false));
+	}
+
+	@PostRemove
+	void removed(FarmFinding finding) {
+		columnStore.ifAvailable(store -> store.changed(finding, true));
+	}
+}
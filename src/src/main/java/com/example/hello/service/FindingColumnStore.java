@@ -0,0 +1,481 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.SlaBucket;
+import com.example.hello.repository.FarmFindingRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory columnar replica of the {@link FarmFinding} fields dashboards filter and group by.
+ * Every finding occupies a slot. APG, severity, criticality and seal id are dictionary-encoded into
+ * {@code int} columns with a {@link BitSet} of slots per distinct value, and the target date is kept
+ * as an {@code int} epoch day. A query ANDs the bitmaps of its filters and counts the matching slots
+ * per group, without touching the database.
+ * <p>
+ * The replica is loaded at startup with a projection query and kept current by
+ * {@link FindingColumnListener}; writes are applied once their transaction commits. Writes it cannot
+ * see (another node, bulk JPQL) still move the {@code FarmFinding} counter in {@link DataVersionService},
+ * and a periodic check rebuilds the replica when that counter reached a version this node's own bumps
+ * did not produce.
+ * <p>
+ * Until the first load succeeds, {@link #query} throws {@link NotReadyException} and in-process
+ * callers should check {@link #isReady()} and fall back to the database. A failed load is logged and
+ * counted in {@code app.findings.column-store.load.failures}, and retried on the next refresh.
+ */
+@Service
+@ConditionalOnProperty(name = "app.findings.column-store.enabled", havingValue = "true", matchIfMissing = true)
+public class FindingColumnStore {
+
+	/** What a query can filter on and group by. SLA and target month are derived from the target date. */
+	public enum Dimension {
+		APG("apg"), SEVERITY("severity"), CRITICALITY("criticality"), SEAL_ID("sealId"), SLA("sla"), TARGET_MONTH("targetMonth");
+
+		private final String key;
+
+		Dimension(String key) {
+			this.key = key;
+		}
+
+		public String key() {
+			return key;
+		}
+
+		boolean encoded() {
+			return ordinal() < ENCODED;
+		}
+
+		public static Dimension forKey(String key) {
+			for (Dimension dimension : values()) {
+				if (dimension.key.equalsIgnoreCase(key.trim())) return dimension;
+			}
+			throw new IllegalArgumentException("Unknown dimension: " + key);
+		}
+	}
+
+	/**
+	 * Filter values per dictionary-encoded dimension (any of the values matches), SLA buckets, and an
+	 * inclusive target date range; empty or null parts do not filter.
+	 */
+	public record Filter(Map<Dimension, Set<String>> values, Set<SlaBucket> sla, LocalDate targetFrom, LocalDate targetTo) {
+
+		public static final Filter NONE = new Filter(Map.of(), Set.of(), null, null);
+	}
+
+	/** Findings matching the filter in total and per group, largest group first. */
+	public record Result(long total, List<Map<String, Object>> groups) {
+	}
+
+	/** Group-by keys are packed into one {@code long}, 21 bits per dimension. */
+	public static final int MAX_GROUP_BY = 3;
+
+	private static final int ENCODED = 4;
+	private static final int KEY_BITS = 21;
+	private static final int NO_DATE = Integer.MIN_VALUE;
+	private static final int PAGE_SIZE = 5000;
+	private static final SlaBucket[] BUCKETS = SlaBucket.values();
+
+	private static final Logger log = LoggerFactory.getLogger(FindingColumnStore.class);
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final DataVersionService dataVersionService;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Counter loadFailures;
+	private Columns columns = new Columns();
+	/** Commits applied while a rebuild is loading; replayed onto the new columns before they are swapped in. */
+	private List<Change> replay;
+	private volatile long syncedVersion;
+	private volatile boolean ready;
+
+	public FindingColumnStore(FarmFindingRepository farmFindingRepository, DataVersionService dataVersionService,
+			MeterRegistry meterRegistry) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.dataVersionService = dataVersionService;
+		this.loadFailures = meterRegistry.counter("app.findings.column-store.load.failures");
+		Gauge.builder("app.findings.column-store.ready", this, store -> store.ready ? 1 : 0)
+			.description("1 once the column store has loaded every finding")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			// startup goes on; queries fall back or answer 503 until a refresh loads the store
+		}
+	}
+
+	@Scheduled(initialDelayString = "${app.findings.column-store.refresh-ms:30000}",
+			fixedDelayString = "${app.findings.column-store.refresh-ms:30000}")
+	public synchronized void refresh() {
+		if (!ready) {
+			rebuild();
+			return;
+		}
+		long version = dataVersionService.current(List.of(FarmFinding.class))[0];
+		if (version == syncedVersion) return;
+		if (version < syncedVersion || !dataVersionService.producedLocally(FarmFinding.class, syncedVersion, version)) {
+			log.info("FarmFinding changed outside this node (version {} -> {}); rebuilding column store", syncedVersion, version);
+			rebuild();
+		} else {
+			syncedVersion = version;
+		}
+	}
+
+	/** Whether the first load has completed; until then {@link #query} throws {@link NotReadyException}. */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Reloads every finding from the database and swaps the result in; queries keep running meanwhile.
+	 * A failed load keeps the previous columns, is counted, and is rethrown.
+	 */
+	public synchronized void rebuild() {
+		long started = System.nanoTime();
+		lock.writeLock().lock();
+		try {
+			replay = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		Columns fresh = new Columns();
+		boolean loaded = false;
+		long version;
+		try {
+			version = dataVersionService.current(List.of(FarmFinding.class))[0];
+			long after = 0L;
+			while (true) {
+				List<Object[]> page = farmFindingRepository.findDimensionsAfter(after, Limit.of(PAGE_SIZE));
+				for (Object[] row : page) {
+					fresh.upsert(new Change((Long) row[0], false, (String) row[1], (String) row[2], (String) row[3],
+						(String) row[4], (LocalDate) row[5]));
+				}
+				if (page.size() < PAGE_SIZE) break;
+				after = (Long) page.get(page.size() - 1)[0];
+			}
+			loaded = true;
+		} catch (RuntimeException e) {
+			loadFailures.increment();
+			log.warn("Could not load the column store; {}", ready ? "keeping the previous columns" : "it stays unavailable", e);
+			throw e;
+		} finally {
+			lock.writeLock().lock();
+			try {
+				// on failure the old columns stay in place; they received every commit in the meantime
+				if (loaded) {
+					for (Change change : replay) fresh.apply(change);
+					columns = fresh;
+				}
+				replay = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		syncedVersion = version;
+		ready = true;
+		log.info("Column store holds {} findings, built in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+	}
+
+	/**
+	 * Records a write to a finding. Inside a transaction the latest state per finding is applied after
+	 * commit; without one it is applied at once.
+	 */
+	void changed(FarmFinding finding, boolean removed) {
+		if (finding.getId() == null) return;
+		record(List.of(new Change(finding.getId(), removed, finding.getAssignedApg(), finding.getSeverity(),
+			finding.getCriticality(), finding.getApplicationSealId(), finding.getTargetDate())));
+	}
+
+	/** Records findings deleted by bulk JPQL, which entity listeners do not see, in the same way. */
+	void removed(Collection<Long> ids) {
+		List<Change> changes = new ArrayList<>(ids.size());
+		for (Long id : ids) changes.add(new Change(id, true, null, null, null, null, null));
+		record(changes);
+	}
+
+	private void record(List<Change> changes) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(changes);
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Map<Long, Change> pending = (Map<Long, Change>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Map<Long, Change> batch = new LinkedHashMap<>();
+			TransactionSynchronizationManager.bindResource(this, batch);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(batch.values());
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(FindingColumnStore.this);
+				}
+			});
+			pending = batch;
+		}
+		for (Change change : changes) {
+			pending.remove(change.id);
+			pending.put(change.id, change);
+		}
+	}
+
+	private void apply(Collection<Change> changes) {
+		lock.writeLock().lock();
+		try {
+			for (Change change : changes) columns.apply(change);
+			if (replay != null) replay.addAll(changes);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Number of findings currently held. */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return columns.live.cardinality();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Counts findings matching {@code filter}, grouped by up to {@link #MAX_GROUP_BY} dimensions. Group
+	 * rows carry the dimension keys (null for findings without a value) and a {@code count}.
+	 */
+	public Result query(Filter filter, List<Dimension> groupBy) {
+		if (groupBy.size() > MAX_GROUP_BY) {
+			throw new IllegalArgumentException("At most " + MAX_GROUP_BY + " group-by dimensions, got " + groupBy.size());
+		}
+		if (!ready) throw new NotReadyException();
+		int today = (int) LocalDate.now().toEpochDay();
+		lock.readLock().lock();
+		try {
+			Columns c = columns;
+			BitSet match = c.select(filter, today);
+			if (groupBy.isEmpty()) return new Result(match.cardinality(), List.of());
+
+			LongIntMap groupIndex = new LongIntMap(64);
+			long[] groupKeys = new long[64];
+			long[] counts = new long[64];
+			int groups = 0;
+			long total = 0;
+			for (int slot = match.nextSetBit(0); slot >= 0; slot = match.nextSetBit(slot + 1)) {
+				long key = 0;
+				for (Dimension dimension : groupBy) key = (key << KEY_BITS) | c.component(dimension, slot, today);
+				int group = groupIndex.get(key + 1);
+				if (group < 0) {
+					group = groups++;
+					if (group == counts.length) {
+						counts = Arrays.copyOf(counts, group * 2);
+						groupKeys = Arrays.copyOf(groupKeys, group * 2);
+					}
+					groupKeys[group] = key;
+					groupIndex.put(key + 1, group);
+				}
+				counts[group]++;
+				total++;
+			}
+
+			List<Map<String, Object>> rows = new ArrayList<>(groups);
+			for (int g = 0; g < groups; g++) {
+				Map<String, Object> row = new LinkedHashMap<>();
+				for (int d = 0; d < groupBy.size(); d++) {
+					int shift = (groupBy.size() - 1 - d) * KEY_BITS;
+					int component = (int) ((groupKeys[g] >>> shift) & ((1L << KEY_BITS) - 1));
+					row.put(groupBy.get(d).key, c.label(groupBy.get(d), component));
+				}
+				row.put("count", counts[g]);
+				rows.add(row);
+			}
+			rows.sort((a, b) -> Long.compare((Long) b.get("count"), (Long) a.get("count")));
+			return new Result(total, rows);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** The store has not finished its first load; the caller should retry shortly or use the database. */
+	public static class NotReadyException extends RuntimeException {
+
+		public NotReadyException() {
+			super("The finding column store is still loading");
+		}
+	}
+
+	private record Change(long id, boolean removed, String apg, String severity, String criticality, String sealId,
+			LocalDate targetDate) {
+
+		String value(int dimension) {
+			return switch (dimension) {
+				case 0 -> apg;
+				case 1 -> severity;
+				case 2 -> criticality;
+				default -> sealId;
+			};
+		}
+	}
+
+	/** Distinct values of one column; code 0 stands for null. Each code has a bitmap of the slots holding it. */
+	private static final class Dictionary {
+
+		final Map<String, Integer> codes = new HashMap<>();
+		final List<String> values = new ArrayList<>(List.of(""));
+		final List<BitSet> slots = new ArrayList<>(List.of(new BitSet()));
+
+		int encode(String value) {
+			if (value == null) return 0;
+			Integer code = codes.get(value);
+			if (code != null) return code;
+			if (values.size() >= 1 << KEY_BITS) throw new IllegalStateException("Too many distinct values");
+			code = values.size();
+			codes.put(value, code);
+			values.add(value);
+			slots.add(new BitSet());
+			return code;
+		}
+
+		/** Slots holding any of the values; values never seen match nothing. */
+		BitSet anyOf(Set<String> wanted) {
+			BitSet union = new BitSet();
+			for (String value : wanted) {
+				Integer code = codes.get(value);
+				if (code != null) union.or(slots.get(code));
+			}
+			return union;
+		}
+	}
+
+	private static final class Columns {
+
+		final LongIntMap slotById = new LongIntMap(1024);
+		final Dictionary[] dictionaries = { new Dictionary(), new Dictionary(), new Dictionary(), new Dictionary() };
+		final BitSet live = new BitSet();
+		int[][] codes = new int[ENCODED][1024];
+		int[] targetDays = new int[1024];
+		int[] freeSlots = new int[16];
+		int freeCount;
+		int highWater;
+
+		void apply(Change change) {
+			if (change.removed) remove(change.id);
+			else upsert(change);
+		}
+
+		void upsert(Change change) {
+			int slot = slotById.get(change.id);
+			if (slot < 0) {
+				slot = freeCount > 0 ? freeSlots[--freeCount] : highWater++;
+				ensureCapacity(slot + 1);
+				slotById.put(change.id, slot);
+				live.set(slot);
+			} else {
+				clearBitmaps(slot);
+			}
+			for (int d = 0; d < ENCODED; d++) {
+				int code = dictionaries[d].encode(change.value(d));
+				codes[d][slot] = code;
+				dictionaries[d].slots.get(code).set(slot);
+			}
+			targetDays[slot] = change.targetDate != null ? (int) change.targetDate.toEpochDay() : NO_DATE;
+		}
+
+		void remove(long id) {
+			int slot = slotById.get(id);
+			if (slot < 0) return;
+			slotById.remove(id);
+			clearBitmaps(slot);
+			live.clear(slot);
+			if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+			freeSlots[freeCount++] = slot;
+		}
+
+		private void clearBitmaps(int slot) {
+			for (int d = 0; d < ENCODED; d++) dictionaries[d].slots.get(codes[d][slot]).clear(slot);
+		}
+
+		private void ensureCapacity(int size) {
+			if (size <= targetDays.length) return;
+			int capacity = Math.max(size, targetDays.length * 2);
+			for (int d = 0; d < ENCODED; d++) codes[d] = Arrays.copyOf(codes[d], capacity);
+			targetDays = Arrays.copyOf(targetDays, capacity);
+		}
+
+		BitSet select(Filter filter, int today) {
+			BitSet match = (BitSet) live.clone();
+			if (filter.values() != null) {
+				for (Map.Entry<Dimension, Set<String>> entry : filter.values().entrySet()) {
+					if (!entry.getKey().encoded() || entry.getValue() == null || entry.getValue().isEmpty()) continue;
+					match.and(dictionaries[entry.getKey().ordinal()].anyOf(entry.getValue()));
+				}
+			}
+			boolean bySla = filter.sla() != null && !filter.sla().isEmpty();
+			int from = filter.targetFrom() != null ? (int) filter.targetFrom().toEpochDay() : NO_DATE;
+			int to = filter.targetTo() != null ? (int) filter.targetTo().toEpochDay() : Integer.MAX_VALUE;
+			if (!bySla && filter.targetFrom() == null && filter.targetTo() == null) return match;
+			for (int slot = match.nextSetBit(0); slot >= 0; slot = match.nextSetBit(slot + 1)) {
+				int day = targetDays[slot];
+				boolean keep = (filter.targetFrom() == null && filter.targetTo() == null) || (day != NO_DATE && day >= from && day <= to);
+				if (keep && bySla) keep = filter.sla().contains(bucket(day, today));
+				if (!keep) match.clear(slot);
+			}
+			return match;
+		}
+
+		int component(Dimension dimension, int slot, int today) {
+			return switch (dimension) {
+				case SLA -> bucket(targetDays[slot], today).ordinal();
+				case TARGET_MONTH -> {
+					int day = targetDays[slot];
+					if (day == NO_DATE) yield 0;
+					LocalDate date = LocalDate.ofEpochDay(day);
+					yield date.getYear() * 12 + date.getMonthValue();
+				}
+				default -> codes[dimension.ordinal()][slot];
+			};
+		}
+
+		Object label(Dimension dimension, int component) {
+			return switch (dimension) {
+				case SLA -> BUCKETS[component];
+				case TARGET_MONTH -> component == 0 ? null : YearMonth.of((component - 1) / 12, (component - 1) % 12 + 1).toString();
+				default -> component == 0 ? null : dictionaries[dimension.ordinal()].values.get(component);
+			};
+		}
+
+		private static SlaBucket bucket(int day, int today) {
+			return day == NO_DATE ? SlaBucket.NO_TARGET : SlaBucket.ofDaysLeft((long) day - today);
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.repository.FarmFindingRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Filtered, keyset-paged finding rows plus facet counts. All facets and the total come from one
+ * native statement (a {@code UNION ALL} of grouped selects over the same predicate) and the page
+ * from a second, so a request costs two statements however many facets it asks for.
+ * <p>
+ * Every query passes a cost check first: the number of findings the predicate can touch, taken from
+ * the {@link FindingColumnStore} when it is enabled, times the number of passes the statements make
+ * over them. Queries over budget are rejected, at most {@code max-concurrent} run at once, and each
+ * statement carries a timeout.
+ */
+@Service
+public class FindingQueryService {
+
+	public enum Facet {
+		APG("apg"), SEVERITY("severity"), CRITICALITY("criticality"), TICKET_STATUS("ticketStatus"), TARGET_MONTH("targetMonth");
+
+		private final String key;
+
+		Facet(String key) {
+			this.key = key;
+		}
+
+		public String key() {
+			return key;
+		}
+
+		public static Facet forKey(String key) {
+			for (Facet facet : values()) {
+				if (facet.key.equalsIgnoreCase(key.trim())) return facet;
+			}
+			throw new IllegalArgumentException("Unknown facet: " + key);
+		}
+	}
+
+	/** Predicate values per facet (any value matches, all facets must match) and an optional seal id list. */
+	public record Criteria(Map<Facet, Set<String>> values, Set<String> sealIds) {
+	}
+
+	/** The estimated cost was over {@code app.findings.query.max-cost}. */
+	public static class QueryTooExpensiveException extends RuntimeException {
+
+		private final long cost;
+		private final long limit;
+
+		public QueryTooExpensiveException(long cost, long limit) {
+			super("Query would visit about " + cost + " rows, the limit is " + limit + "; narrow the filters or request fewer facets");
+			this.cost = cost;
+			this.limit = limit;
+		}
+
+		public long getCost() {
+			return cost;
+		}
+
+		public long getLimit() {
+			return limit;
+		}
+	}
+
+	/** All {@code app.findings.query.max-concurrent} query slots are taken. */
+	public static class QueryBusyException extends RuntimeException {
+		public QueryBusyException() {
+			super("Too many finding queries running; retry shortly");
+		}
+	}
+
+	public static final int MAX_PAGE_SIZE = 200;
+	private static final int MAX_MONTHS = 36;
+	private static final int MAX_VALUES = 500;
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final ObjectProvider<FindingColumnStore> columnStore;
+	private final long maxCost;
+	private final int timeoutMillis;
+	private final Semaphore slots;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public FindingQueryService(FarmFindingRepository farmFindingRepository, ObjectProvider<FindingColumnStore> columnStore,
+			@Value("${app.findings.query.max-cost:5000000}") long maxCost,
+			@Value("${app.findings.query.timeout-ms:3000}") int timeoutMillis,
+			@Value("${app.findings.query.max-concurrent:4}") int maxConcurrent) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.columnStore = columnStore;
+		this.maxCost = maxCost;
+		this.timeoutMillis = timeoutMillis;
+		this.slots = new Semaphore(Math.max(maxConcurrent, 1));
+	}
+
+	/**
+	 * Returns {@code total}, {@code facets} (value -> count, largest first), {@code items} and
+	 * {@code nextAfter}, the id to pass as {@code after} for the next page (null on the last page).
+	 */
+	@Transactional(readOnly = true)
+	public Map<String, Object> query(Criteria criteria, List<Facet> facets, Long after, int size) {
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		for (Set<String> values : criteria.values().values()) {
+			if (values.size() > MAX_VALUES) throw new IllegalArgumentException("At most " + MAX_VALUES + " values per filter");
+		}
+		if (criteria.sealIds().size() > MAX_VALUES) throw new IllegalArgumentException("At most " + MAX_VALUES + " seal ids");
+		Predicate predicate = new Predicate(criteria);
+
+		long cost = estimateCost(criteria, facets);
+		if (cost > maxCost) throw new QueryTooExpensiveException(cost, maxCost);
+		if (!slots.tryAcquire()) throw new QueryBusyException();
+		try {
+			Map<String, Object> result = new LinkedHashMap<>();
+			Map<Facet, Map<String, Long>> counts = new EnumMap<>(Facet.class);
+			for (Facet facet : facets) counts.put(facet, new LinkedHashMap<>());
+			long total = 0;
+			for (Object row : facetQuery(predicate, facets).getResultList()) {
+				Object[] columns = (Object[]) row;
+				long count = ((Number) columns[2]).longValue();
+				if ("total".equals(columns[0])) {
+					total = count;
+				} else {
+					Facet facet = Facet.forKey((String) columns[0]);
+					counts.get(facet).put(label(facet, (String) columns[1]), count);
+				}
+			}
+			Map<String, Object> facetResult = new LinkedHashMap<>();
+			counts.forEach((facet, values) -> {
+				List<Map.Entry<String, Long>> sorted = new ArrayList<>(values.entrySet());
+				sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+				Map<String, Long> ordered = new LinkedHashMap<>();
+				for (Map.Entry<String, Long> entry : sorted) ordered.put(entry.getKey(), entry.getValue());
+				facetResult.put(facet.key, ordered);
+			});
+
+			@SuppressWarnings("unchecked")
+			List<FarmFinding> page = rowQuery(predicate, after, size + 1).getResultList();
+			boolean more = page.size() > size;
+			if (more) page = page.subList(0, size);
+			List<Map<String, Object>> items = new ArrayList<>(page.size());
+			for (FarmFinding finding : page) items.add(row(finding));
+
+			result.put("total", total);
+			result.put("facets", facetResult);
+			result.put("items", items);
+			result.put("nextAfter", more ? page.get(page.size() - 1).getId() : null);
+			return result;
+		} finally {
+			slots.release();
+		}
+	}
+
+	/**
+	 * Findings the predicate can reach times the passes over them: one for the total, one per facet,
+	 * one for the page, and one more per pass when ticket statuses are involved, for the ticket join.
+	 */
+	private long estimateCost(Criteria criteria, List<Facet> facets) {
+		long reachable;
+		FindingColumnStore store = columnStore.getIfAvailable();
+		if (store != null && store.isReady()) {
+			Map<FindingColumnStore.Dimension, Set<String>> values = new EnumMap<>(FindingColumnStore.Dimension.class);
+			copy(criteria, Facet.APG, values, FindingColumnStore.Dimension.APG);
+			copy(criteria, Facet.SEVERITY, values, FindingColumnStore.Dimension.SEVERITY);
+			copy(criteria, Facet.CRITICALITY, values, FindingColumnStore.Dimension.CRITICALITY);
+			if (!criteria.sealIds().isEmpty()) values.put(FindingColumnStore.Dimension.SEAL_ID, criteria.sealIds());
+			LocalDate[] range = monthRange(criteria.values().get(Facet.TARGET_MONTH));
+			reachable = store.query(new FindingColumnStore.Filter(values, Set.of(), range[0], range[1]), List.of()).total();
+		} else {
+			reachable = farmFindingRepository.count();
+		}
+		boolean tickets = facets.contains(Facet.TICKET_STATUS) || criteria.values().containsKey(Facet.TICKET_STATUS);
+		long passes = (2L + facets.size()) * (tickets ? 2 : 1);
+		return reachable * passes;
+	}
+
+	private static void copy(Criteria criteria, Facet facet, Map<FindingColumnStore.Dimension, Set<String>> values,
+			FindingColumnStore.Dimension dimension) {
+		Set<String> wanted = criteria.values().get(facet);
+		if (wanted != null && !wanted.isEmpty()) values.put(dimension, wanted);
+	}
+
+	private Query facetQuery(Predicate predicate, List<Facet> facets) {
+		StringBuilder sql = new StringBuilder("select 'total' as facet, cast(null as varchar(255)) as val, count(*) as n from farm_finding f")
+			.append(predicate.where);
+		for (Facet facet : facets) {
+			sql.append(" union all select '").append(facet.key).append("', ");
+			switch (facet) {
+				case APG -> sql.append("f.assigned_apg, count(*) from farm_finding f").append(predicate.where).append(" group by f.assigned_apg");
+				case SEVERITY -> sql.append("f.severity, count(*) from farm_finding f").append(predicate.where).append(" group by f.severity");
+				case CRITICALITY -> sql.append("f.criticality, count(*) from farm_finding f").append(predicate.where).append(" group by f.criticality");
+				case TICKET_STATUS -> sql.append("t.status, count(distinct f.id) from farm_finding f join resolver_ticket t on t.finding_id = f.id")
+					.append(predicate.where).append(" group by t.status");
+				case TARGET_MONTH -> {
+					String month = "cast(cast(extract(year from f.target_date) as integer) * 100"
+						+ " + cast(extract(month from f.target_date) as integer) as varchar(8))";
+					sql.append(month).append(", count(*) from farm_finding f").append(predicate.where).append(" group by ").append(month);
+				}
+			}
+		}
+		return bind(entityManager.createNativeQuery(sql.toString()), predicate);
+	}
+
+	private Query rowQuery(Predicate predicate, Long after, int limit) {
+		String where = predicate.where.isEmpty() ? " where f.id > :after" : predicate.where + " and f.id > :after";
+		Query query = entityManager.createNativeQuery("select f.* from farm_finding f" + where + " order by f.id", FarmFinding.class);
+		query.setParameter("after", after != null ? after : 0L);
+		query.setMaxResults(limit);
+		return bind(query, predicate);
+	}
+
+	private Query bind(Query query, Predicate predicate) {
+		predicate.parameters.forEach(query::setParameter);
+		query.setHint("jakarta.persistence.query.timeout", timeoutMillis);
+		return query;
+	}
+
+	private static String label(Facet facet, String value) {
+		if (value == null) return "(none)";
+		if (facet != Facet.TARGET_MONTH) return value;
+		int yyyymm = Integer.parseInt(value.trim());
+		return YearMonth.of(yyyymm / 100, yyyymm % 100).toString();
+	}
+
+	private static Map<String, Object> row(FarmFinding finding) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", finding.getId());
+		row.put("version", finding.getVersion());
+		row.put("description", finding.getDescription());
+		row.put("applicationSealId", finding.getApplicationSealId());
+		row.put("severity", finding.getSeverity());
+		row.put("criticality", finding.getCriticality());
+		row.put("targetDate", finding.getTargetDate());
+		row.put("assignedApg", finding.getAssignedApg());
+		row.put("slaStatus", finding.getSlaStatus());
+		row.put("createdDate", finding.getCreatedDate());
+		row.put("updatedDate", finding.getUpdatedDate());
+		return row;
+	}
+
+	/** First day of the earliest month and last day of the latest one, or nulls when no months are given. */
+	private static LocalDate[] monthRange(Set<String> months) {
+		if (months == null || months.isEmpty()) return new LocalDate[2];
+		YearMonth first = null;
+		YearMonth last = null;
+		for (String value : months) {
+			YearMonth month = parseMonth(value);
+			if (first == null || month.isBefore(first)) first = month;
+			if (last == null || month.isAfter(last)) last = month;
+		}
+		return new LocalDate[] { first.atDay(1), last.atEndOfMonth() };
+	}
+
+	private static YearMonth parseMonth(String value) {
+		try {
+			return YearMonth.parse(value.trim());
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("targetMonth must look like 2024-06, got " + value);
+		}
+	}
+
+	/** The shared WHERE clause and its parameters. Values are always bound, never inlined. */
+	private static final class Predicate {
+
+		final String where;
+		final Map<String, Object> parameters = new LinkedHashMap<>();
+
+		Predicate(Criteria criteria) {
+			List<String> clauses = new ArrayList<>();
+			in(clauses, "f.assigned_apg", "apg", criteria.values().get(Facet.APG));
+			in(clauses, "f.severity", "severity", criteria.values().get(Facet.SEVERITY));
+			in(clauses, "f.criticality", "criticality", criteria.values().get(Facet.CRITICALITY));
+			in(clauses, "f.application_seal_id", "sealId", criteria.sealIds());
+			Set<String> statuses = criteria.values().get(Facet.TICKET_STATUS);
+			if (statuses != null && !statuses.isEmpty()) {
+				clauses.add("exists (select 1 from resolver_ticket ts where ts.finding_id = f.id and ts.status in (:ticketStatus))");
+				parameters.put("ticketStatus", statuses);
+			}
+			Set<String> months = criteria.values().get(Facet.TARGET_MONTH);
+			if (months != null && !months.isEmpty()) {
+				if (months.size() > MAX_MONTHS) throw new IllegalArgumentException("At most " + MAX_MONTHS + " target months");
+				List<String> ranges = new ArrayList<>();
+				int i = 0;
+				for (String value : new LinkedHashSet<>(months)) {
+					YearMonth month = parseMonth(value);
+					ranges.add("(f.target_date >= :monthFrom" + i + " and f.target_date <= :monthTo" + i + ")");
+					parameters.put("monthFrom" + i, month.atDay(1));
+					parameters.put("monthTo" + i, month.atEndOfMonth());
+					i++;
+				}
+				clauses.add("(" + String.join(" or ", ranges) + ")");
+			}
+			where = clauses.isEmpty() ? "" : " where " + String.join(" and ", clauses);
+		}
+
+		private void in(List<String> clauses, String column, String name, Collection<String> values) {
+			if (values == null || values.isEmpty()) return;
+			clauses.add(column + " in (:" + name + ")");
+			parameters.put(name, values);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.FindingSlaAggregate;
+import com.example.hello.model.FindingSlaAggregate.Key;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.FindingSlaAggregateRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps {@code finding_sla_aggregate} current from finding writes. The +1/-1 moves of a transaction
+ * are summed per key and applied once it commits, as {@link DataVersionService} does with its
+ * counters, so a rolled-back write never counts. Bulk JPQL deletes bypass entity listeners and must
+ * call {@link #removed} themselves.
+ * <p>
+ * A move that could not be applied after commit is logged and counted in
+ * {@code app.sla.aggregate.failures}; the daily snapshot rebuilds the table when its total no
+ * longer matches the number of findings.
+ */
+@Service
+public class FindingSlaAggregateService {
+
+	private static final Logger log = LoggerFactory.getLogger(FindingSlaAggregateService.class);
+
+	private final FindingSlaAggregateRepository aggregateRepository;
+	private final FarmFindingRepository farmFindingRepository;
+	private final TransactionTemplate newTransaction;
+	private final Counter failures;
+
+	public FindingSlaAggregateService(FindingSlaAggregateRepository aggregateRepository, FarmFindingRepository farmFindingRepository,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.aggregateRepository = aggregateRepository;
+		this.farmFindingRepository = farmFindingRepository;
+		// runs from afterCommit, where the finished transaction's resources are still bound
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.failures = meterRegistry.counter("app.sla.aggregate.failures");
+	}
+
+	/** Records a finding moving from one key to another; either may be null for an insert or a delete. */
+	void moved(Key from, Key to) {
+		if (from != null && from.equals(to)) return;
+		Map<Key, Long> deltas = pending();
+		if (from != null) deltas.merge(from, -1L, Long::sum);
+		if (to != null) deltas.merge(to, 1L, Long::sum);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) apply(deltas);
+	}
+
+	/** Records findings deleted by bulk JPQL, which entity listeners do not see. */
+	void removed(List<FarmFinding> findings) {
+		for (FarmFinding finding : findings) {
+			moved(finding.getStoredSlaKey() != null ? finding.getStoredSlaKey() : Key.of(finding), null);
+		}
+	}
+
+	/** Whether the stored counts add up to the number of findings. */
+	public boolean consistent() {
+		return aggregateRepository.totalCount() == farmFindingRepository.count();
+	}
+
+	/** Replaces every count with a fresh GROUP BY over the findings, in the caller's transaction. */
+	public int rebuild() {
+		aggregateRepository.deleteAllInBatch();
+		List<FindingSlaAggregate> rows = new ArrayList<>();
+		for (Object[] row : farmFindingRepository.countByApgSeverityAndTargetDate()) {
+			Key key = Key.of((String) row[0], (String) row[1], (LocalDate) row[2]);
+			rows.add(new FindingSlaAggregate(key, (Long) row[3]));
+		}
+		aggregateRepository.saveAll(rows);
+		return rows.size();
+	}
+
+	private Map<Key, Long> pending() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) return new LinkedHashMap<>();
+		@SuppressWarnings("unchecked")
+		Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Map<Key, Long> deltas = new LinkedHashMap<>();
+			TransactionSynchronizationManager.bindResource(this, deltas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(deltas);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(FindingSlaAggregateService.this);
+				}
+			});
+			pending = deltas;
+		}
+		return pending;
+	}
+
+	private void apply(Map<Key, Long> deltas) {
+		for (Map.Entry<Key, Long> entry : deltas.entrySet()) {
+			Key key = entry.getKey();
+			long delta = entry.getValue();
+			if (delta == 0) continue;
+			try {
+				try {
+					newTransaction.executeWithoutResult(status -> {
+						if (aggregateRepository.addCount(key.apg(), key.severity(), key.targetDate(), delta) == 0) {
+							aggregateRepository.saveAndFlush(new FindingSlaAggregate(key, delta));
+						}
+					});
+				} catch (DataIntegrityViolationException e) {
+					// another transaction inserted the row first
+					newTransaction.executeWithoutResult(status ->
+						aggregateRepository.addCount(key.apg(), key.severity(), key.targetDate(), delta));
+				}
+			} catch (RuntimeException e) {
+				// the finding write has committed; the next snapshot rebuilds the counts if they no longer add up
+				failures.increment();
+				log.warn("Could not apply SLA aggregate change {} for {}", delta, key, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.hello.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.FindingSlaAggregate.Key;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener that feeds {@link FarmFinding} writes to the {@link FindingSlaAggregateService}.
+ * The key a finding was loaded or last written with is kept on the entity, so an update knows which
+ * count it leaves. The service needs repositories, so it is looked up on first use rather than while
+ * Hibernate is still building the entity manager factory.
+ */
+@Component
+public class FindingSlaListener {
+
+	private final ObjectProvider<FindingSlaAggregateService> aggregateService;
+
+	public FindingSlaListener(ObjectProvider<FindingSlaAggregateService> aggregateService) {
+		this.aggregateService = aggregateService;
+	}
+
+	@PostLoad
+	void loaded(FarmFinding finding) {
+		finding.setStoredSlaKey(Key.of(finding));
+	}
+
+	@PostPersist
+	void created(FarmFinding finding) {
+		Key key = Key.of(finding);
+		aggregateService.getObject().moved(null, key);
+		finding.setStoredSlaKey(key);
+	}
+
+	@PostUpdate
+	void updated(FarmFinding finding) {
+		Key key = Key.of(finding);
+		aggregateService.getObject().moved(finding.getStoredSlaKey(), key);
+		finding.setStoredSlaKey(key);
+	}
+
+	@PostRemove
+	void removed(FarmFinding finding) {
+		aggregateService.getObject().moved(finding.getStoredSlaKey() != null ? finding.getStoredSlaKey() : Key.of(finding), null);
+		finding.setStoredSlaKey(null);
+	}
+}
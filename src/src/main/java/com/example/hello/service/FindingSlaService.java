@@ -0,0 +1,142 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.model.FindingSlaAggregate;
+import com.example.hello.model.FindingSlaSnapshot;
+import com.example.hello.model.SlaBucket;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.FindingSlaAggregateRepository;
+import com.example.hello.repository.FindingSlaSnapshotRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Computes SLA buckets for findings and keeps a daily time series of them, so trend
+ * charts never have to scan the findings table. Snapshots are bucketed from
+ * {@code finding_sla_aggregate}, which {@link FindingSlaAggregateService} keeps current from
+ * finding writes.
+ */
+@Service
+public class FindingSlaService {
+
+	private static final Logger log = LoggerFactory.getLogger(FindingSlaService.class);
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final FindingSlaSnapshotRepository snapshotRepository;
+	private final FindingSlaAggregateRepository aggregateRepository;
+	private final FindingSlaAggregateService aggregateService;
+	private final ObjectProvider<FindingColumnStore> columnStore;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public FindingSlaService(FarmFindingRepository farmFindingRepository, FindingSlaSnapshotRepository snapshotRepository,
+			FindingSlaAggregateRepository aggregateRepository, FindingSlaAggregateService aggregateService,
+			ObjectProvider<FindingColumnStore> columnStore) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.snapshotRepository = snapshotRepository;
+		this.aggregateRepository = aggregateRepository;
+		this.aggregateService = aggregateService;
+		this.columnStore = columnStore;
+	}
+
+	/** Current finding counts per APG and SLA bucket, from the column store once it has loaded. */
+	@Transactional(readOnly = true)
+	public Map<String, Map<SlaBucket, Long>> heatmap() {
+		LocalDate today = LocalDate.now();
+		Map<String, Map<SlaBucket, Long>> heatmap = new TreeMap<>();
+		FindingColumnStore store = columnStore.getIfAvailable();
+		if (store != null && store.isReady()) {
+			List<FindingColumnStore.Dimension> groupBy = List.of(FindingColumnStore.Dimension.APG, FindingColumnStore.Dimension.SLA);
+			for (Map<String, Object> group : store.query(FindingColumnStore.Filter.NONE, groupBy).groups()) {
+				String apg = group.get("apg") != null ? (String) group.get("apg") : "Unassigned";
+				heatmap.computeIfAbsent(apg, k -> new EnumMap<>(SlaBucket.class))
+					.merge((SlaBucket) group.get("sla"), (Long) group.get("count"), Long::sum);
+			}
+			return heatmap;
+		}
+		for (Object[] row : farmFindingRepository.countByApgSeverityAndTargetDate()) {
+			String apg = row[0] != null ? (String) row[0] : "Unassigned";
+			SlaBucket bucket = SlaBucket.of((LocalDate) row[2], today);
+			heatmap.computeIfAbsent(apg, k -> new EnumMap<>(SlaBucket.class)).merge(bucket, (Long) row[3], Long::sum);
+		}
+		return heatmap;
+	}
+
+	/** Daily bucket totals between two dates, optionally narrowed to one APG and/or severity. */
+	@Transactional(readOnly = true)
+	public Map<LocalDate, Map<SlaBucket, Long>> trend(LocalDate from, LocalDate to, String apg, String severity) {
+		StringBuilder jpql = new StringBuilder("select s.snapshotDate, s.bucket, sum(s.findingCount) from FindingSlaSnapshot s "
+			+ "where s.snapshotDate between :from and :to");
+		if (apg != null) jpql.append(" and s.apg = :apg");
+		if (severity != null) jpql.append(" and s.severity = :severity");
+		jpql.append(" group by s.snapshotDate, s.bucket order by s.snapshotDate");
+
+		TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+			.setParameter("from", from)
+			.setParameter("to", to);
+		if (apg != null) query.setParameter("apg", apg);
+		if (severity != null) query.setParameter("severity", severity);
+
+		Map<LocalDate, Map<SlaBucket, Long>> trend = new TreeMap<>();
+		for (Object[] row : query.getResultList()) {
+			trend.computeIfAbsent((LocalDate) row[0], k -> new EnumMap<>(SlaBucket.class)).put((SlaBucket) row[1], (Long) row[2]);
+		}
+		return trend;
+	}
+
+	@Scheduled(cron = "${app.sla.snapshot-cron:0 15 0 * * *}")
+	@Transactional
+	public void snapshotDaily() {
+		int rows = takeSnapshot(LocalDate.now());
+		log.info("Wrote {} SLA snapshot rows", rows);
+	}
+
+	/**
+	 * Replaces the snapshot for the given day from the aggregate table. When its total no longer
+	 * matches the number of findings (first run after upgrade, or a change that failed to apply)
+	 * it is rebuilt from the findings first.
+	 */
+	@Transactional
+	public int takeSnapshot(LocalDate snapshotDate) {
+		if (!aggregateService.consistent()) {
+			int rows = aggregateService.rebuild();
+			log.info("Rebuilt {} SLA aggregate rows from the findings table", rows);
+		}
+		aggregateRepository.deleteEmpty();
+
+		Map<List<Object>, Long> counts = new HashMap<>();
+		for (FindingSlaAggregate aggregate : aggregateRepository.findAll()) {
+			FindingSlaAggregate.Key key = aggregate.getKey();
+			counts.merge(List.of(key.apg(), key.severity(), key.bucket(snapshotDate)), aggregate.getFindingCount(), Long::sum);
+		}
+
+		snapshotRepository.deleteBySnapshotDate(snapshotDate);
+		List<FindingSlaSnapshot> snapshots = new ArrayList<>(counts.size());
+		counts.forEach((key, count) -> snapshots.add(new FindingSlaSnapshot(snapshotDate,
+			emptyToNull(key.get(0)), emptyToNull(key.get(1)), (SlaBucket) key.get(2), count)));
+		snapshotRepository.saveAll(snapshots);
+		return snapshots.size();
+	}
+
+	private static String emptyToNull(Object value) {
+		String s = (String) value;
+		return s.isEmpty() ? null : s;
+	}
+}
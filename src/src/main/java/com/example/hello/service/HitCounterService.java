@@ -1,39 +1,99 @@
 package com.example.hello.service;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.hello.model.HitCounter;
 import com.example.hello.repository.HitCounterRepository;
 
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counts hits in memory and periodically adds the delta to this node's own {@link HitCounter} row.
+ * Reads sum all node rows and cache the total briefly, so neither path takes a shared row lock.
+ * <p>
+ * The total is therefore an estimate, not a sequence: concurrent hits can see the same value, and
+ * a node can report less than it did a moment ago until every node's latest flush is read.
+ */
 @Service
 public class HitCounterService {
 
+	private static final Logger log = LoggerFactory.getLogger(HitCounterService.class);
+
 	private final HitCounterRepository hitCounterRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate readOnlyTransactionTemplate;
+	private final String nodeId;
+	private final long cacheTtlMillis;
+
+	private final LongAdder pending = new LongAdder();
+	private volatile long cachedTotal;
+	private volatile long cachedAt;
 
-	public HitCounterService(HitCounterRepository hitCounterRepository) {
+	public HitCounterService(HitCounterRepository hitCounterRepository, PlatformTransactionManager transactionManager,
+			@Value("${app.hits.node-id:}") String nodeId, @Value("${app.hits.cache-ttl-ms:1000}") long cacheTtlMillis,
+			@Value("${server.port:8080}") int serverPort) {
 		this.hitCounterRepository = hitCounterRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.nodeId = nodeId.isBlank() ? defaultNodeId(serverPort) : nodeId;
+		this.cacheTtlMillis = cacheTtlMillis;
 	}
 
-	@Transactional
-	public long incrementAndGet() {
-		HitCounter counter = hitCounterRepository.findAll()
-			.stream()
-			.findFirst()
-			.orElseGet(() -> hitCounterRepository.save(new HitCounter(0L)));
-		long newValue = counter.getCount() + 1L;
-		counter.setCount(newValue);
-		hitCounterRepository.save(counter);
-		return newValue;
+	/** Counts a hit and returns the estimated total; see {@link #getCurrentCount()}. */
+	public long incrementAndEstimate() {
+		pending.increment();
+		return getCurrentCount();
 	}
 
+	/** All flushed node counts plus this node's unflushed hits; other nodes' latest hits may lag by one flush. */
 	public long getCurrentCount() {
-		return hitCounterRepository.findAll()
-			.stream()
-			.findFirst()
-			.map(HitCounter::getCount)
-			.orElse(0L);
+		long now = System.currentTimeMillis();
+		if (now - cachedAt > cacheTtlMillis) {
+			cachedTotal = readOnlyTransactionTemplate.execute(status -> hitCounterRepository.total());
+			cachedAt = now;
+		}
+		return cachedTotal + pending.sum();
 	}
-}
 
+	@Scheduled(fixedDelayString = "${app.hits.flush-interval-ms:1000}")
+	@PreDestroy
+	public void flush() {
+		long delta = pending.sumThenReset();
+		if (delta == 0) return;
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				if (hitCounterRepository.addToNode(nodeId, delta) == 0) {
+					hitCounterRepository.save(new HitCounter(nodeId, delta));
+				}
+			});
+			cachedAt = 0;
+		} catch (RuntimeException e) {
+			// keep the hits for the next flush; at shutdown they are lost, which an estimate can afford
+			pending.add(delta);
+			log.warn("Could not flush {} hits for node {}", delta, nodeId, e);
+		}
+	}
 
+	private static String defaultNodeId(int serverPort) {
+		String host = System.getenv("HOSTNAME");
+		if (host == null || host.isBlank()) {
+			try {
+				host = InetAddress.getLocalHost().getHostName();
+			} catch (UnknownHostException e) {
+				host = "localhost";
+			}
+		}
+		return host + ":" + serverPort;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jira REST client: one {@code POST /rest/api/2/search} per batch with {@code key in (...)}, asking
+ * only for the status field. {@code validateQuery=warn} keeps an unknown or deleted key from failing
+ * the whole batch. Jira matches keys case-insensitively and answers with its own spelling, so
+ * statuses are matched back to the requested keys by their upper-case form. 429 and 5xx responses
+ * are reported as retryable, with the server's {@code Retry-After} when it sends one.
+ */
+public class HttpIssueTrackerClient implements IssueTrackerClient {
+
+	/** Jira caps search results at 100 per page by default. */
+	public static final int MAX_BATCH_SIZE = 100;
+
+	private static final Pattern ISSUE_KEY = Pattern.compile("[A-Za-z][A-Za-z0-9_]*-\\d+");
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper;
+	private final URI searchUri;
+	private final String authorization;
+	private final Duration timeout;
+	private final int maxBatchSize;
+
+	/**
+	 * @param baseUrl tracker base URL, e.g. {@code https://jira.example.com}
+	 * @param token bearer token, or blank for anonymous access
+	 */
+	public HttpIssueTrackerClient(ObjectMapper objectMapper, String baseUrl, String token, Duration timeout, int maxBatchSize) {
+		this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+		this.objectMapper = objectMapper;
+		this.searchUri = URI.create(baseUrl.replaceAll("/+$", "") + "/rest/api/2/search");
+		this.authorization = token == null || token.isBlank() ? null : "Bearer " + token;
+		this.timeout = timeout;
+		this.maxBatchSize = Math.min(Math.max(maxBatchSize, 1), MAX_BATCH_SIZE);
+	}
+
+	@Override
+	public int maxBatchSize() {
+		return maxBatchSize;
+	}
+
+	@Override
+	public Map<String, String> fetchStatuses(Collection<String> keys) {
+		Map<String, List<String>> requested = new LinkedHashMap<>();
+		for (String key : keys) {
+			// anything else could not be a Jira key and would only break the JQL
+			if (key != null && ISSUE_KEY.matcher(key).matches()) {
+				requested.computeIfAbsent(key.toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(key);
+			}
+		}
+		if (requested.isEmpty()) return Map.of();
+		List<String> quoted = new ArrayList<>();
+		for (String key : requested.keySet()) quoted.add('"' + key + '"');
+
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("jql", "key in (" + String.join(",", quoted) + ")");
+		body.put("fields", List.of("status"));
+		body.put("maxResults", quoted.size());
+		body.put("validateQuery", "warn");
+		HttpRequest.Builder request = HttpRequest.newBuilder(searchUri)
+			.timeout(timeout)
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json");
+		if (authorization != null) request.header("Authorization", authorization);
+
+		HttpResponse<String> response;
+		try {
+			request.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+			response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+		} catch (IOException e) {
+			throw new IssueTrackerException("Issue tracker request failed: " + e.getMessage(), true, null, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IssueTrackerException("Interrupted while calling the issue tracker", false, null, e);
+		}
+
+		int status = response.statusCode();
+		if (status == 429 || status >= 500) {
+			throw new IssueTrackerException("Issue tracker answered " + status, true, retryAfter(response), null);
+		}
+		if (status != 200) {
+			throw new IssueTrackerException("Issue tracker rejected the search with " + status, false);
+		}
+		return parse(response.body(), requested);
+	}
+
+	/** Maps each returned issue's status to the requested keys it matches, ignoring case. */
+	private Map<String, String> parse(String json, Map<String, List<String>> requested) {
+		JsonNode root;
+		try {
+			root = objectMapper.readTree(json);
+		} catch (JsonProcessingException e) {
+			throw new IssueTrackerException("Unreadable issue tracker response", false, null, e);
+		}
+		Map<String, String> statuses = new LinkedHashMap<>();
+		for (JsonNode issue : root.path("issues")) {
+			JsonNode name = issue.path("fields").path("status").path("name");
+			if (!issue.hasNonNull("key") || !name.isTextual()) continue;
+			for (String key : requested.getOrDefault(issue.get("key").asText().toUpperCase(Locale.ROOT), List.of())) {
+				statuses.put(key, name.asText());
+			}
+		}
+		return statuses;
+	}
+
+	private static Duration retryAfter(HttpResponse<?> response) {
+		return response.headers().firstValue("Retry-After").map(value -> {
+			try {
+				return Duration.ofSeconds(Long.parseLong(value.trim()));
+			} catch (NumberFormatException e) {
+				// an HTTP date; fall back to our own backoff
+				return null;
+			}
+		}).orElse(null);
+	}
+}
@@ -0,0 +1,100 @@
+package com.example.hello.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.Person;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.model.Team;
+
+/**
+ * Datasets that can be bulk loaded and exported, declared in the order they must be persisted:
+ * tickets reference findings, so findings always come first.
+ */
+public enum ImportDataset {
+
+	PEOPLE("people",
+		new String[] { "sid", "firstName", "lastName", "email" },
+		List.of(Person.class),
+		"People", "Persons"),
+	FINDINGS("findings",
+		new String[] { "id", "description", "applicationSealId", "severity", "criticality", "targetDate", "assignedApg", "createdDate" },
+		List.of(FarmFinding.class),
+		"Findings"),
+	TICKETS("tickets",
+		new String[] { "id", "findingId", "applicationSealId", "jiraKey", "jiraUrl", "apg", "status" },
+		List.of(ResolverTicket.class, FarmFinding.class),
+		"ResolverTickets", "Tickets"),
+	CERTIFICATES("certificates",
+		new String[] { "id", "applicationSealId", "cn", "serial", "expirationDate" },
+		List.of(Certificate.class, Application.class),
+		"Certificates"),
+	CODE_REPOSITORIES("code-repositories",
+		new String[] { "Repository URL", "Project ID", "Application Name", "Assigned Team", "Created Date" },
+		List.of(CodeRepository.class, Application.class, Team.class),
+		"Code Repositories");
+
+	private final String key;
+	private final String[] headers;
+	private final List<Class<?>> sources;
+	private final String[] sheetNames;
+
+	ImportDataset(String key, String[] headers, List<Class<?>> sources, String... sheetNames) {
+		this.key = key;
+		this.headers = headers;
+		this.sources = sources;
+		this.sheetNames = sheetNames;
+	}
+
+	/** Name used in URLs and result maps, e.g. {@code code-repositories}. */
+	public String key() {
+		return key;
+	}
+
+	/**
+	 * Column headers, shared by every import and export format. Imports match columns by position,
+	 * so the header row of an uploaded file is not checked.
+	 */
+	public String[] headers() {
+		return headers.clone();
+	}
+
+	/** Number of leading columns read from each row. */
+	public int columns() {
+		return headers.length;
+	}
+
+	/** Entity types whose rows appear in an export of this dataset, directly or through a lookup column. */
+	public List<Class<?>> sources() {
+		return sources;
+	}
+
+	/** Sheet name used when exporting this dataset to a workbook. */
+	public String sheetName() {
+		return sheetNames[0];
+	}
+
+	public static Optional<ImportDataset> forSheet(String sheetName) {
+		String wanted = normalize(sheetName);
+		return Arrays.stream(values())
+			.filter(d -> Arrays.stream(d.sheetNames).anyMatch(n -> normalize(n).equals(wanted)))
+			.findFirst();
+	}
+
+	public static ImportDataset forKey(String key) {
+		return Arrays.stream(values())
+			.filter(d -> d.key.equalsIgnoreCase(key))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("Unknown dataset: " + key));
+	}
+
+	private static String normalize(String name) {
+		return name == null ? "" : name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+	}
+}
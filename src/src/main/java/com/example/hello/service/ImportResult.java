@@ -0,0 +1,93 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Row counts reported back to the client after a bulk import.
+ */
+public class ImportResult {
+
+	/** Dry runs report at most this many row diffs. */
+	static final int MAX_DIFFS = 1000;
+
+	private int created;
+	private int updated;
+	private int unchanged;
+	private int skipped;
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	private boolean replayed;
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	private boolean dryRun;
+	@JsonInclude(JsonInclude.Include.NON_EMPTY)
+	private final List<RowDiff> diffs = new ArrayList<>();
+
+	ImportResult() {
+	}
+
+	ImportResult(boolean dryRun) {
+		this.dryRun = dryRun;
+	}
+
+	/** Counts recorded by an earlier import of the same file, returned instead of importing it again. */
+	static ImportResult replayed(int created, int updated, int unchanged, int skipped) {
+		ImportResult result = new ImportResult();
+		result.created = created;
+		result.updated = updated;
+		result.unchanged = unchanged;
+		result.skipped = skipped;
+		result.replayed = true;
+		return result;
+	}
+
+	void recordCreated() {
+		created++;
+	}
+
+	void recordUpdated() {
+		updated++;
+	}
+
+	void recordUnchanged() {
+		unchanged++;
+	}
+
+	void recordSkipped() {
+		skipped++;
+	}
+
+	void recordDiff(RowDiff diff) {
+		if (diffs.size() < MAX_DIFFS) diffs.add(diff);
+	}
+
+	public int getCreated() {
+		return created;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+	public int getSkipped() {
+		return skipped;
+	}
+
+	public boolean isReplayed() {
+		return replayed;
+	}
+
+	public boolean isDryRun() {
+		return dryRun;
+	}
+
+	/** Present on dry runs only: what each updated row would change. */
+	public List<RowDiff> getDiffs() {
+		return diffs;
+	}
+}
@@ -0,0 +1,25 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/** Runs a finder taking an IN list over any number of keys, a bounded chunk at a time. */
+final class InLists {
+
+	/** Stays well under the bind-parameter limits of H2 and Postgres and keeps plans cacheable. */
+	static final int CHUNK_SIZE = 1000;
+
+	private InLists() {
+	}
+
+	static <K, T> List<T> loadAll(Collection<K> keys, Function<List<K>, List<T>> loader) {
+		List<K> all = new ArrayList<>(keys);
+		List<T> entities = new ArrayList<>();
+		for (int i = 0; i < all.size(); i += CHUNK_SIZE) {
+			entities.addAll(loader.apply(all.subList(i, Math.min(i + CHUNK_SIZE, all.size()))));
+		}
+		return entities;
+	}
+}
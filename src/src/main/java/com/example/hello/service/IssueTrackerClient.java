@@ -0,0 +1,23 @@
+package com.example.hello.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads issue statuses from the tracker that {@link com.example.hello.model.ResolverTicket#getJiraKey()}
+ * points into. {@link TicketSyncService} calls it with batches of at most {@link #maxBatchSize()} keys
+ * and handles rate limiting and retries; implementations only translate one batch into one request.
+ */
+public interface IssueTrackerClient {
+
+	/** Largest number of keys a single {@link #fetchStatuses} call accepts. */
+	int maxBatchSize();
+
+	/**
+	 * Current status per issue key. Keys the tracker does not know are left out of the result.
+	 *
+	 * @throws IssueTrackerException when the request fails; {@link IssueTrackerException#isRetryable()}
+	 *         tells whether the same batch may succeed later
+	 */
+	Map<String, String> fetchStatuses(Collection<String> keys);
+}
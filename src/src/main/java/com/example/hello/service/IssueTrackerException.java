@@ -0,0 +1,32 @@
+package com.example.hello.service;
+
+import java.time.Duration;
+
+/**
+ * A failed {@link IssueTrackerClient} request. Throttling and server-side or network failures are
+ * retryable; a rejected request (bad credentials, malformed query) is not.
+ */
+public class IssueTrackerException extends RuntimeException {
+
+	private final boolean retryable;
+	private final Duration retryAfter;
+
+	public IssueTrackerException(String message, boolean retryable, Duration retryAfter, Throwable cause) {
+		super(message, cause);
+		this.retryable = retryable;
+		this.retryAfter = retryAfter;
+	}
+
+	public IssueTrackerException(String message, boolean retryable) {
+		this(message, retryable, null, null);
+	}
+
+	public boolean isRetryable() {
+		return retryable;
+	}
+
+	/** How long the tracker asked us to wait before the next request, or null if it did not say. */
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
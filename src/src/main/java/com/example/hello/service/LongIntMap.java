@@ -0,0 +1,87 @@
+package com.example.hello.service;
+
+/**
+ * Open-addressing {@code long -> int} map with linear probing, for indexes over millions of ids where
+ * a {@code HashMap<Long, Integer>} would box every key and value. Keys must be non-zero (0 marks an
+ * empty cell); {@link #get} returns -1 for a missing key. Not thread-safe.
+ */
+final class LongIntMap {
+
+	private static final long EMPTY = 0L;
+
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+
+	LongIntMap(int expected) {
+		int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(long key) {
+		for (int i = index(key);; i = (i + 1) & mask) {
+			if (keys[i] == key) return values[i];
+			if (keys[i] == EMPTY) return -1;
+		}
+	}
+
+	void put(long key, int value) {
+		if (key == EMPTY) throw new IllegalArgumentException("0 is not a valid key");
+		for (int i = index(key);; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return;
+			}
+			if (keys[i] == EMPTY) {
+				keys[i] = key;
+				values[i] = value;
+				if (++size * 2 > keys.length) grow();
+				return;
+			}
+		}
+	}
+
+	/** Removes a key, shifting later cells of its probe run back so lookups never need tombstones. */
+	void remove(long key) {
+		int i = index(key);
+		while (keys[i] != key) {
+			if (keys[i] == EMPTY) return;
+			i = (i + 1) & mask;
+		}
+		for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+			int home = index(keys[j]);
+			// a cell may only move back if its home slot is not cyclically within (i, j]
+			boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+			if (stays) continue;
+			keys[i] = keys[j];
+			values[i] = values[j];
+			i = j;
+		}
+		keys[i] = EMPTY;
+		size--;
+	}
+
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		mask = keys.length - 1;
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+		}
+	}
+
+	private int index(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,640 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.ProductArea;
+import com.example.hello.model.Team;
+import com.example.hello.model.TeamMembership;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.ProductAreaRepository;
+import com.example.hello.repository.TeamMembershipRepository;
+import com.example.hello.repository.TeamRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counters rolled up the org hierarchy: product area, team, application, and the findings whose
+ * {@code applicationSealId} names the application. Every node holds findings per severity,
+ * certificates (and how many expire within {@code app.org.rollup.expiring-days}), code repositories
+ * and, for teams and up, distinct active members.
+ * <p>
+ * Findings and the hierarchy are kept apart. Per finding only a packed (seal id, severity) code is
+ * held, so a finding write is applied as a -1/+1 on the path from its old and new application up to
+ * the root, once its transaction commits ({@link OrgRollupListener}). The hierarchy and the
+ * non-finding counters come from a handful of grouped queries over small tables and are rebuilt
+ * whenever the data version of one of those entities moves, or the day changes.
+ * <p>
+ * A full finding load splits the id range across {@code app.org.rollup.parallelism} workers, each
+ * paging its own range with a projection query; writes committed meanwhile are replayed before the
+ * result is swapped in. As with {@link FindingColumnStore}, a {@code FarmFinding} data version that
+ * no bump on this node produced triggers such a reload on the next refresh.
+ * <p>
+ * Until the first full load succeeds, {@link #snapshot} throws {@link NotReadyException}. A failed
+ * finding load keeps the previous counts, is logged and counted in {@code app.org.rollup.load.failures},
+ * marks snapshots {@code findingsStale}, and is retried on the next refresh.
+ */
+@Service
+@ConditionalOnProperty(name = "app.org.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class OrgRollupCache {
+
+	/** Severities with their own counter; any other value, or none, is counted as {@code Other}. */
+	public static final List<String> SEVERITIES = List.of("Critical", "High", "Medium", "Low");
+
+	/** How much of the tree a snapshot includes. */
+	public enum Depth {
+		AREA, TEAM, APPLICATION;
+
+		public static Depth forKey(String key) {
+			return valueOf(key.trim().toUpperCase(Locale.ROOT));
+		}
+	}
+
+	private static final int OTHER = SEVERITIES.size();
+	private static final int SEVERITY_SLOTS = OTHER + 1;
+	private static final int PAGE_SIZE = 5000;
+	private static final List<Class<?>> STRUCTURE_TYPES = List.of(ProductArea.class, Team.class, Application.class,
+		Certificate.class, CodeRepository.class, TeamMembership.class);
+
+	private static final Logger log = LoggerFactory.getLogger(OrgRollupCache.class);
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final ProductAreaRepository productAreaRepository;
+	private final TeamRepository teamRepository;
+	private final ApplicationRepository applicationRepository;
+	private final CertificateRepository certificateRepository;
+	private final CodeRepositoryRepository codeRepositoryRepository;
+	private final TeamMembershipRepository teamMembershipRepository;
+	private final DataVersionService dataVersionService;
+	private final ExecutorService loaders;
+	private final int parallelism;
+	private final int expiringDays;
+
+	private final Counter loadFailures;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private FindingCounts findings = new FindingCounts(16);
+	private Tree tree = new Tree();
+	/** Finding writes committed while a full load runs; replayed onto the new counts before they are swapped in. */
+	private List<Change> replay;
+	private volatile long syncedFindingVersion;
+	private volatile long[] syncedStructureVersions = new long[0];
+	private volatile LocalDate structureDate;
+	private volatile boolean findingsLoaded;
+	private volatile boolean findingsStale;
+
+	public OrgRollupCache(FarmFindingRepository farmFindingRepository, ProductAreaRepository productAreaRepository,
+			TeamRepository teamRepository, ApplicationRepository applicationRepository, CertificateRepository certificateRepository,
+			CodeRepositoryRepository codeRepositoryRepository, TeamMembershipRepository teamMembershipRepository,
+			DataVersionService dataVersionService, MeterRegistry meterRegistry,
+			@Value("${app.org.rollup.parallelism:4}") int parallelism,
+			@Value("${app.org.rollup.expiring-days:30}") int expiringDays) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.productAreaRepository = productAreaRepository;
+		this.teamRepository = teamRepository;
+		this.applicationRepository = applicationRepository;
+		this.certificateRepository = certificateRepository;
+		this.codeRepositoryRepository = codeRepositoryRepository;
+		this.teamMembershipRepository = teamMembershipRepository;
+		this.dataVersionService = dataVersionService;
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		this.expiringDays = expiringDays;
+		AtomicInteger threads = new AtomicInteger();
+		this.loaders = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "org-rollup-loader-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.loadFailures = meterRegistry.counter("app.org.rollup.load.failures");
+		Gauge.builder("app.org.rollup.ready", this, cache -> cache.isReady() ? 1 : 0)
+			.description("1 once the org rollup has loaded the hierarchy and every finding")
+			.register(meterRegistry);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		loaders.shutdownNow();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			// startup goes on; snapshots answer 503 until a refresh loads the cache
+			log.warn("Could not build the org rollup hierarchy; retrying on the next refresh", e);
+		}
+	}
+
+	/** Reloads the hierarchy and every finding; snapshots keep being served from the old counters meanwhile. */
+	public synchronized void rebuild() {
+		rebuildFindings();
+		rebuildStructure();
+	}
+
+	/** Whether the hierarchy and every finding have been loaded once; until then {@link #snapshot} throws. */
+	public boolean isReady() {
+		return findingsLoaded && structureDate != null;
+	}
+
+	@Scheduled(initialDelayString = "${app.org.rollup.refresh-ms:10000}", fixedDelayString = "${app.org.rollup.refresh-ms:10000}")
+	public synchronized void refresh() {
+		List<Class<?>> types = new ArrayList<>();
+		types.add(FarmFinding.class);
+		types.addAll(STRUCTURE_TYPES);
+		long[] versions = dataVersionService.current(types);
+		long version = versions[0];
+		if (!findingsLoaded) {
+			rebuildFindings();
+		} else if (version != syncedFindingVersion) {
+			if (version < syncedFindingVersion
+					|| !dataVersionService.producedLocally(FarmFinding.class, syncedFindingVersion, version)) {
+				log.info("FarmFinding changed outside this node (version {} -> {}); reloading org rollup findings",
+					syncedFindingVersion, version);
+				rebuildFindings();
+			} else {
+				syncedFindingVersion = version;
+			}
+		}
+		long[] structure = Arrays.copyOfRange(versions, 1, versions.length);
+		if (!Arrays.equals(structure, syncedStructureVersions) || !LocalDate.now().equals(structureDate)) {
+			rebuildStructure();
+		}
+	}
+
+	/**
+	 * Loads (id, seal id, severity) for every finding, one id range per worker, and swaps the counts
+	 * in. A failure keeps the previous counts and marks them stale until a later load succeeds.
+	 */
+	private void rebuildFindings() {
+		long started = System.nanoTime();
+		lock.writeLock().lock();
+		try {
+			replay = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		long version = 0L;
+		FindingCounts fresh = null;
+		try {
+			version = dataVersionService.current(List.of(FarmFinding.class))[0];
+			long maxId = farmFindingRepository.maxId();
+			long rangeSize = Math.max(PAGE_SIZE, (maxId + parallelism - 1) / parallelism);
+			List<Future<Partial>> parts = new ArrayList<>();
+			for (long from = 0; from < maxId; from += rangeSize) {
+				long after = from;
+				long upTo = Math.min(maxId, from + rangeSize);
+				parts.add(loaders.submit(() -> loadRange(after, upTo)));
+			}
+			List<Partial> partials = new ArrayList<>();
+			for (Future<Partial> part : parts) partials.add(part.get());
+			int rows = partials.stream().mapToInt(p -> p.size).sum();
+			fresh = new FindingCounts(rows);
+			for (Partial partial : partials) fresh.merge(partial);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Interrupted while loading org rollup findings; keeping the previous counts");
+		} catch (ExecutionException e) {
+			log.warn("Could not load org rollup findings; keeping the previous counts", e.getCause());
+		} catch (RuntimeException e) {
+			log.warn("Could not load org rollup findings; keeping the previous counts", e);
+		} finally {
+			lock.writeLock().lock();
+			try {
+				// on failure the old counts stay in place; they received every commit in the meantime
+				if (fresh != null) {
+					for (Change change : replay) fresh.apply(change);
+					findings = fresh;
+					tree.rollFindings(findings);
+				}
+				replay = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		if (fresh == null) {
+			loadFailures.increment();
+			findingsStale = true;
+			return;
+		}
+		syncedFindingVersion = version;
+		findingsLoaded = true;
+		findingsStale = false;
+		log.info("Org rollup holds {} findings, loaded by {} workers in {} ms", fresh.size(), parallelism,
+			(System.nanoTime() - started) / 1_000_000);
+	}
+
+	private Partial loadRange(long after, long upTo) {
+		Partial partial = new Partial();
+		while (true) {
+			List<Object[]> page = farmFindingRepository.findSealAndSeverityBetween(after, upTo, Limit.of(PAGE_SIZE));
+			for (Object[] row : page) partial.add((Long) row[0], (String) row[1], severitySlot((String) row[2]));
+			if (page.size() < PAGE_SIZE) return partial;
+			after = (Long) page.get(page.size() - 1)[0];
+		}
+	}
+
+	/** Rebuilds the hierarchy and its non-finding counters, then rolls the current finding counts into it. */
+	private void rebuildStructure() {
+		LocalDate today = LocalDate.now();
+		long[] versions = dataVersionService.current(STRUCTURE_TYPES);
+		Tree fresh = new Tree();
+
+		Map<Long, Node> areas = new HashMap<>();
+		for (Object[] row : productAreaRepository.findRollupRows()) {
+			areas.put((Long) row[0], fresh.root.add(new Node(Level.AREA, (Long) row[0], (String) row[1], (String) row[2])));
+		}
+		Map<Long, Node> teams = new HashMap<>();
+		for (Object[] row : teamRepository.findRollupRows()) {
+			Node parent = row[2] != null ? areas.getOrDefault((Long) row[2], fresh.root) : fresh.root;
+			teams.put((Long) row[0], parent.add(new Node(Level.TEAM, (Long) row[0], (String) row[1], null)));
+		}
+		Map<Long, Node> applications = new HashMap<>();
+		for (Object[] row : applicationRepository.findRollupRows()) {
+			// the owning team decides the area; the application's own area only places team-less applications
+			Node parent = row[3] != null ? teams.get((Long) row[3]) : null;
+			if (parent == null) parent = row[4] != null ? areas.getOrDefault((Long) row[4], fresh.root) : fresh.root;
+			Node application = parent.add(new Node(Level.APPLICATION, (Long) row[0], (String) row[2], (String) row[1]));
+			applications.put((Long) row[0], application);
+			if (row[1] != null) fresh.applicationsBySealId.putIfAbsent((String) row[1], application);
+		}
+
+		for (Object[] row : certificateRepository.countByApplicationExpiringBy(today.plusDays(expiringDays))) {
+			Node node = applications.getOrDefault((Long) row[0], fresh.root);
+			long total = ((Number) row[1]).longValue();
+			long expiring = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+			for (Node n = node; n != null; n = n.parent) {
+				n.certificates += total;
+				n.certificatesExpiring += expiring;
+			}
+		}
+		for (Object[] row : codeRepositoryRepository.countByApplicationAndTeam()) {
+			Node node = row[0] != null ? applications.get((Long) row[0]) : null;
+			if (node == null && row[1] != null) node = teams.get((Long) row[1]);
+			long count = ((Number) row[2]).longValue();
+			for (Node n = node != null ? node : fresh.root; n != null; n = n.parent) n.repositories += count;
+		}
+		Map<Node, Set<Long>> members = new HashMap<>();
+		for (Object[] row : teamMembershipRepository.findActiveTeamAndPersonIds(today)) {
+			Node team = teams.get((Long) row[0]);
+			if (team == null) continue;
+			for (Node n = team; n != null; n = n.parent) members.computeIfAbsent(n, k -> new HashSet<>()).add((Long) row[1]);
+		}
+		members.forEach((node, people) -> node.members = people.size());
+
+		lock.writeLock().lock();
+		try {
+			fresh.rollFindings(findings);
+			tree = fresh;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		syncedStructureVersions = versions;
+		structureDate = today;
+	}
+
+	/**
+	 * Records a write to a finding. Inside a transaction the latest state per finding is applied after
+	 * commit; without one it is applied at once.
+	 */
+	void changed(FarmFinding finding, boolean removed) {
+		if (finding.getId() == null) return;
+		record(List.of(new Change(finding.getId(), removed, finding.getApplicationSealId(), severitySlot(finding.getSeverity()))));
+	}
+
+	/** Records findings deleted by bulk JPQL, which entity listeners do not see, in the same way. */
+	void removed(Collection<Long> ids) {
+		List<Change> changes = new ArrayList<>(ids.size());
+		for (Long id : ids) changes.add(new Change(id, true, null, OTHER));
+		record(changes);
+	}
+
+	private void record(List<Change> changes) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply(changes);
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		Map<Long, Change> pending = (Map<Long, Change>) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			Map<Long, Change> batch = new LinkedHashMap<>();
+			TransactionSynchronizationManager.bindResource(this, batch);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(batch.values());
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(OrgRollupCache.this);
+				}
+			});
+			pending = batch;
+		}
+		for (Change change : changes) {
+			pending.remove(change.id);
+			pending.put(change.id, change);
+		}
+	}
+
+	private void apply(Collection<Change> changes) {
+		lock.writeLock().lock();
+		try {
+			for (Change change : changes) {
+				int previous = findings.apply(change);
+				if (previous >= 0) tree.addFindings(findings.sealId(previous), previous % SEVERITY_SLOTS, -1);
+				if (!change.removed) tree.addFindings(change.sealId, change.severity, 1);
+			}
+			if (replay != null) replay.addAll(changes);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The rolled-up tree as nested maps, down to {@code depth}. With {@code areaId} only that product
+	 * area is returned; an unknown id yields null.
+	 */
+	public Map<String, Object> snapshot(Long areaId, Depth depth) {
+		if (!isReady()) throw new NotReadyException();
+		lock.readLock().lock();
+		try {
+			Tree t = tree;
+			if (areaId != null) {
+				for (Node child : t.root.children) {
+					if (child.level == Level.AREA && child.id.equals(areaId)) return child.render(depth);
+				}
+				return null;
+			}
+			Map<String, Object> response = t.root.render(depth);
+			response.put("unassigned", t.unassigned.render(depth));
+			response.put("findingsTracked", findings.size());
+			response.put("findingsStale", findingsStale);
+			response.put("structureDate", structureDate);
+			return response;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static int severitySlot(String severity) {
+		if (severity != null) {
+			for (int i = 0; i < OTHER; i++) {
+				if (SEVERITIES.get(i).equalsIgnoreCase(severity.trim())) return i;
+			}
+		}
+		return OTHER;
+	}
+
+	/** The cache has not finished its first load; the caller should retry shortly. */
+	public static class NotReadyException extends RuntimeException {
+
+		public NotReadyException() {
+			super("The org rollup is still loading");
+		}
+	}
+
+	private record Change(long id, boolean removed, String sealId, int severity) {
+	}
+
+	private enum Level {
+		ORG, AREA, TEAM, APPLICATION, UNASSIGNED
+	}
+
+	/** One level of the hierarchy with its own counters, which include everything below it. */
+	private static final class Node {
+
+		final Level level;
+		final Long id;
+		final String name;
+		/** The product area's APG or the application's seal id. */
+		final String key;
+		final List<Node> children = new ArrayList<>();
+		Node parent;
+		final long[] findings = new long[SEVERITY_SLOTS];
+		long certificates;
+		long certificatesExpiring;
+		long repositories;
+		int members;
+
+		Node(Level level, Long id, String name, String key) {
+			this.level = level;
+			this.id = id;
+			this.name = name;
+			this.key = key;
+		}
+
+		Node add(Node child) {
+			child.parent = this;
+			children.add(child);
+			return child;
+		}
+
+		Map<String, Object> render(Depth depth) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			if (id != null) row.put("id", id);
+			if (name != null) row.put("name", name);
+			if (level == Level.AREA) row.put("apg", key);
+			if (level == Level.APPLICATION) row.put("sealId", key);
+			long total = 0;
+			Map<String, Long> bySeverity = new LinkedHashMap<>();
+			for (int i = 0; i < SEVERITY_SLOTS; i++) {
+				bySeverity.put(i < OTHER ? SEVERITIES.get(i) : "Other", findings[i]);
+				total += findings[i];
+			}
+			row.put("findings", total);
+			row.put("findingsBySeverity", bySeverity);
+			if (level == Level.UNASSIGNED) return row;
+			row.put("certificates", certificates);
+			row.put("certificatesExpiring", certificatesExpiring);
+			row.put("repositories", repositories);
+			if (level != Level.APPLICATION) row.put("members", members);
+
+			List<Map<String, Object>> areas = new ArrayList<>();
+			List<Map<String, Object>> teams = new ArrayList<>();
+			List<Map<String, Object>> applications = new ArrayList<>();
+			for (Node child : children) {
+				switch (child.level) {
+					case AREA -> areas.add(child.render(depth));
+					case TEAM -> {
+						if (depth != Depth.AREA) teams.add(child.render(depth));
+					}
+					case APPLICATION -> {
+						if (depth == Depth.APPLICATION) applications.add(child.render(depth));
+					}
+					default -> {
+					}
+				}
+			}
+			if (level == Level.ORG) row.put("areas", areas);
+			if (!teams.isEmpty() || (level == Level.AREA && depth != Depth.AREA)) row.put("teams", teams);
+			if (!applications.isEmpty()) row.put("applications", applications);
+			return row;
+		}
+	}
+
+	/** The hierarchy. Findings whose seal id names no application count under {@code unassigned}. */
+	private static final class Tree {
+
+		final Node root = new Node(Level.ORG, null, null, null);
+		final Node unassigned = root.add(new Node(Level.UNASSIGNED, null, null, null));
+		final Map<String, Node> applicationsBySealId = new HashMap<>();
+
+		void addFindings(String sealId, int severity, long delta) {
+			Node node = sealId != null ? applicationsBySealId.getOrDefault(sealId, unassigned) : unassigned;
+			for (Node n = node; n != null; n = n.parent) n.findings[severity] += delta;
+		}
+
+		/** Replaces every node's finding counters with the given counts. */
+		void rollFindings(FindingCounts counts) {
+			clearFindings(root);
+			counts.forEach(this::addFindings);
+		}
+
+		private static void clearFindings(Node node) {
+			Arrays.fill(node.findings, 0L);
+			for (Node child : node.children) clearFindings(child);
+		}
+	}
+
+	/**
+	 * Finding counts per (seal id, severity), with the packed code of every finding so an update or
+	 * delete knows what to subtract. Code = seal code * SEVERITY_SLOTS + severity; seal code 0 is "no seal id".
+	 */
+	private static final class FindingCounts {
+
+		final LongIntMap codeById;
+		final Map<String, Integer> sealCodes = new HashMap<>();
+		final List<String> seals = new ArrayList<>(Collections.singletonList(null));
+		long[] counts = new long[SEVERITY_SLOTS * 16];
+
+		FindingCounts(int expected) {
+			codeById = new LongIntMap(expected);
+		}
+
+		int size() {
+			return codeById.size();
+		}
+
+		String sealId(int code) {
+			return seals.get(code / SEVERITY_SLOTS);
+		}
+
+		int code(String sealId, int severity) {
+			int seal = 0;
+			if (sealId != null) {
+				Integer known = sealCodes.get(sealId);
+				if (known == null) {
+					known = seals.size();
+					sealCodes.put(sealId, known);
+					seals.add(sealId);
+				}
+				seal = known;
+			}
+			int needed = (seal + 1) * SEVERITY_SLOTS;
+			if (needed > counts.length) counts = Arrays.copyOf(counts, Math.max(needed, counts.length * 2));
+			return seal * SEVERITY_SLOTS + severity;
+		}
+
+		/** Applies a write and returns the finding's previous code, or -1 if it was not counted before. */
+		int apply(Change change) {
+			int previous = codeById.get(change.id);
+			if (previous >= 0) counts[previous]--;
+			if (change.removed) {
+				codeById.remove(change.id);
+			} else {
+				int code = code(change.sealId, change.severity);
+				codeById.put(change.id, code);
+				counts[code]++;
+			}
+			return previous;
+		}
+
+		void merge(Partial partial) {
+			int[] translated = new int[partial.seals.size()];
+			for (int i = 0; i < translated.length; i++) translated[i] = code(partial.seals.get(i), 0) / SEVERITY_SLOTS;
+			for (int i = 0; i < partial.size; i++) {
+				int local = partial.codes[i];
+				int code = translated[local / SEVERITY_SLOTS] * SEVERITY_SLOTS + local % SEVERITY_SLOTS;
+				codeById.put(partial.ids[i], code);
+				counts[code]++;
+			}
+		}
+
+		void forEach(FindingSink sink) {
+			for (int code = 0; code < counts.length; code++) {
+				if (counts[code] != 0) sink.add(seals.get(code / SEVERITY_SLOTS), code % SEVERITY_SLOTS, counts[code]);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface FindingSink {
+		void add(String sealId, int severity, long count);
+	}
+
+	/** Rows loaded by one worker, coded against its own seal dictionary. */
+	private static final class Partial {
+
+		final Map<String, Integer> sealCodes = new HashMap<>();
+		final List<String> seals = new ArrayList<>(Collections.singletonList(null));
+		long[] ids = new long[1024];
+		int[] codes = new int[1024];
+		int size;
+
+		void add(long id, String sealId, int severity) {
+			int seal = 0;
+			if (sealId != null) {
+				seal = sealCodes.computeIfAbsent(sealId, k -> {
+					seals.add(k);
+					return seals.size() - 1;
+				});
+			}
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				codes = Arrays.copyOf(codes, size * 2);
+			}
+			ids[size] = id;
+			codes[size++] = seal * SEVERITY_SLOTS + severity;
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.hello.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.example.hello.model.FarmFinding;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/** Entity listener that feeds {@link FarmFinding} writes to the {@link OrgRollupCache}, when it is enabled. */
+@Component
+public class OrgRollupListener {
+
+	private final ObjectProvider<OrgRollupCache> rollupCache;
+
+	public OrgRollupListener(ObjectProvider<OrgRollupCache> rollupCache) {
+		this.rollupCache = rollupCache;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void saved(FarmFinding finding) {
+		rollupCache.ifAvailable(cache -> cache.changed(finding, false));
+	}
+
+	@PostRemove
+	void removed(FarmFinding finding) {
+		rollupCache.ifAvailable(cache -> cache.changed(finding, true));
+	}
+}
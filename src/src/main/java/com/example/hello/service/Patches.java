@@ -0,0 +1,120 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Helpers for PATCH requests, which carry only the changed fields plus an optional {@code version}
+ * (or an {@code If-Match} header holding it).
+ */
+public final class Patches {
+
+	static final String VERSION = "version";
+
+	private Patches() {
+	}
+
+	/**
+	 * Returns {@code changes} with the version from an {@code If-Match} header ({@code "3"},
+	 * {@code W/"3"} or {@code 3}) added as the expected {@code version}.
+	 */
+	public static Map<String, Object> withIfMatch(Map<String, Object> changes, String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank()) return changes;
+		String tag = ifMatch.trim();
+		if (tag.startsWith("W/")) tag = tag.substring(2);
+		if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+		Long version;
+		try {
+			version = Long.valueOf(tag);
+		} catch (NumberFormatException e) {
+			throw new InvalidPatchException("If-Match must hold the record version, got " + ifMatch);
+		}
+		Long inBody = expectedVersion(changes);
+		if (inBody != null && !inBody.equals(version)) {
+			throw new InvalidPatchException("If-Match " + ifMatch + " and version " + inBody + " disagree");
+		}
+		Map<String, Object> withVersion = new LinkedHashMap<>(changes);
+		withVersion.put(VERSION, version);
+		return withVersion;
+	}
+
+	static void requireKnownFields(Map<String, Object> changes, Set<String> allowed) {
+		for (String field : changes.keySet()) {
+			if (!VERSION.equals(field) && !allowed.contains(field)) {
+				throw new InvalidPatchException("Unsupported field: " + field);
+			}
+		}
+	}
+
+	/** Fails fast when the client edited an older version than the one stored. */
+	static void checkVersion(Long expected, Long actual, Class<?> type, Object id) {
+		if (expected != null && !expected.equals(actual)) {
+			throw new ObjectOptimisticLockingFailureException(type, id);
+		}
+	}
+
+	static Long expectedVersion(Map<String, Object> changes) {
+		return asLong(changes, VERSION);
+	}
+
+	static NotFoundException notFound(Class<?> type, Object id) {
+		return new NotFoundException(type.getSimpleName() + " not found: " + id);
+	}
+
+	static String asString(Map<String, Object> changes, String field) {
+		Object value = changes.get(field);
+		if (value instanceof Map<?, ?> || value instanceof Collection<?>) {
+			throw new InvalidPatchException(field + " must be a single value");
+		}
+		return value == null ? null : value.toString();
+	}
+
+	static Long asLong(Map<String, Object> changes, String field) {
+		Object value = changes.get(field);
+		if (value == null) return null;
+		if (value instanceof Integer || value instanceof Long) return ((Number) value).longValue();
+		if (value instanceof String s) {
+			try {
+				return Long.valueOf(s.trim());
+			} catch (NumberFormatException e) {
+				// reported below
+			}
+		}
+		throw new InvalidPatchException(field + " must be a whole number, got " + value);
+	}
+
+	static LocalDate asLocalDate(Map<String, Object> changes, String field) {
+		Object value = changes.get(field);
+		if (value == null || value.toString().isBlank()) return null;
+		if (!(value instanceof String s)) {
+			throw new InvalidPatchException(field + " must be a date (yyyy-MM-dd), got " + value);
+		}
+		try {
+			return LocalDate.parse(s);
+		} catch (DateTimeParseException e) {
+			throw new InvalidPatchException(field + " must be a date (yyyy-MM-dd), got " + value);
+		}
+	}
+
+	/** The body names a field that cannot be patched, carries a value of the wrong type, or points at a missing record. */
+	public static class InvalidPatchException extends IllegalArgumentException {
+
+		public InvalidPatchException(String message) {
+			super(message);
+		}
+	}
+
+	/** The record being patched does not exist. */
+	public static class NotFoundException extends RuntimeException {
+
+		public NotFoundException(String message) {
+			super(message);
+		}
+	}
+}
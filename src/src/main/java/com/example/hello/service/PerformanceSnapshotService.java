@@ -0,0 +1,82 @@
+package com.example.hello.service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.example.hello.config.RequestMetricsFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Point-in-time view of the per-route request metrics. Throughput is measured between consecutive
+ * snapshots, so polling this endpoint yields the current request rate per route.
+ */
+@Service
+public class PerformanceSnapshotService {
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, long[]> previousCounts = new ConcurrentHashMap<>();
+
+	public PerformanceSnapshotService(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	public Map<String, Object> snapshot() {
+		long now = System.nanoTime();
+		Map<String, Object> routes = new TreeMap<>();
+		for (Timer timer : meterRegistry.find(RequestMetricsFilter.LATENCY).timers()) {
+			String route = timer.getId().getTag("method") + " " + timer.getId().getTag("route");
+			HistogramSnapshot latency = timer.takeSnapshot();
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("count", latency.count());
+			stats.put("requestsPerSecond", rate(route, latency.count(), now));
+			stats.put("meanMs", latency.mean(TimeUnit.MILLISECONDS));
+			for (ValueAtPercentile p : latency.percentileValues()) {
+				stats.put(percentileKey(p.percentile()), p.value(TimeUnit.MILLISECONDS));
+			}
+			stats.put("maxMs", latency.max(TimeUnit.MILLISECONDS));
+			DistributionSummary allocated = meterRegistry.find(RequestMetricsFilter.ALLOCATED)
+				.tags("method", timer.getId().getTag("method"), "route", timer.getId().getTag("route"))
+				.summary();
+			if (allocated != null && allocated.count() > 0) {
+				stats.put("allocatedBytesMean", allocated.mean());
+				stats.put("allocationSamples", allocated.count());
+			}
+			routes.put(route, stats);
+		}
+
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+		Map<String, Object> jvm = new LinkedHashMap<>();
+		jvm.put("heapUsedBytes", heap.getUsed());
+		jvm.put("heapCommittedBytes", heap.getCommitted());
+		jvm.put("uptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("routes", routes);
+		snapshot.put("jvm", jvm);
+		return snapshot;
+	}
+
+	private double rate(String route, long count, long now) {
+		long[] previous = previousCounts.put(route, new long[] { count, now });
+		if (previous == null || now == previous[1]) return 0d;
+		return (count - previous[0]) / ((now - previous[1]) / 1e9);
+	}
+
+	/** 0.5 becomes {@code p50Ms}, 0.999 becomes {@code p999Ms}. */
+	private static String percentileKey(double percentile) {
+		return "p" + BigDecimal.valueOf(percentile * 100).stripTrailingZeros().toPlainString().replace(".", "") + "Ms";
+	}
+}
@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.Person;
 import com.example.hello.repository.PersonRepository;
 import java.util.List;
@@ -13,14 +14,17 @@ public class PersonService {
     @Autowired
     private PersonRepository personRepository;
     
+    @Transactional(readOnly = true)
     public List<Person> listAll() {
         return personRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Person> findById(Long id) {
         return personRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Person> findBySid(String sid) {
         return personRepository.findBySid(sid);
     }
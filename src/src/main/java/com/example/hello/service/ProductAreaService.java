@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.ProductArea;
 import com.example.hello.repository.ProductAreaRepository;
 import java.util.List;
@@ -13,10 +14,12 @@ public class ProductAreaService {
     @Autowired
     private ProductAreaRepository productAreaRepository;
     
+    @Transactional(readOnly = true)
     public List<ProductArea> listAll() {
         return productAreaRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<ProductArea> findById(Long id) {
         return productAreaRepository.findById(id);
     }
@@ -0,0 +1,112 @@
+package com.example.hello.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Person;
+import com.example.hello.model.ProductArea;
+import com.example.hello.model.Role;
+import com.example.hello.model.Team;
+import com.example.hello.model.TeamMembership;
+
+/**
+ * The {@code shape=normalized} form of a list response: each item refers to teams, product areas,
+ * people and roles by id, and every referenced row appears once in a table keyed by that id.
+ * Items keep the field names of the full shape, with {@code team} becoming {@code teamId} and so on.
+ */
+public final class ReferenceTables {
+
+	private final Map<Long, Map<String, Object>> teams = new LinkedHashMap<>();
+	private final Map<Long, ProductArea> productAreas = new LinkedHashMap<>();
+	private final Map<Long, Person> persons = new LinkedHashMap<>();
+	private final Map<Long, Role> roles = new LinkedHashMap<>();
+
+	private ReferenceTables() {
+	}
+
+	public static Map<String, Object> ofApplications(List<Application> applications) {
+		ReferenceTables tables = new ReferenceTables();
+		List<Map<String, Object>> items = new ArrayList<>(applications.size());
+		for (Application a : applications) {
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("id", a.getId());
+			item.put("version", a.getVersion());
+			item.put("sealId", a.getSealId());
+			item.put("name", a.getName());
+			item.put("platform", a.getPlatform());
+			item.put("teamId", tables.team(a.getTeam()));
+			item.put("owningApg", a.getOwningApg());
+			item.put("codeRepository", a.getCodeRepository());
+			item.put("certificates", a.getCertificates());
+			item.put("productAreaId", tables.productArea(a.getProductArea()));
+			item.put("certificateEntities", a.getCertificateEntities());
+			items.add(item);
+		}
+		return tables.response(items);
+	}
+
+	public static Map<String, Object> ofMemberships(List<TeamMembership> memberships) {
+		ReferenceTables tables = new ReferenceTables();
+		List<Map<String, Object>> items = new ArrayList<>(memberships.size());
+		for (TeamMembership m : memberships) {
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("id", m.getId());
+			item.put("teamId", tables.team(m.getTeam()));
+			item.put("personId", tables.person(m.getPerson()));
+			item.put("roleId", tables.role(m.getRole()));
+			item.put("startDate", m.getStartDate());
+			item.put("endDate", m.getEndDate());
+			item.put("isPrimary", m.getIsPrimary());
+			item.put("createdDate", m.getCreatedDate());
+			item.put("updatedDate", m.getUpdatedDate());
+			items.add(item);
+		}
+		return tables.response(items);
+	}
+
+	private Long team(Team team) {
+		if (team == null) return null;
+		teams.computeIfAbsent(team.getId(), id -> {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("id", id);
+			row.put("name", team.getName());
+			row.put("description", team.getDescription());
+			row.put("productAreaId", productArea(team.getProductArea()));
+			row.put("createdDate", team.getCreatedDate());
+			row.put("updatedDate", team.getUpdatedDate());
+			return row;
+		});
+		return team.getId();
+	}
+
+	private Long productArea(ProductArea productArea) {
+		if (productArea == null) return null;
+		productAreas.putIfAbsent(productArea.getId(), productArea);
+		return productArea.getId();
+	}
+
+	private Long person(Person person) {
+		if (person == null) return null;
+		persons.putIfAbsent(person.getId(), person);
+		return person.getId();
+	}
+
+	private Long role(Role role) {
+		if (role == null) return null;
+		roles.putIfAbsent(role.getId(), role);
+		return role.getId();
+	}
+
+	private Map<String, Object> response(List<Map<String, Object>> items) {
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("items", items);
+		response.put("teams", teams);
+		response.put("productAreas", productAreas);
+		response.put("persons", persons);
+		response.put("roles", roles);
+		return response;
+	}
+}
@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.Role;
 import com.example.hello.repository.RoleRepository;
 import java.util.List;
@@ -13,10 +14,12 @@ public class RoleService {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Transactional(readOnly = true)
     public List<Role> listAll() {
         return roleRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public Optional<Role> findById(Long id) {
         return roleRepository.findById(id);
     }
@@ -0,0 +1,29 @@
+package com.example.hello.service;
+
+import java.util.Map;
+
+/** Field-level changes an import would make to one existing row; values are keyed by field name. */
+public class RowDiff {
+
+	private final Long id;
+	private final Map<String, Object> from;
+	private final Map<String, Object> to;
+
+	RowDiff(Long id, Map<String, Object> from, Map<String, Object> to) {
+		this.id = id;
+		this.from = from;
+		this.to = to;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Map<String, Object> getFrom() {
+		return from;
+	}
+
+	public Map<String, Object> getTo() {
+		return to;
+	}
+}
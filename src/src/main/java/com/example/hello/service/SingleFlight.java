@@ -0,0 +1,135 @@
+package com.example.hello.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces identical concurrent reads: the first caller for a key runs the loader, and callers that
+ * arrive while it runs wait for the same result instead of repeating the work. A finished result is
+ * handed out for a further micro-TTL ({@code app.single-flight.ttl-ms}), which absorbs the tail of a
+ * burst such as every open dashboard refreshing at once. A failure is passed to the waiting callers
+ * but never reused.
+ * <p>
+ * Callers sharing a result share the same objects, so loaders must return values nobody mutates,
+ * and nothing tied to the loading thread such as managed entities. A result may be up to the TTL
+ * older than a write that committed meanwhile, unless the key carries the data version it was read
+ * at; finished results whose TTL ran out are dropped whenever a new loader finishes.
+ * <p>
+ * {@code app.single-flight.requests} counts calls per name, tagged {@code outcome=leader} (ran the
+ * loader), {@code coalesced} (waited for a running loader) or {@code cached} (reused a finished result
+ * within the TTL).
+ */
+@Component
+public class SingleFlight {
+
+	private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final long defaultTtlNanos;
+
+	public SingleFlight(MeterRegistry meterRegistry, @Value("${app.single-flight.ttl-ms:100}") long ttlMs) {
+		this.meterRegistry = meterRegistry;
+		this.defaultTtlNanos = Duration.ofMillis(Math.max(ttlMs, 0)).toNanos();
+		Gauge.builder("app.single-flight.in-flight", flights, f -> f.values().stream().filter(flight -> !flight.result.isDone()).count())
+			.description("Loaders currently running on behalf of coalesced callers")
+			.register(meterRegistry);
+	}
+
+	/** Runs {@code loader} once for all concurrent callers of {@code name}, with the configured TTL. */
+	public <T> T execute(String name, Supplier<T> loader) {
+		return execute(name, "", defaultTtlNanos, loader);
+	}
+
+	/** Runs {@code loader} once for all concurrent callers of the same {@code name} and {@code key}, with the configured TTL. */
+	public <T> T execute(String name, String key, Supplier<T> loader) {
+		return execute(name, key, defaultTtlNanos, loader);
+	}
+
+	/**
+	 * Runs {@code loader} once for all concurrent callers of the same {@code name} and {@code key};
+	 * {@code name} alone tags the metrics, so it should have few distinct values.
+	 */
+	public <T> T execute(String name, String key, Duration ttl, Supplier<T> loader) {
+		return execute(name, key, ttl.toNanos(), loader);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T execute(String name, String key, long ttlNanos, Supplier<T> loader) {
+		String flightKey = name + '\u0000' + key;
+		while (true) {
+			Flight flight = flights.get(flightKey);
+			if (flight != null) {
+				if (!flight.result.isDone()) {
+					count(name, "coalesced");
+					return (T) await(flight);
+				}
+				if (!flight.result.isCompletedExceptionally() && System.nanoTime() - flight.completedAt < flight.ttlNanos) {
+					count(name, "cached");
+					return (T) flight.result.getNow(null);
+				}
+				flights.remove(flightKey, flight);
+			}
+
+			Flight mine = new Flight(ttlNanos);
+			if (flights.putIfAbsent(flightKey, mine) != null) continue;
+			count(name, "leader");
+			try {
+				T value = loader.get();
+				mine.completedAt = System.nanoTime();
+				mine.result.complete(value);
+				if (ttlNanos <= 0) flights.remove(flightKey, mine);
+				removeExpired();
+				return value;
+			} catch (RuntimeException | Error e) {
+				mine.result.completeExceptionally(e);
+				flights.remove(flightKey, mine);
+				throw e;
+			}
+		}
+	}
+
+	/** Drops finished results past their TTL, which would otherwise stay until their key is asked for again. */
+	private void removeExpired() {
+		long now = System.nanoTime();
+		flights.values().removeIf(flight -> flight.result.isDone() && now - flight.completedAt >= flight.ttlNanos);
+	}
+
+	private static Object await(Flight flight) {
+		try {
+			return flight.result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException("Interrupted while waiting for a coalesced result", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtime) throw runtime;
+			if (cause instanceof Error error) throw error;
+			throw new CompletionException(cause);
+		}
+	}
+
+	private void count(String name, String outcome) {
+		meterRegistry.counter("app.single-flight.requests", "name", name, "outcome", outcome).increment();
+	}
+
+	private static final class Flight {
+
+		final CompletableFuture<Object> result = new CompletableFuture<>();
+		final long ttlNanos;
+		/** Set before {@link #result} completes, so any caller that sees it done also sees this. */
+		volatile long completedAt;
+
+		Flight(long ttlNanos) {
+			this.ttlNanos = ttlNanos;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.hello.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.example.hello.io.MappedFileInputStream;
+
+/** An uploaded file spooled to local disk; closing it deletes the file. */
+public class StagedUpload implements AutoCloseable {
+
+	private final Path path;
+	private final String fileName;
+	private final long size;
+	private final String checksum;
+
+	StagedUpload(Path path, String fileName, long size, String checksum) {
+		this.path = path;
+		this.fileName = fileName;
+		this.size = size;
+		this.checksum = checksum;
+	}
+
+	public File file() {
+		return path.toFile();
+	}
+
+	/** Reads the staged file through memory-mapped windows. */
+	public InputStream openStream() throws IOException {
+		return new MappedFileInputStream(path);
+	}
+
+	public String fileName() {
+		return fileName;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	/** Hex-encoded SHA-256 of the file contents. */
+	public String checksum() {
+		return checksum;
+	}
+
+	@Override
+	public void close() throws IOException {
+		Files.deleteIfExists(path);
+	}
+}
@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.TeamMembership;
 import com.example.hello.repository.TeamMembershipRepository;
 import com.example.hello.repository.TeamRepository;
@@ -25,20 +26,24 @@ public class TeamMembershipService {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Transactional(readOnly = true)
     public List<TeamMembership> listAll() {
         return teamMembershipRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<TeamMembership> listByTeam(Long teamId) {
         return teamMembershipRepository.findByTeam_Id(teamId);
     }
     
+    @Transactional(readOnly = true)
     public List<TeamMembership> listByPerson(Long personId) {
         return teamMembershipRepository.findByPerson_Id(personId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<TeamMembership> findById(Long id) {
-        return teamMembershipRepository.findById(id);
+        return teamMembershipRepository.findDetailById(id);
     }
     
     public TeamMembership create(TeamMembership teamMembership) {
@@ -46,9 +51,9 @@ public class TeamMembershipService {
     }
     
     public TeamMembership update(Long id, TeamMembership teamMembershipDetails) {
-        return teamMembershipRepository.findById(id).map(teamMembership -> {
+        return teamMembershipRepository.findDetailById(id).map(teamMembership -> {
             if (teamMembershipDetails.getTeam() != null) {
-                teamRepository.findById(teamMembershipDetails.getTeam().getId())
+                teamRepository.findDetailById(teamMembershipDetails.getTeam().getId())
                     .ifPresent(teamMembership::setTeam);
             }
             if (teamMembershipDetails.getPerson() != null) {
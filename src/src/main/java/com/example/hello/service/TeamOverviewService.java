@@ -0,0 +1,246 @@
+package com.example.hello.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.ApplicationTeam;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.Person;
+import com.example.hello.model.Team;
+import com.example.hello.model.TeamMembership;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.ApplicationTeamRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.TeamMembershipRepository;
+import com.example.hello.repository.TeamRepository;
+
+/**
+ * Builds the team page in one call: roster, applications, repositories, certificate expiries and
+ * open finding counts. Each kind of row is loaded for all requested teams with IN queries, so the
+ * statement count does not grow with the number of teams, members or applications.
+ */
+@Service
+public class TeamOverviewService {
+
+	/** Bulk requests beyond this many teams are rejected rather than silently truncated. */
+	public static final int MAX_TEAMS = 200;
+
+	/** Applications a team owns through {@code Application.team} rather than an ApplicationTeam link. */
+	static final String OWNER_RELATIONSHIP = "Owner";
+
+	private final TeamRepository teamRepository;
+	private final TeamMembershipRepository teamMembershipRepository;
+	private final ApplicationRepository applicationRepository;
+	private final ApplicationTeamRepository applicationTeamRepository;
+	private final CodeRepositoryRepository codeRepositoryRepository;
+	private final CertificateRepository certificateRepository;
+	private final FarmFindingRepository farmFindingRepository;
+
+	public TeamOverviewService(TeamRepository teamRepository, TeamMembershipRepository teamMembershipRepository,
+			ApplicationRepository applicationRepository, ApplicationTeamRepository applicationTeamRepository,
+			CodeRepositoryRepository codeRepositoryRepository, CertificateRepository certificateRepository,
+			FarmFindingRepository farmFindingRepository) {
+		this.teamRepository = teamRepository;
+		this.teamMembershipRepository = teamMembershipRepository;
+		this.applicationRepository = applicationRepository;
+		this.applicationTeamRepository = applicationTeamRepository;
+		this.codeRepositoryRepository = codeRepositoryRepository;
+		this.certificateRepository = certificateRepository;
+		this.farmFindingRepository = farmFindingRepository;
+	}
+
+	@Transactional(readOnly = true)
+	public Map<String, Object> overview(Long teamId) {
+		List<Map<String, Object>> overviews = overviews(List.of(teamId));
+		if (overviews.isEmpty()) {
+			throw new IllegalArgumentException("Team not found with ID: " + teamId);
+		}
+		return overviews.get(0);
+	}
+
+	/** Overviews for the given teams in request order; unknown ids are left out. */
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> overviews(Collection<Long> teamIds) {
+		Set<Long> ids = new LinkedHashSet<>(teamIds);
+		ids.remove(null);
+		if (ids.size() > MAX_TEAMS) {
+			throw new IllegalArgumentException("At most " + MAX_TEAMS + " teams per request, got " + ids.size());
+		}
+		if (ids.isEmpty()) return List.of();
+
+		Map<Long, Team> teams = new HashMap<>();
+		for (Team team : InLists.loadAll(ids, teamRepository::findByIdIn)) {
+			teams.put(team.getId(), team);
+		}
+		ids.retainAll(teams.keySet());
+		if (ids.isEmpty()) return List.of();
+
+		LocalDate today = LocalDate.now();
+		Map<Long, List<TeamMembership>> members = new HashMap<>();
+		for (TeamMembership m : InLists.loadAll(ids, teamMembershipRepository::findByTeam_IdIn)) {
+			if (m.getEndDate() != null && m.getEndDate().isBefore(today)) continue;
+			members.computeIfAbsent(m.getTeam().getId(), k -> new ArrayList<>()).add(m);
+		}
+
+		// team id -> application id -> relationship; an owner link wins over any ApplicationTeam link
+		Map<Long, Map<Long, String>> relationships = new HashMap<>();
+		Map<Long, Application> applications = new HashMap<>();
+		for (Application application : InLists.loadAll(ids, applicationRepository::findByTeam_IdIn)) {
+			applications.put(application.getId(), application);
+			relationships.computeIfAbsent(application.getTeam().getId(), k -> new LinkedHashMap<>())
+				.put(application.getId(), OWNER_RELATIONSHIP);
+		}
+		for (ApplicationTeam link : InLists.loadAll(ids, applicationTeamRepository::findByTeam_IdIn)) {
+			Application application = link.getApplication();
+			applications.putIfAbsent(application.getId(), application);
+			relationships.computeIfAbsent(link.getTeam().getId(), k -> new LinkedHashMap<>())
+				.putIfAbsent(application.getId(), link.getRelationship());
+		}
+
+		Map<Long, List<Certificate>> certificates = new HashMap<>();
+		for (Certificate certificate : InLists.loadAll(applications.keySet(), certificateRepository::findByApplication_IdIn)) {
+			certificates.computeIfAbsent(certificate.getApplicationId(), k -> new ArrayList<>()).add(certificate);
+		}
+
+		Map<String, Long> openFindings = new HashMap<>();
+		Set<String> sealIds = new LinkedHashSet<>();
+		for (Application application : applications.values()) {
+			if (application.getSealId() != null) sealIds.add(application.getSealId());
+		}
+		for (Object[] row : InLists.loadAll(sealIds, farmFindingRepository::countUnresolvedByApplicationSealIdIn)) {
+			openFindings.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+		}
+
+		// repositories either belong to one of the teams or to one of their applications
+		Map<Long, CodeRepository> repositories = new LinkedHashMap<>();
+		for (CodeRepository repository : InLists.loadAll(ids, codeRepositoryRepository::findByTeam_IdIn)) {
+			repositories.put(repository.getId(), repository);
+		}
+		for (CodeRepository repository : InLists.loadAll(applications.keySet(), codeRepositoryRepository::findByApplication_IdIn)) {
+			repositories.putIfAbsent(repository.getId(), repository);
+		}
+
+		List<Map<String, Object>> overviews = new ArrayList<>();
+		for (Long id : ids) {
+			Map<Long, String> related = relationships.getOrDefault(id, Map.of());
+			List<Map<String, Object>> applicationRows = new ArrayList<>();
+			long teamOpenFindings = 0;
+			LocalDate teamNextExpiry = null;
+			for (Map.Entry<Long, String> entry : related.entrySet()) {
+				Application application = applications.get(entry.getKey());
+				Map<String, Object> row = applicationRow(application, entry.getValue(),
+					certificates.getOrDefault(application.getId(), List.of()), openFindings.getOrDefault(application.getSealId(), 0L));
+				teamOpenFindings += (Long) row.get("openFindings");
+				teamNextExpiry = earliest(teamNextExpiry, (LocalDate) row.get("nextCertificateExpiry"));
+				applicationRows.add(row);
+			}
+
+			List<Map<String, Object>> repositoryRows = new ArrayList<>();
+			for (CodeRepository repository : repositories.values()) {
+				Long repositoryTeamId = repository.getTeam() != null ? repository.getTeam().getId() : null;
+				Long applicationId = repository.getApplication() != null ? repository.getApplication().getId() : null;
+				boolean viaApplication = applicationId != null && related.containsKey(applicationId);
+				if (!id.equals(repositoryTeamId) && !viaApplication) continue;
+				Map<String, Object> row = new LinkedHashMap<>();
+				row.put("id", repository.getId());
+				row.put("repositoryUrl", repository.getRepositoryUrl());
+				row.put("projectId", repository.getProjectId());
+				row.put("applicationId", applicationId);
+				row.put("teamId", repositoryTeamId);
+				repositoryRows.add(row);
+			}
+
+			List<TeamMembership> teamMembers = members.getOrDefault(id, List.of());
+			Map<String, Long> roles = new TreeMap<>();
+			List<Map<String, Object>> memberRows = new ArrayList<>();
+			for (TeamMembership membership : teamMembers) {
+				roles.merge(membership.getRole().getName(), 1L, Long::sum);
+				memberRows.add(memberRow(membership));
+			}
+
+			Map<String, Object> overview = new LinkedHashMap<>();
+			overview.put("team", teamRow(teams.get(id)));
+			overview.put("members", memberRows);
+			overview.put("roles", roles);
+			overview.put("applications", applicationRows);
+			overview.put("repositories", repositoryRows);
+			overview.put("openFindings", teamOpenFindings);
+			overview.put("nextCertificateExpiry", teamNextExpiry);
+			overviews.add(overview);
+		}
+		return overviews;
+	}
+
+	private static Map<String, Object> teamRow(Team team) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", team.getId());
+		row.put("name", team.getName());
+		row.put("description", team.getDescription());
+		row.put("productAreaId", team.getProductArea() != null ? team.getProductArea().getId() : null);
+		row.put("productArea", team.getProductArea() != null ? team.getProductArea().getName() : null);
+		return row;
+	}
+
+	private static Map<String, Object> memberRow(TeamMembership membership) {
+		Person person = membership.getPerson();
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("membershipId", membership.getId());
+		row.put("personId", person.getId());
+		row.put("sid", person.getSid());
+		row.put("firstName", person.getFirstName());
+		row.put("lastName", person.getLastName());
+		row.put("email", person.getEmail());
+		row.put("role", membership.getRole().getName());
+		row.put("primary", Boolean.TRUE.equals(membership.getIsPrimary()));
+		row.put("startDate", membership.getStartDate());
+		row.put("endDate", membership.getEndDate());
+		return row;
+	}
+
+	private static Map<String, Object> applicationRow(Application application, String relationship,
+			List<Certificate> certificates, long openFindings) {
+		List<Map<String, Object>> certificateRows = new ArrayList<>();
+		LocalDate nextExpiry = null;
+		List<Certificate> sorted = new ArrayList<>(certificates);
+		sorted.sort(Comparator.comparing(Certificate::getExpirationDate, Comparator.nullsLast(Comparator.naturalOrder())));
+		for (Certificate certificate : sorted) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("id", certificate.getId());
+			row.put("cn", certificate.getCn());
+			row.put("expirationDate", certificate.getExpirationDate());
+			certificateRows.add(row);
+			nextExpiry = earliest(nextExpiry, certificate.getExpirationDate());
+		}
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("id", application.getId());
+		row.put("sealId", application.getSealId());
+		row.put("name", application.getName());
+		row.put("relationship", relationship);
+		row.put("openFindings", openFindings);
+		row.put("nextCertificateExpiry", nextExpiry);
+		row.put("certificates", certificateRows);
+		return row;
+	}
+
+	private static LocalDate earliest(LocalDate a, LocalDate b) {
+		if (a == null) return b;
+		if (b == null) return a;
+		return a.isBefore(b) ? a : b;
+	}
+}
@@ -2,6 +2,7 @@ package com.example.hello.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.hello.model.Team;
 import com.example.hello.repository.TeamRepository;
 import com.example.hello.repository.ProductAreaRepository;
@@ -17,16 +18,19 @@ public class TeamService {
     @Autowired
     private ProductAreaRepository productAreaRepository;
     
+    @Transactional(readOnly = true)
     public List<Team> listAll() {
         return teamRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Team> listByProductArea(Long productAreaId) {
         return teamRepository.findByProductArea_Id(productAreaId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Team> findById(Long id) {
-        return teamRepository.findById(id);
+        return teamRepository.findDetailById(id);
     }
     
     public Team create(Team team) {
@@ -34,7 +38,7 @@ public class TeamService {
     }
     
     public Team update(Long id, Team teamDetails) {
-        return teamRepository.findById(id).map(team -> {
+        return teamRepository.findDetailById(id).map(team -> {
             team.setName(teamDetails.getName());
             team.setDescription(teamDetails.getDescription());
             if (teamDetails.getProductArea() != null) {
@@ -0,0 +1,129 @@
+package com.example.hello.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.JobCheckpoint;
+import com.example.hello.model.TicketStatusCategory;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.JobCheckpointRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+
+/**
+ * Keeps the ticket rollup columns on {@link FarmFinding} in step with its tickets. Callers that add,
+ * change or remove tickets call {@link #refresh} in the same transaction; the counts are recomputed
+ * from the (auto-flushed) ticket rows rather than adjusted, so they cannot drift. Two transactions
+ * touching tickets of one finding both update the finding row, and its optimistic version makes
+ * the later one fail instead of losing a count.
+ * <p>
+ * Rows written before the rollup columns existed are filled in once at startup, a chunk of
+ * findings per transaction, behind a {@link JobCheckpoint} so only one node does it.
+ */
+@Service
+public class TicketRollupService {
+
+	static final String BACKFILL_JOB = "ticket-rollup-backfill";
+
+	private static final int CHUNK_SIZE = 500;
+
+	private static final Logger log = LoggerFactory.getLogger(TicketRollupService.class);
+
+	private final FarmFindingRepository farmFindingRepository;
+	private final ResolverTicketRepository resolverTicketRepository;
+	private final JobCheckpointRepository checkpointRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public TicketRollupService(FarmFindingRepository farmFindingRepository, ResolverTicketRepository resolverTicketRepository,
+			JobCheckpointRepository checkpointRepository, PlatformTransactionManager transactionManager) {
+		this.farmFindingRepository = farmFindingRepository;
+		this.resolverTicketRepository = resolverTicketRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Recounts the tickets of the given (managed) findings. Findings whose id is in
+	 * {@code statusChanged} also get their last status change stamped with the current time.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void refresh(Collection<FarmFinding> findings, Set<Long> statusChanged) {
+		Map<Long, FarmFinding> byId = new HashMap<>();
+		for (FarmFinding finding : findings) {
+			if (finding != null && finding.getId() != null) byId.put(finding.getId(), finding);
+		}
+		if (byId.isEmpty()) return;
+
+		Map<Long, int[]> counts = new HashMap<>();
+		for (Object[] row : InLists.loadAll(byId.keySet(), resolverTicketRepository::countByFindingIdInGroupByStatus)) {
+			int[] perCategory = counts.computeIfAbsent((Long) row[0], k -> new int[3]);
+			perCategory[TicketStatusCategory.of((String) row[1]).ordinal()] += ((Number) row[2]).intValue();
+		}
+		LocalDateTime now = LocalDateTime.now();
+		for (FarmFinding finding : byId.values()) {
+			int[] c = counts.getOrDefault(finding.getId(), new int[3]);
+			if (c[0] != finding.getOpenTicketCount() || c[1] != finding.getInProgressTicketCount() || c[2] != finding.getDoneTicketCount()) {
+				finding.setTicketRollup(c[TicketStatusCategory.OPEN.ordinal()], c[TicketStatusCategory.IN_PROGRESS.ordinal()],
+					c[TicketStatusCategory.DONE.ordinal()]);
+			}
+			if (statusChanged.contains(finding.getId())) finding.setLastTicketStatusChange(now);
+		}
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void refresh(FarmFinding finding, boolean statusChanged) {
+		refresh(List.of(finding), statusChanged ? Set.of(finding.getId()) : Set.of());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		ensureCheckpoint();
+		int findings = 0;
+		while (true) {
+			int processed = transactionTemplate.execute(status -> backfillChunk());
+			if (processed < 0) break;
+			findings += processed;
+		}
+		if (findings > 0) log.info("Backfilled ticket rollups for {} findings", findings);
+	}
+
+	/** Returns the number of findings recounted, or -1 once the backfill is complete. */
+	private int backfillChunk() {
+		JobCheckpoint checkpoint = checkpointRepository.findForUpdate(BACKFILL_JOB).orElseThrow();
+		if (checkpoint.getLastRunAt() != null) return -1;
+		long after = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+		List<FarmFinding> chunk = farmFindingRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(CHUNK_SIZE));
+		refresh(chunk, Set.of());
+		if (chunk.size() < CHUNK_SIZE) {
+			checkpoint.setLastRunAt(LocalDateTime.now());
+		} else {
+			checkpoint.setLastPosition(chunk.get(chunk.size() - 1).getId());
+		}
+		return chunk.size();
+	}
+
+	private void ensureCheckpoint() {
+		if (checkpointRepository.existsById(BACKFILL_JOB)) return;
+		try {
+			transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAndFlush(new JobCheckpoint(BACKFILL_JOB)));
+		} catch (DataIntegrityViolationException e) {
+			// another node created it first
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package com.example.hello.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.hello.model.JobCheckpoint;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.JobCheckpointRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pulls ticket statuses from the {@link IssueTrackerClient} and writes the ones that changed.
+ * <p>
+ * A pass walks tickets with a Jira key in id order, one tracker batch at a time. Each batch is first
+ * claimed by advancing a {@link JobCheckpoint} under its row lock, so several nodes share a pass
+ * instead of repeating it, and the lock is not held during the tracker call. Tracker requests are
+ * spaced to {@code app.tickets.sync.requests-per-second} and retried with exponential backoff and
+ * jitter (or the tracker's {@code Retry-After}). Changes are applied per batch with one bulk UPDATE
+ * per new status, after which the affected findings' ticket rollups are recounted.
+ * <p>
+ * The tracker is the source of truth: a status edited locally is overwritten on the next pass if the
+ * tracker disagrees. A batch that still fails after the last retry ends the call and is handed back:
+ * the checkpoint is moved back to where the batch started, unless a new pass is already under way,
+ * so the next call retries it first.
+ * <p>
+ * Passes asked for over the API ({@link #requestSync()}) run on the task scheduler, never on the
+ * request thread; {@link #status()} reports the last one.
+ */
+@Service
+public class TicketSyncService {
+
+	static final String JOB = "ticket-sync";
+
+	private static final Logger log = LoggerFactory.getLogger(TicketSyncService.class);
+
+	private final ResolverTicketRepository resolverTicketRepository;
+	private final FarmFindingRepository farmFindingRepository;
+	private final JobCheckpointRepository checkpointRepository;
+	private final TicketRollupService ticketRollupService;
+	private final DataVersionService dataVersionService;
+	private final IssueTrackerClient client;
+	private final TaskScheduler taskScheduler;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final long permitIntervalNanos;
+	private final int maxAttempts;
+	private final long backoffMs;
+	private final long maxBackoffMs;
+
+	private final Counter ticketsChecked;
+	private final Counter ticketsUpdated;
+	private final Counter retries;
+	private final Counter failures;
+	private final Timer batchTimer;
+
+	private final AtomicBoolean queued = new AtomicBoolean();
+	private volatile boolean running;
+	private volatile SyncResult lastResult;
+	private volatile LocalDateTime lastFinishedAt;
+
+	private long nextPermitAt = System.nanoTime();
+
+	public TicketSyncService(ResolverTicketRepository resolverTicketRepository, FarmFindingRepository farmFindingRepository,
+			JobCheckpointRepository checkpointRepository, TicketRollupService ticketRollupService,
+			DataVersionService dataVersionService, IssueTrackerClient client, TaskScheduler taskScheduler,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${app.tickets.sync.enabled:false}") boolean enabled,
+			@Value("${app.tickets.sync.requests-per-second:5}") double requestsPerSecond,
+			@Value("${app.tickets.sync.max-attempts:4}") int maxAttempts,
+			@Value("${app.tickets.sync.backoff-ms:500}") long backoffMs,
+			@Value("${app.tickets.sync.max-backoff-ms:30000}") long maxBackoffMs) {
+		this.resolverTicketRepository = resolverTicketRepository;
+		this.farmFindingRepository = farmFindingRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.ticketRollupService = ticketRollupService;
+		this.dataVersionService = dataVersionService;
+		this.client = client;
+		this.taskScheduler = taskScheduler;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.permitIntervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0L;
+		this.maxAttempts = Math.max(maxAttempts, 1);
+		this.backoffMs = Math.max(backoffMs, 1);
+		this.maxBackoffMs = Math.max(maxBackoffMs, this.backoffMs);
+
+		this.ticketsChecked = meterRegistry.counter("app.tickets.sync.checked");
+		this.ticketsUpdated = meterRegistry.counter("app.tickets.sync.updated");
+		this.retries = meterRegistry.counter("app.tickets.sync.retries");
+		this.failures = meterRegistry.counter("app.tickets.sync.failures");
+		this.batchTimer = meterRegistry.timer("app.tickets.sync.batch");
+	}
+
+	@Scheduled(initialDelayString = "${app.tickets.sync.initial-delay-ms:30000}",
+			fixedDelayString = "${app.tickets.sync.interval-ms:300000}")
+	public void scheduledPass() {
+		if (!enabled) return;
+		logResult(sync());
+	}
+
+	/**
+	 * Queues a pass on the task scheduler, whether or not the scheduled sync is enabled. Returns false
+	 * when one is already queued; a pass that is running does not stop another being queued behind it.
+	 */
+	public boolean requestSync() {
+		if (!queued.compareAndSet(false, true)) return false;
+		try {
+			taskScheduler.schedule(() -> {
+				queued.set(false);
+				logResult(sync());
+			}, Instant.now());
+		} catch (RuntimeException e) {
+			queued.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	/** Whether a pass is queued or running on this node, and how the last one ended. */
+	public SyncStatus status() {
+		return new SyncStatus(queued.get(), running, lastResult, lastFinishedAt);
+	}
+
+	private static void logResult(SyncResult result) {
+		log.info("Ticket sync pass finished: {} tickets checked, {} updated{}", result.checked(), result.updated(),
+			result.failure() != null ? ", stopped early: " + result.failure() : "");
+	}
+
+	/**
+	 * Runs until the current pass completes, starting from the stored checkpoint, or until a batch
+	 * fails for good. Calls on one node run one at a time.
+	 */
+	public synchronized SyncResult sync() {
+		running = true;
+		try {
+			SyncResult result = runPass();
+			lastResult = result;
+			lastFinishedAt = LocalDateTime.now();
+			return result;
+		} finally {
+			running = false;
+		}
+	}
+
+	private SyncResult runPass() {
+		ensureCheckpoint();
+		PassMarker marker = transactionTemplate.execute(status -> PassMarker.of(checkpointRepository.findById(JOB).orElseThrow()));
+		int checked = 0;
+		int updated = 0;
+		while (true) {
+			PassMarker seen = marker;
+			Claim claim = transactionTemplate.execute(status -> claimBatch(seen));
+			if (!claim.rows().isEmpty()) {
+				long batchStart = System.nanoTime();
+				Map<String, String> remote;
+				try {
+					remote = fetchWithRetry(claim.rows());
+				} catch (IssueTrackerException e) {
+					failures.increment();
+					log.warn("Ticket sync batch after id {} failed; handing it back", claim.after(), e);
+					transactionTemplate.executeWithoutResult(status -> handBack(claim));
+					return new SyncResult(checked, updated, e.getMessage());
+				}
+				int batchUpdated = transactionTemplate.execute(status -> apply(claim.rows(), remote));
+				batchTimer.record(System.nanoTime() - batchStart, TimeUnit.NANOSECONDS);
+				ticketsChecked.increment(claim.rows().size());
+				ticketsUpdated.increment(batchUpdated);
+				checked += claim.rows().size();
+				updated += batchUpdated;
+			}
+			if (claim.passComplete()) return new SyncResult(checked, updated, null);
+			marker = new PassMarker(claim.position(), marker.completedAt());
+		}
+	}
+
+	private Claim claimBatch(PassMarker seen) {
+		JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB).orElseThrow();
+		if (seen.finishedSince(checkpoint)) {
+			// another node claimed the last batch of this pass while we waited for the lock
+			return new Claim(0L, 0L, List.of(), true);
+		}
+		long after = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+		int batchSize = client.maxBatchSize();
+		List<Object[]> rows = resolverTicketRepository.findSyncRowsAfter(after, Limit.of(batchSize));
+		boolean passComplete = rows.size() < batchSize;
+		long position = passComplete ? 0L : (Long) rows.get(rows.size() - 1)[0];
+		checkpoint.setLastPosition(position);
+		if (passComplete) checkpoint.setLastRunAt(LocalDateTime.now());
+		return new Claim(after, position, rows, passComplete);
+	}
+
+	/**
+	 * Moves the checkpoint back to the start of a batch that failed, so the next call retries it
+	 * rather than the walk skipping it until the next pass. Left alone when a new pass has already
+	 * started below the batch, since that pass reaches these tickets anyway.
+	 */
+	private void handBack(Claim claim) {
+		JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB).orElseThrow();
+		long current = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+		if (current == 0L || current > claim.after()) checkpoint.setLastPosition(claim.after());
+	}
+
+	private Map<String, String> fetchWithRetry(List<Object[]> rows) {
+		Set<String> keys = new LinkedHashSet<>();
+		for (Object[] row : rows) keys.add((String) row[1]);
+		for (int attempt = 1; ; attempt++) {
+			awaitPermit();
+			try {
+				return client.fetchStatuses(keys);
+			} catch (IssueTrackerException e) {
+				if (!e.isRetryable() || attempt >= maxAttempts) throw e;
+				retries.increment();
+				long delay = e.getRetryAfter() != null ? e.getRetryAfter().toMillis() : backoff(attempt);
+				sleep(delay);
+			}
+		}
+	}
+
+	/** Exponential backoff with full jitter in its upper half, capped at max-backoff-ms. */
+	private long backoff(int attempt) {
+		long ceiling = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+		return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+	}
+
+	/** Spaces tracker requests evenly; bursts are not saved up while the pass is idle. */
+	private void awaitPermit() {
+		long now = System.nanoTime();
+		long wait = nextPermitAt - now;
+		nextPermitAt = Math.max(now, nextPermitAt) + permitIntervalNanos;
+		if (wait > 0) sleep(TimeUnit.NANOSECONDS.toMillis(wait));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IssueTrackerException("Interrupted while waiting to call the issue tracker", false, null, e);
+		}
+	}
+
+	/** Writes the statuses that differ, one bulk UPDATE per new status, and recounts the findings' rollups. */
+	private int apply(List<Object[]> rows, Map<String, String> remote) {
+		Map<String, List<Long>> idsByStatus = new HashMap<>();
+		Set<Long> findingIds = new LinkedHashSet<>();
+		for (Object[] row : rows) {
+			String status = remote.get((String) row[1]);
+			if (status == null || status.equals(row[2])) continue;
+			idsByStatus.computeIfAbsent(status, k -> new ArrayList<>()).add((Long) row[0]);
+			if (row[3] != null) findingIds.add((Long) row[3]);
+		}
+		if (idsByStatus.isEmpty()) return 0;
+
+		int updated = 0;
+		for (Map.Entry<String, List<Long>> entry : idsByStatus.entrySet()) {
+			updated += resolverTicketRepository.updateStatus(entry.getValue(), entry.getKey());
+		}
+		if (updated == 0) return 0;
+		dataVersionService.changed(ResolverTicket.class);
+		ticketRollupService.refresh(InLists.loadAll(findingIds, farmFindingRepository::findAllById), findingIds);
+		return updated;
+	}
+
+	private void ensureCheckpoint() {
+		if (checkpointRepository.existsById(JOB)) return;
+		try {
+			transactionTemplate.executeWithoutResult(status -> checkpointRepository.saveAndFlush(new JobCheckpoint(JOB)));
+		} catch (DataIntegrityViolationException e) {
+			// another node created it first
+		}
+	}
+
+	/**
+	 * Outcome of one {@link #sync()} call.
+	 *
+	 * @param failure why the pass stopped early, or null when it completed
+	 */
+	public record SyncResult(int checked, int updated, String failure) {
+	}
+
+	/**
+	 * Sync state on this node.
+	 *
+	 * @param lastResult outcome of the last pass on this node, or null before the first
+	 */
+	public record SyncStatus(boolean queued, boolean running, SyncResult lastResult, LocalDateTime lastFinishedAt) {
+	}
+
+	/** A claimed batch: the ids after {@code after}, with the checkpoint moved to {@code position}. */
+	private record Claim(long after, long position, List<Object[]> rows, boolean passComplete) {
+	}
+
+	/**
+	 * What this call last saw on the checkpoint: the position it continues from and the stamp of the
+	 * last completed pass. Positions only grow within a pass and go back to 0 when it completes (or
+	 * back to a failed batch's start when it is handed back), and the stamp is rewritten on
+	 * completion, so either moving means this call should stop. The stamp is only compared for
+	 * equality, never against this node's clock.
+	 */
+	private record PassMarker(long position, LocalDateTime completedAt) {
+
+		static PassMarker of(JobCheckpoint checkpoint) {
+			return new PassMarker(checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L, checkpoint.getLastRunAt());
+		}
+
+		boolean finishedSince(JobCheckpoint checkpoint) {
+			long current = checkpoint.getLastPosition() != null ? checkpoint.getLastPosition() : 0L;
+			return current < position || !Objects.equals(checkpoint.getLastRunAt(), completedAt);
+		}
+	}
+}
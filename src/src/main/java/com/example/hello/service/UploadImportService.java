@@ -0,0 +1,182 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.hello.model.ImportReceipt;
+import com.example.hello.repository.ImportReceiptRepository;
+
+/**
+ * Entry point for file imports: stages the upload on disk, short-circuits files that were already
+ * imported to the same endpoint (matched by SHA-256), and otherwise parses the staged file as CSV
+ * or XLSX and records a receipt of the outcome. Dry runs are never short-circuited or recorded.
+ * <p>
+ * Before importing, an upload claims its checksum with an incomplete {@link ImportReceipt#claim}
+ * row. The receipts' unique key lets one upload win; a concurrent upload of the same file waits up
+ * to {@code app.import.claim-wait-ms} for that import to finish and replays its outcome. A failed
+ * import drops its claim; one left behind by a node that died is taken over after
+ * {@code app.import.claim-stale-ms}.
+ */
+@Service
+public class UploadImportService {
+
+	private static final String WORKBOOK_SCOPE = "workbook";
+	private static final long CLAIM_POLL_MILLIS = 200;
+
+	private final UploadStagingService uploadStagingService;
+	private final WorkbookImportService workbookImportService;
+	private final CsvImportService csvImportService;
+	private final ImportReceiptRepository importReceiptRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final long claimWaitNanos;
+	private final Duration claimStaleAfter;
+
+	public UploadImportService(UploadStagingService uploadStagingService, WorkbookImportService workbookImportService,
+			CsvImportService csvImportService, ImportReceiptRepository importReceiptRepository, TransactionTemplate transactionTemplate,
+			@Value("${app.import.claim-wait-ms:60000}") long claimWaitMillis,
+			@Value("${app.import.claim-stale-ms:3600000}") long claimStaleMillis) {
+		this.uploadStagingService = uploadStagingService;
+		this.workbookImportService = workbookImportService;
+		this.csvImportService = csvImportService;
+		this.importReceiptRepository = importReceiptRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.claimWaitNanos = TimeUnit.MILLISECONDS.toNanos(claimWaitMillis);
+		this.claimStaleAfter = Duration.ofMillis(claimStaleMillis);
+	}
+
+	/** Imports every recognised sheet of a workbook; {@code force} re-imports a file seen before. */
+	public Map<String, ImportResult> importWorkbook(MultipartFile file, boolean force, boolean dryRun) throws IOException {
+		try (StagedUpload upload = uploadStagingService.stage(file)) {
+			if (dryRun) return workbookImportService.importWorkbook(upload.file(), true);
+			return importOnce(upload, WORKBOOK_SCOPE, force, () -> workbookImportService.importWorkbook(upload.file(), false));
+		}
+	}
+
+	/** Imports one dataset from a .csv file, or from the first sheet of a workbook. */
+	public ImportResult importDataset(ImportDataset dataset, MultipartFile file, boolean force, boolean dryRun) throws IOException {
+		try (StagedUpload upload = uploadStagingService.stage(file)) {
+			if (dryRun) return parse(dataset, file, upload, true);
+			return importOnce(upload, dataset.key(), force,
+				() -> Map.of(dataset.key(), parse(dataset, file, upload, false))).get(dataset.key());
+		}
+	}
+
+	private ImportResult parse(ImportDataset dataset, MultipartFile file, StagedUpload upload, boolean dryRun) throws IOException {
+		return isCsv(file)
+			? csvImportService.importCsv(dataset, upload.openStream(), dryRun)
+			: workbookImportService.importSheet(dataset, upload.file(), dryRun);
+	}
+
+	/** Runs {@code importer} under a claim on the upload's checksum, or replays the import that already ran. */
+	private Map<String, ImportResult> importOnce(StagedUpload upload, String scope, boolean force, Importer importer)
+			throws IOException {
+		long deadline = System.nanoTime() + claimWaitNanos;
+		Long claimed;
+		while (true) {
+			List<ImportReceipt> receipts = importReceiptRepository.findByChecksumAndScope(upload.checksum(), scope);
+			ImportReceipt claim = receipts.stream().filter(ImportReceipt::isClaim).findFirst().orElse(null);
+			if (claim != null && !claim.isCompleted()) {
+				if (claim.getImportedAt().isBefore(LocalDateTime.now().minus(claimStaleAfter))) {
+					// the node that claimed it stopped before finishing or releasing it
+					transactionTemplate.executeWithoutResult(status -> importReceiptRepository.deleteIncompleteClaim(claim.getId()));
+					continue;
+				}
+				if (System.nanoTime() > deadline) {
+					throw new ImportInProgressException("This file is still being imported by another request; retry later");
+				}
+				sleep();
+				continue;
+			}
+			// receipts recorded before claims existed have no claim row but replay the same way
+			if (!force && !receipts.isEmpty()) return replay(receipts);
+			try {
+				claimed = transactionTemplate.execute(status -> {
+					if (force) importReceiptRepository.deleteAllInBatch(receipts);
+					return importReceiptRepository.saveAndFlush(
+						ImportReceipt.claim(upload.checksum(), scope, upload.fileName(), upload.size())).getId();
+				});
+				break;
+			} catch (DataIntegrityViolationException e) {
+				// a concurrent upload of the same file claimed it first; wait for its outcome
+			}
+		}
+
+		Long claimId = claimed;
+		try {
+			Map<String, ImportResult> results = importer.run();
+			record(upload, scope, claimId, results);
+			return results;
+		} catch (IOException | RuntimeException e) {
+			transactionTemplate.executeWithoutResult(status -> importReceiptRepository.deleteIncompleteClaim(claimId));
+			throw e;
+		}
+	}
+
+	private static Map<String, ImportResult> replay(List<ImportReceipt> receipts) {
+		Map<String, ImportResult> results = new LinkedHashMap<>();
+		for (ImportReceipt receipt : receipts) {
+			if (receipt.isClaim()) continue;
+			results.put(receipt.getDataset(),
+				ImportResult.replayed(receipt.getCreatedCount(), receipt.getUpdatedCount(), receipt.getUnchangedCount(),
+					receipt.getSkippedCount()));
+		}
+		return results;
+	}
+
+	/** Writes the per-dataset receipts and completes the claim in one transaction. */
+	private void record(StagedUpload upload, String scope, Long claimId, Map<String, ImportResult> results) {
+		List<ImportReceipt> receipts = new ArrayList<>();
+		results.forEach((dataset, result) -> {
+			ImportReceipt receipt = new ImportReceipt(upload.checksum(), scope, dataset, upload.fileName(), upload.size());
+			receipt.setCreatedCount(result.getCreated());
+			receipt.setUpdatedCount(result.getUpdated());
+			receipt.setUnchangedCount(result.getUnchanged());
+			receipt.setSkippedCount(result.getSkipped());
+			receipts.add(receipt);
+		});
+		transactionTemplate.executeWithoutResult(status -> {
+			importReceiptRepository.saveAll(receipts);
+			importReceiptRepository.findById(claimId).ifPresent(ImportReceipt::complete);
+		});
+	}
+
+	private static void sleep() {
+		try {
+			Thread.sleep(CLAIM_POLL_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ImportInProgressException("Interrupted while waiting for a concurrent import of this file");
+		}
+	}
+
+	private static boolean isCsv(MultipartFile file) {
+		String name = file.getOriginalFilename();
+		String type = file.getContentType();
+		return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".csv")) || (type != null && type.startsWith("text/csv"));
+	}
+
+	private interface Importer {
+		Map<String, ImportResult> run() throws IOException;
+	}
+
+	/** The same file is being imported by another request that did not finish within the claim wait. */
+	public static class ImportInProgressException extends RuntimeException {
+
+		public ImportInProgressException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.hello.service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Spools multipart uploads to a staging directory instead of reading them into a byte array, and
+ * fingerprints them with SHA-256 computed over memory-mapped windows of the staged file.
+ */
+@Service
+public class UploadStagingService {
+
+	private static final long DIGEST_WINDOW = 64L * 1024 * 1024;
+
+	private final Path stagingDir;
+	private final DataSize maxUploadSize;
+
+	public UploadStagingService(@Value("${app.import.staging-dir:${java.io.tmpdir}/hello-imports}") Path stagingDir,
+			@Value("${app.import.max-upload-size:256MB}") DataSize maxUploadSize) {
+		this.stagingDir = stagingDir;
+		this.maxUploadSize = maxUploadSize;
+	}
+
+	public StagedUpload stage(MultipartFile file) throws IOException {
+		if (file.getSize() > maxUploadSize.toBytes()) {
+			throw new MaxUploadSizeExceededException(maxUploadSize.toBytes());
+		}
+		Files.createDirectories(stagingDir);
+		Path path = Files.createTempFile(stagingDir, "upload-", ".tmp");
+		try {
+			// the servlet container moves its own temp file here when the part was already written to disk
+			file.transferTo(path.toFile());
+			return new StagedUpload(path, file.getOriginalFilename(), Files.size(path), sha256(path));
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(path);
+			throw e;
+		}
+	}
+
+	static String sha256(Path path) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size; position += DIGEST_WINDOW) {
+				digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(DIGEST_WINDOW, size - position)));
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.hello.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reads Excel workbooks into plain rows and hands them to {@link DatasetImporter}.
+ * <p>
+ * Parsing happens before any transaction is opened: every recognised sheet is parsed concurrently
+ * on a dedicated fork-join pool. A sheet is read by one thread only, since its rows live in a single
+ * XMLBeans document that is not safe to read from several threads at once. The parsed rows
+ * are then written in {@link ImportDataset} order, so a single workbook can carry findings together
+ * with the tickets that reference them.
+ */
+@Service
+public class WorkbookImportService {
+
+	private final DatasetImporter datasetImporter;
+	private final ForkJoinPool pool;
+
+	public WorkbookImportService(DatasetImporter datasetImporter,
+			@Value("${app.import.parallelism:0}") int parallelism) {
+		this.datasetImporter = datasetImporter;
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Imports every sheet whose name matches a dataset (e.g. "Findings", "ResolverTickets");
+	 * other sheets are ignored. Results are keyed by {@link ImportDataset#key()}.
+	 */
+	public Map<String, ImportResult> importWorkbook(File file, boolean dryRun) throws IOException {
+		try (Workbook workbook = open(file)) {
+			Map<ImportDataset, Sheet> sheets = new EnumMap<>(ImportDataset.class);
+			for (Sheet sheet : workbook) {
+				ImportDataset.forSheet(sheet.getSheetName()).ifPresent(dataset -> sheets.putIfAbsent(dataset, sheet));
+			}
+			return datasetImporter.importAll(parse(sheets), dryRun);
+		}
+	}
+
+	/** Imports the first sheet of a workbook as the given dataset, whatever it is named. */
+	public ImportResult importSheet(ImportDataset dataset, File file, boolean dryRun) throws IOException {
+		try (Workbook workbook = open(file)) {
+			Map<ImportDataset, Sheet> sheets = new EnumMap<>(ImportDataset.class);
+			sheets.put(dataset, workbook.getSheetAt(0));
+			return datasetImporter.importRows(dataset, parse(sheets).get(dataset), dryRun);
+		}
+	}
+
+	/**
+	 * Opens the workbook read-only from the file itself; POI then reads the zip entries it needs
+	 * instead of buffering the whole stream in memory first.
+	 */
+	private static Workbook open(File file) throws IOException {
+		return WorkbookFactory.create(file, null, true);
+	}
+
+	private Map<ImportDataset, List<String[]>> parse(Map<ImportDataset, Sheet> sheets) {
+		Map<ImportDataset, ForkJoinTask<List<String[]>>> tasks = new EnumMap<>(ImportDataset.class);
+		sheets.forEach((dataset, sheet) ->
+			tasks.put(dataset, pool.submit(() -> readRows(sheet, dataset.columns()))));
+		Map<ImportDataset, List<String[]>> rows = new EnumMap<>(ImportDataset.class);
+		tasks.forEach((dataset, task) -> rows.put(dataset, task.join()));
+		return rows;
+	}
+
+	/** Every non-empty row of a sheet below the header row. */
+	private static List<String[]> readRows(Sheet sheet, int columns) {
+		List<String[]> rows = new ArrayList<>(Math.max(sheet.getLastRowNum(), 0));
+		for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+			String[] values = read(sheet.getRow(i), columns);
+			if (values != null) rows.add(values);
+		}
+		return rows;
+	}
+
+	private static String[] read(Row row, int columns) {
+		if (row == null) return null;
+		String[] values = new String[columns];
+		boolean empty = true;
+		for (int c = 0; c < columns; c++) {
+			values[c] = cellText(row.getCell(c));
+			if (values[c] != null) empty = false;
+		}
+		return empty ? null : values;
+	}
+
+	/** Trimmed text of a cell; numbers become whole numbers and date-formatted cells ISO dates. */
+	private static String cellText(Cell cell) {
+		if (cell == null) return null;
+		if (cell.getCellType() == CellType.STRING) {
+			String value = cell.getStringCellValue();
+			return value == null || value.isBlank() ? null : value.trim();
+		}
+		if (cell.getCellType() == CellType.NUMERIC) {
+			if (DateUtil.isCellDateFormatted(cell)) {
+				return cell.getLocalDateTimeCellValue().toLocalDate().toString();
+			}
+			return String.valueOf((long) cell.getNumericCellValue());
+		}
+		return null;
+	}
+}
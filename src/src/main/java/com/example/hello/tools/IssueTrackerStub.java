@@ -0,0 +1,207 @@
+package com.example.hello.tools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.hello.service.FileIssueTrackerClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for Jira's {@code POST /rest/api/2/search}, for trying the ticket sync with
+ * {@code app.tickets.sync.client=http} without a real tracker. Like Jira it matches the keys in the
+ * JQL case-insensitively and answers with its own (upper-case) keys.
+ * <p>
+ * Tests start one on a free port with {@link #start(int, Function)} or {@link #withStatuses()},
+ * set statuses with {@link #status}, and queue failures with {@link #failNext}. From the command
+ * line it serves the same {@code KEY,Status} file the file client reads, and can fail a share of
+ * requests with 429 or 503 to exercise the sync's retries. Run it like {@link LoadGenerator} (see README).
+ *
+ * <pre>
+ * --port        port to listen on (default 8089)
+ * --file        statuses file (default ./data/issue-tracker.csv)
+ * --error-rate  fraction of requests answered with 429 or 503 (default 0)
+ * --latency-ms  delay added to every response (default 0)
+ * </pre>
+ */
+public final class IssueTrackerStub implements AutoCloseable {
+
+	private static final Pattern QUOTED_KEY = Pattern.compile("\"([^\"]+)\"");
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Function<Collection<String>, Map<String, String>> lookup;
+	private final Map<String, String> statuses = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Integer> queuedFailures = new ConcurrentLinkedQueue<>();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicLong requests = new AtomicLong();
+	private volatile double errorRate;
+	private volatile long latencyMs;
+
+	private IssueTrackerStub(int port, Function<Collection<String>, Map<String, String>> lookup) throws IOException {
+		this.lookup = lookup != null ? lookup : this::fromStatuses;
+		this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		this.executor = Executors.newFixedThreadPool(4);
+		server.setExecutor(executor);
+		server.createContext("/rest/api/2/search", this::handle);
+		server.start();
+	}
+
+	/**
+	 * Serves statuses from {@code lookup}, which is called with upper-case keys and answers with the
+	 * tracker's keys. {@code port} 0 picks a free port.
+	 */
+	public static IssueTrackerStub start(int port, Function<Collection<String>, Map<String, String>> lookup) throws IOException {
+		return new IssueTrackerStub(port, lookup);
+	}
+
+	/** Serves the statuses set with {@link #status}, on a free port. */
+	public static IssueTrackerStub withStatuses() throws IOException {
+		return new IssueTrackerStub(0, null);
+	}
+
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = parseOptions(args);
+		int port = Integer.parseInt(options.getOrDefault("port", "8089"));
+		Path file = Path.of(options.getOrDefault("file", "./data/issue-tracker.csv"));
+		FileIssueTrackerClient statuses = new FileIssueTrackerClient(file, Integer.MAX_VALUE);
+
+		IssueTrackerStub stub = start(port, statuses::fetchStatuses);
+		stub.errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+		stub.latencyMs = Long.parseLong(options.getOrDefault("latency-ms", "0"));
+		System.out.printf("Serving %s on %s/rest/api/2/search (error rate %.2f)%n", file, stub.baseUrl(), stub.errorRate);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			stub.close();
+			System.out.printf("Answered %d requests%n", stub.requests());
+		}));
+	}
+
+	/** The URL to put in {@code app.tickets.sync.http.base-url}. */
+	public String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	/** Sets the tracker's status for {@code key}, stored upper-case as Jira would. */
+	public IssueTrackerStub status(String key, String status) {
+		statuses.put(key.toUpperCase(Locale.ROOT), status);
+		return this;
+	}
+
+	/** Answers the next {@code count} requests with {@code status}; a queued 429 sends {@code Retry-After: 0}. */
+	public IssueTrackerStub failNext(int count, int status) {
+		for (int i = 0; i < count; i++) queuedFailures.add(status);
+		return this;
+	}
+
+	/** Search requests answered so far, failures included. */
+	public long requests() {
+		return requests.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private Map<String, String> fromStatuses(Collection<String> keys) {
+		Map<String, String> found = new LinkedHashMap<>();
+		for (String key : keys) {
+			String status = statuses.get(key);
+			if (status != null) found.put(key, status);
+		}
+		return found;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			requests.incrementAndGet();
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				send(exchange, 405, null);
+				return;
+			}
+			if (latencyMs > 0) Thread.sleep(latencyMs);
+			Integer failure = queuedFailures.poll();
+			String retryAfter = "0";
+			if (failure == null && errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+				failure = ThreadLocalRandom.current().nextBoolean() ? 429 : 503;
+				retryAfter = "1";
+			}
+			if (failure != null) {
+				if (failure == 429) exchange.getResponseHeaders().set("Retry-After", retryAfter);
+				send(exchange, failure, null);
+				return;
+			}
+			JsonNode request;
+			try (InputStream body = exchange.getRequestBody()) {
+				request = objectMapper.readTree(body);
+			}
+			Set<String> keys = new LinkedHashSet<>();
+			Matcher matcher = QUOTED_KEY.matcher(request.path("jql").asText());
+			while (matcher.find()) keys.add(matcher.group(1).toUpperCase(Locale.ROOT));
+
+			List<Map<String, Object>> issues = new ArrayList<>();
+			lookup.apply(keys).forEach((key, status) -> {
+				Map<String, Object> issue = new LinkedHashMap<>();
+				issue.put("key", key);
+				issue.put("fields", Map.of("status", Map.of("name", status)));
+				issues.add(issue);
+			});
+			Map<String, Object> response = new LinkedHashMap<>();
+			response.put("startAt", 0);
+			response.put("maxResults", keys.size());
+			response.put("total", issues.size());
+			response.put("issues", issues);
+			send(exchange, 200, objectMapper.writeValueAsBytes(response));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--") || i + 1 >= args.length) {
+				throw new IllegalArgumentException("Expected --name value pairs, got: " + args[i]);
+			}
+			options.put(args[i].substring(2), args[++i]);
+		}
+		return options;
+	}
+}
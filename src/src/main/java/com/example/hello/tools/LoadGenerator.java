@@ -0,0 +1,193 @@
+package com.example.hello.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Command-line load generator: replays a weighted mix of endpoints against a running instance and
+ * prints per-route latency percentiles. It ships in the application jar and is started through
+ * Spring Boot's {@code PropertiesLauncher} (see README).
+ *
+ * <pre>
+ * --base-url     http://localhost:8080
+ * --duration     seconds to run (default 30)
+ * --warmup       seconds excluded from the results (default 5)
+ * --concurrency  parallel clients (default 8)
+ * --mix          comma-separated "METHOD /path=weight" entries; the weight follows the last "="
+ * --upload       file sent as the multipart "file" part of POST entries
+ * </pre>
+ */
+public final class LoadGenerator {
+
+	private static final String DEFAULT_MIX =
+		"GET /api/findings=5,GET /api/tickets=3,GET /api/export/findings=1,GET /api/count=1";
+
+	private LoadGenerator() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+		long durationSeconds = Long.parseLong(options.getOrDefault("duration", "30"));
+		long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "5"));
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+		List<Route> routes = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+		Path upload = options.containsKey("upload") ? Path.of(options.get("upload")) : null;
+		byte[] uploadBytes = upload != null ? Files.readAllBytes(upload) : null;
+		int totalWeight = routes.stream().mapToInt(Route::weight).sum();
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+		System.out.printf("Running %s for %ds (+%ds warm-up) with %d clients%n", baseUrl, durationSeconds, warmupSeconds, concurrency);
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		for (int i = 0; i < concurrency; i++) {
+			workers.submit(() -> {
+				while (System.nanoTime() < end) {
+					Route route = pick(routes, totalWeight);
+					long start = System.nanoTime();
+					boolean ok;
+					try {
+						HttpResponse<Void> response = client.send(route.request(baseUrl, upload, uploadBytes), HttpResponse.BodyHandlers.discarding());
+						ok = response.statusCode() < 400;
+					} catch (IOException e) {
+						ok = false;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return null;
+					}
+					if (start >= warmupEnd) route.record(System.nanoTime() - start, ok);
+				}
+				return null;
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(durationSeconds + warmupSeconds + 60, TimeUnit.SECONDS);
+		report(routes, durationSeconds);
+	}
+
+	private static Route pick(List<Route> routes, int totalWeight) {
+		int n = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Route route : routes) {
+			n -= route.weight();
+			if (n < 0) return route;
+		}
+		return routes.get(routes.size() - 1);
+	}
+
+	private static void report(List<Route> routes, long durationSeconds) {
+		System.out.printf("%n%-40s %8s %7s %9s %9s %9s %9s %9s%n", "route", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Route route : routes) {
+			Histogram h = route.latencies;
+			System.out.printf("%-40s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+				route.method + " " + route.path, h.getTotalCount(), route.errors.get(),
+				h.getTotalCount() / (double) durationSeconds,
+				ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+		}
+	}
+
+	private static double ms(long nanos) {
+		return nanos / 1_000_000d;
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--") || i + 1 >= args.length) {
+				throw new IllegalArgumentException("Expected --name value pairs, got: " + args[i]);
+			}
+			options.put(args[i].substring(2), args[++i]);
+		}
+		return options;
+	}
+
+	/** The weight follows the last {@code =}, so a path may carry its own query string. */
+	static List<Route> parseMix(String mix) {
+		List<Route> routes = new ArrayList<>();
+		for (String entry : mix.split(",")) {
+			String target = entry.trim();
+			int weight = 1;
+			int separator = target.lastIndexOf('=');
+			if (separator > 0 && target.substring(separator + 1).trim().matches("\\d+")) {
+				weight = Integer.parseInt(target.substring(separator + 1).trim());
+				target = target.substring(0, separator);
+			}
+			String[] methodAndPath = target.trim().split("\\s+", 2);
+			routes.add(new Route(methodAndPath[0].toUpperCase(), methodAndPath[1], weight));
+		}
+		return routes;
+	}
+
+	static final class Route {
+
+		private final String method;
+		private final String path;
+		private final int weight;
+		private final Histogram latencies = new ConcurrentHistogram(3);
+		private final AtomicLong errors = new AtomicLong();
+
+		Route(String method, String path, int weight) {
+			this.method = method;
+			this.path = path;
+			this.weight = weight;
+		}
+
+		String method() {
+			return method;
+		}
+
+		String path() {
+			return path;
+		}
+
+		int weight() {
+			return weight;
+		}
+
+		void record(long nanos, boolean ok) {
+			latencies.recordValue(nanos);
+			if (!ok) errors.incrementAndGet();
+		}
+
+		HttpRequest request(String baseUrl, Path upload, byte[] uploadBytes) {
+			HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+			if (!"POST".equals(method)) {
+				return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+			}
+			if (upload == null) {
+				throw new IllegalArgumentException("POST " + path + " needs --upload <file>");
+			}
+			String boundary = UUID.randomUUID().toString();
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\""
+				+ upload.getFileName() + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+			body.writeBytes(uploadBytes);
+			body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+			return builder.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+				.build();
+		}
+	}
+}
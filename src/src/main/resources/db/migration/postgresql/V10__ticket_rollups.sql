@@ -0,0 +1,6 @@
+-- Filled in by TicketRollupService's one-time backfill on the next startup
+alter table farm_finding add column open_ticket_count integer not null default 0;
+alter table farm_finding add column in_progress_ticket_count integer not null default 0;
+alter table farm_finding add column done_ticket_count integer not null default 0;
+alter table farm_finding add column last_ticket_status_change timestamp(6);
+create index idx_farm_finding_ticket_rollup on farm_finding (open_ticket_count, in_progress_ticket_count, done_ticket_count);
@@ -0,0 +1,43 @@
+-- Archive tier for resolved findings, filled by FindingArchiveService. Both tables are range-partitioned
+-- on archived_at so old years can be detached or dropped without touching the rest; rows land in the
+-- default partition until yearly ones are added, e.g.
+--   create table archived_farm_finding_2027 partition of archived_farm_finding
+--       for values from ('2027-01-01') to ('2028-01-01');
+-- (a new partition's range must not overlap rows already in the default partition; detach and re-attach the default first)
+create table archived_farm_finding (
+    id bigint not null,
+    description varchar(255),
+    application_seal_id varchar(255),
+    severity varchar(255),
+    criticality varchar(255),
+    target_date date,
+    created_date timestamp(6),
+    updated_date timestamp(6),
+    assigned_apg varchar(255),
+    done_ticket_count integer not null,
+    last_ticket_status_change timestamp(6),
+    archived_at timestamp(6) not null,
+    primary key (id, archived_at)
+) partition by range (archived_at);
+
+create table archived_farm_finding_default partition of archived_farm_finding default;
+
+create table archived_resolver_ticket (
+    id bigint not null,
+    finding_id bigint not null,
+    jira_key varchar(255),
+    jira_url varchar(255),
+    apg varchar(255),
+    status varchar(255),
+    archived_at timestamp(6) not null,
+    primary key (id, archived_at)
+) partition by range (archived_at);
+
+create table archived_resolver_ticket_default partition of archived_resolver_ticket default;
+
+create index idx_archived_farm_finding_seal_id on archived_farm_finding (application_seal_id);
+create index idx_archived_resolver_ticket_finding on archived_resolver_ticket (finding_id);
+
+-- The archiver's candidate scan: resolved findings in id order
+create index idx_farm_finding_archivable on farm_finding (id, updated_date)
+    where open_ticket_count = 0 and in_progress_ticket_count = 0 and done_ticket_count > 0;
@@ -0,0 +1,2 @@
+-- an import claims its checksum with an incomplete receipt row before it starts
+alter table import_receipt add column completed boolean not null default true;
@@ -0,0 +1,5 @@
+-- rows the reconciler derived from an application's certificates text; only those are removed when the text drops their CN
+alter table certificate add column from_text boolean not null default false;
+
+-- the earlier backfill and reconciler wrote their rows without a serial or expiry date, and treated every such row as theirs
+update certificate set from_text = true where (serial is null or serial = '') and expiration_date is null;
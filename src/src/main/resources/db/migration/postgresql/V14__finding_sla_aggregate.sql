@@ -0,0 +1,10 @@
+-- Live finding counts per (APG, severity, target date), maintained from finding writes; the daily
+-- SLA snapshot reads this instead of grouping farm_finding. Filled on the first snapshot after upgrade.
+create table finding_sla_aggregate (
+    id bigint generated by default as identity primary key,
+    apg varchar(100) not null,
+    severity varchar(50) not null,
+    target_date date not null,
+    finding_count bigint not null,
+    unique (apg, severity, target_date)
+);
@@ -0,0 +1,129 @@
+-- Baseline schema matching the JPA model; H2 keeps using ddl-auto=update.
+
+create table product_area (
+    id bigint generated by default as identity primary key,
+    name varchar(100) not null unique,
+    description text,
+    apg varchar(100) not null,
+    created_date date,
+    updated_date date
+);
+
+create table team (
+    id bigint generated by default as identity primary key,
+    name varchar(100) not null,
+    description text,
+    product_area_id bigint not null references product_area (id),
+    created_date date,
+    updated_date date
+);
+
+create table person (
+    id bigint generated by default as identity primary key,
+    first_name varchar(100) not null,
+    last_name varchar(100) not null,
+    sid varchar(50) not null unique,
+    email varchar(255),
+    created_date date,
+    updated_date date
+);
+
+create table role (
+    id bigint generated by default as identity primary key,
+    name varchar(50) not null unique,
+    description text,
+    created_date date,
+    updated_date date
+);
+
+create table applications (
+    id bigint generated by default as identity primary key,
+    seal_id varchar(255) not null unique,
+    name varchar(255) not null,
+    platform varchar(255),
+    team_id bigint references team (id),
+    code_repository varchar(255),
+    certificates varchar(255),
+    product_area_id bigint references product_area (id)
+);
+
+create table certificate (
+    id bigint generated by default as identity primary key,
+    cn varchar(255),
+    serial varchar(255),
+    expiration_date date,
+    application_id bigint references applications (id)
+);
+
+create table farm_finding (
+    id bigint generated by default as identity primary key,
+    description varchar(255),
+    application_seal_id varchar(255),
+    severity varchar(255),
+    criticality varchar(255),
+    target_date date,
+    created_date timestamp(6),
+    assigned_apg varchar(255)
+);
+
+create table resolver_ticket (
+    id bigint generated by default as identity primary key,
+    jira_key varchar(255),
+    jira_url varchar(255),
+    apg varchar(255),
+    status varchar(255),
+    finding_id bigint references farm_finding (id)
+);
+
+create table team_membership (
+    id bigint generated by default as identity primary key,
+    team_id bigint not null references team (id),
+    person_id bigint not null references person (id),
+    role_id bigint not null references role (id),
+    start_date date,
+    end_date date,
+    is_primary boolean,
+    created_date date,
+    updated_date date,
+    unique (team_id, person_id, role_id)
+);
+
+create table application_team (
+    id bigint generated by default as identity primary key,
+    application_id bigint not null references applications (id),
+    team_id bigint not null references team (id),
+    relationship varchar(50) not null,
+    created_date date,
+    updated_date date,
+    unique (application_id, team_id, relationship)
+);
+
+create table code_repository (
+    id bigint generated by default as identity primary key,
+    repository_url varchar(255) not null unique,
+    project_id varchar(255) not null unique,
+    application_id bigint references applications (id),
+    team_id bigint references team (id),
+    created_date date,
+    updated_date date
+);
+
+create table hit_counter (
+    id bigint generated by default as identity primary key,
+    count bigint
+);
+
+-- Postgres does not index foreign keys on its own. Composite unique constraints
+-- already cover team_membership(team_id) and application_team(application_id).
+create index idx_team_product_area on team (product_area_id);
+create index idx_applications_team on applications (team_id);
+create index idx_applications_product_area on applications (product_area_id);
+create index idx_certificate_application on certificate (application_id);
+create index idx_resolver_ticket_finding on resolver_ticket (finding_id);
+create index idx_team_membership_person on team_membership (person_id);
+create index idx_team_membership_role on team_membership (role_id);
+create index idx_application_team_team on application_team (team_id);
+create index idx_code_repository_application on code_repository (application_id);
+create index idx_code_repository_team on code_repository (team_id);
+create index idx_farm_finding_seal_id on farm_finding (application_seal_id);
+create index idx_farm_finding_apg on farm_finding (assigned_apg);
@@ -0,0 +1,4 @@
+-- Indexes backing the remaining derived finders (see @Index declarations on the entities).
+create index idx_applications_name on applications (name);
+create index idx_team_name on team (name);
+create index idx_team_membership_team_role on team_membership (team_id, role_id);
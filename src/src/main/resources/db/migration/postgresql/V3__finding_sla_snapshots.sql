@@ -0,0 +1,21 @@
+alter table farm_finding add column updated_date timestamp(6);
+update farm_finding set updated_date = created_date;
+
+create index idx_farm_finding_sla on farm_finding (assigned_apg, severity, target_date);
+create index idx_farm_finding_updated on farm_finding (updated_date);
+
+create table job_checkpoint (
+    name varchar(100) primary key,
+    last_position bigint,
+    last_run_at timestamp(6)
+);
+
+create table finding_sla_snapshot (
+    id bigint generated by default as identity primary key,
+    snapshot_date date not null,
+    apg varchar(100),
+    severity varchar(50),
+    bucket varchar(20) not null,
+    finding_count bigint not null,
+    unique (snapshot_date, apg, severity, bucket)
+);
@@ -0,0 +1,4 @@
+alter table farm_finding add column version bigint default 0;
+alter table resolver_ticket add column version bigint default 0;
+alter table applications add column version bigint default 0;
+alter table certificate add column version bigint default 0;
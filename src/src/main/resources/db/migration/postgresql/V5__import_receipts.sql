@@ -0,0 +1,13 @@
+create table import_receipt (
+    id bigint generated by default as identity primary key,
+    checksum varchar(64) not null,
+    scope varchar(40) not null,
+    dataset varchar(40) not null,
+    file_name varchar(255),
+    size_bytes bigint not null,
+    created_count integer not null,
+    updated_count integer not null,
+    skipped_count integer not null,
+    imported_at timestamp(6) not null,
+    unique (checksum, scope, dataset)
+);
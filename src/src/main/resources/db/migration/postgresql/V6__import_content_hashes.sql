@@ -0,0 +1,5 @@
+-- Filled in on the next write of each row; imports hash legacy rows on the fly until then
+alter table farm_finding add column content_hash varchar(64);
+alter table resolver_ticket add column content_hash varchar(64);
+
+alter table import_receipt add column unchanged_count integer not null default 0;
@@ -0,0 +1,3 @@
+-- The existing single row keeps a null node id and stays part of the total
+alter table hit_counter add column node_id varchar(100);
+alter table hit_counter add constraint uk_hit_counter_node unique (node_id);
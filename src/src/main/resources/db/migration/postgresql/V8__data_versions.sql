@@ -0,0 +1,5 @@
+-- Per-entity change counters; cached export artifacts are keyed by the counters of their source tables
+create table data_version (
+    name varchar(100) not null primary key,
+    version bigint not null
+);
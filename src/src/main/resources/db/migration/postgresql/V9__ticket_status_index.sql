@@ -0,0 +1,2 @@
+-- /api/findings/query filters findings by the status of their tickets
+create index idx_resolver_ticket_status on resolver_ticket (status, finding_id);
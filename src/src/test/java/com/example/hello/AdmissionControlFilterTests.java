@@ -0,0 +1,166 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.hello.config.AdmissionControlFilter;
+import com.example.hello.service.ExportArtifactStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Drives the admission filter directly with a heavy lane of one slot and one queue place: light
+ * requests and revalidations of a ready export keep getting through while it is full, overflow is
+ * refused with 429 and Retry-After, and a rate-limited request waits for its token instead.
+ */
+class AdmissionControlFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExportArtifactStore artifactStore = mock(ExportArtifactStore.class);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	/** Holds heavy requests until {@link #release} opens, like an import still reading its upload. */
+	private final FilterChain chain = (request, response) -> {
+		if (((MockHttpServletRequest) request).getRequestURI().startsWith("/api/import/")) {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	};
+
+	@AfterEach
+	void openChain() {
+		release.countDown();
+	}
+
+	@Test
+	void lightRequestsGetThroughWhileTheHeavyLaneIsFull() throws Exception {
+		AdmissionControlFilter filter = filter(new MockEnvironment()
+			.withProperty("app.admission.heavy.max-concurrent", "1")
+			.withProperty("app.admission.heavy.queue-size", "1")
+			.withProperty("app.admission.heavy.rate-per-second", "0")
+			.withProperty("app.admission.heavy.retry-after-seconds", "7"));
+		when(artifactStore.isReady(any(), any())).thenReturn(true);
+
+		CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(() -> run(filter, importRequest()));
+		awaitGauge("app.admission.active", 1);
+		CompletableFuture<MockHttpServletResponse> waiting = CompletableFuture.supplyAsync(() -> run(filter, importRequest()));
+		awaitGauge("app.admission.queued", 1);
+
+		MockHttpServletResponse overflow = run(filter, importRequest());
+		assertEquals(429, overflow.getStatus());
+		assertEquals("7", overflow.getHeader(HttpHeaders.RETRY_AFTER));
+		assertTrue(overflow.getContentAsString().contains("\"overloaded\""), overflow.getContentAsString());
+		assertEquals(1, rejected("queue"));
+
+		assertEquals(200, run(filter, new MockHttpServletRequest("GET", "/api/applications")).getStatus());
+		MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/export/findings");
+		revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, "\"findings-1-1-csv\"");
+		assertEquals(200, run(filter, revalidation).getStatus());
+		MockHttpServletRequest resume = new MockHttpServletRequest("GET", "/api/export/jobs/abc/download");
+		resume.addHeader(HttpHeaders.RANGE, "bytes=100-");
+		assertEquals(200, run(filter, resume).getStatus());
+
+		release.countDown();
+		assertEquals(200, running.get(10, TimeUnit.SECONDS).getStatus());
+		assertEquals(200, waiting.get(10, TimeUnit.SECONDS).getStatus());
+		assertEquals(1, rejected("queue"), "only the overflow request was refused");
+	}
+
+	@Test
+	void exportWithoutAReadyArtifactStaysHeavy() {
+		AdmissionControlFilter filter = filter(new MockEnvironment()
+			.withProperty("app.admission.heavy.max-concurrent", "1")
+			.withProperty("app.admission.heavy.queue-size", "0")
+			.withProperty("app.admission.heavy.rate-per-second", "0"));
+		when(artifactStore.isReady(any(), any())).thenReturn(false);
+
+		CompletableFuture.runAsync(() -> run(filter, importRequest()));
+		awaitGauge("app.admission.active", 1);
+
+		MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/export/findings");
+		revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, "\"findings-1-1-csv\"");
+		assertEquals(429, run(filter, revalidation).getStatus());
+	}
+
+	@Test
+	void rateLimitedRequestWaitsForItsToken() {
+		AdmissionControlFilter filter = filter(new MockEnvironment()
+			.withProperty("app.admission.heavy.rate-per-second", "4")
+			.withProperty("app.admission.heavy.burst", "1"));
+		release.countDown();
+
+		long started = System.nanoTime();
+		assertEquals(200, run(filter, importRequest()).getStatus());
+		assertEquals(200, run(filter, importRequest()).getStatus());
+		assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(200), "the second request waited for a token");
+		assertEquals(0, rejected("rate"));
+	}
+
+	@Test
+	void rateLimitedRequestIsRefusedWhenItsTokenIsDueAfterTheWaitLimit() {
+		AdmissionControlFilter filter = filter(new MockEnvironment()
+			.withProperty("app.admission.heavy.rate-per-second", "0.5")
+			.withProperty("app.admission.heavy.burst", "1")
+			.withProperty("app.admission.heavy.max-wait-ms", "100"));
+		release.countDown();
+
+		assertEquals(200, run(filter, importRequest()).getStatus());
+		MockHttpServletResponse refused = run(filter, importRequest());
+		assertEquals(429, refused.getStatus());
+		// the next token is about two seconds away
+		assertTrue(Long.parseLong(refused.getHeader(HttpHeaders.RETRY_AFTER)) >= 2, refused.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, rejected("rate"));
+	}
+
+	private AdmissionControlFilter filter(MockEnvironment environment) {
+		return new AdmissionControlFilter(environment, meterRegistry,
+			new StaticListableBeanFactory(Map.of("exportArtifactStore", artifactStore)).getBeanProvider(ExportArtifactStore.class));
+	}
+
+	private static MockHttpServletRequest importRequest() {
+		return new MockHttpServletRequest("POST", "/api/import/findings");
+	}
+
+	private MockHttpServletResponse run(AdmissionControlFilter filter, MockHttpServletRequest request) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+
+	private void awaitGauge(String name, double value) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get(name).tag("lane", "heavy").gauge().value() != value) {
+			if (System.nanoTime() > deadline) throw new AssertionError(name + " never reached " + value);
+			Thread.onSpinWait();
+		}
+	}
+
+	private double rejected(String reason) {
+		var counter = meterRegistry.find("app.admission.rejected").tags("lane", "heavy", "reason", reason).counter();
+		return counter != null ? counter.count() : 0;
+	}
+}
@@ -0,0 +1,140 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.service.ApplicationService;
+import com.example.hello.service.CertificateReconciler;
+import com.example.hello.service.CertificateService;
+
+/**
+ * Runs reconciliation passes against applications whose certificates text changes between passes:
+ * rows derived from the text follow it, rows entered by hand stay, and a pass another node finished
+ * ends this node's call whatever the two clocks say.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:reconcile;DB_CLOSE_DELAY=-1",
+	"app.certificates.reconcile.chunk-size=2",
+	// passes are run by the tests
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class CertificateReconcilerTests {
+
+	@Autowired
+	private CertificateReconciler reconciler;
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private CertificateService certificateService;
+
+	@Autowired
+	private CertificateRepository certificateRepository;
+
+	@SpyBean
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void keepsManualCertificatesAndRemovesOnlyItsOwnRows() {
+		Application application = seed("RECONCILE-1", "a.example.com, b.example.com; c.example.com");
+		Certificate manual = new Certificate();
+		manual.setCn("manual.example.com");
+		certificateService.createForApplication(application.getId(), manual);
+		Certificate listedManual = new Certificate();
+		listedManual.setCn("c.example.com");
+		listedManual.setSerial("0C-MANUAL");
+		certificateService.createForApplication(application.getId(), listedManual);
+
+		reconciler.reconcile();
+
+		Map<String, Certificate> rows = rows(application);
+		assertEquals(Map.of("a.example.com", true, "b.example.com", true, "c.example.com", false, "manual.example.com", false),
+			fromText(rows), "derived rows are marked; a listed CN that already has a row gets no second one");
+
+		// b gains a serial by hand; then the text drops a, b and c
+		Certificate b = rows.get("b.example.com");
+		certificateService.patch(b.getId(), Map.of("serial", "0B-EDITED"));
+		applicationService.patch(application.getId(), Map.of("certificates", "d.example.com"));
+
+		reconciler.reconcile();
+
+		rows = rows(application);
+		assertFalse(rows.containsKey("a.example.com"), "a derived row without a serial or expiry follows the text");
+		assertTrue(rows.containsKey("b.example.com"), "a derived row edited since is kept");
+		assertTrue(rows.containsKey("c.example.com"), "a row entered by hand is never removed");
+		assertTrue(rows.containsKey("manual.example.com"), "a row entered by hand is never removed");
+		assertTrue(rows.get("d.example.com").isFromText());
+
+		// a blank text field leaves the rows alone
+		applicationService.patch(application.getId(), Map.of("certificates", "  "));
+		reconciler.reconcile();
+		assertEquals(rows.keySet(), rows(application).keySet());
+	}
+
+	@Test
+	void passFinishedByAnotherNodeEndsTheCall() {
+		seed("RECONCILE-2", "e.example.com");
+		seed("RECONCILE-3", "f.example.com");
+		seed("RECONCILE-4", "g.example.com");
+		reconciler.reconcile();
+
+		// between this call reading the checkpoint and locking it, another node completes the pass; its
+		// clock runs a day behind ours, so its completion stamp is older than this call's start
+		// the spy wraps a repository proxy, so its default answer delegates to the real repository
+		Answer<?> real = mockingDetails(applicationRepository).getMockCreationSettings().getDefaultAnswer();
+		doAnswer(invocation -> {
+			jdbcTemplate.update("update job_checkpoint set last_position = 0, last_run_at = ? where name = 'certificate-reconcile'",
+				LocalDateTime.now().minusDays(1));
+			return real.answer(invocation);
+		}).doAnswer(real).when(applicationRepository).maxId();
+
+		assertEquals(0, reconciler.reconcile(), "the pass was already complete");
+		assertTrue(reconciler.reconcile() > 0, "the next call starts a new pass");
+	}
+
+	private Application seed(String sealId, String certificates) {
+		Application application = new Application();
+		application.setSealId(sealId);
+		application.setName(sealId);
+		application.setCertificates(certificates);
+		return applicationService.create(application);
+	}
+
+	private Map<String, Certificate> rows(Application application) {
+		Map<String, Certificate> rows = new TreeMap<>();
+		for (Certificate certificate : certificateRepository.findByApplication_Id(application.getId())) {
+			rows.put(certificate.getCn(), certificate);
+		}
+		return rows;
+	}
+
+	private static Map<String, Boolean> fromText(Map<String, Certificate> rows) {
+		Map<String, Boolean> fromText = new TreeMap<>();
+		rows.forEach((cn, certificate) -> fromText.put(cn, certificate.isFromText()));
+		return fromText;
+	}
+}
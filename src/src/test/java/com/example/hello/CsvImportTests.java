@@ -0,0 +1,63 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.hello.repository.PersonRepository;
+import com.example.hello.service.CsvImportService;
+import com.example.hello.service.ImportDataset;
+import com.example.hello.service.ImportResult;
+
+/**
+ * CSV rows are written chunk by chunk; rows in later chunks still see what earlier chunks wrote.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:csvimport;DB_CLOSE_DELAY=-1",
+	"app.import.csv-chunk-rows=2",
+	"app.org.rollup.refresh-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.certificates.reconcile.initial-delay-ms=3600000"
+})
+class CsvImportTests {
+
+	private static final String PEOPLE = """
+		sid,firstName,lastName,email
+		csv1,Ada,One,ada@example.com
+		csv2,Bea,Two,bea@example.com
+		csv3,Cy,Three,
+		csv1,Ada,Renamed,ada@example.com
+		,No,Sid,
+		""";
+
+	@Autowired
+	private CsvImportService csvImportService;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Test
+	void importsAcrossChunks() throws Exception {
+		ImportResult dryRun = csvImportService.importCsv(ImportDataset.PEOPLE, stream(PEOPLE), true);
+		assertEquals(1, dryRun.getSkipped());
+		assertTrue(personRepository.findBySidIn(List.of("csv1", "csv2", "csv3")).isEmpty(), "a dry run writes nothing");
+
+		ImportResult result = csvImportService.importCsv(ImportDataset.PEOPLE, stream(PEOPLE), false);
+
+		assertEquals(3, result.getCreated());
+		assertEquals(1, result.getUpdated(), "the repeated sid in the second chunk found the row the first chunk wrote");
+		assertEquals(1, result.getSkipped());
+		assertEquals("Renamed", personRepository.findBySidIn(List.of("csv1")).get(0).getLastName());
+	}
+
+	private static ByteArrayInputStream stream(String csv) {
+		return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+	}
+}
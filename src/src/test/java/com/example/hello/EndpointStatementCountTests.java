@@ -0,0 +1,182 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.model.Team;
+import com.example.hello.model.TeamMembership;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.TeamMembershipRepository;
+import com.example.hello.repository.TeamRepository;
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements each read endpoint prepares, so a finder that loses its entity graph,
+ * or a serializer that starts walking lazy associations, fails here instead of as an N+1 in production.
+ * Responses are also checked for associations written as a bare {@code {"id":..}}, which is what an
+ * association the finder did not fetch turns into.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1",
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	// keep background jobs from adding statements while endpoints are measured
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000",
+	"app.findings.archive.enabled=false"
+})
+@AutoConfigureMockMvc
+class EndpointStatementCountTests {
+
+	/** An association serialized from an unfetched proxy. */
+	private static final Pattern BARE_REFERENCE = Pattern.compile("\\{\"id\":\\d+\\}");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private TeamMembershipRepository teamMembershipRepository;
+
+	@BeforeEach
+	void seedFindingsWithTickets() {
+		if (farmFindingRepository.count() > 1) return;
+		for (int i = 0; i < 3; i++) {
+			FarmFinding finding = new FarmFinding();
+			finding.setDescription("statement count " + i);
+			finding.setApplicationSealId("STMT-" + i);
+			for (int j = 0; j < 2; j++) {
+				ResolverTicket ticket = new ResolverTicket();
+				ticket.setJiraKey("STMT-" + i + "-" + j);
+				ticket.setStatus("To Do");
+				ticket.setFinding(finding);
+				finding.getResolverTickets().add(ticket);
+			}
+			farmFindingRepository.save(finding);
+		}
+	}
+
+	@Test
+	void readEndpointsStayWithinStatementBudget() throws Exception {
+		Long applicationId = applicationRepository.findAll().get(0).getId();
+		Long teamId = teamRepository.findAll().get(0).getId();
+		String teamIds = teamRepository.findAll().stream().map(t -> t.getId().toString()).collect(Collectors.joining(","));
+
+		// every listing is answered by one select, however many rows and associations it returns
+		Map<String, Long> budgets = new LinkedHashMap<>();
+		budgets.put("/api/applications", 1L);
+		budgets.put("/api/applications/" + applicationId, 1L);
+		budgets.put("/api/teams", 1L);
+		budgets.put("/api/teams/" + teamId, 1L);
+		// one IN query per kind of row, however many teams are asked for
+		budgets.put("/api/teams/" + teamId + "/overview", 8L);
+		budgets.put("/api/teams/overview?ids=" + teamIds, 8L);
+		budgets.put("/api/team-memberships", 1L);
+		budgets.put("/api/team-memberships/team/" + teamId, 1L);
+		budgets.put("/api/application-teams", 1L);
+		budgets.put("/api/application-teams/team/" + teamId, 1L);
+		budgets.put("/api/code-repositories", 1L);
+		budgets.put("/api/certificates", 1L);
+		budgets.put("/api/findings", 1L);
+		budgets.put("/api/findings?resolved=false", 1L);
+		// one select per tier
+		budgets.put("/api/findings?includeArchived=true", 2L);
+		budgets.put("/api/findings/archived?size=10", 2L);
+		budgets.put("/api/tickets", 1L);
+		// facets and total in one statement, the page in a second
+		budgets.put("/api/findings/query?facet=apg,severity,criticality,ticketStatus,targetMonth&size=10", 2L);
+		// answered from the in-memory column store
+		budgets.put("/api/findings/analytics?groupBy=apg,sla&severity=High", 0L);
+		budgets.put("/api/findings/sla/heatmap", 0L);
+		// pre-aggregated in memory
+		budgets.put("/api/org/rollup?depth=application", 0L);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (Map.Entry<String, Long> budget : budgets.entrySet()) {
+			statistics.clear();
+			String body = mockMvc.perform(get(budget.getKey())).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+			long statements = statistics.getPrepareStatementCount();
+			assertTrue(statements <= budget.getValue(),
+				budget.getKey() + " prepared " + statements + " statements, budget is " + budget.getValue());
+			assertNoBareReferences(budget.getKey(), body);
+		}
+	}
+
+	@Test
+	void writesReturnTheirAssociationsInFull() throws Exception {
+		Application application = applicationRepository.findAll().get(0);
+		Team team = teamRepository.findAll().get(0);
+
+		String created = mockMvc.perform(post("/api/code-repositories").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"repositoryUrl\":\"https://example.test/shape.git\",\"projectId\":\"SHAPE-1\","
+					+ "\"applicationId\":" + application.getId() + ",\"teamId\":" + team.getId() + "}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.application.name").value(application.getName()))
+			.andExpect(jsonPath("$.team.name").value(team.getName()))
+			.andReturn().getResponse().getContentAsString();
+		assertNoBareReferences("POST /api/code-repositories", created);
+		Number id = JsonPath.read(created, "$.id");
+
+		String updated = mockMvc.perform(put("/api/code-repositories/" + id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"repositoryUrl\":\"https://example.test/shape-2.git\",\"projectId\":\"SHAPE-2\","
+					+ "\"applicationId\":" + application.getId() + ",\"teamId\":" + team.getId() + "}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.application.name").value(application.getName()))
+			.andExpect(jsonPath("$.team.name").value(team.getName()))
+			.andReturn().getResponse().getContentAsString();
+		assertNoBareReferences("PUT /api/code-repositories/" + id, updated);
+
+		TeamMembership membership = teamMembershipRepository.findAll().get(0);
+		String membershipBody = mockMvc.perform(put("/api/team-memberships/" + membership.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"team\":{\"id\":" + team.getId() + "},\"person\":{\"id\":" + membership.getPerson().getId()
+					+ "},\"role\":{\"id\":" + membership.getRole().getId() + "},\"isPrimary\":true}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.team.name").value(team.getName()))
+			.andExpect(jsonPath("$.person.id").value(membership.getPerson().getId()))
+			.andReturn().getResponse().getContentAsString();
+		assertNoBareReferences("PUT /api/team-memberships/" + membership.getId(), membershipBody);
+	}
+
+	private static void assertNoBareReferences(String request, String body) {
+		assertFalse(BARE_REFERENCE.matcher(body).find(), request + " wrote an unfetched association: " + body);
+	}
+}
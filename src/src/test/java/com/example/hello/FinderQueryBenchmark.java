@@ -0,0 +1,198 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.ApplicationTeam;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.CodeRepository;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.Person;
+import com.example.hello.model.ProductArea;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.model.Role;
+import com.example.hello.model.Team;
+import com.example.hello.model.TeamMembership;
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.ApplicationTeamRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.PersonRepository;
+import com.example.hello.repository.ProductAreaRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+import com.example.hello.repository.RoleRepository;
+import com.example.hello.repository.TeamMembershipRepository;
+import com.example.hello.repository.TeamRepository;
+
+/**
+ * Runs the same repository finders against whichever engine the subclass boots,
+ * so H2 and Postgres timings can be compared side by side in the test log. The
+ * finders run against rows the benchmark writes itself, not the demo seed data.
+ */
+abstract class FinderQueryBenchmark {
+
+	private static final Logger log = LoggerFactory.getLogger(FinderQueryBenchmark.class);
+
+	private static final int ITERATIONS = 200;
+	/** Rows written per one-to-many finder, so each returns a list rather than a single row. */
+	private static final int ROWS_PER_OWNER = 20;
+
+	@Autowired
+	private ApplicationRepository applicationRepository;
+
+	@Autowired
+	private ApplicationTeamRepository applicationTeamRepository;
+
+	@Autowired
+	private CertificateRepository certificateRepository;
+
+	@Autowired
+	private CodeRepositoryRepository codeRepositoryRepository;
+
+	@Autowired
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private ResolverTicketRepository resolverTicketRepository;
+
+	@Autowired
+	private TeamMembershipRepository teamMembershipRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private ProductAreaRepository productAreaRepository;
+
+	@Autowired
+	private PersonRepository personRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	private Team team;
+	private Application application;
+	private Role role;
+	private FarmFinding finding;
+
+	protected abstract String engine();
+
+	@BeforeEach
+	void seed() {
+		ProductArea productArea = new ProductArea();
+		productArea.setName("bench-area");
+		productArea.setApg("BENCH-APG");
+		productAreaRepository.save(productArea);
+
+		team = new Team();
+		team.setName("bench-team");
+		team.setProductArea(productArea);
+		teamRepository.save(team);
+
+		application = new Application();
+		application.setSealId("BENCH-1");
+		application.setName("bench-app");
+		application.setTeam(team);
+		applicationRepository.save(application);
+
+		ApplicationTeam link = new ApplicationTeam();
+		link.setApplication(application);
+		link.setTeam(team);
+		link.setRelationship("Primary Development");
+		applicationTeamRepository.save(link);
+
+		role = new Role();
+		role.setName("bench-role");
+		roleRepository.save(role);
+
+		List<Certificate> certificates = new ArrayList<>();
+		List<CodeRepository> codeRepositories = new ArrayList<>();
+		List<TeamMembership> memberships = new ArrayList<>();
+		List<FarmFinding> findings = new ArrayList<>();
+		for (int i = 0; i < ROWS_PER_OWNER; i++) {
+			Certificate certificate = new Certificate();
+			certificate.setCn("bench-" + i + ".example.com");
+			certificate.setApplication(application);
+			certificates.add(certificate);
+
+			CodeRepository codeRepository = new CodeRepository();
+			codeRepository.setRepositoryUrl("https://git.example.com/bench/repo-" + i);
+			codeRepository.setProjectId("bench-" + i);
+			codeRepository.setApplication(application);
+			codeRepository.setTeam(team);
+			codeRepositories.add(codeRepository);
+
+			Person person = new Person();
+			person.setSid("BENCH" + i);
+			person.setFirstName("Bench");
+			person.setLastName("Person " + i);
+			personRepository.save(person);
+			TeamMembership membership = new TeamMembership();
+			membership.setTeam(team);
+			membership.setPerson(person);
+			membership.setRole(role);
+			memberships.add(membership);
+
+			FarmFinding benchFinding = new FarmFinding();
+			benchFinding.setDescription("bench finding " + i);
+			benchFinding.setApplicationSealId(application.getSealId());
+			benchFinding.setSeverity("High");
+			benchFinding.setAssignedApg("BENCH-APG-" + (i % 4));
+			findings.add(benchFinding);
+		}
+		certificateRepository.saveAll(certificates);
+		codeRepositoryRepository.saveAll(codeRepositories);
+		teamMembershipRepository.saveAll(memberships);
+		farmFindingRepository.saveAll(findings);
+
+		finding = findings.get(0);
+		List<ResolverTicket> tickets = new ArrayList<>();
+		for (int i = 0; i < ROWS_PER_OWNER; i++) {
+			ResolverTicket ticket = new ResolverTicket();
+			ticket.setJiraKey("BENCH-" + i);
+			ticket.setStatus("To Do");
+			ticket.setFinding(finding);
+			tickets.add(ticket);
+		}
+		resolverTicketRepository.saveAll(tickets);
+	}
+
+	@Test
+	void benchmarkFinders() {
+		Map<String, Supplier<?>> finders = new LinkedHashMap<>();
+		finders.put("applications.findBySealId", () -> applicationRepository.findBySealId(application.getSealId()));
+		finders.put("certificates.findByApplication_Id", () -> certificateRepository.findByApplication_Id(application.getId()));
+		finders.put("codeRepositories.findByTeam_Id", () -> codeRepositoryRepository.findByTeam_Id(team.getId()));
+		finders.put("applicationTeams.findByTeam_Id", () -> applicationTeamRepository.findByTeam_Id(team.getId()));
+		finders.put("teamMemberships.findByTeam_IdAndRole_Id",
+			() -> teamMembershipRepository.findByTeam_IdAndRole_Id(team.getId(), role.getId()));
+		finders.put("tickets.findByFindingId", () -> resolverTicketRepository.findByFindingId(finding.getId()));
+		finders.put("findings.countByAssignedApg", () -> farmFindingRepository.countByAssignedApg());
+
+		for (Map.Entry<String, Supplier<?>> finder : finders.entrySet()) {
+			// warm up statement caches before timing
+			finder.getValue().get();
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				finder.getValue().get();
+			}
+			long avgMicros = (System.nanoTime() - start) / ITERATIONS / 1_000;
+			log.info("[{}] {} avg {} us", engine(), finder.getKey(), avgMicros);
+		}
+
+		assertFalse(farmFindingRepository.countByAssignedApg().isEmpty());
+	}
+}
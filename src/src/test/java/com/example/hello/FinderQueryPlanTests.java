@@ -0,0 +1,283 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.repository.ApplicationRepository;
+import com.example.hello.repository.ApplicationTeamRepository;
+import com.example.hello.repository.ArchivedFindingRepository;
+import com.example.hello.repository.CertificateRepository;
+import com.example.hello.repository.CodeRepositoryRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.repository.ImportReceiptRepository;
+import com.example.hello.repository.PersonRepository;
+import com.example.hello.repository.ProductAreaRepository;
+import com.example.hello.repository.ResolverTicketRepository;
+import com.example.hello.repository.RoleRepository;
+import com.example.hello.repository.TeamMembershipRepository;
+import com.example.hello.repository.TeamRepository;
+
+/**
+ * Loads 100k rows into every table behind a derived finder, runs each finder, and checks with
+ * EXPLAIN that every statement Hibernate generated for it is answered from an index rather than a
+ * table scan. The SQL is captured with a {@link StatementInspector}, so a changed entity graph,
+ * join or predicate shows up here. A derived finder added to a repository without an entry below
+ * fails the test.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:plans;DB_CLOSE_DELAY=-1",
+	// keep background jobs out of the way
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class FinderQueryPlanTests {
+
+	private static final int ROWS = 100_000;
+
+	/** Finders that are not derived but scan or group enough rows to be worth planning here too. */
+	private static final Set<String> QUERY_FINDERS = Set.of("FarmFindingRepository.countByAssignedApg");
+
+	@TestConfiguration
+	static class CaptureSql {
+
+		@Bean
+		CapturedSql capturedSql() {
+			return new CapturedSql();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer statementInspector(CapturedSql capturedSql) {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedSql);
+		}
+	}
+
+	/** Records the statements the recording thread sends, leaving the SQL itself unchanged. */
+	static class CapturedSql implements StatementInspector {
+
+		private final List<String> statements = new ArrayList<>();
+		private volatile Thread recording;
+
+		@Override
+		public String inspect(String sql) {
+			if (Thread.currentThread() == recording) {
+				synchronized (statements) {
+					statements.add(sql);
+				}
+			}
+			return sql;
+		}
+
+		List<String> during(Runnable finder) {
+			synchronized (statements) {
+				statements.clear();
+			}
+			recording = Thread.currentThread();
+			try {
+				finder.run();
+			} finally {
+				recording = null;
+			}
+			synchronized (statements) {
+				return new ArrayList<>(new LinkedHashSet<>(statements));
+			}
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private CapturedSql capturedSql;
+
+	@Autowired
+	private ApplicationRepository applications;
+
+	@Autowired
+	private ApplicationTeamRepository applicationTeams;
+
+	@Autowired
+	private ArchivedFindingRepository archivedFindings;
+
+	@Autowired
+	private CertificateRepository certificates;
+
+	@Autowired
+	private CodeRepositoryRepository codeRepositories;
+
+	@Autowired
+	private FarmFindingRepository farmFindings;
+
+	@Autowired
+	private ImportReceiptRepository importReceipts;
+
+	@Autowired
+	private PersonRepository people;
+
+	@Autowired
+	private ProductAreaRepository productAreas;
+
+	@Autowired
+	private ResolverTicketRepository resolverTickets;
+
+	@Autowired
+	private RoleRepository roles;
+
+	@Autowired
+	private TeamMembershipRepository teamMemberships;
+
+	@Autowired
+	private TeamRepository teams;
+
+	@Test
+	void findersUseIndexes() {
+		loadRows();
+		Map<String, Runnable> finders = finders();
+
+		List<String> uncovered = new ArrayList<>();
+		for (String finder : derivedFinders()) {
+			if (!finders.containsKey(finder)) uncovered.add(finder);
+		}
+		assertTrue(uncovered.isEmpty(), "Derived finders without a plan check:\n" + String.join("\n", uncovered));
+
+		List<String> scans = new ArrayList<>();
+		for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+			List<String> statements = capturedSql.during(finder.getValue());
+			if (statements.isEmpty()) scans.add(finder.getKey() + " -> no SQL captured");
+			for (String sql : statements) {
+				String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+				if (plan == null || plan.contains("tableScan")) {
+					scans.add(finder.getKey() + " -> " + plan);
+				}
+			}
+		}
+		assertTrue(scans.isEmpty(), "Finders falling back to a full table scan:\n" + String.join("\n", scans));
+	}
+
+	private Map<String, Runnable> finders() {
+		List<Long> ids = List.of(7L, 8L);
+		Limit page = Limit.of(50);
+		Map<String, Runnable> finders = new LinkedHashMap<>();
+		finders.put("ApplicationRepository.findDetailById", () -> applications.findDetailById(7L));
+		finders.put("ApplicationRepository.findBySealId", () -> applications.findBySealId("BULK-7"));
+		finders.put("ApplicationRepository.existsBySealId", () -> applications.existsBySealId("BULK-7"));
+		finders.put("ApplicationRepository.findByName", () -> applications.findByName("bulk-app-7"));
+		finders.put("ApplicationRepository.findByNameIn", () -> applications.findByNameIn(List.of("bulk-app-7", "bulk-app-8")));
+		finders.put("ApplicationRepository.findBySealIdIn", () -> applications.findBySealIdIn(List.of("BULK-7", "BULK-8")));
+		finders.put("ApplicationRepository.findByTeam_IdIn", () -> applications.findByTeam_IdIn(ids));
+		finders.put("ApplicationRepository.findByIdGreaterThanOrderByIdAsc", () -> applications.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("ApplicationTeamRepository.findDetailById", () -> applicationTeams.findDetailById(7L));
+		finders.put("ApplicationTeamRepository.findByApplication_Id", () -> applicationTeams.findByApplication_Id(7L));
+		finders.put("ApplicationTeamRepository.findByTeam_Id", () -> applicationTeams.findByTeam_Id(7L));
+		finders.put("ApplicationTeamRepository.findByTeam_IdIn", () -> applicationTeams.findByTeam_IdIn(ids));
+		finders.put("ArchivedFindingRepository.findByIdInOrderByIdAsc", () -> archivedFindings.findByIdInOrderByIdAsc(ids));
+		finders.put("CertificateRepository.findByApplication_Id", () -> certificates.findByApplication_Id(7L));
+		finders.put("CertificateRepository.findByApplication_IdIn", () -> certificates.findByApplication_IdIn(ids));
+		finders.put("CertificateRepository.existsByApplication_Id", () -> certificates.existsByApplication_Id(7L));
+		finders.put("CertificateRepository.findByIdGreaterThanOrderByIdAsc", () -> certificates.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("CodeRepositoryRepository.findDetailById", () -> codeRepositories.findDetailById(7L));
+		finders.put("CodeRepositoryRepository.findByRepositoryUrl", () -> codeRepositories.findByRepositoryUrl("https://git.example.com/bulk-7"));
+		finders.put("CodeRepositoryRepository.findByProjectId", () -> codeRepositories.findByProjectId("BULK-7"));
+		finders.put("CodeRepositoryRepository.findByApplication_Id", () -> codeRepositories.findByApplication_Id(7L));
+		finders.put("CodeRepositoryRepository.findByTeam_Id", () -> codeRepositories.findByTeam_Id(7L));
+		finders.put("CodeRepositoryRepository.existsByRepositoryUrl", () -> codeRepositories.existsByRepositoryUrl("https://git.example.com/bulk-7"));
+		finders.put("CodeRepositoryRepository.existsByProjectId", () -> codeRepositories.existsByProjectId("BULK-7"));
+		finders.put("CodeRepositoryRepository.findByTeam_IdIn", () -> codeRepositories.findByTeam_IdIn(ids));
+		finders.put("CodeRepositoryRepository.findByApplication_IdIn", () -> codeRepositories.findByApplication_IdIn(ids));
+		finders.put("CodeRepositoryRepository.findByIdGreaterThanOrderByIdAsc", () -> codeRepositories.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("FarmFindingRepository.findWithTicketsById", () -> farmFindings.findWithTicketsById(7L));
+		finders.put("FarmFindingRepository.findByApplicationSealIdIn", () -> farmFindings.findByApplicationSealIdIn(List.of("BULK-7", "BULK-8")));
+		finders.put("FarmFindingRepository.findByIdGreaterThanOrderByIdAsc", () -> farmFindings.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("FarmFindingRepository.countByAssignedApg", () -> farmFindings.countByAssignedApg());
+		finders.put("ImportReceiptRepository.findByChecksumAndScope", () -> importReceipts.findByChecksumAndScope("bulk-7", "bulk"));
+		finders.put("PersonRepository.findBySid", () -> people.findBySid("BULK7"));
+		finders.put("PersonRepository.findBySidIn", () -> people.findBySidIn(List.of("BULK7", "BULK8")));
+		finders.put("PersonRepository.findByIdGreaterThanOrderByIdAsc", () -> people.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("ProductAreaRepository.findByName", () -> productAreas.findByName("bulk-pa-7"));
+		finders.put("ResolverTicketRepository.findByFindingId", () -> resolverTickets.findByFindingId(7L));
+		finders.put("ResolverTicketRepository.findByIdGreaterThanOrderByIdAsc", () -> resolverTickets.findByIdGreaterThanOrderByIdAsc(7L, page));
+		finders.put("ResolverTicketRepository.findByFindingIdIn", () -> resolverTickets.findByFindingIdIn(ids));
+		finders.put("RoleRepository.findByName", () -> roles.findByName("Developer"));
+		finders.put("TeamMembershipRepository.findDetailById", () -> teamMemberships.findDetailById(7L));
+		finders.put("TeamMembershipRepository.findByTeam_Id", () -> teamMemberships.findByTeam_Id(7L));
+		finders.put("TeamMembershipRepository.findByPerson_Id", () -> teamMemberships.findByPerson_Id(7L));
+		finders.put("TeamMembershipRepository.findByTeam_IdAndRole_Id", () -> teamMemberships.findByTeam_IdAndRole_Id(7L, 1L));
+		finders.put("TeamMembershipRepository.findByTeam_IdIn", () -> teamMemberships.findByTeam_IdIn(ids));
+		finders.put("TeamRepository.findDetailById", () -> teams.findDetailById(7L));
+		finders.put("TeamRepository.findByProductArea_Id", () -> teams.findByProductArea_Id(7L));
+		finders.put("TeamRepository.findByProductArea_Name", () -> teams.findByProductArea_Name("bulk-pa-7"));
+		finders.put("TeamRepository.findByName", () -> teams.findByName("bulk-team-7"));
+		finders.put("TeamRepository.findByNameIn", () -> teams.findByNameIn(List.of("bulk-team-7", "bulk-team-8")));
+		finders.put("TeamRepository.findByIdIn", () -> teams.findByIdIn(ids));
+		return finders;
+	}
+
+	/** Every query method without {@code @Query} on the application's repositories, plus {@link #QUERY_FINDERS}. */
+	private Set<String> derivedFinders() {
+		Set<String> derived = new LinkedHashSet<>(QUERY_FINDERS);
+		Repositories repositories = new Repositories(applicationContext);
+		for (Class<?> domainType : repositories) {
+			var information = repositories.getRequiredRepositoryInformation(domainType);
+			for (Method method : information.getQueryMethods()) {
+				if (AnnotatedElementUtils.hasAnnotation(method, Query.class)) continue;
+				derived.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName());
+			}
+		}
+		return derived;
+	}
+
+	private void loadRows() {
+		jdbcTemplate.update("insert into product_area (name, apg) select 'bulk-pa-' || x, 'APG-' || mod(x, 20) from system_range(1, 1000)");
+		jdbcTemplate.update("insert into team (name, product_area_id) select 'bulk-team-' || x, (select min(id) from product_area) + mod(x, 1000) from system_range(1, ?)", ROWS);
+		jdbcTemplate.update("insert into person (first_name, last_name, sid) select 'Bulk', 'Person ' || x, 'BULK' || x from system_range(1, ?)", ROWS);
+		jdbcTemplate.update("insert into applications (seal_id, name, team_id) select 'BULK-' || x, 'bulk-app-' || x, (select min(id) from team) + mod(x, ?) from system_range(1, ?)", ROWS, ROWS);
+		jdbcTemplate.update("insert into certificate (cn, application_id) select 'bulk-' || x || '.example.com', (select min(id) from applications) + mod(x, ?) from system_range(1, ?)", ROWS, ROWS);
+		jdbcTemplate.update("insert into code_repository (repository_url, project_id, application_id, team_id) "
+			+ "select 'https://git.example.com/bulk-' || x, 'BULK-' || x, (select min(id) from applications) + mod(x, ?), (select min(id) from team) + mod(x, ?) "
+			+ "from system_range(1, ?)", ROWS, ROWS, ROWS);
+		jdbcTemplate.update("insert into application_team (application_id, team_id, relationship) "
+			+ "select (select min(id) from applications) + mod(x, ?), (select min(id) from team) + mod(x, ?), 'Bulk' from system_range(1, ?)", ROWS, ROWS, ROWS);
+		// only bulk teams and people, so no row can repeat a seeded membership's (team, person, role)
+		jdbcTemplate.update("insert into team_membership (team_id, person_id, role_id, is_primary) "
+			+ "select (select min(id) from team where name like 'bulk-team-%') + mod(x, ?), (select min(id) from person where sid like 'BULK%') + mod(x, ?), "
+			+ "(select min(id) from role) + mod(x, 4), false from system_range(1, ?)", ROWS, ROWS, ROWS);
+		jdbcTemplate.update("insert into farm_finding (description, application_seal_id, severity, criticality, assigned_apg, updated_date) "
+			+ "select 'Bulk finding ' || x, 'BULK-' || mod(x, 5000), 'High', 'Medium', 'APG-' || mod(x, 20), dateadd('MINUTE', -x, localtimestamp) "
+			+ "from system_range(1, ?)", ROWS);
+		jdbcTemplate.update("insert into resolver_ticket (jira_key, status, finding_id) "
+			+ "select 'BULK-' || x, 'To Do', (select min(id) from farm_finding) + mod(x, ?) from system_range(1, ?)", ROWS, ROWS);
+		jdbcTemplate.update("insert into archived_farm_finding (id, description, application_seal_id, severity, done_ticket_count, archived_at) "
+			+ "select 1000000 + x, 'Archived finding ' || x, 'BULK-' || mod(x, 5000), 'High', 1, localtimestamp from system_range(1, ?)", ROWS);
+		jdbcTemplate.update("insert into archived_resolver_ticket (id, finding_id, jira_key, status, archived_at) "
+			+ "select 1000000 + x, 1000000 + x, 'ARCHIVED-' || x, 'Done', localtimestamp from system_range(1, ?)", ROWS);
+		jdbcTemplate.update("insert into import_receipt (checksum, scope, dataset, size_bytes, created_count, updated_count, unchanged_count, "
+			+ "skipped_count, imported_at, completed) "
+			+ "select 'bulk-' || x, 'bulk', 'people', 100, 1, 0, 0, 0, localtimestamp, true from system_range(1, ?)", ROWS);
+		jdbcTemplate.execute("ANALYZE");
+	}
+}
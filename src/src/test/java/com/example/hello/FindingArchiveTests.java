@@ -0,0 +1,161 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.ArchivedFindingRepository;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.FindingArchiveService;
+import com.example.hello.service.FindingArchiveService.ArchiveResult;
+import com.example.hello.service.FindingColumnStore;
+
+/**
+ * Runs archive passes against findings whose last write is backdated past the retention window,
+ * checking what moves, that a finding reopened after the candidate query stays live, and that a
+ * repeated pass finds nothing left to move.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+	"app.findings.archive.retention-days=30",
+	"app.findings.archive.batch-size=2",
+	// keep background jobs out of the way; passes are run by the tests
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class FindingArchiveTests {
+
+	@Autowired
+	private FindingArchiveService archiveService;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@SpyBean
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private ArchivedFindingRepository archivedFindingRepository;
+
+	@Autowired
+	private FindingColumnStore columnStore;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void movesOnlyOldResolvedFindingsWithTheirTickets() {
+		long resolvedOld = seed("Done", "Closed");
+		long resolvedOld2 = seed("Resolved");
+		long resolvedOld3 = seed("Done");
+		long openOld = seed("Done", "To Do");
+		long withoutTickets = seed();
+		long resolvedRecent = seed("Done");
+		for (long id : List.of(resolvedOld, resolvedOld2, resolvedOld3, openOld, withoutTickets)) backdate(id, 90);
+
+		ArchiveResult first = archiveService.archive();
+
+		assertTrue(first.findings() >= 3, "archived " + first);
+		for (long id : List.of(resolvedOld, resolvedOld2, resolvedOld3)) {
+			assertFalse(farmFindingRepository.existsById(id), "finding " + id + " is still live");
+			assertTrue(archivedFindingRepository.existsById(id), "finding " + id + " was not archived");
+		}
+		assertEquals(4, countArchivedTickets(resolvedOld, resolvedOld2, resolvedOld3));
+		assertEquals(0, countLiveTickets(resolvedOld, resolvedOld2, resolvedOld3));
+		for (long id : List.of(openOld, withoutTickets, resolvedRecent)) {
+			assertTrue(farmFindingRepository.existsById(id), "finding " + id + " should stay live");
+			assertFalse(archivedFindingRepository.existsById(id), "finding " + id + " should not be archived");
+		}
+
+		// the stores drop archived rows on commit; their periodic refresh is parked for this test
+		assertEquals(countLive("ARCHIVE-1"), columnStore.query(new FindingColumnStore.Filter(
+			Map.of(FindingColumnStore.Dimension.SEAL_ID, Set.of("ARCHIVE-1")), Set.of(), null, null), List.of()).total());
+
+		ArchiveResult second = archiveService.archive();
+		assertEquals(0, second.findings(), "a second pass has nothing left to move");
+		assertEquals(0, second.tickets());
+	}
+
+	@Test
+	void findingReopenedAfterTheCandidateQueryStaysLive() {
+		long reopened = seed("Done");
+		long untouched = seed("Done");
+		backdate(reopened, 90);
+		backdate(untouched, 90);
+
+		// the candidate query sees both as resolved; before the batch locks them, another writer reopens one
+		doAnswer(invocation -> {
+			CompletableFuture.runAsync(() -> {
+				jdbcTemplate.update("update resolver_ticket set status = 'To Do' where finding_id = ?", reopened);
+				jdbcTemplate.update("update farm_finding set open_ticket_count = 1, done_ticket_count = 0 where id = ?", reopened);
+			}).join();
+			return List.of(reopened, untouched);
+		}).doReturn(List.of()).when(farmFindingRepository).findArchivableIdsAfter(any(), any(), any());
+
+		ArchiveResult result = archiveService.archive();
+
+		assertEquals(1, result.findings());
+		assertTrue(farmFindingRepository.existsById(reopened), "the reopened finding must stay live");
+		assertFalse(archivedFindingRepository.existsById(reopened));
+		assertEquals(1, countLiveTickets(reopened));
+		assertTrue(archivedFindingRepository.existsById(untouched));
+		assertFalse(farmFindingRepository.existsById(untouched));
+	}
+
+	private long seed(String... statuses) {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("archive test");
+		finding.setApplicationSealId("ARCHIVE-1");
+		finding.setSeverity("High");
+		for (String status : statuses) {
+			ResolverTicket ticket = new ResolverTicket();
+			ticket.setJiraKey("ARC-" + status.hashCode());
+			ticket.setStatus(status);
+			finding.addResolverTicket(ticket);
+		}
+		return farmFindingService.createFinding(finding).getId();
+	}
+
+	/** Moves the finding's last write {@code days} back, as if nobody had touched it since. */
+	private void backdate(long findingId, int days) {
+		jdbcTemplate.update("update farm_finding set updated_date = ? where id = ?", LocalDateTime.now().minusDays(days), findingId);
+	}
+
+	private long countLive(String sealId) {
+		return jdbcTemplate.queryForObject("select count(*) from farm_finding where application_seal_id = ?", Long.class, sealId);
+	}
+
+	private int countLiveTickets(Long... findingIds) {
+		return count("resolver_ticket", findingIds);
+	}
+
+	private int countArchivedTickets(Long... findingIds) {
+		return count("archived_resolver_ticket", findingIds);
+	}
+
+	private int count(String table, Long... findingIds) {
+		int total = 0;
+		for (Long id : findingIds) {
+			total += jdbcTemplate.queryForObject("select count(*) from " + table + " where finding_id = ?", Integer.class, id);
+		}
+		return total;
+	}
+}
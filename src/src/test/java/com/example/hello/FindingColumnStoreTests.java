@@ -0,0 +1,87 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.FindingColumnStore;
+
+/**
+ * The column store's refresh: versions this node's bumps produced need no rebuild, and any version
+ * from elsewhere does.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:columnstore;DB_CLOSE_DELAY=-1",
+	// refreshes are run by the tests
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class FindingColumnStoreTests {
+
+	@Autowired
+	private FindingColumnStore columnStore;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void localWritesNeedNoRebuild() {
+		assertTrue(columnStore.isReady());
+		create("COLSTORE-LOCAL");
+		columnStore.refresh();
+		// a row the store cannot see, with no version of its own
+		insertUnseen("COLSTORE-LOCAL");
+
+		create("COLSTORE-LOCAL");
+		create("COLSTORE-LOCAL");
+		columnStore.refresh();
+
+		assertEquals(3, count("COLSTORE-LOCAL"), "only local versions moved, so the store was not reloaded");
+	}
+
+	@Test
+	void aVersionFromElsewhereRebuilds() {
+		create("COLSTORE-FOREIGN");
+		columnStore.refresh();
+		// another node's write: a row plus a version bump this node did not make
+		insertUnseen("COLSTORE-FOREIGN");
+		jdbcTemplate.update("update data_version set version = version + 1 where name = 'FarmFinding'");
+		// and a local write after it
+		create("COLSTORE-FOREIGN");
+
+		columnStore.refresh();
+
+		assertEquals(3, count("COLSTORE-FOREIGN"));
+	}
+
+	private void create(String sealId) {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("column store test");
+		finding.setApplicationSealId(sealId);
+		finding.setSeverity("High");
+		farmFindingService.createFinding(finding);
+	}
+
+	private void insertUnseen(String sealId) {
+		jdbcTemplate.update("insert into farm_finding (description, application_seal_id, severity) values ('unseen', ?, 'High')", sealId);
+	}
+
+	private long count(String sealId) {
+		return columnStore.query(new FindingColumnStore.Filter(Map.of(FindingColumnStore.Dimension.SEAL_ID, Set.of(sealId)),
+			Set.of(), null, null), List.of()).total();
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.SlaBucket;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.FindingSlaService;
+
+/**
+ * SLA snapshots read the aggregate table kept current by finding writes, and only fall back to
+ * grouping the findings table when the aggregate no longer adds up.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:sla;DB_CLOSE_DELAY=-1",
+	"app.org.rollup.refresh-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.certificates.reconcile.initial-delay-ms=3600000"
+})
+class FindingSlaTests {
+
+	@Autowired
+	private FindingSlaService slaService;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@SpyBean
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void snapshotFollowsFindingWritesWithoutRegrouping() {
+		LocalDate today = LocalDate.now();
+		slaService.takeSnapshot(today);
+
+		FarmFinding moved = create("SLA-A", "High", today.plusDays(10));
+		create("SLA-A", "Low", null);
+		FarmFinding deleted = create("SLA-B", "High", today.minusDays(1));
+		farmFindingService.patchFinding(moved.getId(), Map.of("targetDate", today.plusDays(45).toString()));
+		farmFindingService.deleteFinding(deleted.getId());
+
+		clearInvocations(farmFindingRepository);
+		slaService.takeSnapshot(today);
+
+		verify(farmFindingRepository, never()).countByApgSeverityAndTargetDate();
+		assertEquals(Map.of(SlaBucket.DUE_60, 1L), slaService.trend(today, today, "SLA-A", "High").get(today));
+		assertEquals(Map.of(SlaBucket.DUE_60, 1L, SlaBucket.NO_TARGET, 1L), slaService.trend(today, today, "SLA-A", null).get(today));
+		assertTrue(slaService.trend(today, today, "SLA-B", null).isEmpty(), "the deleted finding left its count");
+	}
+
+	@Test
+	void snapshotRebuildsWhenTheAggregateDrifted() {
+		LocalDate today = LocalDate.now();
+		slaService.takeSnapshot(today);
+
+		// a write the entity listener never saw
+		jdbcTemplate.update("insert into farm_finding (description, application_seal_id, severity, assigned_apg) "
+			+ "values ('unseen', 'SLA-1', 'Critical', 'SLA-C')");
+		clearInvocations(farmFindingRepository);
+		slaService.takeSnapshot(today);
+
+		verify(farmFindingRepository).countByApgSeverityAndTargetDate();
+		assertEquals(Map.of(SlaBucket.NO_TARGET, 1L), slaService.trend(today, today, "SLA-C", "Critical").get(today));
+	}
+
+	private FarmFinding create(String apg, String severity, LocalDate targetDate) {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("sla test");
+		finding.setApplicationSealId("SLA-1");
+		finding.setAssignedApg(apg);
+		finding.setSeverity(severity);
+		finding.setTargetDate(targetDate);
+		return farmFindingService.createFinding(finding);
+	}
+}
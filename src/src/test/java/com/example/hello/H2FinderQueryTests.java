@@ -0,0 +1,12 @@
+package com.example.hello;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:finders;DB_CLOSE_DELAY=-1")
+class H2FinderQueryTests extends FinderQueryBenchmark {
+
+	@Override
+	protected String engine() {
+		return "h2";
+	}
+}
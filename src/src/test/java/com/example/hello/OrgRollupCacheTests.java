@@ -0,0 +1,98 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.OrgRollupCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The org rollup's refresh: a finding version from another node reloads the findings, and a reload
+ * that fails keeps the old counts, says so, and is tried again.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:orgrollup;DB_CLOSE_DELAY=-1",
+	// refreshes are run by the tests
+	"app.org.rollup.refresh-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.certificates.reconcile.initial-delay-ms=3600000"
+})
+class OrgRollupCacheTests {
+
+	@Autowired
+	private OrgRollupCache rollupCache;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@SpyBean
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void failedReloadIsReportedAndRetried() {
+		assertTrue(rollupCache.isReady());
+		create();
+		rollupCache.refresh();
+		long tracked = tracked();
+
+		// another node's write, then a reload that fails once
+		jdbcTemplate.update("insert into farm_finding (description, application_seal_id, severity) values ('unseen', 'ROLLUP-1', 'High')");
+		jdbcTemplate.update("update data_version set version = version + 1 where name = 'FarmFinding'");
+		double failures = meterRegistry.counter("app.org.rollup.load.failures").count();
+		// the spy wraps a repository proxy, so its default answer delegates to the real repository
+		doThrow(new QueryTimeoutException("slow replica")).doAnswer(mockingDetails(farmFindingRepository).getMockCreationSettings().getDefaultAnswer())
+			.when(farmFindingRepository).findSealAndSeverityBetween(anyLong(), anyLong(), any());
+
+		rollupCache.refresh();
+
+		assertEquals(failures + 1, meterRegistry.counter("app.org.rollup.load.failures").count());
+		assertEquals(true, snapshot().get("findingsStale"));
+		assertEquals(tracked, tracked(), "the previous counts are still served");
+
+		reset(farmFindingRepository);
+		rollupCache.refresh();
+
+		assertEquals(false, snapshot().get("findingsStale"));
+		assertEquals(tracked + 1, tracked(), "the version was still unexplained, so the next refresh reloaded");
+	}
+
+	private void create() {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("rollup test");
+		finding.setApplicationSealId("ROLLUP-1");
+		finding.setSeverity("High");
+		farmFindingService.createFinding(finding);
+	}
+
+	private Map<String, Object> snapshot() {
+		return rollupCache.snapshot(null, OrgRollupCache.Depth.AREA);
+	}
+
+	private long tracked() {
+		return ((Number) snapshot().get("findingsTracked")).longValue();
+	}
+}
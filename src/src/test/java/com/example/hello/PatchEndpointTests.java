@@ -0,0 +1,182 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.hello.model.Application;
+import com.example.hello.model.Certificate;
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.FarmFindingRepository;
+import com.example.hello.service.ApplicationService;
+import com.example.hello.service.CertificateService;
+import com.example.hello.service.FarmFindingService;
+
+/**
+ * PATCH answers: the sent fields are applied and the new version comes back as an ETag, a bad body
+ * is a 400, a missing record a 404, and a stale version (in the body or in If-Match) a 409. A PUT
+ * that carries a stale version is a 409 as well.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:patches;DB_CLOSE_DELAY=-1",
+	// keep background jobs out of the way
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+@AutoConfigureMockMvc
+class PatchEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@Autowired
+	private FarmFindingRepository farmFindingRepository;
+
+	@Autowired
+	private ApplicationService applicationService;
+
+	@Autowired
+	private CertificateService certificateService;
+
+	@Test
+	void appliesOnlyTheSentFields() throws Exception {
+		FarmFinding finding = seedFinding();
+		long version = farmFindingRepository.findById(finding.getId()).orElseThrow().getVersion();
+
+		patchJson("/api/findings/" + finding.getId(), "{\"severity\":\"Low\",\"targetDate\":\"2030-01-31\"}")
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.severity").value("Low"))
+			.andExpect(jsonPath("$.targetDate").value("2030-01-31"))
+			.andExpect(jsonPath("$.description").value("patch test"))
+			.andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+	}
+
+	@Test
+	void badBodiesAreRejectedWith400() throws Exception {
+		FarmFinding finding = seedFinding();
+		Certificate certificate = seedCertificate();
+		Application application = certificate.getApplication();
+
+		expectInvalid(patchJson("/api/findings/" + finding.getId(), "{\"createdDate\":\"2020-01-01\"}"));
+		expectInvalid(patchJson("/api/findings/" + finding.getId(), "{\"targetDate\":\"tomorrow\"}"));
+		expectInvalid(patchJson("/api/findings/" + finding.getId(), "{\"targetDate\":20300131}"));
+		expectInvalid(patchJson("/api/findings/" + finding.getId(), "{\"version\":\"latest\"}"));
+		expectInvalid(patchJson("/api/findings/" + finding.getId(), "{\"severity\":[\"High\",\"Low\"]}"));
+		expectInvalid(patchJson("/api/certificates/" + certificate.getId(), "{\"applicationId\":\"abc\"}"));
+		expectInvalid(patchJson("/api/certificates/" + certificate.getId(), "{\"applicationId\":null}"));
+		expectInvalid(patchJson("/api/certificates/" + certificate.getId(), "{\"applicationId\":999999}"));
+		expectInvalid(patchJson("/api/applications/" + application.getId(), "{\"teamId\":999999}"));
+		expectInvalid(mockMvc.perform(patch("/api/findings/" + finding.getId())
+			.contentType(MediaType.APPLICATION_JSON).content("{\"severity\":\"Low\"}").header(HttpHeaders.IF_MATCH, "\"abc\"")));
+	}
+
+	@Test
+	void missingRecordsAre404() throws Exception {
+		FarmFinding finding = seedFinding();
+		FarmFinding other = seedFinding();
+		Long ticketId = finding.getResolverTickets().get(0).getId();
+
+		patchJson("/api/findings/999999", "{\"severity\":\"Low\"}").andExpect(status().isNotFound())
+			.andExpect(jsonPath("$.error").value("not_found"));
+		patchJson("/api/certificates/999999", "{\"cn\":\"x.example.com\"}").andExpect(status().isNotFound());
+		patchJson("/api/applications/999999", "{\"name\":\"x\"}").andExpect(status().isNotFound());
+		patchJson("/api/findings/" + finding.getId() + "/tickets/999999", "{\"status\":\"Done\"}").andExpect(status().isNotFound());
+		// a ticket addressed through a finding it does not belong to
+		patchJson("/api/findings/" + other.getId() + "/tickets/" + ticketId, "{\"status\":\"Done\"}").andExpect(status().isNotFound());
+	}
+
+	@Test
+	void staleVersionsConflict() throws Exception {
+		FarmFinding finding = seedFinding();
+		String path = "/api/findings/" + finding.getId();
+		long version = farmFindingRepository.findById(finding.getId()).orElseThrow().getVersion();
+
+		patchJson(path, "{\"severity\":\"Low\",\"version\":" + (version - 1) + "}").andExpect(status().isConflict())
+			.andExpect(jsonPath("$.error").value("conflict"));
+		patchIfMatch(path, "{\"severity\":\"Low\"}", "\"" + (version - 1) + "\"").andExpect(status().isConflict());
+
+		String etag = patchIfMatch(path, "{\"severity\":\"Low\"}", "\"" + version + "\"")
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		// the ETag of one PATCH is the If-Match of the next; the old one is now stale
+		patchIfMatch(path, "{\"severity\":\"Medium\"}", etag).andExpect(status().isOk());
+		patchIfMatch(path, "{\"severity\":\"High\"}", etag).andExpect(status().isConflict());
+
+		// a header and a body that name different versions is a malformed request, not a conflict
+		expectInvalid(patchIfMatch(path, "{\"severity\":\"High\",\"version\":1}", "\"2\""));
+	}
+
+	@Test
+	void stalePutVersionsConflict() throws Exception {
+		Application application = seedCertificate().getApplication();
+		String path = "/api/applications/" + application.getId();
+		long version = applicationService.getById(application.getId()).getVersion();
+
+		putJson(path, "{\"sealId\":\"" + application.getSealId() + "\",\"name\":\"stale\",\"version\":" + (version - 1) + "}")
+			.andExpect(status().isConflict())
+			.andExpect(jsonPath("$.error").value("conflict"));
+		assertEquals("patch test", applicationService.getById(application.getId()).getName(), "a rejected PUT changes nothing");
+
+		putJson(path, "{\"sealId\":\"" + application.getSealId() + "\",\"name\":\"renamed\",\"version\":" + version + "}")
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.name").value("renamed"));
+		// the version just used is now stale
+		putJson(path, "{\"sealId\":\"" + application.getSealId() + "\",\"name\":\"again\",\"version\":" + version + "}")
+			.andExpect(status().isConflict());
+	}
+
+	private FarmFinding seedFinding() {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("patch test");
+		finding.setApplicationSealId("PATCH-1");
+		finding.setSeverity("High");
+		ResolverTicket ticket = new ResolverTicket();
+		ticket.setJiraKey("PATCH-" + System.nanoTime());
+		ticket.setStatus("To Do");
+		finding.addResolverTicket(ticket);
+		return farmFindingService.createFinding(finding);
+	}
+
+	private Certificate seedCertificate() {
+		Application application = new Application();
+		application.setSealId("PATCH-" + System.nanoTime());
+		application.setName("patch test");
+		application = applicationService.create(application);
+		Certificate certificate = new Certificate();
+		certificate.setCn("patch.example.com");
+		return certificateService.createForApplication(application.getId(), certificate);
+	}
+
+	private ResultActions patchJson(String path, String body) throws Exception {
+		return mockMvc.perform(patch(path).contentType(MediaType.APPLICATION_JSON).content(body));
+	}
+
+	private ResultActions putJson(String path, String body) throws Exception {
+		return mockMvc.perform(put(path).contentType(MediaType.APPLICATION_JSON).content(body));
+	}
+
+	private ResultActions patchIfMatch(String path, String body, String ifMatch) throws Exception {
+		return mockMvc.perform(patch(path).contentType(MediaType.APPLICATION_JSON).content(body).header(HttpHeaders.IF_MATCH, ifMatch));
+	}
+
+	private static void expectInvalid(ResultActions result) throws Exception {
+		result.andExpect(status().isBadRequest()).andExpect(jsonPath("$.error").value("invalid_patch"));
+	}
+}
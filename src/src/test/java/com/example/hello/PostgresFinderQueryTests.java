@@ -0,0 +1,45 @@
+package com.example.hello;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Boots the postgres profile against an embedded Postgres binary unpacked from the
+ * test classpath, so the migrations and finders are exercised without any network.
+ */
+@SpringBootTest
+@ActiveProfiles("postgres")
+class PostgresFinderQueryTests extends FinderQueryBenchmark {
+
+	private static EmbeddedPostgres postgres;
+
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+		if (postgres == null) {
+			postgres = EmbeddedPostgres.start();
+		}
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		if (postgres != null) {
+			postgres.close();
+			postgres = null;
+		}
+	}
+
+	@Override
+	protected String engine() {
+		return "postgres";
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Points the replica at the same in-memory database as the primary, but marks every replica
+ * connection with a session variable, so a query can tell which pool served it.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+	"app.datasource.replica.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1;INIT=SET @REPLICA = 1",
+	"spring.datasource.hikari.maximum-pool-size=7",
+	"app.datasource.replica.hikari.maximum-pool-size=3",
+	// keep background jobs out of the way
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class ReadReplicaRoutingTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private HikariDataSource primary;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private HikariDataSource replica;
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+		assertEquals(Integer.valueOf(1), readOnly.execute(status -> jdbcTemplate.queryForObject("select @REPLICA", Integer.class)));
+		assertNull(readWrite.execute(status -> jdbcTemplate.queryForObject("select @REPLICA", Integer.class)));
+	}
+
+	@Test
+	void bothPoolsBindTheirHikariSettings() {
+		assertEquals(7, primary.getMaximumPoolSize());
+		assertEquals(3, replica.getMaximumPoolSize());
+		assertEquals("primary", primary.getPoolName());
+		assertEquals("replica", replica.getPoolName());
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.example.hello.config.RequestMetricsFilter;
+import com.example.hello.service.PerformanceSnapshotService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Drives the request metrics filter directly and reads the result back through the performance
+ * snapshot, the way {@code GET /api/diagnostics/perf} reports it.
+ */
+class RequestMetricsFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void timesEachRequestUnderItsRoutePattern() throws Exception {
+		RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, 1);
+
+		for (int i = 0; i < 3; i++) {
+			filter.doFilter(new MockHttpServletRequest("GET", "/api/findings/" + i), new MockHttpServletResponse(),
+				routedTo("/api/findings/{id}", 5));
+		}
+		filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(), (request, response) -> { });
+
+		Timer timer = meterRegistry.get(RequestMetricsFilter.LATENCY).tags("method", "GET", "route", "/api/findings/{id}").timer();
+		assertEquals(3, timer.count());
+		assertTrue(timer.max(TimeUnit.MILLISECONDS) >= 5, "latency covers the chain");
+		assertEquals(1, meterRegistry.get(RequestMetricsFilter.LATENCY).tags("route", "UNMATCHED").timer().count());
+
+		DistributionSummary allocated = meterRegistry.find(RequestMetricsFilter.ALLOCATED).tags("route", "/api/findings/{id}").summary();
+		if (allocationCounterEnabled()) {
+			assertNotNull(allocated, "every request is sampled at rate 1");
+			assertEquals(3, allocated.count());
+			assertTrue(allocated.mean() > 0);
+		}
+	}
+
+	@Test
+	void samplingOffRecordsNoAllocation() throws Exception {
+		RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, 0);
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/findings"), new MockHttpServletResponse(), routedTo("/api/findings", 0));
+
+		assertEquals(1, meterRegistry.get(RequestMetricsFilter.LATENCY).timer().count());
+		assertNull(meterRegistry.find(RequestMetricsFilter.ALLOCATED).summary());
+	}
+
+	@Test
+	void streamedResponseIsTimedWhenTheAsyncRequestCompletes() throws Exception {
+		RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, 0);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/findings");
+		request.setAsyncSupported(true);
+
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/export/{dataset}");
+			req.startAsync();
+		});
+		assertNull(meterRegistry.find(RequestMetricsFilter.LATENCY).timer(), "still streaming");
+
+		((MockAsyncContext) request.getAsyncContext()).complete();
+		assertEquals(1, meterRegistry.get(RequestMetricsFilter.LATENCY).tags("route", "/api/export/{dataset}").timer().count());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void snapshotReportsPercentilesAndRatePerRoute() throws Exception {
+		RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry, 1);
+		PerformanceSnapshotService snapshots = new PerformanceSnapshotService(meterRegistry);
+		for (int i = 0; i < 4; i++) {
+			filter.doFilter(new MockHttpServletRequest("GET", "/api/tickets"), new MockHttpServletResponse(), routedTo("/api/tickets", 1));
+		}
+
+		Map<String, Object> first = (Map<String, Object>) ((Map<String, Object>) snapshots.snapshot().get("routes")).get("GET /api/tickets");
+		assertEquals(4L, first.get("count"));
+		assertEquals(0d, first.get("requestsPerSecond"), "no previous snapshot to measure against");
+		for (String key : new String[] { "meanMs", "p50Ms", "p99Ms", "p999Ms", "maxMs" }) {
+			assertTrue(first.containsKey(key), "missing " + key + " in " + first);
+		}
+		assertTrue((double) first.get("maxMs") >= 1);
+		if (allocationCounterEnabled()) {
+			assertEquals(4L, first.get("allocationSamples"));
+		}
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/tickets"), new MockHttpServletResponse(), routedTo("/api/tickets", 0));
+		Map<String, Object> second = (Map<String, Object>) ((Map<String, Object>) snapshots.snapshot().get("routes")).get("GET /api/tickets");
+		assertEquals(5L, second.get("count"));
+		assertTrue((double) second.get("requestsPerSecond") > 0, "one request since the previous snapshot");
+
+		Map<String, Object> jvm = (Map<String, Object>) snapshots.snapshot().get("jvm");
+		assertTrue((long) jvm.get("heapUsedBytes") > 0);
+	}
+
+	/** A chain that matches {@code pattern} the way the dispatcher does, then takes {@code millis}. */
+	private static FilterChain routedTo(String pattern, long millis) {
+		return (request, response) -> {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+	}
+
+	private static boolean allocationCounterEnabled() {
+		return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+			&& bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.hello.service.SingleFlight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Which callers run the loader, which share its result, and for how long.
+ */
+class SingleFlightTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight singleFlight = new SingleFlight(meterRegistry, 100);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void concurrentCallersShareTheLeadersResult() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Object shared = new Object();
+		CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("test", "", Duration.ofHours(1), () -> {
+			loads.incrementAndGet();
+			await(release);
+			return shared;
+		}));
+		waitFor("leader", 1);
+		CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("test", "", Duration.ofHours(1), this::load));
+		waitFor("coalesced", 1);
+		release.countDown();
+
+		assertSame(shared, leader.get(5, TimeUnit.SECONDS));
+		assertSame(shared, follower.get(5, TimeUnit.SECONDS));
+		assertSame(shared, singleFlight.execute("test", "", Duration.ofHours(1), this::load), "reused within the TTL");
+		assertEquals(1, loads.get());
+		assertEquals(1, count("cached"));
+	}
+
+	@Test
+	void failuresAreNotReused() {
+		assertThrows(IllegalStateException.class, () -> singleFlight.execute("test", "", Duration.ofHours(1), () -> {
+			loads.incrementAndGet();
+			throw new IllegalStateException("boom");
+		}));
+		singleFlight.execute("test", "", Duration.ofHours(1), this::load);
+
+		assertEquals(2, loads.get());
+		assertEquals(2, count("leader"));
+	}
+
+	@Test
+	void resultExpiresAfterTheTtl() throws Exception {
+		Object first = singleFlight.execute("test", "", Duration.ofMillis(20), this::load);
+		Thread.sleep(50);
+		Object second = singleFlight.execute("test", "", Duration.ofMillis(20), this::load);
+
+		assertEquals(2, loads.get());
+		assertEquals(0, count("cached"));
+		assertNotSame(first, second);
+	}
+
+	@Test
+	void differentKeysLoadSeparately() {
+		singleFlight.execute("test", "v1", this::load);
+		singleFlight.execute("test", "v2", this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	private Object load() {
+		loads.incrementAndGet();
+		return new Object();
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.counter("app.single-flight.requests", "name", "test", "outcome", outcome).count();
+	}
+
+	private void waitFor(String outcome, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count(outcome) < expected) {
+			if (System.nanoTime() > deadline) throw new AssertionError("no " + outcome + " call within 5s");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.hello.model.FarmFinding;
+import com.example.hello.model.ResolverTicket;
+import com.example.hello.repository.ResolverTicketRepository;
+import com.example.hello.service.FarmFindingService;
+import com.example.hello.service.TicketSyncService;
+import com.example.hello.tools.IssueTrackerStub;
+
+/**
+ * Runs sync passes against the stub tracker over HTTP: keys match whatever their case, a batch that
+ * fails for good is retried by the next call, and the endpoint only queues a pass.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:ticketsync;DB_CLOSE_DELAY=-1",
+	"app.tickets.sync.client=http",
+	"app.tickets.sync.batch-size=2",
+	"app.tickets.sync.requests-per-second=1000",
+	"app.tickets.sync.max-attempts=2",
+	"app.tickets.sync.backoff-ms=1",
+	// passes are run by the tests
+	"app.tickets.sync.enabled=false",
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TicketSyncTests {
+
+	private static final AtomicLong KEYS = new AtomicLong();
+
+	private static IssueTrackerStub tracker;
+
+	@DynamicPropertySource
+	static void trackerUrl(DynamicPropertyRegistry registry) throws IOException {
+		tracker = IssueTrackerStub.withStatuses();
+		registry.add("app.tickets.sync.http.base-url", tracker::baseUrl);
+	}
+
+	@AfterAll
+	static void stopTracker() {
+		tracker.close();
+	}
+
+	@Autowired
+	private TicketSyncService ticketSyncService;
+
+	@Autowired
+	private FarmFindingService farmFindingService;
+
+	@Autowired
+	private ResolverTicketRepository resolverTicketRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void matchesKeysIgnoringCase() {
+		ResolverTicket ticket = seedTicket("sync-");
+		tracker.status(ticket.getJiraKey(), "Done");
+
+		TicketSyncService.SyncResult result = ticketSyncService.sync();
+
+		assertNull(result.failure());
+		assertEquals("Done", ticketStatus(ticket), "the tracker's SYNC-n answers the stored sync-n");
+	}
+
+	@Test
+	void failedBatchIsRetriedByTheNextCall() {
+		ticketSyncService.sync();
+		ResolverTicket ticket = seedTicket("SYNCFAIL-");
+		tracker.status(ticket.getJiraKey(), "In Progress");
+		// start the walk just below the new ticket, so it is in the first batch
+		jdbcTemplate.update("update job_checkpoint set last_position = ? where name = 'ticket-sync'", ticket.getId() - 1);
+		tracker.failNext(2, 503);
+
+		TicketSyncService.SyncResult failed = ticketSyncService.sync();
+
+		assertNotNull(failed.failure());
+		assertEquals("To Do", ticketStatus(ticket));
+		assertEquals(ticket.getId() - 1, position(), "the failed batch is handed back");
+
+		assertNull(ticketSyncService.sync().failure());
+		assertEquals("In Progress", ticketStatus(ticket));
+	}
+
+	@Test
+	void syncEndpointQueuesAPass() throws Exception {
+		ResolverTicket ticket = seedTicket("SYNCAPI-");
+		tracker.status(ticket.getJiraKey(), "Done");
+
+		LocalDateTime before = ticketSyncService.status().lastFinishedAt();
+
+		mockMvc.perform(post("/api/tickets/sync")).andExpect(status().isAccepted());
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (Objects.equals(ticketSyncService.status().lastFinishedAt(), before) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		TicketSyncService.SyncStatus sync = ticketSyncService.status();
+		assertNotEquals(before, sync.lastFinishedAt(), "the queued pass ran on the scheduler");
+		assertNull(sync.lastResult().failure());
+		assertEquals("Done", ticketStatus(ticket));
+	}
+
+	private ResolverTicket seedTicket(String keyPrefix) {
+		FarmFinding finding = new FarmFinding();
+		finding.setDescription("sync test");
+		finding.setApplicationSealId("SYNC-1");
+		finding.setSeverity("High");
+		ResolverTicket ticket = new ResolverTicket();
+		ticket.setJiraKey(keyPrefix + KEYS.incrementAndGet());
+		ticket.setStatus("To Do");
+		finding.addResolverTicket(ticket);
+		return farmFindingService.createFinding(finding).getResolverTickets().get(0);
+	}
+
+	private String ticketStatus(ResolverTicket ticket) {
+		return resolverTicketRepository.findById(ticket.getId()).orElseThrow().getStatus();
+	}
+
+	private long position() {
+		return jdbcTemplate.queryForObject("select last_position from job_checkpoint where name = 'ticket-sync'", Long.class);
+	}
+}
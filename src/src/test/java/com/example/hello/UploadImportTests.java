@@ -0,0 +1,94 @@
+package com.example.hello;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.hello.service.CsvImportService;
+import com.example.hello.service.ImportDataset;
+import com.example.hello.service.ImportResult;
+import com.example.hello.service.UploadImportService;
+
+/**
+ * Uploads the same file from two requests at once: one claims the checksum and imports it, the
+ * other waits for that import and replays its receipt instead of importing the rows again.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:imports;DB_CLOSE_DELAY=-1",
+	// keep background jobs out of the way
+	"app.certificates.reconcile.initial-delay-ms=3600000",
+	"app.findings.column-store.refresh-ms=3600000",
+	"app.org.rollup.refresh-ms=3600000"
+})
+class UploadImportTests {
+
+	@Autowired
+	private UploadImportService uploadImportService;
+
+	@SpyBean
+	private CsvImportService csvImportService;
+
+	@Test
+	void concurrentUploadsOfTheSameFileImportItOnce() throws Exception {
+		// hold the import long enough for the second upload to find the claim
+		doAnswer(invocation -> {
+			Thread.sleep(500);
+			return invocation.callRealMethod();
+		}).when(csvImportService).importCsv(any(), any(), anyBoolean());
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<ImportResult>> uploads = List.of(upload(start), upload(start));
+		start.countDown();
+		ImportResult first = uploads.get(0).get(30, TimeUnit.SECONDS);
+		ImportResult second = uploads.get(1).get(30, TimeUnit.SECONDS);
+
+		verify(csvImportService, times(1)).importCsv(eq(ImportDataset.PEOPLE), any(), eq(false));
+		assertTrue(first.isReplayed() != second.isReplayed(), "exactly one upload should be a replay");
+		assertEquals(2, first.getCreated());
+		assertEquals(2, second.getCreated());
+
+		ImportResult again = uploadImportService.importDataset(ImportDataset.PEOPLE, file(), false, false);
+		assertTrue(again.isReplayed());
+		verify(csvImportService, times(1)).importCsv(eq(ImportDataset.PEOPLE), any(), eq(false));
+
+		ImportResult forced = uploadImportService.importDataset(ImportDataset.PEOPLE, file(), true, false);
+		assertFalse(forced.isReplayed());
+		assertEquals(2, forced.getUpdated());
+	}
+
+	private CompletableFuture<ImportResult> upload(CountDownLatch start) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				start.await();
+				return uploadImportService.importDataset(ImportDataset.PEOPLE, file(), false, false);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	private static MockMultipartFile file() {
+		String csv = "sid,firstName,lastName,email\n"
+			+ "CLAIM1,Ada,Lovelace,ada@example.test\n"
+			+ "CLAIM2,Grace,Hopper,grace@example.test\n";
+		return new MockMultipartFile("file", "people.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+	}
+}
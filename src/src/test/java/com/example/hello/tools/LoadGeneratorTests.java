@@ -0,0 +1,28 @@
+package com.example.hello.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTests {
+
+	@Test
+	void mixWeightFollowsTheLastEqualsSign() {
+		List<LoadGenerator.Route> routes = LoadGenerator.parseMix(
+			"GET /api/findings=5, post /api/import/findings?dryRun=true=2,GET /api/findings/query?apg=APG-1,GET /api/count");
+
+		assertEquals(4, routes.size());
+		assertRoute(routes.get(0), "GET", "/api/findings", 5);
+		assertRoute(routes.get(1), "POST", "/api/import/findings?dryRun=true", 2);
+		assertRoute(routes.get(2), "GET", "/api/findings/query?apg=APG-1", 1);
+		assertRoute(routes.get(3), "GET", "/api/count", 1);
+	}
+
+	private static void assertRoute(LoadGenerator.Route route, String method, String path, int weight) {
+		assertEquals(method, route.method());
+		assertEquals(path, route.path());
+		assertEquals(weight, route.weight());
+	}
+}